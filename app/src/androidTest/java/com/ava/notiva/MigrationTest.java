@@ -18,10 +18,16 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.io.IOException;
+import java.time.ZoneId;
 
 /**
- * Instrumented tests for Room database migration from version 2 to 3.
- * Verifies that MIGRATION_2_3 correctly adds tracking columns.
+ * Instrumented tests for Room database migrations.
+ * Verifies that MIGRATION_2_3 correctly adds tracking columns and that MIGRATION_3_4
+ * rebuilds the table with epoch-millis start/end and a zone_id column, and that MIGRATION_4_5
+ * adds the nullable rrule column. MIGRATION_5_6 adds the wall_clock flag, off for existing rows.
+ * MIGRATION_6_7 adds scheduling bookkeeping that leaves every existing row dirty.
+ * MIGRATION_7_8 adds the indexed next_fire_at column, null until the scheduler backfills it.
+ * MIGRATION_8_9 adds the floating_zone flag, off for existing rows.
  */
 @RunWith(AndroidJUnit4.class)
 public class MigrationTest {
@@ -117,4 +123,252 @@ public class MigrationTest {
         cursor.close();
         db.close();
     }
+
+    @Test
+    public void migrate3To4_preservesMillisAndStampsDeviceZone() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(DB_NAME, 3);
+
+        long startDate = 1700000000000L;
+        long endDate = 1700086400000L;
+
+        ContentValues values = new ContentValues();
+        values.put("id", 7);
+        values.put("active", 1);
+        values.put("name", "Existing Reminder");
+        values.put("start_date", startDate);
+        values.put("recurrence_delay", 3);
+        values.put("recurrence_type", "MONTH");
+        values.put("end_date", endDate);
+        values.put("snoozed_until", 1700050000000L);
+        values.put("last_fired_at", 1700040000000L);
+        values.put("ringtone_uri", "content://media/audio/ringtone/42");
+        db.insert("reminders", SQLiteDatabase.CONFLICT_REPLACE, values);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(DB_NAME, 4, true, RemindersDb.MIGRATION_3_4);
+
+        Cursor cursor = db.query("SELECT id, name, active, start_date, recurrence_delay, recurrence_type, end_date, zone_id, snoozed_until, last_fired_at, ringtone_uri FROM reminders");
+        assertTrue("Should have the existing row", cursor.moveToFirst());
+
+        assertEquals(7, cursor.getInt(0));
+        assertEquals("Existing Reminder", cursor.getString(1));
+        assertEquals(1, cursor.getInt(2));
+        assertEquals(startDate, cursor.getLong(3));
+        assertEquals(3, cursor.getInt(4));
+        assertEquals("MONTH", cursor.getString(5));
+        assertEquals(endDate, cursor.getLong(6));
+        assertEquals(ZoneId.systemDefault().getId(), cursor.getString(7));
+        assertEquals(1700050000000L, cursor.getLong(8));
+        assertEquals(1700040000000L, cursor.getLong(9));
+        assertEquals("content://media/audio/ringtone/42", cursor.getString(10));
+
+        cursor.close();
+        db.close();
+    }
+
+    @Test
+    public void migrate3To4_nullStartDate_isDeactivated() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(DB_NAME, 3);
+
+        ContentValues values = new ContentValues();
+        values.put("active", 1);
+        values.put("name", "No Start");
+        values.putNull("start_date");
+        values.put("recurrence_delay", 1);
+        values.put("recurrence_type", "DAY");
+        values.putNull("end_date");
+        db.insert("reminders", SQLiteDatabase.CONFLICT_REPLACE, values);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(DB_NAME, 4, true, RemindersDb.MIGRATION_3_4);
+
+        Cursor cursor = db.query("SELECT active, start_date, end_date FROM reminders WHERE name = 'No Start'");
+        assertTrue("Should keep the row", cursor.moveToFirst());
+        assertEquals("Row without a start could never fire, so it stays inactive", 0, cursor.getInt(0));
+        assertEquals(0L, cursor.getLong(1));
+        assertTrue("end_date should stay null", cursor.isNull(2));
+
+        cursor.close();
+        db.close();
+    }
+
+    @Test
+    public void migrate4To5_addsNullRruleColumn() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(DB_NAME, 4);
+
+        ContentValues values = new ContentValues();
+        values.put("id", 3);
+        values.put("active", 1);
+        values.put("name", "Weekly");
+        values.put("start_date", 1700000000000L);
+        values.put("recurrence_delay", 1);
+        values.put("recurrence_type", "DAY");
+        values.put("zone_id", "Europe/Berlin");
+        db.insert("reminders", SQLiteDatabase.CONFLICT_REPLACE, values);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(DB_NAME, 5, true, RemindersDb.MIGRATION_4_5);
+
+        Cursor cursor = db.query("SELECT id, zone_id, rrule FROM reminders");
+        assertTrue("Should have the existing row", cursor.moveToFirst());
+        assertEquals(3, cursor.getInt(0));
+        assertEquals("Europe/Berlin", cursor.getString(1));
+        assertTrue("Existing rows keep their simple recurrence", cursor.isNull(2));
+
+        cursor.close();
+        db.close();
+    }
+
+    @Test
+    public void migrate5To6_existingRowsKeepElapsedTimePeriods() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(DB_NAME, 5);
+
+        ContentValues values = new ContentValues();
+        values.put("id", 4);
+        values.put("active", 1);
+        values.put("name", "Daily");
+        values.put("start_date", 1700000000000L);
+        values.put("recurrence_delay", 1);
+        values.put("recurrence_type", "DAY");
+        values.put("zone_id", "America/New_York");
+        db.insert("reminders", SQLiteDatabase.CONFLICT_REPLACE, values);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(DB_NAME, 6, true, RemindersDb.MIGRATION_5_6);
+
+        Cursor cursor = db.query("SELECT id, wall_clock FROM reminders");
+        assertTrue("Should have the existing row", cursor.moveToFirst());
+        assertEquals(4, cursor.getInt(0));
+        assertEquals(0, cursor.getInt(1));
+
+        cursor.close();
+        db.close();
+    }
+
+    @Test
+    public void migrate6To7_existingRowsNeedScheduling() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(DB_NAME, 6);
+
+        ContentValues values = new ContentValues();
+        values.put("id", 5);
+        values.put("active", 1);
+        values.put("name", "Hourly");
+        values.put("start_date", 1700000000000L);
+        values.put("recurrence_delay", 1);
+        values.put("recurrence_type", "HOUR");
+        values.put("zone_id", "UTC");
+        values.put("wall_clock", 0);
+        db.insert("reminders", SQLiteDatabase.CONFLICT_REPLACE, values);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(DB_NAME, 7, true, RemindersDb.MIGRATION_6_7);
+
+        Cursor cursor = db.query("SELECT schedule_version, scheduled_version, scheduled_at FROM reminders "
+                + "WHERE schedule_version != scheduled_version");
+        assertTrue("Existing row should need scheduling", cursor.moveToFirst());
+        assertEquals(0, cursor.getLong(0));
+        assertEquals(-1, cursor.getLong(1));
+        assertTrue(cursor.isNull(2));
+
+        cursor.close();
+        db.close();
+    }
+
+    @Test
+    public void migrate7To8_addsIndexedNextFireAtAndMarksRowsDirty() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(DB_NAME, 7);
+
+        ContentValues values = new ContentValues();
+        values.put("id", 6);
+        values.put("active", 1);
+        values.put("name", "Weekly");
+        values.put("start_date", 1700000000000L);
+        values.put("recurrence_delay", 7);
+        values.put("recurrence_type", "DAY");
+        values.put("zone_id", "UTC");
+        values.put("wall_clock", 1);
+        values.put("schedule_version", 4);
+        values.put("scheduled_version", 4);
+        values.put("scheduled_at", 1700604800000L);
+        db.insert("reminders", SQLiteDatabase.CONFLICT_REPLACE, values);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(DB_NAME, 8, true, RemindersDb.MIGRATION_7_8);
+
+        Cursor cursor = db.query("SELECT next_fire_at, scheduled_version FROM reminders WHERE id = 6");
+        assertTrue("Should have the existing row", cursor.moveToFirst());
+        assertTrue("next_fire_at is filled in by the scheduler", cursor.isNull(0));
+        assertEquals(-1, cursor.getLong(1));
+        cursor.close();
+
+        cursor = db.query("SELECT name FROM sqlite_master WHERE type = 'index' AND tbl_name = 'reminders'");
+        boolean found = false;
+        while (cursor.moveToNext()) {
+            found |= "index_reminders_active_next_fire_at".equals(cursor.getString(0));
+        }
+        assertTrue("Migration should create the (active, next_fire_at) index", found);
+
+        cursor.close();
+        db.close();
+    }
+
+    @Test
+    public void migrate8To9_addsFloatingZoneOffForExistingRows() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(DB_NAME, 8);
+
+        ContentValues values = new ContentValues();
+        values.put("id", 7);
+        values.put("active", 1);
+        values.put("name", "Daily");
+        values.put("start_date", 1700000000000L);
+        values.put("recurrence_delay", 1);
+        values.put("recurrence_type", "DAY");
+        values.put("zone_id", "Europe/Berlin");
+        values.put("next_fire_at", 1700086400000L);
+        db.insert("reminders", SQLiteDatabase.CONFLICT_REPLACE, values);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(DB_NAME, 9, true, RemindersDb.MIGRATION_8_9);
+
+        Cursor cursor = db.query("SELECT floating_zone, zone_id, next_fire_at FROM reminders WHERE id = 7");
+        assertTrue("Should have the existing row", cursor.moveToFirst());
+        assertEquals("Existing rows keep absolute instants", 0, cursor.getInt(0));
+        assertEquals("Europe/Berlin", cursor.getString(1));
+        assertEquals(1700086400000L, cursor.getLong(2));
+
+        cursor.close();
+        db.close();
+    }
+
+    @Test
+    public void migrate3To9_fullChainKeepsRowAndValidates() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(DB_NAME, 3);
+
+        ContentValues values = new ContentValues();
+        values.put("id", 8);
+        values.put("active", 1);
+        values.put("name", "From v3");
+        values.put("start_date", 1700000000000L);
+        values.put("recurrence_delay", 1);
+        values.put("recurrence_type", "HOUR");
+        db.insert("reminders", SQLiteDatabase.CONFLICT_REPLACE, values);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(DB_NAME, 9, true,
+                RemindersDb.MIGRATION_3_4,
+                RemindersDb.MIGRATION_4_5,
+                RemindersDb.MIGRATION_5_6,
+                RemindersDb.MIGRATION_6_7,
+                RemindersDb.MIGRATION_7_8,
+                RemindersDb.MIGRATION_8_9);
+
+        Cursor cursor = db.query("SELECT name, start_date, next_fire_at FROM reminders WHERE id = 8");
+        assertTrue("Should have the existing row", cursor.moveToFirst());
+        assertEquals("From v3", cursor.getString(0));
+        assertEquals(1700000000000L, cursor.getLong(1));
+        assertTrue(cursor.isNull(2));
+
+        cursor.close();
+        db.close();
+    }
 }
@@ -13,6 +13,10 @@ import androidx.preference.PreferenceManager;
 import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
+import com.ava.notiva.model.SchedulerMode;
+import com.ava.notiva.model.SchedulingHorizon;
+import com.ava.notiva.util.NotificationPreferences;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -31,6 +35,8 @@ public class PreferencesIntegrationTest {
     private static final String KEY_RINGTONE = "pref_notification_ringtone";
     private static final String KEY_VIBRATION = "pref_notification_vibration";
     private static final String KEY_SNOOZE = "pref_snooze_duration";
+    private static final String KEY_SCHEDULER_MODE = "pref_scheduler_mode";
+    private static final String KEY_SCHEDULING_HORIZON = "pref_scheduling_horizon";
 
     private Context context;
     private SharedPreferences prefs;
@@ -66,6 +72,45 @@ public class PreferencesIntegrationTest {
                 "10", prefs.getString(KEY_SNOOZE, null));
     }
 
+    @Test
+    public void defaultSchedulerMode_isPerReminder() {
+        assertEquals("PER_REMINDER", prefs.getString(KEY_SCHEDULER_MODE, null));
+        assertEquals(SchedulerMode.PER_REMINDER, NotificationPreferences.getSchedulerMode(context));
+    }
+
+    @Test
+    public void schedulerModeValues_allParse() {
+        String[] values = context.getResources().getStringArray(R.array.pref_scheduler_mode_values);
+        String[] entries = context.getResources().getStringArray(R.array.pref_scheduler_mode_entries);
+
+        assertEquals(entries.length, values.length);
+        assertEquals(SchedulerMode.values().length, values.length);
+        for (String value : values) {
+            assertEquals(value, SchedulerMode.fromPreference(value).name());
+        }
+    }
+
+    @Test
+    public void defaultSchedulingHorizon_isSixHours() {
+        assertEquals("6", prefs.getString(KEY_SCHEDULING_HORIZON, null));
+        assertEquals(6 * 3_600_000L, NotificationPreferences.getSchedulingHorizon(context).getMillis());
+    }
+
+    @Test
+    public void schedulingHorizonValues_allParseAndIncludeUnlimited() {
+        String[] values = context.getResources().getStringArray(R.array.pref_scheduling_horizon_values);
+        String[] entries = context.getResources().getStringArray(R.array.pref_scheduling_horizon_entries);
+
+        assertEquals(entries.length, values.length);
+        boolean unlimited = false;
+        for (String value : values) {
+            SchedulingHorizon horizon = SchedulingHorizon.fromPreference(value);
+            assertEquals(Integer.parseInt(value) * 3_600_000L, horizon.getMillis());
+            unlimited |= horizon.isUnlimited();
+        }
+        assertTrue(unlimited);
+    }
+
     // ==================== Persistence ====================
 
     @Test
@@ -3,6 +3,8 @@ package com.ava.notiva;
 import static org.junit.Assert.*;
 
 import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
 
 import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
 import androidx.lifecycle.LiveData;
@@ -10,6 +12,7 @@ import androidx.room.Room;
 import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
+import com.ava.notiva.converter.DbTypeConverters;
 import com.ava.notiva.data.ReminderDao;
 import com.ava.notiva.data.RemindersDb;
 import com.ava.notiva.model.RecurrenceType;
@@ -21,8 +24,12 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -72,6 +79,49 @@ public class ReminderDaoTest {
         return reminder;
     }
 
+    private ReminderModel reminderFiringAt(String name, Long nextFireAt) {
+        ReminderModel reminder = createTestReminder(name);
+        reminder.setNextFireAt(nextFireAt);
+        return reminder;
+    }
+
+    /**
+     * Bulk-inserts {@code rows} reminders in one transaction, firing {@code step} apart
+     * in shuffled order. Every 7th row is inactive and every 11th has finished; all are
+     * recorded as scheduled with an alarm armed at {@code step}.
+     *
+     * @return the latest next_fire_at written
+     */
+    private long insertRowsFiringEvery(int rows, long step) {
+        List<Integer> order = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(42));
+        database.runInTransaction(() -> {
+            for (int i = 0; i < rows; i++) {
+                ReminderModel reminder = createTestReminder("Row " + i);
+                reminder.setActive(i % 7 != 0);
+                reminder.setNextFireAt(i % 11 == 0 ? null : order.get(i) * step);
+                reminder.setScheduledVersion(reminder.getScheduleVersion());
+                reminder.setScheduledAt(step);
+                reminderDao.add(reminder);
+            }
+        });
+        return (rows - 1) * step;
+    }
+
+    private String queryPlan(String sql) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query("EXPLAIN QUERY PLAN " + sql)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
     private <T> T getLiveDataValue(LiveData<T> liveData) throws InterruptedException {
         final Object[] data = new Object[1];
         final CountDownLatch latch = new CountDownLatch(1);
@@ -250,6 +300,322 @@ public class ReminderDaoTest {
         assertTrue("Status should be updated to active", result.isActive());
     }
 
+    // ==================== Schedule Dirty Tracking ====================
+
+    @Test
+    public void getNeedingScheduleSync_onlyReturnsChangedOrDueRows() {
+        int clean = (int) reminderDao.add(createTestReminder("Clean"));
+        int edited = (int) reminderDao.add(createTestReminder("Edited"));
+        int due = (int) reminderDao.add(createTestReminder("Due"));
+        int fresh = (int) reminderDao.add(createTestReminder("Fresh"));
+        reminderDao.markScheduled(clean, 0, 5_000L);
+        reminderDao.markScheduled(edited, 0, 5_000L);
+        reminderDao.markScheduled(due, 0, 1_000L);
+
+        reminderDao.updateStatus(edited, false);
+
+        List<Integer> ids = new ArrayList<>();
+        for (ReminderModel model : reminderDao.getNeedingScheduleSync(2_000L)) {
+            ids.add(model.getId());
+        }
+        assertFalse(ids.contains(clean));
+        assertTrue(ids.contains(edited));
+        assertTrue(ids.contains(due));
+        assertTrue(ids.contains(fresh));
+    }
+
+    @Test
+    public void updateAndMarkDirty_staleModelCannotMarkItselfClean() {
+        ReminderModel reminder = createTestReminder("Stale");
+        int id = (int) reminderDao.add(reminder);
+        reminder.setId(id);
+        // Loaded before a snooze bumped the version and the scheduler caught up
+        ReminderModel stale = reminderDao.getSync(id);
+        reminderDao.updateSnoozedUntil(id, null);
+        reminderDao.markScheduled(id, 1, 5_000L);
+
+        stale.setName("Renamed");
+        reminderDao.updateAndMarkDirty(stale);
+
+        ReminderModel result = reminderDao.getSync(id);
+        assertEquals("Renamed", result.getName());
+        assertEquals(2, result.getScheduleVersion());
+        assertEquals(1, result.getScheduledVersion());
+        assertEquals(Long.valueOf(5_000L), result.getScheduledAt());
+        assertTrue(result.needsScheduling(0));
+    }
+
+    @Test
+    public void claimDue_popsDueRowsOnceAndRequeuesThem() {
+        int due = (int) reminderDao.add(createTestReminder("Due"));
+        int later = (int) reminderDao.add(createTestReminder("Later"));
+        int ended = (int) reminderDao.add(createTestReminder("Ended"));
+        reminderDao.markScheduled(due, 0, 1_000L);
+        reminderDao.markScheduled(later, 0, 9_000L);
+        reminderDao.markScheduled(ended, 0, 2_000L);
+        assertEquals(Long.valueOf(1_000L), reminderDao.getEarliestQueuedFire());
+
+        List<ReminderModel> popped = reminderDao.claimDue(3_000L,
+                model -> model.getId() == ended ? ReminderModel.NO_OCCURRENCE : 5_000L);
+
+        assertEquals(2, popped.size());
+        assertEquals(due, popped.get(0).getId());
+        assertEquals(Long.valueOf(1_000L), popped.get(0).getScheduledAt());
+        assertEquals(Long.valueOf(3_000L), reminderDao.getSync(due).getLastFiredAt());
+        assertNull(reminderDao.getSync(ended).getScheduledAt());
+        assertEquals(Long.valueOf(5_000L), reminderDao.getEarliestQueuedFire());
+        assertTrue("A second pop at the same time finds nothing",
+                reminderDao.claimDue(3_000L, model -> 5_000L).isEmpty());
+    }
+
+    @Test
+    public void getEarliestQueuedFire_ignoresInactiveAndEditedRows() {
+        int inactive = (int) reminderDao.add(createTestReminder("Inactive"));
+        int edited = (int) reminderDao.add(createTestReminder("Edited"));
+        int queued = (int) reminderDao.add(createTestReminder("Queued"));
+        reminderDao.markScheduled(inactive, 0, 1_000L);
+        reminderDao.markScheduled(edited, 0, 2_000L);
+        reminderDao.markScheduled(queued, 0, 3_000L);
+        reminderDao.updateStatus(inactive, false);
+        reminderDao.markScheduled(inactive, 1, 1_000L);
+        reminderDao.markDirty(edited);
+
+        assertEquals(Long.valueOf(3_000L), reminderDao.getEarliestQueuedFire());
+    }
+
+    @Test
+    public void recordFire_clearsSnoozeAndStampsInOneUpdate() {
+        int id = (int) reminderDao.add(createTestReminder("Snoozed"));
+        reminderDao.updateSnoozedUntil(id, 8_000L);
+        long version = reminderDao.getSync(id).getScheduleVersion();
+
+        reminderDao.recordFire(id, 3_000L);
+
+        ReminderModel stored = reminderDao.getSync(id);
+        assertNull(stored.getSnoozedUntil());
+        assertEquals(Long.valueOf(3_000L), stored.getLastFiredAt());
+        assertEquals("Leaves next_fire_at for the caller to refresh",
+                Long.valueOf(8_000L), stored.getNextFireAt());
+        assertEquals(version + 1, stored.getScheduleVersion());
+    }
+
+    @Test
+    public void recordFires_clearsSnoozeStampsAndRefreshesEachRow() {
+        int snoozed = (int) reminderDao.add(createTestReminder("Snoozed"));
+        int plain = (int) reminderDao.add(createTestReminder("Plain"));
+        reminderDao.updateSnoozedUntil(snoozed, 8_000L);
+
+        List<ReminderModel> fired = reminderDao.recordFires(
+                new int[]{snoozed, 999_999, plain}, 3_000L, model -> 5_000L);
+
+        assertEquals("The deleted id is skipped", 2, fired.size());
+        assertEquals(snoozed, fired.get(0).getId());
+        assertEquals(plain, fired.get(1).getId());
+        for (int id : new int[]{snoozed, plain}) {
+            ReminderModel stored = reminderDao.getSync(id);
+            assertNull(stored.getSnoozedUntil());
+            assertEquals(Long.valueOf(3_000L), stored.getLastFiredAt());
+            assertEquals(Long.valueOf(5_000L), stored.getNextFireAt());
+        }
+    }
+
+    // ==================== next_fire_at ====================
+
+    @Test
+    public void getDueBefore_returnsActiveRowsUpToHorizonSoonestFirst() {
+        int late = (int) reminderDao.add(reminderFiringAt("Late", 3_000L));
+        int early = (int) reminderDao.add(reminderFiringAt("Early", 1_000L));
+        int beyond = (int) reminderDao.add(reminderFiringAt("Beyond", 9_000L));
+        int inactive = (int) reminderDao.add(reminderFiringAt("Inactive", 2_000L));
+        reminderDao.updateStatus(inactive, false);
+        reminderDao.add(reminderFiringAt("Finished", null));
+
+        List<ReminderModel> due = reminderDao.getDueBefore(5_000L, 10);
+
+        assertEquals(2, due.size());
+        assertEquals(early, due.get(0).getId());
+        assertEquals(late, due.get(1).getId());
+        assertEquals(1, reminderDao.getDueBefore(5_000L, 1).size());
+        assertEquals(3, reminderDao.getUpcomingSync().size());
+        assertEquals(beyond, reminderDao.getUpcomingSync().get(2).getId());
+    }
+
+    @Test
+    public void getEarliestFireAfter_skipsPastInactiveAndFinishedRows() {
+        reminderDao.add(reminderFiringAt("Past", 1_000L));
+        reminderDao.add(reminderFiringAt("Later", 9_000L));
+        reminderDao.add(reminderFiringAt("Next", 4_000L));
+        int inactive = (int) reminderDao.add(reminderFiringAt("Inactive", 3_000L));
+        reminderDao.updateStatus(inactive, false);
+        reminderDao.add(reminderFiringAt("Finished", null));
+
+        assertEquals(Long.valueOf(4_000L), reminderDao.getEarliestFireAfter(2_000L));
+        assertNull(reminderDao.getEarliestFireAfter(9_000L));
+    }
+
+    @Test
+    public void getEarliestSnoozeEndAfter_returnsSoonestFutureDeadline() {
+        int first = (int) reminderDao.add(createTestReminder("First"));
+        int second = (int) reminderDao.add(createTestReminder("Second"));
+        reminderDao.add(createTestReminder("NotSnoozed"));
+        reminderDao.updateSnoozedUntil(first, 6_000L);
+        reminderDao.updateSnoozedUntil(second, 5_000L);
+
+        assertEquals(Long.valueOf(5_000L), reminderDao.getEarliestSnoozeEndAfter(1_000L));
+        assertEquals(Long.valueOf(6_000L), reminderDao.getEarliestSnoozeEndAfter(5_000L));
+        assertNull(reminderDao.getEarliestSnoozeEndAfter(6_000L));
+    }
+
+    @Test
+    public void updateSnoozedUntil_movesNextFireAtToDeadline() {
+        int id = (int) reminderDao.add(reminderFiringAt("Snoozed", 1_000L));
+
+        reminderDao.updateSnoozedUntil(id, 4_000L);
+        assertEquals(Long.valueOf(4_000L), reminderDao.getSync(id).getNextFireAt());
+
+        reminderDao.updateSnoozedUntil(id, null);
+        assertEquals("Clearing keeps the value until it is refreshed",
+                Long.valueOf(4_000L), reminderDao.getSync(id).getNextFireAt());
+
+        reminderDao.refreshNextFireAt(id, stored -> stored.getSnoozedUntil() == null ? 8_000L : -1L);
+        assertEquals(Long.valueOf(8_000L), reminderDao.getSync(id).getNextFireAt());
+    }
+
+    @Test
+    public void updateStatusAndNextFire_writesBothAndMarksDirty() {
+        int id = (int) reminderDao.add(reminderFiringAt("Toggled", 1_000L));
+        reminderDao.markScheduled(id, 0, 1_000L);
+
+        reminderDao.updateStatusAndNextFire(id, false, null);
+
+        ReminderModel stored = reminderDao.getSync(id);
+        assertFalse(stored.isActive());
+        assertNull(stored.getNextFireAt());
+        assertTrue(stored.needsScheduling(0));
+    }
+
+    @Test
+    public void claimDue_advancesNextFireAt() {
+        int id = (int) reminderDao.add(reminderFiringAt("Queued", 1_000L));
+        reminderDao.markScheduled(id, 0, 1_000L);
+
+        reminderDao.claimDue(2_000L, model -> 6_000L);
+
+        assertEquals(Long.valueOf(6_000L), reminderDao.getSync(id).getNextFireAt());
+    }
+
+    @Test
+    public void markIdleScheduled_cleansOnlyRowsThatCannotFire() {
+        int inactive = (int) reminderDao.add(reminderFiringAt("Inactive", 1_000L));
+        reminderDao.updateStatus(inactive, false);
+        int finished = (int) reminderDao.add(reminderFiringAt("Finished", null));
+        reminderDao.markScheduled(finished, 0, 500L);
+        int migrated = (int) reminderDao.add(reminderFiringAt("Not computed yet", null));
+        int upcoming = (int) reminderDao.add(reminderFiringAt("Upcoming", 2_000L));
+
+        int marked = reminderDao.markIdleScheduled();
+
+        assertEquals(2, marked);
+        assertFalse(reminderDao.getSync(inactive).needsScheduling(0));
+        assertNull(reminderDao.getSync(finished).getScheduledAt());
+        assertTrue("Dirty rows without next_fire_at are left to the worker",
+                reminderDao.getSync(migrated).needsScheduling(0));
+        assertTrue(reminderDao.getSync(upcoming).needsScheduling(0));
+    }
+
+    @Test
+    public void getEnteringHorizonSync_findsOnlyDeferredRowsInsideWindow() {
+        int deferred = (int) reminderDao.add(reminderFiringAt("Deferred", 2_000L));
+        reminderDao.markScheduled(deferred, 0, null);
+        int armed = (int) reminderDao.add(reminderFiringAt("Armed", 1_500L));
+        reminderDao.markScheduled(armed, 0, 1_500L);
+        int farAway = (int) reminderDao.add(reminderFiringAt("Far away", 90_000L));
+        reminderDao.markScheduled(farAway, 0, null);
+        reminderDao.add(reminderFiringAt("Dirty", 1_000L));
+
+        List<ReminderModel> entering = reminderDao.getEnteringHorizonSync(10_000L);
+
+        assertEquals(1, entering.size());
+        assertEquals(deferred, entering.get(0).getId());
+    }
+
+    @Test
+    public void markDeferredAfter_cleansOnlyRowsBeyondHorizon() {
+        int inside = (int) reminderDao.add(reminderFiringAt("Inside", 2_000L));
+        int beyond = (int) reminderDao.add(reminderFiringAt("Beyond", 20_000L));
+        reminderDao.markScheduled(beyond, 0, 20_000L);
+        reminderDao.markDirty(beyond);
+
+        int marked = reminderDao.markDeferredAfter(10_000L);
+
+        assertEquals(1, marked);
+        assertTrue(reminderDao.getSync(inside).needsScheduling(0));
+        ReminderModel stored = reminderDao.getSync(beyond);
+        assertFalse(stored.needsScheduling(0));
+        assertNull(stored.getScheduledAt());
+        assertEquals(1, reminderDao.getEnteringHorizonSync(Long.MAX_VALUE).size());
+    }
+
+    /**
+     * 100k rows, 1% of them due: {@code getDueBefore} must return exactly what a full
+     * {@code getAllSync()} scan filtered in Java finds, in fire order, through the
+     * {@code (active, next_fire_at)} index. Timings are logged for comparison.
+     */
+    @Test
+    public void getDueBefore_100kRows_matchesFullScanThroughIndex() {
+        int rows = 100_000;
+        long horizon = insertRowsFiringEvery(rows, 1_000L) / 100;
+
+        long startNanos = System.nanoTime();
+        List<ReminderModel> due = reminderDao.getDueBefore(horizon, rows);
+        long indexedNanos = System.nanoTime() - startNanos;
+
+        startNanos = System.nanoTime();
+        List<ReminderModel> scanned = new ArrayList<>();
+        for (ReminderModel model : reminderDao.getAllSync()) {
+            Long next = model.getNextFireAt();
+            if (model.isActive() && next != null && next <= horizon) {
+                scanned.add(model);
+            }
+        }
+        long scanNanos = System.nanoTime() - startNanos;
+
+        assertEquals(scanned.size(), due.size());
+        assertTrue(due.size() > 0 && due.size() < rows / 50);
+        for (int i = 1; i < due.size(); i++) {
+            assertTrue("Rows come back in fire order",
+                    due.get(i - 1).getNextFireAt() <= due.get(i).getNextFireAt());
+        }
+        assertEquals(10, reminderDao.getDueBefore(horizon, 10).size());
+
+        Log.i("Notiva.ReminderDaoTest", "getDueBefore(" + rows + " rows): " + due.size()
+                + " due in " + indexedNanos / 1_000 + " us; full scan took " + scanNanos / 1_000 + " us");
+        assertTrue("Query plan should use the next_fire_at index",
+                queryPlan("SELECT * FROM reminders WHERE active = 1 AND next_fire_at <= " + horizon
+                        + " ORDER BY next_fire_at LIMIT 10").contains("index_reminders_active_next_fire_at"));
+    }
+
+    @Test
+    public void markIdleScheduled_100kRows_leavesUpcomingRowsForBoot() {
+        int rows = 100_000;
+        insertRowsFiringEvery(rows, 1_000L);
+
+        reminderDao.markIdleScheduled();
+        List<ReminderModel> upcoming = reminderDao.getUpcomingSync();
+
+        int expected = 0;
+        for (ReminderModel model : reminderDao.getAllSync()) {
+            if (model.isActive() && model.getNextFireAt() != null) {
+                expected++;
+                assertEquals("Upcoming rows are re-armed by boot itself",
+                        Long.valueOf(1_000L), model.getScheduledAt());
+            } else {
+                assertNull(model.getScheduledAt());
+            }
+        }
+        assertEquals(expected, upcoming.size());
+    }
+
     // ==================== Delete Tests ====================
 
     @Test
@@ -536,4 +902,111 @@ public class ReminderDaoTest {
         List<ReminderModel> all = reminderDao.getAllSync();
         assertTrue(all.isEmpty());
     }
+
+    // ==================== Epoch Millis + Zone Tests ====================
+
+    @Test
+    public void add_roundTripsMillisAndZone() throws InterruptedException {
+        ReminderModel reminder = createTestReminder("Zoned");
+        reminder.setZoneId("Asia/Kolkata");
+        long id = reminderDao.add(reminder);
+
+        ReminderModel result = getLiveDataValue(reminderDao.get((int) id));
+
+        assertEquals(reminder.getStartDateMillis(), result.getStartDateMillis());
+        assertEquals(reminder.getEndDateMillis(), result.getEndDateMillis());
+        assertEquals("Asia/Kolkata", result.getZoneId());
+    }
+
+    @Test
+    public void moveFloatingToZone_movesOnlyFloatingRowsOutsideZone() {
+        ReminderModel floating = createTestReminder("Floating");
+        floating.setZoneId("America/New_York");
+        floating.setFloatingZone(true);
+        int floatingId = (int) reminderDao.add(floating);
+        ReminderModel absolute = createTestReminder("Absolute");
+        absolute.setZoneId("America/New_York");
+        int absoluteId = (int) reminderDao.add(absolute);
+        ReminderModel alreadyThere = createTestReminder("Already in London");
+        alreadyThere.setZoneId("Europe/London");
+        alreadyThere.setFloatingZone(true);
+        reminderDao.add(alreadyThere);
+        int localHour = floating.getStartZonedDateTime().getHour();
+
+        List<ReminderModel> moved = reminderDao.moveFloatingToZone(
+                ZoneId.of("Europe/London"), model -> 7_000L);
+
+        assertEquals(1, moved.size());
+        assertEquals(floatingId, moved.get(0).getId());
+        ReminderModel stored = reminderDao.getSync(floatingId);
+        assertEquals("Europe/London", stored.getZoneId());
+        assertEquals(localHour, stored.getStartZonedDateTime().getHour());
+        assertEquals(Long.valueOf(7_000L), stored.getNextFireAt());
+        assertEquals("The in-memory row matches what was stored",
+                stored.getScheduleVersion(), moved.get(0).getScheduleVersion());
+        assertTrue(stored.needsScheduling(0));
+        ReminderModel untouched = reminderDao.getSync(absoluteId);
+        assertEquals("America/New_York", untouched.getZoneId());
+        assertEquals(absolute.getStartDateMillis(), untouched.getStartDateMillis());
+    }
+
+    @Test
+    public void getFiredAfter_findsActiveRowsStampedAfterNow() {
+        int future = (int) reminderDao.add(createTestReminder("Fired later"));
+        reminderDao.updateLastFiredAt(future, 9_000L);
+        int past = (int) reminderDao.add(createTestReminder("Fired earlier"));
+        reminderDao.updateLastFiredAt(past, 1_000L);
+        int inactive = (int) reminderDao.add(createTestReminder("Inactive"));
+        reminderDao.updateLastFiredAt(inactive, 9_000L);
+        reminderDao.updateStatus(inactive, false);
+        reminderDao.add(createTestReminder("Never fired"));
+
+        List<ReminderModel> fired = reminderDao.getFiredAfter(5_000L);
+
+        assertEquals(1, fired.size());
+        assertEquals(future, fired.get(0).getId());
+    }
+
+    /**
+     * Compares the retained heap of a 10k-row {@code getAllSync()} with the Calendars the
+     * pre-v4 entity built per row via {@link DbTypeConverters#toCalendar}. Only logged, for
+     * reading from logcat: heap deltas after {@code gc()} depend on the collector, so they
+     * are not asserted on.
+     */
+    @Test
+    public void getAllSync_10kRows_logsRetainedHeapAgainstLegacyCalendars() {
+        int rows = 10_000;
+        database.runInTransaction(() -> {
+            for (int i = 0; i < rows; i++) {
+                reminderDao.add(createTestReminder("Row " + i));
+            }
+        });
+
+        long baseline = usedHeapAfterGc();
+        List<ReminderModel> loaded = reminderDao.getAllSync();
+        long rowsBytes = usedHeapAfterGc() - baseline;
+        assertEquals(rows, loaded.size());
+
+        List<Calendar> legacy = new ArrayList<>(rows * 2);
+        baseline = usedHeapAfterGc();
+        for (ReminderModel model : loaded) {
+            legacy.add(DbTypeConverters.toCalendar(model.getStartDateMillis()));
+            legacy.add(DbTypeConverters.toCalendar(model.getEndDateMillis()));
+        }
+        long legacyCalendarBytes = usedHeapAfterGc() - baseline;
+        assertEquals(rows * 2, legacy.size());
+
+        Log.i("Notiva.ReminderDaoTest", "getAllSync(" + rows + "): rows retain " + rowsBytes
+                + " bytes; the two Calendars per row the old entity held retain an extra "
+                + legacyCalendarBytes + " bytes");
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            runtime.gc();
+            System.runFinalization();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
 }
@@ -2,11 +2,15 @@ package com.ava.notiva;
 
 import static com.ava.notiva.util.ReminderConstants.REMINDER_ACTIVE;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_END_TIME;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_FLOATING_ZONE;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_ID;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_NAME;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_RECURRENCE_DELAY;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_RECURRENCE_TYPE;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_RRULE;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_START_TIME;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_WALL_CLOCK;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_ZONE_ID;
 
 import android.Manifest;
 import android.content.Intent;
@@ -32,6 +36,7 @@ import com.ava.notiva.adapter.ReminderItemAdapter;
 import com.ava.notiva.data.GetAllRemindersViewModel;
 import com.ava.notiva.data.ReminderDmlViewModel;
 import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlanCache;
 
 import javax.inject.Inject;
 
@@ -45,6 +50,8 @@ public class MainActivity extends AppCompatActivity {
   ReminderDmlViewModel reminderDml;
   @Inject
   GetAllRemindersViewModel getAllRemindersViewModel;
+  @Inject
+  SchedulePlanCache schedulePlanCache;
   private ReminderItemAdapter reminderItemAdapter;
   private RecyclerView reminderRecyclerView;
   private TextView emptyReminderList;
@@ -64,7 +71,7 @@ public class MainActivity extends AppCompatActivity {
     emptyReminderList = findViewById(R.id.am_tv_no_reminders);
 
     reminderItemAdapter =
-        new ReminderItemAdapter(this, reminderDml, this::startUpsertReminderActivity);
+        new ReminderItemAdapter(this, reminderDml, schedulePlanCache, this::startUpsertReminderActivity);
     reminderRecyclerView = findViewById(R.id.am_rv_reminders);
     reminderRecyclerView.setAdapter(reminderItemAdapter);
     attachItemClickHelper();
@@ -77,11 +84,15 @@ public class MainActivity extends AppCompatActivity {
       intent.putExtra(REMINDER_ID, model.getId());
       intent.putExtra(REMINDER_ACTIVE, model.isActive());
       intent.putExtra(REMINDER_NAME, model.getName());
-      intent.putExtra(REMINDER_START_TIME, model.getStartDateTime().getTimeInMillis());
+      intent.putExtra(REMINDER_START_TIME, model.getStartDateMillis());
+      intent.putExtra(REMINDER_ZONE_ID, model.getZoneId());
+      intent.putExtra(REMINDER_RRULE, model.getRrule());
+      intent.putExtra(REMINDER_WALL_CLOCK, model.isWallClock());
+      intent.putExtra(REMINDER_FLOATING_ZONE, model.isFloatingZone());
       intent.putExtra(REMINDER_RECURRENCE_DELAY, model.getRecurrenceDelay());
       intent.putExtra(REMINDER_RECURRENCE_TYPE, model.getRecurrenceType().toString());
-      if (model.getEndDateTime() != null) {
-        intent.putExtra(REMINDER_END_TIME, model.getEndDateTime().getTimeInMillis());
+      if (model.hasEndDate()) {
+        intent.putExtra(REMINDER_END_TIME, model.getEndDateMillis());
       }
     }
     startActivity(intent);
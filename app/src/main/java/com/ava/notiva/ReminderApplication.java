@@ -9,13 +9,9 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.hilt.work.HiltWorkerFactory;
 import androidx.work.Configuration;
-import androidx.work.ExistingPeriodicWorkPolicy;
-import androidx.work.PeriodicWorkRequest;
-import androidx.work.WorkManager;
 
-import com.ava.notiva.service.ReminderTriggerWorker;
-
-import java.util.concurrent.TimeUnit;
+import com.ava.notiva.util.AlarmChannelCache;
+import com.ava.notiva.util.ReminderWorkerUtils;
 
 import javax.inject.Inject;
 
@@ -29,6 +25,10 @@ public class ReminderApplication extends Application implements Configuration.Pr
   @Inject
   HiltWorkerFactory workerFactory;
 
+  // Injected eagerly so its settings listener collects stale channels for the whole process
+  @Inject
+  AlarmChannelCache alarmChannelCache;
+
   @NonNull
   @Override
   public Configuration getWorkManagerConfiguration() {
@@ -44,18 +44,14 @@ public class ReminderApplication extends Application implements Configuration.Pr
     // Log exact alarm permission status (informational)
     logExactAlarmPermissionStatus();
 
-    // WorkManager enforces a minimum interval of 15 minutes for periodic work.
-    // Requesting a shorter interval (e.g., 1 minute) is silently increased to 15 minutes.
-    // For time-sensitive reminders, the actual precision comes from AlarmManager
-    // exact alarms scheduled by the ReminderTriggerWorker for each active reminder.
-    PeriodicWorkRequest periodicWorkRequest =
-        new PeriodicWorkRequest.Builder(ReminderTriggerWorker.class, 15, TimeUnit.MINUTES)
-            .build();
-    WorkManager.getInstance(this).enqueueUniquePeriodicWork(
-        "ReminderSync",
-        ExistingPeriodicWorkPolicy.KEEP,
-        periodicWorkRequest
-    );
+    // Each worker pass times the next one to the earliest fire it must follow up (see
+    // WorkerCadence), so the periodic pass is only a long-interval safety net. The
+    // precision of reminders still comes from AlarmManager exact alarms.
+    ReminderWorkerUtils.enqueueSafetyNet(this);
+    // The timed pass is a chain each pass re-arms, so one pass at startup starts it; this
+    // also covers upgrades, where the safety net keeps its old schedule and every row is
+    // left dirty. KEEP coalesces it with a scan that is already pending.
+    ReminderWorkerUtils.enqueueRecoveryScan(this);
   }
 
   /**
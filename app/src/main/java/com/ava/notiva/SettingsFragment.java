@@ -12,15 +12,41 @@ import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.preference.ListPreference;
 import androidx.preference.Preference;
+import androidx.preference.PreferenceCategory;
 import androidx.preference.PreferenceFragmentCompat;
 import androidx.preference.PreferenceManager;
 
+import com.ava.notiva.model.FirePhase;
+import com.ava.notiva.util.FireLatencyRecorder;
+import com.ava.notiva.util.NotificationPreferences;
+import com.ava.notiva.util.ReminderWorkerUtils;
+import com.ava.notiva.util.SchedulerMetricsRecorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import dagger.hilt.android.AndroidEntryPoint;
+
+@AndroidEntryPoint
 public class SettingsFragment extends PreferenceFragmentCompat {
 
     private static final String KEY_RINGTONE = "pref_notification_ringtone";
     private static final String KEY_SNOOZE = "pref_snooze_duration";
+    private static final String KEY_DIAGNOSTICS = "pref_category_diagnostics";
+    private static final String KEY_LATENCY_RESET = "pref_latency_reset";
+    private static final String KEY_METRICS_EXPORT = "pref_scheduler_metrics_export";
+    private static final String KEY_METRICS_RESET = "pref_scheduler_metrics_reset";
+
+    @Inject
+    FireLatencyRecorder fireLatencyRecorder;
+
+    @Inject
+    SchedulerMetricsRecorder schedulerMetrics;
 
     private Preference ringtonePreference;
+    private final Map<FirePhase, Preference> latencyPreferences = new EnumMap<>(FirePhase.class);
     private ActivityResultLauncher<Intent> ringtonePickerLauncher;
 
     @Override
@@ -64,6 +90,97 @@ public class SettingsFragment extends PreferenceFragmentCompat {
         if (snoozePreference != null) {
             snoozePreference.setSummaryProvider(ListPreference.SimpleSummaryProvider.getInstance());
         }
+
+        // Notification policy: read on each fire, so changes apply to the next one
+        for (String key : new String[]{NotificationPreferences.KEY_COLLAPSE_STRATEGY,
+                NotificationPreferences.KEY_SOUND_STRATEGY, NotificationPreferences.KEY_MAX_ACTIVE}) {
+            ListPreference policyPreference = findPreference(key);
+            if (policyPreference != null) {
+                policyPreference.setSummaryProvider(ListPreference.SimpleSummaryProvider.getInstance());
+            }
+        }
+
+        // Scheduler mode: switching re-arms every reminder under the new mode
+        ListPreference schedulerModePreference = findPreference(NotificationPreferences.KEY_SCHEDULER_MODE);
+        if (schedulerModePreference != null) {
+            schedulerModePreference.setSummaryProvider(ListPreference.SimpleSummaryProvider.getInstance());
+            schedulerModePreference.setOnPreferenceChangeListener((pref, newValue) -> {
+                if (!newValue.equals(schedulerModePreference.getValue())) {
+                    // Persist before enqueueing so the worker reads the new mode
+                    pref.getPreferenceManager().getSharedPreferences().edit()
+                            .putString(NotificationPreferences.KEY_SCHEDULER_MODE, (String) newValue)
+                            .commit();
+                    ReminderWorkerUtils.enqueueSchedulerModeChange(requireContext());
+                }
+                return true;
+            });
+        }
+
+        // Scheduling horizon: the periodic worker picks up the new window on its next pass
+        ListPreference horizonPreference = findPreference(NotificationPreferences.KEY_SCHEDULING_HORIZON);
+        if (horizonPreference != null) {
+            horizonPreference.setSummaryProvider(ListPreference.SimpleSummaryProvider.getInstance());
+        }
+
+        // Diagnostics: one row per fire pipeline phase, summarised as p50/p95/p99, above
+        // the category's action rows
+        PreferenceCategory diagnostics = findPreference(KEY_DIAGNOSTICS);
+        if (diagnostics != null) {
+            int phaseCount = FirePhase.values().length;
+            for (int i = 0; i < diagnostics.getPreferenceCount(); i++) {
+                Preference action = diagnostics.getPreference(i);
+                action.setOrder(phaseCount + i);
+            }
+            for (FirePhase phase : FirePhase.values()) {
+                Preference preference = new Preference(requireContext());
+                preference.setTitle(phase.getLabel());
+                preference.setSelectable(false);
+                preference.setPersistent(false);
+                preference.setOrder(phase.ordinal());
+                diagnostics.addPreference(preference);
+                latencyPreferences.put(phase, preference);
+            }
+            Preference resetPreference = findPreference(KEY_LATENCY_RESET);
+            if (resetPreference != null) {
+                resetPreference.setOnPreferenceClickListener(pref -> {
+                    fireLatencyRecorder.clear();
+                    updateLatencySummaries();
+                    return true;
+                });
+            }
+        }
+
+        // Scheduler metrics: shared as JSON so field reports can attach them
+        Preference exportPreference = findPreference(KEY_METRICS_EXPORT);
+        if (exportPreference != null) {
+            exportPreference.setOnPreferenceClickListener(pref -> {
+                Intent send = new Intent(Intent.ACTION_SEND);
+                send.setType("text/plain");
+                send.putExtra(Intent.EXTRA_SUBJECT, getString(R.string.pref_scheduler_metrics_export_subject));
+                send.putExtra(Intent.EXTRA_TEXT, schedulerMetrics.toJson());
+                startActivity(Intent.createChooser(send, pref.getTitle()));
+                return true;
+            });
+        }
+        Preference metricsResetPreference = findPreference(KEY_METRICS_RESET);
+        if (metricsResetPreference != null) {
+            metricsResetPreference.setOnPreferenceClickListener(pref -> {
+                schedulerMetrics.reset();
+                return true;
+            });
+        }
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        updateLatencySummaries();
+    }
+
+    private void updateLatencySummaries() {
+        for (Map.Entry<FirePhase, Preference> entry : latencyPreferences.entrySet()) {
+            entry.getValue().setSummary(fireLatencyRecorder.get(entry.getKey()).toString());
+        }
     }
 
     private void launchRingtonePicker() {
@@ -2,11 +2,15 @@ package com.ava.notiva;
 
 import static com.ava.notiva.util.ReminderConstants.REMINDER_ACTIVE;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_END_TIME;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_FLOATING_ZONE;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_ID;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_NAME;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_RECURRENCE_DELAY;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_RECURRENCE_TYPE;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_RRULE;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_START_TIME;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_WALL_CLOCK;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_ZONE_ID;
 import static java.util.Calendar.DATE;
 import static java.util.Calendar.HOUR;
 import static java.util.Calendar.HOUR_OF_DAY;
@@ -41,10 +45,11 @@ import com.ava.notiva.listener.ReminderNameChangedListener;
 import com.ava.notiva.model.RecurrenceType;
 import com.ava.notiva.model.ReminderModel;
 import com.ava.notiva.util.DateTimeDisplayUtil;
+import com.ava.notiva.util.FriendlyDateLabels;
+import com.ava.notiva.util.FriendlyDateLabelsLoader;
 import com.ava.notiva.util.FriendlyDateType;
 import com.ava.notiva.util.InputFilterMinMax;
 import com.ava.notiva.util.RecurrenceDisplayUtil;
-import com.ava.notiva.util.ReminderWorkerUtils;
 import com.google.android.material.datepicker.CalendarConstraints;
 import com.google.android.material.datepicker.DateValidatorPointForward;
 import com.google.android.material.datepicker.MaterialDatePicker;
@@ -78,12 +83,14 @@ public class UpsertReminderActivity extends AppCompatActivity {
   private TextView endTimeTextView;
   private EditText reminderName;
   private TextView recurrenceSummaryTv;
+  private FriendlyDateLabels dateLabels;
 
   @Override
   protected void onCreate(Bundle savedInstanceState) {
     super.onCreate(savedInstanceState);
     setContentView(R.layout.activity_upsert_reminder);
     try {
+      dateLabels = FriendlyDateLabelsLoader.load(this);
       reminderModel = buildReminderAndSetTitle();
       initComponentMappings();
       initPrimaryComponents();
@@ -127,19 +134,20 @@ public class UpsertReminderActivity extends AppCompatActivity {
       reminderModel.setRecurrenceDelay(0);
       reminderModel.setEndDateTime(null);
     }
+    // Rows saved before the flags existed (floatingZone unset) keep elapsed periods
+    if (reminderModel.isFloatingZone()) {
+      reminderModel.setWallClock(reminderModel.getRecurrenceType().keepsWallClock());
+    }
 
     if (reminderModel.getId() > 0) {
+      // The repository reschedules the reminder's alarm once the update is written
       reminderDmlViewModel.updateReminder(reminderModel);
-      ReminderWorkerUtils.enqueueReminderWorker(this);
       finish();
     } else {
       reminderDmlViewModel.addReminderWithCallback(reminderModel, (newId) -> {
         if (newId > 0) {
           reminderModel.setId(newId.intValue());
-          runOnUiThread(() -> {
-            ReminderWorkerUtils.enqueueReminderWorker(this);
-            finish();
-          });
+          runOnUiThread(this::finish);
         } else {
           Log.w(TAG, "Reminder not saved, skipping notification scheduling. Invalid ID: " + newId);
           runOnUiThread(this::finish);
@@ -161,12 +169,26 @@ public class UpsertReminderActivity extends AppCompatActivity {
           intent.getIntExtra(REMINDER_RECURRENCE_DELAY, 0),
           intent.getStringExtra(REMINDER_RECURRENCE_TYPE),
           intent.getLongExtra(REMINDER_END_TIME, 0));
+      String zoneId = intent.getStringExtra(REMINDER_ZONE_ID);
+      if (zoneId != null) {
+        model.setZoneId(zoneId);
+      }
+      // Not editable on this screen yet, but must survive an edit of the other fields
+      model.setRrule(intent.getStringExtra(REMINDER_RRULE));
+      model.setWallClock(intent.getBooleanExtra(REMINDER_WALL_CLOCK, false));
+      model.setFloatingZone(intent.getBooleanExtra(REMINDER_FLOATING_ZONE, false));
       if (model.getRecurrenceType() == RecurrenceType.FOREVER) {
         model.setEndDateTime(null);
       }
       return model;
     }
-    return new ReminderModel();
+    ReminderModel created = new ReminderModel();
+    // New reminders follow the device across zones, and day and calendar recurrences keep
+    // their time of day across DST (set on save, once the type is known); rows saved
+    // before the flags existed keep elapsed-time periods and fixed instants until they
+    // are recreated
+    created.setFloatingZone(true);
+    return created;
   }
 
   private void initComponentMappings() {
@@ -204,8 +226,8 @@ public class UpsertReminderActivity extends AppCompatActivity {
   private void initStartTimeComponents() {
     initStartTimeView();
 
-    Calendar startDateTime = reminderModel.getStartDateTime();
     startTimePicker.setOnTimeChangedListener((view, hourOfDay, minute) -> {
+      Calendar startDateTime = reminderModel.getStartDateTime();
       Calendar now = Calendar.getInstance();
       FriendlyDateType type = DateTimeDisplayUtil.getFriendlyDateType(startDateTime);
 
@@ -230,6 +252,7 @@ public class UpsertReminderActivity extends AppCompatActivity {
       startDateTime.set(Calendar.MINUTE, minute);
       startDateTime.set(Calendar.SECOND, 0);
       startDateTime.set(Calendar.MILLISECOND, 0);
+      reminderModel.setStartDateTime(startDateTime);
 
       initStartDateView();
     });
@@ -237,8 +260,13 @@ public class UpsertReminderActivity extends AppCompatActivity {
 
   private void initStartDateComponents() {
     initStartDateView();
-    Calendar startDateTime = reminderModel.getStartDateTime();
-    startDateImageView.setOnClickListener(view -> showMaterialDatePicker(startDateTime, this::initStartDateView, true));
+    startDateImageView.setOnClickListener(view -> {
+      Calendar startDateTime = reminderModel.getStartDateTime();
+      showMaterialDatePicker(startDateTime, () -> {
+        reminderModel.setStartDateTime(startDateTime);
+        initStartDateView();
+      }, true);
+    });
   }
 
   private void showMaterialDatePicker(Calendar dateTime, Runnable updateView, boolean isStartDate) {
@@ -246,7 +274,7 @@ public class UpsertReminderActivity extends AppCompatActivity {
     if (isStartDate) {
       constraintsBuilder.setValidator(DateValidatorPointForward.now());
     } else {
-      constraintsBuilder.setValidator(DateValidatorPointForward.from(reminderModel.getStartDateTime().getTimeInMillis()));
+      constraintsBuilder.setValidator(DateValidatorPointForward.from(reminderModel.getStartDateMillis()));
     }
 
     MaterialDatePicker<Long> datePicker = MaterialDatePicker.Builder.datePicker()
@@ -274,7 +302,7 @@ public class UpsertReminderActivity extends AppCompatActivity {
       currentTime.setTimeInMillis(System.currentTimeMillis());
       if (isStartDate && selected.before(currentTime)) {
         Toast.makeText(this, "Can't setup alarms for a time in the past!", Toast.LENGTH_LONG).show();
-      } else if (!isStartDate && selected.before(reminderModel.getStartDateTime())) {
+      } else if (!isStartDate && selected.getTimeInMillis() < reminderModel.getStartDateMillis()) {
         Toast.makeText(this, "Recurrence date can't be before alarm start date!", Toast.LENGTH_LONG).show();
       } else {
         // Apply UTC date components to the target dateTime (preserving existing time)
@@ -302,13 +330,10 @@ public class UpsertReminderActivity extends AppCompatActivity {
           reminderModel.setRecurrenceDelay(1);
           recurrenceDelayEt.setText("1");
         }
-        if (reminderModel.getEndDateTime() == null) {
-          Calendar start = reminderModel.getStartDateTime();
+        if (!reminderModel.hasEndDate()) {
           RecurrenceType type = reminderModel.getRecurrenceType();
           int delay = reminderModel.getRecurrenceDelay();
-          Calendar end = (Calendar) start.clone();
-          end.setTimeInMillis(start.getTimeInMillis() + delay * type.getMillis());
-          reminderModel.setEndDateTime(end);
+          reminderModel.setEndDateMillis(reminderModel.getStartDateMillis() + delay * type.getMillis());
         }
       } else {
         reminderModel.setRecurrenceType(RecurrenceType.NEVER);
@@ -359,10 +384,7 @@ public class UpsertReminderActivity extends AppCompatActivity {
       initEndTimeView();
       return;
     }
-    Calendar start = reminderModel.getStartDateTime();
-    Calendar end = (Calendar) start.clone();
-    end.setTimeInMillis(start.getTimeInMillis() + (long) count * type.getMillis());
-    reminderModel.setEndDateTime(end);
+    reminderModel.setEndDateMillis(reminderModel.getStartDateMillis() + (long) count * type.getMillis());
     initEndDateView();
     initEndTimeView();
   }
@@ -392,11 +414,11 @@ public class UpsertReminderActivity extends AppCompatActivity {
     ImageView endDateImageView = findViewById(R.id.ara_iv_end_calendar);
     endDateImageView.setOnClickListener(
         view -> {
-          Calendar endDateTime = reminderModel.getEndDateTime();
-          if (endDateTime == null) {
-            endDateTime = Calendar.getInstance();
-          }
-          showMaterialDatePicker(endDateTime, this::initEndDateView, false);
+          Calendar endDateTime = currentEndDateTime();
+          showMaterialDatePicker(endDateTime, () -> {
+            reminderModel.setEndDateTime(endDateTime);
+            initEndDateView();
+          }, false);
         });
   }
 
@@ -405,14 +427,23 @@ public class UpsertReminderActivity extends AppCompatActivity {
     ImageView endTimeImageView = findViewById(R.id.ara_iv_end_clock);
     endTimeImageView.setOnClickListener(
         view -> {
-          Calendar endDateTime = reminderModel.getEndDateTime();
-          if (endDateTime == null) {
-            endDateTime = Calendar.getInstance();
-          }
-          attachTimePickerDialog(endDateTime, this::initEndTimeView);
+          Calendar endDateTime = currentEndDateTime();
+          attachTimePickerDialog(endDateTime, () -> {
+            reminderModel.setEndDateTime(endDateTime);
+            initEndTimeView();
+          });
         });
   }
 
+  /**
+   * The model hands out Calendar copies, so pickers edit this copy and write it back
+   * through {@link ReminderModel#setEndDateTime} when a value is chosen.
+   */
+  private Calendar currentEndDateTime() {
+    Calendar endDateTime = reminderModel.getEndDateTime();
+    return endDateTime != null ? endDateTime : Calendar.getInstance();
+  }
+
   private void attachTimePickerDialog(Calendar dateTime, Runnable runnable) {
     TimePickerDialog tpd =
         new TimePickerDialog(
@@ -460,7 +491,7 @@ public class UpsertReminderActivity extends AppCompatActivity {
             + (startDateTime.get(MONTH) + 1)
             + "/"
             + startDateTime.get(YEAR));
-    startDateTextView.setText(DateTimeDisplayUtil.getFriendlyDate(this, startDateTime));
+    startDateTextView.setText(DateTimeDisplayUtil.getFriendlyDate(dateLabels, startDateTime));
   }
 
   private void initReminderNameView() {
@@ -526,7 +557,7 @@ public class UpsertReminderActivity extends AppCompatActivity {
             + (dateTime.get(MONTH) + 1)
             + "/"
             + dateTime.get(YEAR));
-    endDateTextView.setText(DateTimeDisplayUtil.getFriendlyDate(this, dateTime));
+    endDateTextView.setText(DateTimeDisplayUtil.getFriendlyDate(dateLabels, dateTime));
     updateRecurrenceSummary();
   }
 
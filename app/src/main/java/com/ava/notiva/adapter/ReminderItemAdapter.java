@@ -17,7 +17,10 @@ import com.ava.notiva.R;
 import com.ava.notiva.data.ReminderDmlViewModel;
 import com.ava.notiva.model.RecurrenceType;
 import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlanCache;
 import com.ava.notiva.util.DateTimeDisplayUtil;
+import com.ava.notiva.util.FriendlyDateLabels;
+import com.ava.notiva.util.FriendlyDateLabelsLoader;
 import com.ava.notiva.util.RecurrenceDisplayUtil;
 
 import java.util.Calendar;
@@ -27,16 +30,21 @@ public class ReminderItemAdapter
 
   private static final ReminderDiffCallback DIFF_CALLBACK = new ReminderDiffCallback();
   private final Context context;
+  private final FriendlyDateLabels dateLabels;
   private final ReminderDmlViewModel dmlViewModel;
+  private final SchedulePlanCache schedulePlanCache;
   private final ReminderItemClickListener itemClickListener;
 
   public ReminderItemAdapter(
       Context context,
       ReminderDmlViewModel dmlViewModel,
+      SchedulePlanCache schedulePlanCache,
       ReminderItemClickListener itemClickListener) {
     super(DIFF_CALLBACK);
     this.context = context;
+    this.dateLabels = FriendlyDateLabelsLoader.load(context);
     this.dmlViewModel = dmlViewModel;
+    this.schedulePlanCache = schedulePlanCache;
     this.itemClickListener = itemClickListener;
   }
 
@@ -59,13 +67,20 @@ public class ReminderItemAdapter
       holder.alarmName.setText(name);
     }
 
-    // Use getNextOccurrenceAfter() to show the actual next trigger time, not the original start
-    Calendar nextOccurrence = reminder.getNextOccurrenceAfter(Calendar.getInstance());
-    if (nextOccurrence == null) {
-      // Fallback for non-recurring or expired reminders
-      nextOccurrence = reminder.getStartDateTime();
+    // Show the actual next trigger time, not the original start. The persisted
+    // next_fire_at is used while it is still ahead; once it has passed (or was never
+    // computed) the next occurrence is derived. Non-recurring or expired reminders
+    // fall back to the start.
+    Calendar nextOccurrence = reminder.getStartDateTime();
+    long now = System.currentTimeMillis();
+    Long nextFireAt = reminder.getNextFireAt();
+    long next = nextFireAt != null && nextFireAt > now
+        ? nextFireAt
+        : schedulePlanCache.nextOccurrenceAfter(reminder, now);
+    if (next != ReminderModel.NO_OCCURRENCE) {
+      nextOccurrence.setTimeInMillis(next);
     }
-    String nextOccurrenceStr = DateTimeDisplayUtil.getFriendlyDateTimeSingleLine(context, nextOccurrence);
+    String nextOccurrenceStr = DateTimeDisplayUtil.getFriendlyDateTimeSingleLine(dateLabels, nextOccurrence);
     holder.nextOccurrence.setText(nextOccurrenceStr);
 
     boolean recurrenceEnabled = reminder.getRecurrenceDelay() > 0
@@ -74,8 +89,9 @@ public class ReminderItemAdapter
     if (recurrenceEnabled) {
       String number = String.valueOf(reminder.getRecurrenceDelay());
       RecurrenceType type = reminder.getRecurrenceType();
-      String endDate = reminder.getEndDateTime() != null ? DateTimeDisplayUtil.getFriendlyDate(context, reminder.getEndDateTime()) : "";
-      String endTime = reminder.getEndDateTime() != null ? DateTimeDisplayUtil.getFriendlyTime(reminder.getEndDateTime()) : "";
+      Calendar endDateTime = reminder.getEndDateTime();
+      String endDate = endDateTime != null ? DateTimeDisplayUtil.getFriendlyDate(dateLabels, endDateTime) : "";
+      String endTime = endDateTime != null ? DateTimeDisplayUtil.getFriendlyTime(endDateTime) : "";
 
       String summary = RecurrenceDisplayUtil.getRecurrenceSummary(
           context,
@@ -105,7 +121,8 @@ public class ReminderItemAdapter
 
   private boolean isReminderDisabledOrExpired(ReminderModel reminder) {
     boolean isDisabled = !reminder.isActive();
-    boolean isExpired = reminder.getEndDateTime() != null && reminder.getEndDateTime().before(Calendar.getInstance());
+    Long endDateMillis = reminder.getEndDateMillis();
+    boolean isExpired = endDateMillis != null && endDateMillis < System.currentTimeMillis();
     return isDisabled || isExpired;
   }
 
@@ -5,11 +5,16 @@ import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.ava.notiva.model.ReminderModel;
 
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 @Dao
 public interface ReminderDao {
@@ -23,12 +28,65 @@ public interface ReminderDao {
   @Delete
   void delete(ReminderModel model);
 
-  @Query("update reminders set active = :isActive where id = :id")
+  @Query("update reminders set active = :isActive, schedule_version = schedule_version + 1 where id = :id")
   void updateStatus(int id, boolean isActive);
 
+  /** Toggles a reminder and stores the next_fire_at the caller computed for the new state. */
+  @Transaction
+  default void updateStatusAndNextFire(int id, boolean isActive, Long nextFireAt) {
+    updateStatus(id, isActive);
+    updateNextFireAt(id, nextFireAt);
+  }
+
   @Update
   void update(ReminderModel model);
 
+  /**
+   * Saves user edits and marks the reminder for rescheduling. The model may have been
+   * loaded before the scheduler last ran, so the stored bookkeeping columns are carried
+   * over rather than overwritten with stale values.
+   */
+  @Transaction
+  default void updateAndMarkDirty(ReminderModel model) {
+    ReminderModel stored = getSync(model.getId());
+    if (stored != null) {
+      model.setScheduleVersion(stored.getScheduleVersion());
+      model.setScheduledVersion(stored.getScheduledVersion());
+      model.setScheduledAt(stored.getScheduledAt());
+    }
+    update(model);
+    markDirty(model.getId());
+  }
+
+  @Query("UPDATE reminders SET schedule_version = schedule_version + 1 WHERE id = :id")
+  void markDirty(int id);
+
+  /** Forces the next scheduler pass to revisit every reminder, e.g. after alarms were lost. */
+  @Query("UPDATE reminders SET scheduled_version = -1")
+  void markAllDirty();
+
+  /**
+   * Records what the scheduler armed for a reminder. {@code version} is the
+   * schedule_version it read, so a concurrent edit leaves the row dirty.
+   */
+  @Query("UPDATE reminders SET scheduled_version = :version, scheduled_at = :scheduledAt WHERE id = :id")
+  void markScheduled(int id, long version, Long scheduledAt);
+
+  @Query("UPDATE reminders SET next_fire_at = :nextFireAt WHERE id = :id")
+  void updateNextFireAt(int id, Long nextFireAt);
+
+  /**
+   * Recomputes next_fire_at from the stored row, e.g. after a fire cleared its snooze
+   * and stamped last_fired_at. A no-op when the reminder was deleted meanwhile.
+   */
+  @Transaction
+  default void refreshNextFireAt(int id, Function<ReminderModel, Long> nextFireAt) {
+    ReminderModel stored = getSync(id);
+    if (stored != null) {
+      updateNextFireAt(id, nextFireAt.apply(stored));
+    }
+  }
+
   @Query("SELECT * FROM reminders order by name")
   LiveData<List<ReminderModel>> getAll();
 
@@ -38,9 +96,178 @@ public interface ReminderDao {
   @Query("SELECT * FROM reminders where id = :id")
   LiveData<ReminderModel> get(int id);
 
-  @Query("UPDATE reminders SET snoozed_until = :snoozedUntil WHERE id = :id")
+  @Query("SELECT * FROM reminders where id = :id")
+  ReminderModel getSync(int id);
+
+  /** Reminders whose schedule changed or whose armed alarm is due, see {@link ReminderModel#needsScheduling}. */
+  @Query("SELECT * FROM reminders WHERE schedule_version != scheduled_version OR scheduled_at <= :now")
+  List<ReminderModel> getNeedingScheduleSync(long now);
+
+  /** Reminders edited since they were last scheduled; due-but-unchanged rows are excluded. */
+  @Query("SELECT * FROM reminders WHERE schedule_version != scheduled_version")
+  List<ReminderModel> getScheduleChangedSync();
+
+  /** Reminders whose recorded alarm has not fired yet, i.e. may still be registered. */
+  @Query("SELECT * FROM reminders WHERE scheduled_at > :now")
+  List<ReminderModel> getArmedSync(long now);
+
+  // ---- next_fire_at reads, served by the (active, next_fire_at) index ----
+
+  /**
+   * Active reminders whose next fire is at or before {@code horizon}, soonest first.
+   * Rows already in the past are included: they are due or were missed.
+   */
+  @Query("SELECT * FROM reminders WHERE active = 1 AND next_fire_at <= :horizon "
+      + "ORDER BY next_fire_at LIMIT :limit")
+  List<ReminderModel> getDueBefore(long horizon, int limit);
+
+  /** Earliest next fire of an active reminder strictly after {@code after}, or null. */
+  @Query("SELECT MIN(next_fire_at) FROM reminders WHERE active = 1 AND next_fire_at > :after")
+  Long getEarliestFireAfter(long after);
+
+  /** Earliest snooze deadline of an active reminder strictly after {@code after}, or null. */
+  @Query("SELECT MIN(snoozed_until) FROM reminders WHERE active = 1 AND snoozed_until > :after")
+  Long getEarliestSnoozeEndAfter(long after);
+
+  /** Every active reminder that still has a fire ahead of it (or missed), soonest first. */
+  @Query("SELECT * FROM reminders WHERE active = 1 AND next_fire_at IS NOT NULL ORDER BY next_fire_at")
+  List<ReminderModel> getUpcomingSync();
+
+  /**
+   * Records "nothing armed" for every reminder that cannot fire, the state boot leaves
+   * them in, without loading them. Dirty active rows are left alone: their next_fire_at
+   * may not be computed yet, so the worker decides. Returns the number of rows marked.
+   */
+  @Query("UPDATE reminders SET scheduled_version = schedule_version, scheduled_at = NULL "
+      + "WHERE active = 0 OR (next_fire_at IS NULL AND schedule_version = scheduled_version)")
+  int markIdleScheduled();
+
+  /**
+   * Clean reminders with nothing armed whose next fire has slid into the scheduling
+   * window ending at {@code horizonEnd}, i.e. rows an earlier pass deferred.
+   */
+  @Query("SELECT * FROM reminders WHERE active = 1 AND next_fire_at <= :horizonEnd "
+      + "AND scheduled_at IS NULL AND schedule_version = scheduled_version ORDER BY next_fire_at")
+  List<ReminderModel> getEnteringHorizonSync(long horizonEnd);
+
+  /**
+   * Records "deferred, nothing armed" for every reminder firing after {@code horizonEnd},
+   * so boot recovery does not have to load them. Returns the number of rows marked.
+   */
+  @Query("UPDATE reminders SET scheduled_version = schedule_version, scheduled_at = NULL "
+      + "WHERE active = 1 AND next_fire_at > :horizonEnd")
+  int markDeferredAfter(long horizonEnd);
+
+  // ---- Single-wakeup queue: scheduled_at of clean, active rows is the fire queue ----
+
+  /** Earliest queued fire, or null when the queue is empty. */
+  @Query("SELECT MIN(scheduled_at) FROM reminders "
+      + "WHERE active = 1 AND schedule_version = scheduled_version")
+  Long getEarliestQueuedFire();
+
+  @Query("SELECT * FROM reminders WHERE active = 1 AND schedule_version = scheduled_version "
+      + "AND scheduled_at <= :now ORDER BY scheduled_at")
+  List<ReminderModel> getQueuedDueSync(long now);
+
+  /**
+   * Pops every queued reminder due at {@code now}: each is re-queued at
+   * {@code nextFire} (or dropped from the queue when that is
+   * {@link ReminderModel#NO_OCCURRENCE}), gets the same next_fire_at and is stamped as
+   * fired. Runs in one transaction so a concurrent pop cannot fire the same row twice.
+   *
+   * @return the popped rows, still carrying the scheduled_at they were due at
+   */
+  @Transaction
+  default List<ReminderModel> claimDue(long now, ToLongFunction<ReminderModel> nextFire) {
+    List<ReminderModel> due = getQueuedDueSync(now);
+    for (ReminderModel reminder : due) {
+      long next = nextFire.applyAsLong(reminder);
+      Long nextAt = next == ReminderModel.NO_OCCURRENCE ? null : next;
+      markScheduled(reminder.getId(), reminder.getScheduleVersion(), nextAt);
+      updateNextFireAt(reminder.getId(), nextAt);
+      updateLastFiredAt(reminder.getId(), now);
+    }
+    return due;
+  }
+
+  /**
+   * Sets or clears the snooze. A snooze deadline becomes next_fire_at; clearing leaves
+   * next_fire_at for the caller to {@link #refreshNextFireAt refresh}.
+   */
+  @Query("UPDATE reminders SET snoozed_until = :snoozedUntil, "
+      + "next_fire_at = COALESCE(:snoozedUntil, next_fire_at), "
+      + "schedule_version = schedule_version + 1 WHERE id = :id")
   void updateSnoozedUntil(int id, Long snoozedUntil);
 
+  /**
+   * Records one fire in a single statement: clears the snooze and stamps last_fired_at.
+   * Like clearing a snooze it bumps schedule_version and leaves next_fire_at for the
+   * caller to {@link #refreshNextFireAt refresh}.
+   */
+  @Query("UPDATE reminders SET snoozed_until = NULL, last_fired_at = :firedAt, "
+      + "schedule_version = schedule_version + 1 WHERE id = :id")
+  void recordFire(int id, long firedAt);
+
+  /**
+   * Records a batch of fires in one transaction: each reminder's snooze is cleared,
+   * last_fired_at stamped and next_fire_at refreshed from the updated row. Ids with no
+   * row (deleted since they were batched) are skipped.
+   *
+   * @return the updated rows that still exist, in batch order
+   */
+  @Transaction
+  default List<ReminderModel> recordFires(
+      int[] ids, long firedAt, Function<ReminderModel, Long> nextFireAt) {
+    List<ReminderModel> fired = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      recordFire(id, firedAt);
+      ReminderModel stored = getSync(id);
+      if (stored != null) {
+        updateNextFireAt(id, nextFireAt.apply(stored));
+        fired.add(stored);
+      }
+    }
+    return fired;
+  }
+
+  /** Floating reminders still anchored to a zone other than {@code zoneId}. */
+  @Query("SELECT * FROM reminders WHERE floating_zone = 1 AND zone_id != :zoneId")
+  List<ReminderModel> getFloatingOutsideZone(String zoneId);
+
+  @Query("UPDATE reminders SET start_date = :startDate, end_date = :endDate, zone_id = :zoneId, "
+      + "schedule_version = schedule_version + 1 WHERE id = :id")
+  void updateZoneAnchor(int id, long startDate, Long endDate, String zoneId);
+
+  /**
+   * Moves every floating reminder to {@code zone} in one transaction, keeping the local
+   * time of its start and end (see {@link ReminderModel#moveToZone}), and refreshes
+   * next_fire_at. Non-floating rows keep their instants and are not read.
+   *
+   * @return the moved rows, updated in memory to match what was stored
+   */
+  @Transaction
+  default List<ReminderModel> moveFloatingToZone(
+      ZoneId zone, Function<ReminderModel, Long> nextFireAt) {
+    List<ReminderModel> moved = getFloatingOutsideZone(zone.getId());
+    for (ReminderModel reminder : moved) {
+      reminder.moveToZone(zone);
+      updateZoneAnchor(reminder.getId(), reminder.getStartDateMillis(),
+          reminder.getEndDateMillis(), reminder.getZoneId());
+      reminder.setScheduleVersion(reminder.getScheduleVersion() + 1);
+      Long next = nextFireAt.apply(reminder);
+      updateNextFireAt(reminder.getId(), next);
+      reminder.setNextFireAt(next);
+    }
+    return moved;
+  }
+
+  /**
+   * Active reminders stamped as fired after {@code now}: after the clock is set back their
+   * next occurrence may come before the stored next_fire_at.
+   */
+  @Query("SELECT * FROM reminders WHERE active = 1 AND last_fired_at > :now")
+  List<ReminderModel> getFiredAfter(long now);
+
   @Query("UPDATE reminders SET last_fired_at = :lastFiredAt WHERE id = :id")
   void updateLastFiredAt(int id, Long lastFiredAt);
 
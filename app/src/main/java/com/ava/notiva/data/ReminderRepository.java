@@ -5,6 +5,7 @@ import android.util.Log;
 import androidx.lifecycle.LiveData;
 
 import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlanCache;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,11 +17,34 @@ public class ReminderRepository {
   private static final String TAG = "Notiva.ReminderRepository: ";
   private final ReminderDao reminderDao;
   private final ExecutorService reminderDaoExecutor;
+  private final SchedulePlanCache schedulePlanCache;
+  private final ReminderScheduler reminderScheduler;
   private final LiveData<List<ReminderModel>> getAllObservable;
 
   public ReminderRepository(ReminderDao reminderDao, ExecutorService reminderDaoExecutor) {
+    this(reminderDao, reminderDaoExecutor, new SchedulePlanCache());
+  }
+
+  public ReminderRepository(
+      ReminderDao reminderDao,
+      ExecutorService reminderDaoExecutor,
+      SchedulePlanCache schedulePlanCache) {
+    this(reminderDao, reminderDaoExecutor, schedulePlanCache, ReminderScheduler.NONE);
+  }
+
+  /**
+   * @param reminderScheduler re-arms or cancels the affected reminder's alarm after each
+   *                          write, on the executor
+   */
+  public ReminderRepository(
+      ReminderDao reminderDao,
+      ExecutorService reminderDaoExecutor,
+      SchedulePlanCache schedulePlanCache,
+      ReminderScheduler reminderScheduler) {
     this.reminderDao = reminderDao;
     this.reminderDaoExecutor = reminderDaoExecutor;
+    this.schedulePlanCache = schedulePlanCache;
+    this.reminderScheduler = reminderScheduler;
     this.getAllObservable = reminderDao.getAll();
   }
 
@@ -28,8 +52,10 @@ public class ReminderRepository {
     reminderDaoExecutor.submit(() -> {
       long id = -1;
       try {
+        model.setNextFireAt(schedulePlanCache.nextFireAt(model, System.currentTimeMillis()));
         id = reminderDao.add(model);
         Log.i(TAG, "Added reminder (async): " + model + ", id: " + id);
+        reminderScheduler.reschedule((int) id);
       } catch (Exception e) {
         Log.e(TAG, "Error while adding the reminder (async): " + model, e);
       }
@@ -43,7 +69,12 @@ public class ReminderRepository {
     reminderDaoExecutor.submit(
         () -> {
           try {
+            List<ReminderModel> deleted = reminderDao.getAllSync();
             reminderDao.deleteAll();
+            schedulePlanCache.clear();
+            for (ReminderModel reminder : deleted) {
+              reminderScheduler.cancel(reminder.getId());
+            }
             Log.i(TAG, "Deleted All reminders!");
           } catch (Exception e) {
             Log.e(TAG, "Exception while deleting all reminders", e);
@@ -56,6 +87,8 @@ public class ReminderRepository {
         () -> {
           try {
             reminderDao.delete(reminder);
+            schedulePlanCache.invalidate(reminder.getId());
+            reminderScheduler.cancel(reminder.getId());
             Log.i(TAG, "Deleted reminder: " + Optional.ofNullable(reminder.getName()).orElse(""));
           } catch (Exception e) {
             Log.e(TAG, "Exception while deleting reminder: " + reminder.getName(), e);
@@ -67,7 +100,9 @@ public class ReminderRepository {
     reminderDaoExecutor.submit(
         () -> {
           try {
-            reminderDao.updateStatus(reminder.getId(), isActive);
+            Long nextFireAt = schedulePlanCache.nextFireAt(reminder, isActive, System.currentTimeMillis());
+            reminderDao.updateStatusAndNextFire(reminder.getId(), isActive, nextFireAt);
+            reminderScheduler.reschedule(reminder.getId());
             Log.i(TAG, "Updated reminder: " + reminder.getName() + "'s status to: " + isActive);
           } catch (Exception e) {
             Log.e(
@@ -84,7 +119,10 @@ public class ReminderRepository {
     reminderDaoExecutor.submit(
         () -> {
           try {
-            reminderDao.update(model);
+            schedulePlanCache.invalidate(model.getId());
+            model.setNextFireAt(schedulePlanCache.nextFireAt(model, System.currentTimeMillis()));
+            reminderDao.updateAndMarkDirty(model);
+            reminderScheduler.reschedule(model.getId());
             Log.i(TAG, "Updated reminder: " + model);
           } catch (Exception e) {
             Log.e(TAG, "Error while updating the reminder: " + model, e);
@@ -100,6 +138,42 @@ public class ReminderRepository {
     return reminderDao.getAllSync();
   }
 
+  public List<ReminderModel> getDueBeforeSync(long horizon, int limit) {
+    return reminderDao.getDueBefore(horizon, limit);
+  }
+
+  public Long getEarliestFireAfterSync(long after) {
+    return reminderDao.getEarliestFireAfter(after);
+  }
+
+  public Long getEarliestSnoozeEndAfterSync(long after) {
+    return reminderDao.getEarliestSnoozeEndAfter(after);
+  }
+
+  public List<ReminderModel> getEnteringHorizonSync(long horizonEnd) {
+    return reminderDao.getEnteringHorizonSync(horizonEnd);
+  }
+
+  public List<ReminderModel> getNeedingScheduleSync(long now) {
+    return reminderDao.getNeedingScheduleSync(now);
+  }
+
+  public List<ReminderModel> getScheduleChangedSync() {
+    return reminderDao.getScheduleChangedSync();
+  }
+
+  public List<ReminderModel> getArmedSync(long now) {
+    return reminderDao.getArmedSync(now);
+  }
+
+  public void markAllDirtySync() {
+    reminderDao.markAllDirty();
+  }
+
+  public Long getEarliestQueuedFireSync() {
+    return reminderDao.getEarliestQueuedFire();
+  }
+
   public void updateSnoozedUntil(int reminderId, Long snoozedUntil) {
     reminderDaoExecutor.submit(
         () -> {
@@ -0,0 +1,26 @@
+package com.ava.notiva.data;
+
+/**
+ * Brings one reminder's alarm in line with its stored row. {@link ReminderRepository}
+ * calls it after each write, on its executor, so an edit costs work for that row only
+ * instead of a scan of the whole table.
+ */
+public interface ReminderScheduler {
+
+  /** Does nothing; for callers that schedule elsewhere, such as tests. */
+  ReminderScheduler NONE = new ReminderScheduler() {
+    @Override
+    public void reschedule(int reminderId) {
+    }
+
+    @Override
+    public void cancel(int reminderId) {
+    }
+  };
+
+  /** Re-reads the reminder and arms, moves or removes its alarm to match. */
+  void reschedule(int reminderId);
+
+  /** Removes every alarm the reminder owns; used once its row is gone. */
+  void cancel(int reminderId);
+}
@@ -0,0 +1,139 @@
+package com.ava.notiva.data;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Serial executor for the notification services' database writes.
+ * <p>
+ * Writes are queued and run one at a time on a single worker. Every write waiting when the
+ * worker gets to the queue runs in one transaction, up to {@link #MAX_BATCH}, so a burst of
+ * fires, dismissals and snoozes commits once instead of once per event. A write that throws
+ * rolls its whole batch back (a failed nested transaction does too), so the batch is then
+ * replayed one write per transaction and only the failing write is dropped.
+ * <p>
+ * Since a write may run twice, it must only touch the database. Work a rollback cannot
+ * undo, such as arming alarms or posting notifications, goes in the after-commit callback
+ * of {@link #execute(Supplier, Consumer)}, which runs once with the committed result.
+ */
+public class ReminderWriteExecutor implements Executor {
+
+  private static final String TAG = "Notiva.ReminderWriteExecutor";
+
+  /** Most writes committed in one transaction, so a long queue does not hold the lock. */
+  public static final int MAX_BATCH = 64;
+
+  private final Executor worker;
+  private final Consumer<Runnable> transaction;
+  private final Queue<Write<?>> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+  /**
+   * @param worker      single-threaded executor the batches run on
+   * @param transaction runs its argument in one database transaction, e.g.
+   *                    {@code remindersDb::runInTransaction}
+   */
+  public ReminderWriteExecutor(Executor worker, Consumer<Runnable> transaction) {
+    this.worker = worker;
+    this.transaction = transaction;
+  }
+
+  /** Queues a write; it runs after every write queued before it. */
+  @Override
+  public void execute(Runnable write) {
+    execute(() -> {
+      write.run();
+      return null;
+    }, result -> { });
+  }
+
+  /**
+   * Queues a write whose result is handed to {@code afterCommit} on the worker once the
+   * transaction it ran in has committed. A write that is rolled back and dropped never
+   * reaches its callback.
+   */
+  public <T> void execute(Supplier<T> write, Consumer<T> afterCommit) {
+    pending.add(new Write<>(write, afterCommit));
+    if (drainScheduled.compareAndSet(false, true)) {
+      worker.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    // Cleared first: a write queued from here on schedules another drain
+    drainScheduled.set(false);
+    List<Write<?>> batch = new ArrayList<>();
+    Write<?> write;
+    while ((write = pending.poll()) != null) {
+      batch.add(write);
+      if (batch.size() == MAX_BATCH) {
+        commit(batch);
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      commit(batch);
+    }
+  }
+
+  private void commit(List<Write<?>> batch) {
+    try {
+      transaction.accept(() -> {
+        for (Write<?> write : batch) {
+          write.run();
+        }
+      });
+    } catch (Exception e) {
+      if (batch.size() == 1) {
+        Log.e(TAG, "Write failed, dropping it", e);
+        return;
+      }
+      Log.w(TAG, "Batch of " + batch.size() + " writes rolled back, replaying them one by one", e);
+      for (Write<?> write : batch) {
+        try {
+          transaction.accept(write::run);
+        } catch (Exception writeFailure) {
+          Log.e(TAG, "Write failed, dropping it", writeFailure);
+          continue;
+        }
+        write.committed();
+      }
+      return;
+    }
+    for (Write<?> write : batch) {
+      write.committed();
+    }
+  }
+
+  /** A queued write and its after-commit callback; keeps the result of its last run. */
+  private static final class Write<T> {
+    private final Supplier<T> body;
+    private final Consumer<T> afterCommit;
+    private T result;
+
+    Write(Supplier<T> body, Consumer<T> afterCommit) {
+      this.body = body;
+      this.afterCommit = afterCommit;
+    }
+
+    void run() {
+      result = body.get();
+    }
+
+    void committed() {
+      try {
+        afterCommit.accept(result);
+      } catch (Exception e) {
+        Log.e(TAG, "After-commit callback failed", e);
+      }
+    }
+  }
+}
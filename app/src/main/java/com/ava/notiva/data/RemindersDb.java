@@ -8,9 +8,11 @@ import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.ava.notiva.model.ReminderModel;
 
+import java.time.ZoneId;
+
 @Database(
     entities = {ReminderModel.class},
-    version = 3,
+    version = 9,
     exportSchema = true)
 public abstract class RemindersDb extends RoomDatabase {
   public abstract ReminderDao reminderDao();
@@ -32,4 +34,85 @@ public abstract class RemindersDb extends RoomDatabase {
       database.execSQL("ALTER TABLE reminders ADD COLUMN ringtone_uri TEXT");
     }
   };
+
+  // Migration from version 3 to 4: start/end become plain epoch millis with an explicit
+  // zone_id. start_date turns NOT NULL, so the table is rebuilt; rows that never had a
+  // start could not fire before and are kept but deactivated. Existing rows are stamped
+  // with the device zone, which is what their Calendars were read back in.
+  public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("CREATE TABLE IF NOT EXISTS `reminders_new` ("
+          + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+          + "`active` INTEGER NOT NULL, "
+          + "`name` TEXT, "
+          + "`start_date` INTEGER NOT NULL, "
+          + "`recurrence_delay` INTEGER NOT NULL, "
+          + "`recurrence_type` TEXT, "
+          + "`end_date` INTEGER, "
+          + "`zone_id` TEXT NOT NULL, "
+          + "`snoozed_until` INTEGER, "
+          + "`last_fired_at` INTEGER, "
+          + "`last_acknowledged_at` INTEGER, "
+          + "`ringtone_uri` TEXT)");
+      database.execSQL("INSERT INTO reminders_new (id, active, name, start_date, recurrence_delay, "
+              + "recurrence_type, end_date, zone_id, snoozed_until, last_fired_at, "
+              + "last_acknowledged_at, ringtone_uri) "
+              + "SELECT id, CASE WHEN start_date IS NULL THEN 0 ELSE active END, name, "
+              + "COALESCE(start_date, 0), recurrence_delay, recurrence_type, end_date, ?, "
+              + "snoozed_until, last_fired_at, last_acknowledged_at, ringtone_uri FROM reminders",
+          new Object[]{ZoneId.systemDefault().getId()});
+      database.execSQL("DROP TABLE reminders");
+      database.execSQL("ALTER TABLE reminders_new RENAME TO reminders");
+    }
+  };
+
+  // Migration from version 4 to 5: Add RFC 5545 rrule column
+  public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("ALTER TABLE reminders ADD COLUMN rrule TEXT");
+    }
+  };
+
+  // Migration from version 5 to 6: Add wall_clock flag; existing rows keep elapsed-time periods
+  public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("ALTER TABLE reminders ADD COLUMN wall_clock INTEGER NOT NULL DEFAULT 0");
+    }
+  };
+
+  // Migration from version 6 to 7: Add scheduling bookkeeping. scheduled_version starts at -1
+  // so the first pass after the upgrade reschedules every row once.
+  public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("ALTER TABLE reminders ADD COLUMN schedule_version INTEGER NOT NULL DEFAULT 0");
+      database.execSQL("ALTER TABLE reminders ADD COLUMN scheduled_version INTEGER NOT NULL DEFAULT -1");
+      database.execSQL("ALTER TABLE reminders ADD COLUMN scheduled_at INTEGER");
+    }
+  };
+
+  // Migration from version 7 to 8: Add next_fire_at and its (active, next_fire_at) index.
+  // The value needs the recurrence engine, so it starts null and every row is marked dirty;
+  // the first scheduler pass after the upgrade fills it in.
+  public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("ALTER TABLE reminders ADD COLUMN next_fire_at INTEGER");
+      database.execSQL("CREATE INDEX IF NOT EXISTS `index_reminders_active_next_fire_at` "
+          + "ON `reminders` (`active`, `next_fire_at`)");
+      database.execSQL("UPDATE reminders SET scheduled_version = -1");
+    }
+  };
+
+  // Migration from version 8 to 9: Add floating_zone flag; existing rows keep the instants
+  // of the zone they were created in
+  public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+    @Override
+    public void migrate(@NonNull SupportSQLiteDatabase database) {
+      database.execSQL("ALTER TABLE reminders ADD COLUMN floating_zone INTEGER NOT NULL DEFAULT 0");
+    }
+  };
 }
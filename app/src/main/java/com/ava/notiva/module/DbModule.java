@@ -1,6 +1,9 @@
 package com.ava.notiva.module;
 
+import android.app.NotificationManager;
 import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
 
 import androidx.room.Room;
 
@@ -8,7 +11,16 @@ import com.ava.notiva.data.GetAllRemindersViewModel;
 import com.ava.notiva.data.ReminderDao;
 import com.ava.notiva.data.ReminderDmlViewModel;
 import com.ava.notiva.data.ReminderRepository;
+import com.ava.notiva.data.ReminderScheduler;
+import com.ava.notiva.data.ReminderWriteExecutor;
 import com.ava.notiva.data.RemindersDb;
+import com.ava.notiva.model.SchedulePlanCache;
+import com.ava.notiva.service.AlarmReminderScheduler;
+import com.ava.notiva.service.AlarmScheduler;
+import com.ava.notiva.util.AlarmChannelCache;
+import com.ava.notiva.util.FireLatencyRecorder;
+import com.ava.notiva.util.NotificationGroupManager;
+import com.ava.notiva.util.SchedulerMetricsRecorder;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -37,7 +49,15 @@ public class DbModule {
   @Singleton
   public RemindersDb getRemindersDb(@ApplicationContext Context context) {
     return Room.databaseBuilder(context, RemindersDb.class, "Reminders-DB")
-        .addMigrations(RemindersDb.MIGRATION_1_2, RemindersDb.MIGRATION_2_3)
+        .addMigrations(
+            RemindersDb.MIGRATION_1_2,
+            RemindersDb.MIGRATION_2_3,
+            RemindersDb.MIGRATION_3_4,
+            RemindersDb.MIGRATION_4_5,
+            RemindersDb.MIGRATION_5_6,
+            RemindersDb.MIGRATION_6_7,
+            RemindersDb.MIGRATION_7_8,
+            RemindersDb.MIGRATION_8_9)
         .build();
   }
 
@@ -47,11 +67,84 @@ public class DbModule {
     return remindersDb.reminderDao();
   }
 
+  @Provides
+  @Singleton
+  public ReminderWriteExecutor getReminderWriteExecutor(RemindersDb remindersDb) {
+    return new ReminderWriteExecutor(
+        Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "Notiva.ReminderWrites")),
+        remindersDb::runInTransaction);
+  }
+
+  @Provides
+  @Singleton
+  public SchedulePlanCache getSchedulePlanCache() {
+    return new SchedulePlanCache();
+  }
+
+  @Provides
+  @Singleton
+  public AlarmChannelCache getAlarmChannelCache(@ApplicationContext Context context) {
+    return new AlarmChannelCache(context);
+  }
+
+  @Provides
+  @Singleton
+  public NotificationGroupManager getNotificationGroupManager(@ApplicationContext Context context,
+      FireLatencyRecorder fireLatencyRecorder, AlarmChannelCache alarmChannelCache) {
+    HandlerThread summaryThread = new HandlerThread("Notiva.SummaryUpdates");
+    summaryThread.start();
+    return new NotificationGroupManager(
+        context,
+        context.getSystemService(NotificationManager.class),
+        new Handler(summaryThread.getLooper()),
+        fireLatencyRecorder,
+        alarmChannelCache);
+  }
+
+  @Provides
+  @Singleton
+  public FireLatencyRecorder getFireLatencyRecorder(@ApplicationContext Context context) {
+    return new FireLatencyRecorder(context);
+  }
+
+  @Provides
+  @Singleton
+  public SchedulerMetricsRecorder getSchedulerMetricsRecorder(@ApplicationContext Context context) {
+    return new SchedulerMetricsRecorder(context);
+  }
+
+  @Provides
+  @Singleton
+  public AlarmScheduler getAlarmScheduler(@ApplicationContext Context context, ReminderDao reminderDao) {
+    return new AlarmScheduler(context, reminderDao);
+  }
+
+  @Provides
+  @Singleton
+  public AlarmReminderScheduler getAlarmReminderScheduler(
+      @ApplicationContext Context context,
+      ReminderDao reminderDao,
+      AlarmScheduler alarmScheduler,
+      SchedulePlanCache schedulePlanCache,
+      SchedulerMetricsRecorder schedulerMetrics) {
+    return new AlarmReminderScheduler(
+        context, reminderDao, alarmScheduler, schedulePlanCache, schedulerMetrics);
+  }
+
+  @Provides
+  @Singleton
+  public ReminderScheduler getReminderScheduler(AlarmReminderScheduler alarmReminderScheduler) {
+    return alarmReminderScheduler;
+  }
+
   @Provides
   @Singleton
   public ReminderRepository getReminderRepository(
-      ReminderDao reminderDao, @Named("reminderDaoExecutor") ExecutorService reminderDaoExecutor) {
-    return new ReminderRepository(reminderDao, reminderDaoExecutor);
+      ReminderDao reminderDao,
+      @Named("reminderDaoExecutor") ExecutorService reminderDaoExecutor,
+      SchedulePlanCache schedulePlanCache,
+      ReminderScheduler reminderScheduler) {
+    return new ReminderRepository(reminderDao, reminderDaoExecutor, schedulePlanCache, reminderScheduler);
   }
 
   @Provides
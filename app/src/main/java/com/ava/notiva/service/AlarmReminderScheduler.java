@@ -0,0 +1,231 @@
+package com.ava.notiva.service;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.ava.notiva.data.ReminderDao;
+import com.ava.notiva.data.ReminderScheduler;
+import com.ava.notiva.model.FireBatch;
+import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlanCache;
+import com.ava.notiva.model.SchedulerMetrics;
+import com.ava.notiva.model.SchedulerMode;
+import com.ava.notiva.model.SchedulingHorizon;
+import com.ava.notiva.model.WorkerCadence;
+import com.ava.notiva.util.NotificationPreferences;
+import com.ava.notiva.util.ReminderWorkerUtils;
+import com.ava.notiva.util.SchedulerMetricsRecorder;
+
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Schedules reminders one row at a time. {@link #reconcile} is the per-reminder decision
+ * shared by the targeted {@link #reschedule}, called from the repository's write paths,
+ * and the {@link ReminderTriggerWorker} scan, which now only recovers what targeted calls
+ * could not reach (fires that came due, rows entering the horizon, mode changes).
+ */
+public class AlarmReminderScheduler implements ReminderScheduler {
+
+  private static final String TAG = "Notiva.AlarmReminderScheduler";
+
+  /** What {@link #reconcile} did with one reminder. */
+  public enum Outcome {
+    /** Armed (or queued, in single-wakeup mode) for its next fire. */
+    SCHEDULED,
+    /**
+     * Its stored next fire had passed without being recorded; added to the overdue batch,
+     * and its following fire armed or deferred as usual.
+     */
+    OVERDUE,
+    /** Its next fire lies beyond the scheduling horizon. */
+    DEFERRED,
+    /** Snoozed; its snooze alarm fires separately. */
+    SNOOZED,
+    /** Inactive or finished; nothing to arm. */
+    SKIPPED
+  }
+
+  private final Context context;
+  private final ReminderDao reminderDao;
+  private final AlarmScheduler alarmScheduler;
+  private final SchedulePlanCache schedulePlanCache;
+  private final SchedulerMetricsRecorder schedulerMetrics;
+
+  public AlarmReminderScheduler(
+      Context context,
+      ReminderDao reminderDao,
+      AlarmScheduler alarmScheduler,
+      SchedulePlanCache schedulePlanCache,
+      SchedulerMetricsRecorder schedulerMetrics) {
+    this.context = context.getApplicationContext();
+    this.reminderDao = reminderDao;
+    this.alarmScheduler = alarmScheduler;
+    this.schedulePlanCache = schedulePlanCache;
+    this.schedulerMetrics = schedulerMetrics;
+  }
+
+  @Override
+  public void reschedule(int reminderId) {
+    try {
+      ReminderModel reminder = reminderDao.getSync(reminderId);
+      if (reminder == null) {
+        cancel(reminderId);
+        return;
+      }
+      reconcileAll(Collections.singletonList(reminder));
+    } catch (Exception e) {
+      // The row stays dirty, so a recovery scan picks it up
+      Log.e(TAG, "Targeted reschedule failed for reminder ID=" + reminderId + ", falling back to a scan", e);
+      ReminderWorkerUtils.enqueueRecoveryScan(context);
+    }
+  }
+
+  /**
+   * Reschedules rows the caller already loaded, e.g. the reminders a clock or zone change
+   * moved, in one pass; the next scheduler pass is re-timed even when the list is empty.
+   */
+  public void reschedule(List<ReminderModel> reminders) {
+    try {
+      reconcileAll(reminders);
+    } catch (Exception e) {
+      Log.e(TAG, "Rescheduling " + reminders.size() + " reminders failed, falling back to a scan", e);
+      ReminderWorkerUtils.enqueueRecoveryScan(context);
+    }
+  }
+
+  private void reconcileAll(List<ReminderModel> reminders) {
+    long now = System.currentTimeMillis();
+    boolean singleWakeup =
+        NotificationPreferences.getSchedulerMode(context) == SchedulerMode.SINGLE_WAKEUP;
+    SchedulingHorizon horizon = singleWakeup
+        ? SchedulingHorizon.UNLIMITED
+        : NotificationPreferences.getSchedulingHorizon(context);
+
+    AlarmScheduler.Pass pass = alarmScheduler.beginPass(now);
+    FireBatch overdue = new FireBatch();
+    for (ReminderModel reminder : reminders) {
+      Outcome outcome = reconcile(pass, reminder, singleWakeup, horizon, overdue);
+      Log.i(TAG, "Rescheduled reminder ID=" + reminder.getId() + ": " + outcome);
+    }
+    NotificationStarterService.startBatch(context, overdue);
+    if (singleWakeup) {
+      NextWakeupAlarm.armAt(context, reminderDao.getEarliestQueuedFire());
+    }
+    // The change may have moved the earliest fire the next pass has to follow up
+    scheduleNextPass(singleWakeup, horizon, now);
+
+    SchedulerMetrics metrics = schedulerMetrics.getMetrics();
+    metrics.add(SchedulerMetrics.Counter.RESCHEDULES, reminders.size());
+    metrics.addDelta(pass.getDelta());
+    metrics.add(SchedulerMetrics.Counter.OVERDUE_FIRES, overdue.size());
+    schedulerMetrics.flush();
+    pass.logSummary(TAG);
+  }
+
+  @Override
+  public void cancel(int reminderId) {
+    alarmScheduler.cancel(reminderId);
+    alarmScheduler.cancelSnoozeAlarm(reminderId);
+    if (NotificationPreferences.getSchedulerMode(context) == SchedulerMode.SINGLE_WAKEUP) {
+      NextWakeupAlarm.armAt(context, reminderDao.getEarliestQueuedFire());
+    }
+    Log.i(TAG, "Cancelled alarms for reminder ID=" + reminderId);
+  }
+
+  /**
+   * Times the next scheduler pass instead of waiting for a fixed interval. In per-reminder
+   * mode it follows up the earliest upcoming fire, whose alarm leaves the row due for
+   * re-arming; in single-wakeup mode the wakeup re-queues fires itself, so only snooze
+   * deadlines need a pass. Deferred rows add the instant the earliest one enters the
+   * horizon. See {@link WorkerCadence}.
+   */
+  public void scheduleNextPass(boolean singleWakeup, SchedulingHorizon horizon, long now) {
+    Long earliestFire = singleWakeup
+        ? reminderDao.getEarliestSnoozeEndAfter(now)
+        : reminderDao.getEarliestFireAfter(now);
+    Long earliestDeferred = horizon.isUnlimited()
+        ? null
+        : reminderDao.getEarliestFireAfter(horizon.endFrom(now));
+    ReminderWorkerUtils.scheduleNextRun(context, now,
+        WorkerCadence.nextRunAt(now, earliestFire, earliestDeferred, horizon));
+  }
+
+  /**
+   * Brings one reminder's alarm in line with its next fire through {@code pass}: arms it
+   * inside the horizon, disarms it beyond and records the outcome in scheduled_at. A stored
+   * next_fire_at already at or before now is a fire that was missed (a fire advances it),
+   * so it is added to {@code overdue}, as boot recovery does. In single-wakeup mode fires
+   * are only queued; the caller re-arms the wakeup once all rows are reconciled.
+   */
+  public Outcome reconcile(
+      AlarmScheduler.Pass pass,
+      ReminderModel reminder,
+      boolean singleWakeup,
+      SchedulingHorizon horizon,
+      FireBatch overdue) {
+    long now = pass.getNow();
+    Long storedNextFireAt = reminder.getNextFireAt();
+    // Write paths keep next_fire_at current; this backfills migrated rows and corrects
+    // any row whose stored value drifted, without touching the rest
+    Long nextFireAt = schedulePlanCache.nextFireAt(reminder, now);
+    if (!Objects.equals(nextFireAt, storedNextFireAt)) {
+      reminderDao.updateNextFireAt(reminder.getId(), nextFireAt);
+    }
+
+    if (reminder.isSnoozed()) {
+      // The snooze alarm fires separately; clearing the snooze marks the row dirty again
+      Log.i(TAG, "Skipping snoozed reminder: ID=" + reminder.getId()
+          + ", snoozedUntil=" + reminder.getSnoozedUntil());
+      pass.record(reminder, pass.isArmed(reminder) ? reminder.getScheduledAt() : null);
+      return Outcome.SNOOZED;
+    }
+
+    boolean missed = reminder.isActive() && storedNextFireAt != null && storedNextFireAt <= now;
+    if (missed) {
+      // The alarm for this fire was lost (e.g. force-stop); deliver it now
+      Log.i(TAG, "Firing overdue reminder immediately: ID=" + reminder.getId()
+          + ", Name='" + reminder.getName() + "'"
+          + ", ScheduledTime=" + format(storedNextFireAt));
+      overdue.add(reminder.getId(), storedNextFireAt);
+    }
+
+    long next = reminder.isActive()
+        ? schedulePlanCache.nextOccurrenceAfter(reminder, now)
+        : ReminderModel.NO_OCCURRENCE;
+    if (next == ReminderModel.NO_OCCURRENCE) {
+      if (singleWakeup) {
+        pass.record(reminder, null);
+      } else {
+        pass.disarm(reminder);
+      }
+      return missed ? Outcome.OVERDUE : Outcome.SKIPPED;
+    }
+    if (!horizon.covers(next, now)) {
+      // Beyond the window: a later pass arms it once the window slides over it. An
+      // alarm already armed for exactly this fire is kept rather than re-registered.
+      if (pass.isArmed(reminder) && reminder.getScheduledAt() == next) {
+        pass.arm(reminder, next);
+      } else {
+        pass.disarm(reminder);
+      }
+      return missed ? Outcome.OVERDUE : Outcome.DEFERRED;
+    }
+    if (singleWakeup) {
+      // Queued only; the next wakeup alarm covers it
+      pass.record(reminder, next);
+    } else {
+      pass.arm(reminder, next);
+      Log.d(TAG, "Reminder ID=" + reminder.getId() + " due at " + format(next));
+    }
+    return missed ? Outcome.OVERDUE : Outcome.SCHEDULED;
+  }
+
+  private static String format(long epochMillis) {
+    return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date(epochMillis));
+  }
+}
@@ -0,0 +1,210 @@
+package com.ava.notiva.service;
+
+import static com.ava.notiva.util.ReminderConstants.REMINDER_ID;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_NAME;
+import static com.ava.notiva.util.ReminderConstants.SCHEDULED_FIRE_EPOCH;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.ava.notiva.data.ReminderDao;
+import com.ava.notiva.model.AlarmDelta;
+import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.util.PendingIntentRequestCodes;
+
+/**
+ * Reconciles per-reminder AlarmManager alarms with the schedule the caller wants.
+ * <p>
+ * The armed set lives in the reminders table: scheduled_at holds the (reminder id, fire
+ * epoch) pair registered for each reminder, which owns exactly one alarm request code.
+ * A {@link Pass} diffs each desired fire against that record through {@link AlarmDelta},
+ * issues only the set or cancel call the difference needs and records the outcome, so
+ * an unchanged reminder costs no AlarmManager IPC. Shared by {@link ReminderTriggerWorker}
+ * and {@link BootReceiver}.
+ */
+public class AlarmScheduler {
+
+  private static final String TAG = "Notiva.AlarmScheduler";
+
+  private final Context context;
+  private final ReminderDao reminderDao;
+
+  public AlarmScheduler(Context context, ReminderDao reminderDao) {
+    this.context = context.getApplicationContext();
+    this.reminderDao = reminderDao;
+  }
+
+  /** Starts a pass that trusts scheduled_at as the set of alarms AlarmManager holds. */
+  public Pass beginPass(long now) {
+    return new Pass(now, true);
+  }
+
+  /**
+   * Starts a pass after AlarmManager dropped every alarm (reboot): recorded alarms are
+   * treated as gone, so every desired fire is set again.
+   */
+  public Pass beginPassAfterAlarmsLost(long now) {
+    return new Pass(now, false);
+  }
+
+  /** Cancels the reminder's alarm without consulting or updating the armed set. */
+  public void cancel(int reminderId) {
+    AlarmManager alarmMgr = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+    cancelAlarm(alarmMgr, reminderId);
+  }
+
+  /** Cancels the reminder's snooze re-fire alarm, if one is registered. */
+  public void cancelSnoozeAlarm(int reminderId) {
+    Intent alarmIntent = new Intent(context, NotificationStarterService.class);
+    PendingIntent existing = PendingIntent.getForegroundService(
+        context,
+        PendingIntentRequestCodes.forSnoozeAlarm(reminderId),
+        alarmIntent,
+        PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_NO_CREATE);
+    if (existing != null) {
+      AlarmManager alarmMgr = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+      alarmMgr.cancel(existing);
+      existing.cancel();
+      Log.d(TAG, "Cancelled snooze alarm for reminder ID=" + reminderId);
+    }
+  }
+
+  /**
+   * One reconciliation pass. Not thread-safe; each worker run or boot recovery uses its
+   * own.
+   */
+  public final class Pass {
+
+    private final long now;
+    private final boolean trustArmedSet;
+    private final AlarmManager alarmMgr;
+    private final boolean canScheduleExact;
+    private final AlarmDelta delta = new AlarmDelta();
+    private long firstSetElapsedRealtime = -1;
+
+    private Pass(long now, boolean trustArmedSet) {
+      this.now = now;
+      this.trustArmedSet = trustArmedSet;
+      this.alarmMgr = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+      this.canScheduleExact = canScheduleExactAlarms(alarmMgr);
+      if (!canScheduleExact) {
+        Log.w(TAG, "SCHEDULE_EXACT_ALARM permission not granted; falling back to inexact alarms");
+      }
+    }
+
+    /** Makes the reminder's alarm fire at {@code fireAt}, unless it already does. */
+    public void arm(ReminderModel reminder, long fireAt) {
+      if (delta.count(AlarmDelta.toArm(armedAt(reminder), fireAt, now)) == AlarmDelta.Op.SET) {
+        setAlarm(reminder, fireAt);
+      }
+      record(reminder, fireAt);
+    }
+
+    /** Leaves the reminder with no alarm and records that. */
+    public void disarm(ReminderModel reminder) {
+      cancelPending(reminder);
+      record(reminder, null);
+    }
+
+    /** Cancels the reminder's pending alarm, if any, leaving the record to the caller. */
+    public void cancelPending(ReminderModel reminder) {
+      if (delta.count(AlarmDelta.toDisarm(armedAt(reminder), now)) == AlarmDelta.Op.CANCEL) {
+        cancelAlarm(alarmMgr, reminder.getId());
+      }
+    }
+
+    /**
+     * Records {@code scheduledAt} for the reminder without an AlarmManager call, e.g. a
+     * single-wakeup queue entry or an alarm that stays as it is.
+     */
+    public void record(ReminderModel reminder, Long scheduledAt) {
+      reminderDao.markScheduled(reminder.getId(), reminder.getScheduleVersion(), scheduledAt);
+    }
+
+    /** Whether the reminder's recorded alarm is still registered. */
+    public boolean isArmed(ReminderModel reminder) {
+      return AlarmDelta.isPending(armedAt(reminder), now);
+    }
+
+    /** The instant the pass reconciles against. */
+    public long getNow() {
+      return now;
+    }
+
+    public boolean canScheduleExact() {
+      return canScheduleExact;
+    }
+
+    public AlarmDelta getDelta() {
+      return delta;
+    }
+
+    /** elapsedRealtime of the pass's first alarm set, or -1 if it set none. */
+    public long getFirstSetElapsedRealtime() {
+      return firstSetElapsedRealtime;
+    }
+
+    /** Logs the pass's AlarmManager calls under {@code tag}. */
+    public void logSummary(String tag) {
+      Log.i(tag, "Alarm reconciliation: " + delta + (trustArmedSet ? "" : " (alarms were lost)"));
+    }
+
+    private Long armedAt(ReminderModel reminder) {
+      return trustArmedSet ? reminder.getScheduledAt() : null;
+    }
+
+    private void setAlarm(ReminderModel reminder, long fireAt) {
+      Intent alarmIntent = new Intent(context, NotificationStarterService.class);
+      alarmIntent.putExtra(REMINDER_ID, reminder.getId());
+      alarmIntent.putExtra(REMINDER_NAME, reminder.getName());
+      alarmIntent.putExtra(SCHEDULED_FIRE_EPOCH, fireAt);
+      // FLAG_UPDATE_CURRENT on the reminder's request code replaces any alarm already
+      // armed for it, so a moved alarm needs no separate cancel
+      PendingIntent pendingIntent = PendingIntent.getForegroundService(
+          context,
+          PendingIntentRequestCodes.forAlarm(reminder.getId()),
+          alarmIntent,
+          PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_UPDATE_CURRENT);
+
+      if (canScheduleExact) {
+        alarmMgr.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, fireAt, pendingIntent);
+      } else {
+        alarmMgr.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, fireAt, pendingIntent);
+      }
+      if (firstSetElapsedRealtime < 0) {
+        firstSetElapsedRealtime = SystemClock.elapsedRealtime();
+      }
+    }
+  }
+
+  private void cancelAlarm(AlarmManager alarmMgr, int reminderId) {
+    Intent alarmIntent = new Intent(context, NotificationStarterService.class);
+    PendingIntent existing = PendingIntent.getForegroundService(
+        context,
+        PendingIntentRequestCodes.forAlarm(reminderId),
+        alarmIntent,
+        PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_NO_CREATE);
+    if (existing != null) {
+      alarmMgr.cancel(existing);
+      existing.cancel();
+      Log.d(TAG, "Cancelled alarm for reminder ID=" + reminderId);
+    }
+  }
+
+  /**
+   * Checks whether exact alarm scheduling is permitted.
+   * On Android 12+ (API 31+), SCHEDULE_EXACT_ALARM requires user grant in system settings.
+   * On earlier versions, exact alarms are always allowed.
+   */
+  private static boolean canScheduleExactAlarms(AlarmManager alarmMgr) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+      return alarmMgr.canScheduleExactAlarms();
+    }
+    return true;
+  }
+}
@@ -1,39 +1,57 @@
 package com.ava.notiva.service;
 
-import static com.ava.notiva.util.ReminderConstants.REMINDER_ID;
-import static com.ava.notiva.util.ReminderConstants.REMINDER_NAME;
-import static com.ava.notiva.util.ReminderConstants.SCHEDULED_FIRE_EPOCH;
-
-import android.app.AlarmManager;
-import android.app.PendingIntent;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.os.Build;
+import android.os.SystemClock;
 import android.util.Log;
 
-import androidx.core.content.ContextCompat;
-import androidx.room.Room;
-import androidx.work.ExistingPeriodicWorkPolicy;
-import androidx.work.PeriodicWorkRequest;
-import androidx.work.WorkManager;
-
 import com.ava.notiva.data.ReminderDao;
-import com.ava.notiva.data.RemindersDb;
+import com.ava.notiva.model.FireBatch;
 import com.ava.notiva.model.ReminderModel;
-import com.ava.notiva.util.PendingIntentRequestCodes;
+import com.ava.notiva.model.SchedulePlanCache;
+import com.ava.notiva.model.SchedulerMetrics;
+import com.ava.notiva.model.SchedulerMode;
+import com.ava.notiva.model.SchedulingHorizon;
+import com.ava.notiva.util.NotificationPreferences;
+import com.ava.notiva.util.ReminderWorkerUtils;
+import com.ava.notiva.util.SchedulerMetricsRecorder;
 
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutorService;
+
+import javax.inject.Inject;
+import javax.inject.Named;
 
+import dagger.hilt.android.AndroidEntryPoint;
 
+@AndroidEntryPoint
 public class BootReceiver extends BroadcastReceiver {
 
   private static final String TAG = "Notiva.BootReceiver";
 
+  @Inject
+  SchedulePlanCache schedulePlanCache;
+
+  @Inject
+  ReminderDao reminderDao;
+
+  @Inject
+  AlarmScheduler alarmScheduler;
+
+  @Inject
+  AlarmReminderScheduler reminderScheduler;
+
+  @Inject
+  SchedulerMetricsRecorder schedulerMetrics;
+
+  @Inject
+  @Named("reminderDaoExecutor")
+  ExecutorService reminderDaoExecutor;
+
   @Override
   public void onReceive(Context context, Intent intent) {
     if (!Intent.ACTION_BOOT_COMPLETED.equals(intent.getAction())) {
@@ -42,149 +60,153 @@ public class BootReceiver extends BroadcastReceiver {
 
     Log.i(TAG, "Device booted, re-enqueuing WorkManager and recovering reminders");
 
-    // Step 1: Re-enqueue WorkManager periodic task with REPLACE policy for fresh scheduling
-    PeriodicWorkRequest periodicWorkRequest =
-        new PeriodicWorkRequest.Builder(ReminderTriggerWorker.class, 15, TimeUnit.MINUTES)
-            .build();
-    WorkManager.getInstance(context).enqueueUniquePeriodicWork(
-        "ReminderSync",
-        ExistingPeriodicWorkPolicy.UPDATE,
-        periodicWorkRequest
-    );
-    Log.i(TAG, "WorkManager periodic work re-enqueued with REPLACE policy");
-
-    // Step 2: Check for overdue reminders and reschedule future ones on a background thread.
-    // BootReceiver is a plain BroadcastReceiver (not @AndroidEntryPoint), so we build
-    // the Room database directly instead of using Hilt injection.
+    // Step 1: Re-enqueue the safety-net periodic pass; recovery below times the next one
+    ReminderWorkerUtils.enqueueSafetyNet(context);
+    Log.i(TAG, "WorkManager safety-net periodic work re-enqueued");
+
+    // Step 2: Check for overdue reminders and reschedule future ones off the main thread.
+    // goAsync keeps the process alive until recovery finishes, and the DAO comes from the
+    // app's singleton database, so schema validation and migrations are not paid twice.
     Context appContext = context.getApplicationContext();
-    new Thread(() -> processRemindersAfterBoot(appContext)).start();
+    long receivedAt = SystemClock.elapsedRealtime();
+    PendingResult pendingResult = goAsync();
+    reminderDaoExecutor.execute(() -> {
+      try {
+        processRemindersAfterBoot(appContext, receivedAt);
+      } finally {
+        pendingResult.finish();
+      }
+    });
   }
 
   /**
-   * Processes all active reminders after boot:
-   * - Overdue reminders are fired immediately via startForegroundService
+   * Processes the active reminders whose next fire falls inside the scheduling horizon,
+   * read through the next_fire_at index:
+   * - Overdue reminders (next_fire_at already passed) are fired immediately in one
+   *   batched service start, then scheduled for their following occurrence
    * - Future reminders are scheduled via AlarmManager exact alarms
    *
    * <p>All alarms are lost on device reboot, so this method reschedules everything.
    * The NotificationStarterService's burst channel logic handles sound cascade
    * prevention when multiple overdue reminders fire in rapid succession.
+   *
+   * @param receivedAt elapsedRealtime when the boot broadcast arrived, for latency logging
    */
-  private void processRemindersAfterBoot(Context context) {
-    RemindersDb db = null;
+  private void processRemindersAfterBoot(Context context, long receivedAt) {
     try {
-      db = Room.databaseBuilder(context, RemindersDb.class, "Reminders-DB")
-          .addMigrations(RemindersDb.MIGRATION_1_2, RemindersDb.MIGRATION_2_3)
-          .build();
-      ReminderDao dao = db.reminderDao();
-      List<ReminderModel> reminders = dao.getAllSync();
-
-      Calendar now = Calendar.getInstance();
-      AlarmManager alarmMgr = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
-      boolean canScheduleExact = canScheduleExactAlarms(alarmMgr);
+      long now = System.currentTimeMillis();
+      boolean singleWakeup =
+          NotificationPreferences.getSchedulerMode(context) == SchedulerMode.SINGLE_WAKEUP;
+      SchedulingHorizon horizon = singleWakeup
+          ? SchedulingHorizon.UNLIMITED
+          : NotificationPreferences.getSchedulingHorizon(context);
+      long horizonEnd = horizon.endFrom(now);
+      SchedulerMetrics metrics = schedulerMetrics.getMetrics();
+
+      // Inactive and finished rows have nothing to re-arm, and rows beyond the horizon are
+      // armed later by the worker; record both without loading them
+      long queryStart = SystemClock.elapsedRealtime();
+      int idleCount = reminderDao.markIdleScheduled();
+      int deferredCount = 0;
+      List<ReminderModel> reminders;
+      if (horizon.isUnlimited()) {
+        reminders = reminderDao.getUpcomingSync();
+      } else {
+        deferredCount = reminderDao.markDeferredAfter(horizonEnd);
+        reminders = reminderDao.getDueBefore(horizonEnd, Integer.MAX_VALUE);
+      }
+      metrics.record(SchedulerMetrics.Timer.DB_QUERY, SystemClock.elapsedRealtime() - queryStart);
+
+      // Nothing survives a reboot, so the pass ignores what scheduled_at says was armed
+      AlarmScheduler.Pass pass = alarmScheduler.beginPassAfterAlarmsLost(now);
       SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
 
       int overdueCount = 0;
       int scheduledCount = 0;
       int skippedCount = 0;
+      FireBatch overdue = new FireBatch();
 
       for (ReminderModel reminder : reminders) {
-        if (!reminder.isActive()) {
-          skippedCount++;
-          continue;
-        }
         if (reminder.isSnoozed()) {
           skippedCount++;
           Log.d(TAG, "Skipping snoozed reminder: ID=" + reminder.getId());
+          pass.record(reminder, null);
           continue;
         }
 
-        Calendar next = reminder.getNextOccurrenceAfter(now);
-        if (next == null) {
-          skippedCount++;
-          continue;
-        }
-
-        if (!next.after(now)) {
-          // Overdue: fire immediately. The service's burst channel logic handles
-          // sound cascade prevention for multiple overdue reminders.
+        long next = reminder.getNextFireAt();
+        if (next <= now) {
+          // Overdue: the fire was missed while the device was off, so deliver it now. The
+          // service's burst channel logic handles sound cascade prevention.
           overdueCount++;
           Log.i(TAG, "Firing overdue reminder: ID=" + reminder.getId()
               + ", Name='" + reminder.getName() + "'"
-              + ", ScheduledTime=" + sdf.format(next.getTime()));
-          fireReminderImmediately(context, reminder);
+              + ", ScheduledTime=" + sdf.format(new Date(next)));
+          overdue.add(reminder.getId(), next);
+          next = schedulePlanCache.nextOccurrenceAfter(reminder, now);
+          if (next == ReminderModel.NO_OCCURRENCE || next > horizonEnd) {
+            // Nothing more to arm now; a deferred row is picked up as the window slides
+            pass.record(reminder, null);
+            continue;
+          }
+        }
+
+        // Recording what is armed lets the worker's next pass find these rows clean
+        scheduledCount++;
+        if (singleWakeup) {
+          // Queued only; the one wakeup alarm is armed below
+          pass.record(reminder, next);
         } else {
-          // Future: schedule via AlarmManager
-          scheduledCount++;
-          scheduleAlarm(context, alarmMgr, reminder, next, canScheduleExact);
-          Log.i(TAG, "Scheduled future reminder: ID=" + reminder.getId()
-              + ", Name='" + reminder.getName() + "'"
-              + ", AlarmTime=" + sdf.format(next.getTime())
-              + ", Exact=" + canScheduleExact);
+          pass.arm(reminder, next);
+        }
+      }
+      // Missed fires go to the service in one start: one burst decision, one transaction
+      NotificationStarterService.startBatch(context, overdue);
+      long firstArmedAt = pass.getFirstSetElapsedRealtime();
+      if (singleWakeup) {
+        Long wakeup = reminderDao.getEarliestQueuedFire();
+        NextWakeupAlarm.armAt(context, wakeup);
+        if (wakeup != null) {
+          firstArmedAt = SystemClock.elapsedRealtime();
         }
       }
 
-      Log.i(TAG, "Boot recovery complete: " + reminders.size() + " total reminders"
+      reminderScheduler.scheduleNextPass(singleWakeup, horizon, now);
+
+      metrics.increment(SchedulerMetrics.Counter.PASSES);
+      metrics.add(SchedulerMetrics.Counter.ROWS_SCANNED, reminders.size());
+      metrics.addDelta(pass.getDelta());
+      metrics.add(SchedulerMetrics.Counter.OVERDUE_FIRES, overdueCount);
+      metrics.add(SchedulerMetrics.Counter.DEFERRED, deferredCount);
+      metrics.add(SchedulerMetrics.Counter.SKIPPED_SNOOZED, skippedCount);
+      metrics.add(SchedulerMetrics.Counter.SKIPPED_INACTIVE, idleCount);
+      metrics.record(SchedulerMetrics.Timer.PASS_DURATION, SystemClock.elapsedRealtime() - receivedAt);
+      schedulerMetrics.flush();
+
+      pass.logSummary(TAG);
+      logFirstAlarmLatency(receivedAt, firstArmedAt);
+      Log.i(TAG, "Boot recovery complete: " + reminders.size() + " reminders within " + horizon
           + ", " + overdueCount + " fired immediately (overdue)"
-          + ", " + scheduledCount + " alarms scheduled (future)"
-          + ", " + skippedCount + " skipped (inactive/snoozed/no-next)");
+          + ", " + scheduledCount + (singleWakeup ? " queued" : " alarms scheduled (future)")
+          + ", " + skippedCount + " skipped (snoozed)"
+          + ", Exact=" + pass.canScheduleExact());
 
     } catch (Exception e) {
       Log.e(TAG, "Error processing reminders after boot", e);
-    } finally {
-      if (db != null) {
-        db.close();
-      }
-    }
-  }
-
-  /**
-   * Fires a reminder immediately by starting NotificationStarterService
-   * as a foreground service.
-   */
-  private void fireReminderImmediately(Context context, ReminderModel reminder) {
-    Intent serviceIntent = new Intent(context, NotificationStarterService.class);
-    serviceIntent.putExtra(REMINDER_ID, reminder.getId());
-    serviceIntent.putExtra(REMINDER_NAME, reminder.getName());
-    serviceIntent.putExtra(SCHEDULED_FIRE_EPOCH, System.currentTimeMillis());
-    ContextCompat.startForegroundService(context, serviceIntent);
-  }
-
-  /**
-   * Schedules an AlarmManager alarm for a future reminder occurrence.
-   * Uses exact alarm if permission is granted, otherwise falls back to inexact.
-   */
-  private void scheduleAlarm(Context context, AlarmManager alarmMgr,
-                             ReminderModel reminder, Calendar alarmTime, boolean canScheduleExact) {
-    Intent alarmIntent = new Intent(context, NotificationStarterService.class);
-    alarmIntent.putExtra(REMINDER_ID, reminder.getId());
-    alarmIntent.putExtra(REMINDER_NAME, reminder.getName());
-    alarmIntent.putExtra(SCHEDULED_FIRE_EPOCH, alarmTime.getTimeInMillis());
-    PendingIntent pendingIntent = PendingIntent.getForegroundService(
-        context,
-        PendingIntentRequestCodes.forAlarm(reminder.getId()),
-        alarmIntent,
-        PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_UPDATE_CURRENT);
-
-    if (canScheduleExact) {
-      alarmMgr.setExactAndAllowWhileIdle(
-          AlarmManager.RTC_WAKEUP,
-          alarmTime.getTimeInMillis(),
-          pendingIntent);
-    } else {
-      alarmMgr.setAndAllowWhileIdle(
-          AlarmManager.RTC_WAKEUP,
-          alarmTime.getTimeInMillis(),
-          pendingIntent);
     }
   }
 
   /**
-   * Checks whether exact alarm scheduling is permitted.
+   * Logs how long after boot, and after the boot broadcast, the first alarm was armed.
+   * elapsedRealtime counts from device boot, so it is the boot-to-armed latency itself.
    */
-  private boolean canScheduleExactAlarms(AlarmManager alarmMgr) {
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-      return alarmMgr.canScheduleExactAlarms();
+  private static void logFirstAlarmLatency(long receivedAt, long firstArmedAt) {
+    if (firstArmedAt < 0) {
+      Log.i(TAG, "Boot recovery armed no alarms (broadcast received " + receivedAt
+          + "ms after boot)");
+      return;
     }
-    return true;
+    Log.i(TAG, "First alarm armed " + firstArmedAt + "ms after boot, "
+        + (firstArmedAt - receivedAt) + "ms after the boot broadcast");
   }
 }
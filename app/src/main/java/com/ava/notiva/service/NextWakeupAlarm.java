@@ -0,0 +1,72 @@
+package com.ava.notiva.service;
+
+import static com.ava.notiva.util.ReminderConstants.ACTION_WAKEUP;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import android.util.Log;
+
+import com.ava.notiva.util.PendingIntentRequestCodes;
+
+/**
+ * The one AlarmManager alarm used in {@link com.ava.notiva.model.SchedulerMode#SINGLE_WAKEUP}
+ * mode. It starts {@link NotificationStarterService} with {@code ACTION_WAKEUP}, which
+ * fires every queued reminder that is due and re-arms this alarm for the next one.
+ */
+public final class NextWakeupAlarm {
+
+  private static final String TAG = "Notiva.NextWakeupAlarm";
+
+  private NextWakeupAlarm() {
+    // Utility class
+  }
+
+  /**
+   * Arms the wakeup at {@code earliestFire}, replacing any previous one, or cancels it
+   * when the queue is empty ({@code earliestFire == null}). A time in the past makes
+   * AlarmManager deliver immediately, which is how overdue queue entries are drained.
+   */
+  public static void armAt(Context context, Long earliestFire) {
+    if (earliestFire == null) {
+      cancel(context);
+      return;
+    }
+    AlarmManager alarmMgr = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+    PendingIntent pendingIntent = PendingIntent.getForegroundService(
+        context,
+        PendingIntentRequestCodes.forNextWakeup(),
+        wakeupIntent(context),
+        PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_UPDATE_CURRENT);
+    boolean exact = Build.VERSION.SDK_INT < Build.VERSION_CODES.S || alarmMgr.canScheduleExactAlarms();
+    if (exact) {
+      alarmMgr.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, earliestFire, pendingIntent);
+    } else {
+      alarmMgr.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, earliestFire, pendingIntent);
+    }
+    Log.i(TAG, "Armed next wakeup at " + earliestFire + ", Exact=" + exact);
+  }
+
+  /** Cancels the wakeup alarm, if one is registered. */
+  public static void cancel(Context context) {
+    PendingIntent existing = PendingIntent.getForegroundService(
+        context,
+        PendingIntentRequestCodes.forNextWakeup(),
+        wakeupIntent(context),
+        PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_NO_CREATE);
+    if (existing != null) {
+      AlarmManager alarmMgr = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+      alarmMgr.cancel(existing);
+      existing.cancel();
+      Log.i(TAG, "Cancelled next wakeup");
+    }
+  }
+
+  private static Intent wakeupIntent(Context context) {
+    Intent intent = new Intent(context, NotificationStarterService.class);
+    intent.setAction(ACTION_WAKEUP);
+    return intent;
+  }
+}
@@ -4,15 +4,17 @@ import static android.app.Notification.EXTRA_NOTIFICATION_ID;
 import static android.app.PendingIntent.FLAG_IMMUTABLE;
 import static android.app.PendingIntent.FLAG_UPDATE_CURRENT;
 import static com.ava.notiva.util.ReminderConstants.ACTION_DISMISS;
+import static com.ava.notiva.util.ReminderConstants.ACTION_FIRE_BATCH;
 import static com.ava.notiva.util.ReminderConstants.ACTION_SNOOZE;
-import static com.ava.notiva.util.ReminderConstants.CHANNEL_ID;
-import static com.ava.notiva.util.ReminderConstants.CHANNEL_NAME;
+import static com.ava.notiva.util.ReminderConstants.ACTION_WAKEUP;
 import static com.ava.notiva.util.ReminderConstants.FOREGROUND_CHANNEL_ID;
 import static com.ava.notiva.util.ReminderConstants.FOREGROUND_CHANNEL_NAME;
 import static com.ava.notiva.util.ReminderConstants.NOTIFICATION_GROUP_KEY;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_ID;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_IDS;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_NAME;
 import static com.ava.notiva.util.ReminderConstants.SCHEDULED_FIRE_EPOCH;
+import static com.ava.notiva.util.ReminderConstants.SCHEDULED_FIRE_EPOCHS;
 
 import android.app.Notification;
 import android.app.NotificationChannel;
@@ -21,26 +23,34 @@ import android.app.PendingIntent;
 import android.app.Service;
 import android.content.Context;
 import android.content.Intent;
-import android.graphics.Color;
-import android.net.Uri;
 import android.os.Handler;
 import android.os.IBinder;
 import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.app.NotificationCompat;
-import androidx.core.app.NotificationManagerCompat;
+import androidx.core.content.ContextCompat;
 
 import com.ava.notiva.R;
 import com.ava.notiva.data.ReminderDao;
+import com.ava.notiva.data.ReminderWriteExecutor;
+import com.ava.notiva.model.FireBatch;
+import com.ava.notiva.model.FirePhase;
+import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlanCache;
+import com.ava.notiva.util.AlarmChannelCache;
+import com.ava.notiva.util.FireLatencyRecorder;
 import com.ava.notiva.util.NotificationGroupManager;
 import com.ava.notiva.util.NotificationIdGenerator;
 import com.ava.notiva.util.NotificationPreferences;
 import com.ava.notiva.util.PendingIntentRequestCodes;
 
 import java.util.Date;
+import java.util.List;
 
 import javax.inject.Inject;
 
@@ -54,16 +64,35 @@ public class NotificationStarterService extends Service {
   /** Notification ID for the persistent foreground service notification. */
   private static final int FOREGROUND_NOTIFICATION_ID = Integer.MAX_VALUE;
 
-  /** Channel ID suffix for burst (silent) alarm notifications. */
-  private static final String BURST_CHANNEL_SUFFIX = "_burst";
-
   /** Self-stop timeout: 5 minutes after the last reminder fires. */
   private static final long SELF_STOP_TIMEOUT_MILLIS = 5 * 60 * 1000L;
 
+  /** A process started this close before a fire's scheduled epoch counts as started by it. */
+  private static final long COLD_START_SLACK_MILLIS = 1_000L;
+
+  /** Whether this process has had its first fire checked for a cold start. */
+  private static boolean coldStartChecked = false;
+
   @Inject
   ReminderDao reminderDao;
 
-  private NotificationManagerCompat notificationManager;
+  @Inject
+  ReminderWriteExecutor reminderWriteExecutor;
+
+  @Inject
+  SchedulePlanCache schedulePlanCache;
+
+  @Inject
+  FireLatencyRecorder fireLatencyRecorder;
+
+  @Inject
+  AlarmChannelCache alarmChannelCache;
+
+  @Inject
+  NotificationGroupManager notificationGroupManager;
+
+  /** elapsedRealtime when onCreate began, before injection. */
+  private long createdAt;
 
   /** Tracks when the last notification sound was played for burst window logic. */
   private long lastSoundPlayedAt = 0;
@@ -80,11 +109,12 @@ public class NotificationStarterService extends Service {
 
   @Override
   public void onCreate() {
+    createdAt = SystemClock.elapsedRealtime();
+    // Hilt injects the fields during super.onCreate()
     super.onCreate();
+    fireLatencyRecorder.record(FirePhase.INJECTION, SystemClock.elapsedRealtime() - createdAt);
     Log.i(TAG, "Inside onCreate");
 
-    notificationManager = NotificationManagerCompat.from(this);
-
     createForegroundChannel();
     Notification persistentNotification = buildForegroundNotification();
     startForeground(FOREGROUND_NOTIFICATION_ID, persistentNotification);
@@ -99,54 +129,198 @@ public class NotificationStarterService extends Service {
       return START_NOT_STICKY;
     }
 
+    if (ACTION_WAKEUP.equals(intent.getAction())) {
+      Log.i(TAG, "Next-wakeup alarm fired at: " + new Date());
+      drainDueReminders();
+      resetSelfStopTimeout();
+      return START_STICKY;
+    }
+
+    if (ACTION_FIRE_BATCH.equals(intent.getAction())) {
+      fireBatch(intent.getIntArrayExtra(REMINDER_IDS), intent.getLongArrayExtra(SCHEDULED_FIRE_EPOCHS));
+      resetSelfStopTimeout();
+      return START_STICKY;
+    }
+
     int reminderId = intent.getIntExtra(REMINDER_ID, -1);
     String notificationName = intent.getStringExtra(REMINDER_NAME);
     long scheduledFireEpoch = intent.getLongExtra(SCHEDULED_FIRE_EPOCH, System.currentTimeMillis());
-    int notificationId = NotificationIdGenerator.generate(reminderId, scheduledFireEpoch);
     Log.i(TAG, "Inside onStartCommand, reminderId=" + reminderId
-        + ", notificationId=" + notificationId + ", scheduledFireEpoch=" + scheduledFireEpoch);
+        + ", scheduledFireEpoch=" + scheduledFireEpoch);
     Log.i(TAG, "Starting alarm at: " + new Date());
+    recordFireDelay(scheduledFireEpoch);
 
-    // Clear snooze state and update last_fired_at
+    // Clear snooze state, update last_fired_at and advance next_fire_at
     if (reminderId != -1) {
-      new Thread(() -> {
-        try {
-          reminderDao.updateSnoozedUntil(reminderId, null);
-          Log.i(TAG, "Cleared snooze state for reminder " + reminderId);
-          reminderDao.updateLastFiredAt(reminderId, System.currentTimeMillis());
-          Log.i(TAG, "Updated last_fired_at for reminder " + reminderId);
-        } catch (Exception e) {
-          Log.e(TAG, "Failed to update state for reminder " + reminderId, e);
+      reminderWriteExecutor.execute(() -> {
+        long now = System.currentTimeMillis();
+        reminderDao.recordFire(reminderId, now);
+        reminderDao.refreshNextFireAt(reminderId, stored -> schedulePlanCache.nextFireAt(stored, now));
+        Log.i(TAG, "Recorded fire for reminder " + reminderId);
+      });
+    }
+
+    postReminderNotification(selectAlarmChannel(1), reminderId, notificationName, scheduledFireEpoch);
+    updateSummary();
+
+    // Reset the 5-minute self-stop timer
+    resetSelfStopTimeout();
+
+    return START_STICKY;
+  }
+
+  /**
+   * Single-wakeup mode: pops every due reminder off the queue in one transaction (which
+   * also re-queues each at its next occurrence and stamps last_fired_at). Once that has
+   * committed, re-arms the wakeup for the new queue head and posts the popped reminders on
+   * the main thread.
+   */
+  private void drainDueReminders() {
+    reminderWriteExecutor.execute(() -> {
+      long now = System.currentTimeMillis();
+      List<ReminderModel> due = reminderDao.claimDue(
+          now, reminder -> schedulePlanCache.nextOccurrenceAfter(reminder, now));
+      return new DrainedWakeup(due, reminderDao.getEarliestQueuedFire());
+    }, drained -> {
+      NextWakeupAlarm.armAt(getApplicationContext(), drained.nextWakeup);
+      List<ReminderModel> due = drained.due;
+      Log.i(TAG, "Wakeup drained " + due.size() + " due reminders");
+      if (due.isEmpty()) {
+        return;
+      }
+      timeoutHandler.post(() -> {
+        String channelId = selectAlarmChannel(due.size());
+        for (ReminderModel reminder : due) {
+          recordFireDelay(reminder.getScheduledAt());
+          postReminderNotification(channelId, reminder.getId(), reminder.getName(), reminder.getScheduledAt());
         }
-      }).start();
+        updateSummary();
+      });
+    });
+  }
+
+  /** What a committed wakeup drain popped, and the queue head to arm next. */
+  private static final class DrainedWakeup {
+    final List<ReminderModel> due;
+    final Long nextWakeup;
+
+    DrainedWakeup(List<ReminderModel> due, Long nextWakeup) {
+      this.due = due;
+      this.nextWakeup = nextWakeup;
     }
+  }
 
-    // Step 1: Determine if this notification is within a burst window
-    boolean withinBurst = isWithinBurstWindow();
+  /**
+   * Starts the service for a batch of overdue fires. One start replaces a start per
+   * reminder; an empty batch starts nothing.
+   */
+  public static void startBatch(Context context, FireBatch batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    Intent serviceIntent = new Intent(context, NotificationStarterService.class);
+    serviceIntent.setAction(ACTION_FIRE_BATCH);
+    serviceIntent.putExtra(REMINDER_IDS, batch.getIds());
+    serviceIntent.putExtra(SCHEDULED_FIRE_EPOCHS, batch.getEpochs());
+    ContextCompat.startForegroundService(context, serviceIntent);
+  }
 
-    // Step 2: Create/recreate the appropriate alarm channel
-    String channelId;
-    if (withinBurst) {
-      channelId = CHANNEL_ID + BURST_CHANNEL_SUFFIX;
-      createAlarmChannel(channelId, false);
-    } else {
-      channelId = CHANNEL_ID;
-      createAlarmChannel(channelId, true);
+  /**
+   * Fires a batch in one pass: a single transaction records every fire, then, once it has
+   * committed, one burst decision on the main thread picks the channel for all of them and
+   * the summary is recomputed once.
+   */
+  private void fireBatch(int[] ids, long[] epochs) {
+    try {
+      FireBatch.checkParallel(ids, epochs);
+    } catch (IllegalArgumentException e) {
+      Log.e(TAG, "Ignoring malformed fire batch", e);
+      return;
+    }
+    Log.i(TAG, "Firing batch of " + ids.length + " reminders at: " + new Date());
+    reminderWriteExecutor.execute(() -> {
+      long now = System.currentTimeMillis();
+      return reminderDao.recordFires(ids, now, stored -> schedulePlanCache.nextFireAt(stored, now));
+    }, fired -> {
+      timeoutHandler.post(() -> {
+        String channelId = selectAlarmChannel(fired.size());
+        for (ReminderModel reminder : fired) {
+          postReminderNotification(channelId, reminder.getId(), reminder.getName(),
+              epochs[indexOf(ids, reminder.getId())]);
+        }
+        updateSummary();
+      });
+    });
+  }
+
+  private static int indexOf(int[] ids, int id) {
+    for (int i = 0; i < ids.length; i++) {
+      if (ids[i] == id) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("Reminder " + id + " is not in the batch");
+  }
+
+  /**
+   * Decides whether the next notifications play sound under the policy's sound strategy
+   * and picks the matching alarm channel: the sounding one or the silent one. ONCE sounds
+   * outside a burst window, EVERY_FIRE always, SUMMARY_ONLY only when the fires stand
+   * alone rather than under the summary. The channel only needs creating the first time
+   * its settings are used (see {@link AlarmChannelCache}).
+   *
+   * @param fireCount number of notifications about to be posted on the channel
+   * @return the channel id to post on
+   */
+  private String selectAlarmChannel(int fireCount) {
+    long start = SystemClock.elapsedRealtime();
+    boolean withSound = notificationGroupManager.getPolicy()
+        .shouldSound(notificationGroupManager.wouldGroup(fireCount), isWithinBurstWindow());
+    String channelId = alarmChannelCache.getAlarmChannel(withSound);
+    if (withSound) {
       lastSoundPlayedAt = System.currentTimeMillis();
     }
+    fireLatencyRecorder.record(FirePhase.CHANNEL_SETUP, SystemClock.elapsedRealtime() - start);
+    return channelId;
+  }
 
-    // Step 3: Build and post the reminder notification
-    Notification notification = buildAlarmNotification(channelId, reminderId, notificationId, notificationName);
-    notificationManager.notify(notificationId, notification);
+  /**
+   * Posts the alarm notification for one fire on the channel {@link #selectAlarmChannel}
+   * chose; in storm mode it is folded into the summary instead.
+   */
+  private void postReminderNotification(String channelId, int reminderId, String notificationName, long scheduledFireEpoch) {
+    int notificationId = NotificationIdGenerator.generate(reminderId, scheduledFireEpoch);
+    Log.i(TAG, "Posting reminderId=" + reminderId + ", notificationId=" + notificationId);
 
-    // Step 4: Update summary and apply collapse logic
-    NotificationManager platformManager = (NotificationManager) getSystemService(Context.NOTIFICATION_SERVICE);
-    NotificationGroupManager.updateSummaryAndCollapse(this, platformManager);
+    long start = SystemClock.elapsedRealtime();
+    Notification notification = buildAlarmNotification(channelId, reminderId, notificationId, notificationName);
+    notificationGroupManager.post(notificationId, notification);
+    fireLatencyRecorder.record(FirePhase.NOTIFY, SystemClock.elapsedRealtime() - start);
+  }
 
-    // Reset the 5-minute self-stop timer
-    resetSelfStopTimeout();
+  /** Requests a summary update, coalesced with those of other fires close by. */
+  private void updateSummary() {
+    notificationGroupManager.requestSummaryUpdate();
+  }
 
-    return START_STICKY;
+  /**
+   * Records how late an alarm was delivered against the epoch it was scheduled for. The
+   * first fire in a process also records the cold start when the process began after
+   * that epoch, i.e. the alarm is what started it. Batched overdue fires are not
+   * recorded: they were missed while the device was off or the worker was idle, not
+   * delivered late by AlarmManager.
+   */
+  private void recordFireDelay(long scheduledFireEpoch) {
+    long now = System.currentTimeMillis();
+    fireLatencyRecorder.record(FirePhase.FIRE_DELAY, now - scheduledFireEpoch);
+    if (!coldStartChecked) {
+      coldStartChecked = true;
+      long processStart = Process.getStartElapsedRealtime();
+      long processStartWall = now - (SystemClock.elapsedRealtime() - processStart);
+      if (processStartWall >= scheduledFireEpoch - COLD_START_SLACK_MILLIS) {
+        fireLatencyRecorder.record(FirePhase.PROCESS_START, createdAt - processStart);
+      }
+    }
   }
 
   @Override
@@ -154,6 +328,7 @@ public class NotificationStarterService extends Service {
     super.onDestroy();
     Log.i(TAG, "Service destroyed, cancelling timeout handler");
     timeoutHandler.removeCallbacks(selfStopRunnable);
+    fireLatencyRecorder.flush();
   }
 
   @Nullable
@@ -172,7 +347,7 @@ public class NotificationStarterService extends Service {
         FOREGROUND_CHANNEL_NAME,
         NotificationManager.IMPORTANCE_LOW);
     channel.setDescription("Keeps Notiva active for reliable reminder delivery");
-    notificationManager.createNotificationChannel(channel);
+    alarmChannelCache.ensure(channel);
   }
 
   private Notification buildForegroundNotification() {
@@ -185,50 +360,6 @@ public class NotificationStarterService extends Service {
         .build();
   }
 
-  // -------------------------------------------------------------------------
-  // Alarm notification channels (with-sound and burst/silent variants)
-  // -------------------------------------------------------------------------
-
-  /**
-   * Creates (or recreates) an alarm notification channel.
-   * <p>
-   * Android caches channel settings after first creation. To allow preference
-   * changes to take effect, the channel is deleted and recreated each time.
-   *
-   * @param channelId  the channel ID to create
-   * @param withSound  true for the main channel (plays ringtone), false for burst (silent)
-   */
-  private void createAlarmChannel(String channelId, boolean withSound) {
-    // Delete first to pick up preference changes
-    notificationManager.deleteNotificationChannel(channelId);
-
-    NotificationChannel channel = new NotificationChannel(
-        channelId,
-        CHANNEL_NAME,
-        NotificationManager.IMPORTANCE_HIGH);
-    channel.setDescription("Notiva reminder alerts");
-    channel.setLightColor(Color.BLUE);
-    channel.setLockscreenVisibility(Notification.VISIBILITY_PUBLIC);
-
-    if (withSound) {
-      Uri ringtoneUri = NotificationPreferences.getRingtoneUri(this);
-      channel.setSound(ringtoneUri, Notification.AUDIO_ATTRIBUTES_DEFAULT);
-    } else {
-      channel.setSound(null, null);
-    }
-
-    // Vibration is preference-driven on both channel types
-    boolean vibrationEnabled = NotificationPreferences.isVibrationEnabled(this);
-    if (vibrationEnabled) {
-      channel.enableVibration(true);
-      channel.setVibrationPattern(new long[]{0, 500, 300, 500});
-    } else {
-      channel.enableVibration(false);
-    }
-
-    notificationManager.createNotificationChannel(channel);
-  }
-
   // -------------------------------------------------------------------------
   // Alarm notification building
   // -------------------------------------------------------------------------
@@ -242,8 +373,10 @@ public class NotificationStarterService extends Service {
         .setCategory(NotificationCompat.CATEGORY_ALARM)
         .setVisibility(NotificationCompat.VISIBILITY_PUBLIC)
         .setTicker(getText(R.string.ticker_text))
-        .setAutoCancel(true)
-        .setGroup(NOTIFICATION_GROUP_KEY);
+        .setAutoCancel(true);
+    if (notificationGroupManager.shouldGroupNextPost()) {
+      builder.setGroup(NOTIFICATION_GROUP_KEY);
+    }
 
     attachSnoozeAction(builder, reminderId, notificationId, notificationName);
     attachDismissAction(builder, reminderId, notificationId, notificationName);
@@ -317,9 +450,11 @@ public class NotificationStarterService extends Service {
   /**
    * Resets the 5-minute self-stop timer. Called each time a new reminder
    * fires. If no new reminders fire within 5 minutes, the service stops itself.
+   * The latency samples recorded so far are persisted here too, once per start.
    */
   private void resetSelfStopTimeout() {
     timeoutHandler.removeCallbacks(selfStopRunnable);
     timeoutHandler.postDelayed(selfStopRunnable, SELF_STOP_TIMEOUT_MILLIS);
+    fireLatencyRecorder.flush();
   }
 }
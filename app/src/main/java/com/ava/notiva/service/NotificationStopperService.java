@@ -1,13 +1,14 @@
 package com.ava.notiva.service;
 
 import static android.app.Notification.EXTRA_NOTIFICATION_ID;
+import static com.ava.notiva.util.ReminderConstants.ACTION_DISMISS_ALL;
 import static com.ava.notiva.util.ReminderConstants.ACTION_SNOOZE;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_ID;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_IDS;
 import static com.ava.notiva.util.ReminderConstants.REMINDER_NAME;
 import static com.ava.notiva.util.ReminderConstants.SCHEDULED_FIRE_EPOCH;
 
 import android.app.AlarmManager;
-import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.app.Service;
 import android.content.Context;
@@ -19,6 +20,7 @@ import android.widget.Toast;
 import androidx.core.app.NotificationManagerCompat;
 
 import com.ava.notiva.data.ReminderDao;
+import com.ava.notiva.data.ReminderWriteExecutor;
 import com.ava.notiva.util.NotificationGroupManager;
 import com.ava.notiva.util.NotificationPreferences;
 import com.ava.notiva.util.PendingIntentRequestCodes;
@@ -35,6 +37,12 @@ public class NotificationStopperService extends Service {
   @Inject
   ReminderDao reminderDao;
 
+  @Inject
+  ReminderWriteExecutor reminderWriteExecutor;
+
+  @Inject
+  NotificationGroupManager notificationGroupManager;
+
   @Override
   public IBinder onBind(Intent intent) {
     return null;
@@ -47,6 +55,12 @@ public class NotificationStopperService extends Service {
     String action = intent != null ? intent.getAction() : null;
     Log.i(TAG, "Action received: " + action);
 
+    if (ACTION_DISMISS_ALL.equals(action)) {
+      acknowledgeStorm(intent.getIntArrayExtra(REMINDER_IDS));
+      stopSelf();
+      return START_NOT_STICKY;
+    }
+
     // Extract bit-packed notification ID (for cancellation) and reminder ID (for DB operations)
     int notificationId = intent != null ? intent.getIntExtra(EXTRA_NOTIFICATION_ID, -1) : -1;
     int reminderId = intent != null ? intent.getIntExtra(REMINDER_ID, -1) : -1;
@@ -55,24 +69,21 @@ public class NotificationStopperService extends Service {
     // Cancel the specific notification using its bit-packed ID
     if (notificationId != -1) {
       NotificationManagerCompat.from(this).cancel(notificationId);
+      notificationGroupManager.onRemoved(notificationId);
       Log.i(TAG, "Cancelled notification ID " + notificationId + " for reminder " + reminderId);
     }
 
     // Update last_acknowledged_at using the original reminder ID
     if (reminderId != -1) {
-      new Thread(() -> {
-        try {
-          reminderDao.updateLastAcknowledgedAt(reminderId, System.currentTimeMillis());
-          Log.i(TAG, "Updated last_acknowledged_at for reminder " + reminderId);
-        } catch (Exception e) {
-          Log.e(TAG, "Failed to update last_acknowledged_at for reminder " + reminderId, e);
-        }
-      }).start();
+      long acknowledgedAt = System.currentTimeMillis();
+      reminderWriteExecutor.execute(() -> {
+        reminderDao.updateLastAcknowledgedAt(reminderId, acknowledgedAt);
+        Log.i(TAG, "Updated last_acknowledged_at for reminder " + reminderId);
+      });
     }
 
     // Update summary and apply collapse logic after cancellation
-    NotificationManager platformManager = (NotificationManager) getSystemService(Context.NOTIFICATION_SERVICE);
-    NotificationGroupManager.updateSummaryAndCollapse(this, platformManager);
+    notificationGroupManager.requestSummaryUpdate();
 
     if (ACTION_SNOOZE.equals(action)) {
       scheduleSnoozeAlarm(intent);
@@ -86,6 +97,24 @@ public class NotificationStopperService extends Service {
     return START_NOT_STICKY;
   }
 
+  /**
+   * The storm-mode summary was dismissed: leaves storm mode and acknowledges every
+   * reminder folded into the summary.
+   */
+  private void acknowledgeStorm(int[] reminderIds) {
+    notificationGroupManager.dismissAll();
+    if (reminderIds == null || reminderIds.length == 0) {
+      return;
+    }
+    long acknowledgedAt = System.currentTimeMillis();
+    reminderWriteExecutor.execute(() -> {
+      for (int reminderId : reminderIds) {
+        reminderDao.updateLastAcknowledgedAt(reminderId, acknowledgedAt);
+      }
+      Log.i(TAG, "Acknowledged " + reminderIds.length + " reminders from the storm summary");
+    });
+  }
+
   private void scheduleSnoozeAlarm(Intent intent) {
     int reminderId = intent.getIntExtra(REMINDER_ID, -1);
     String reminderName = intent.getStringExtra(REMINDER_NAME);
@@ -101,14 +130,10 @@ public class NotificationStopperService extends Service {
     long snoozeTime = System.currentTimeMillis() + snoozeDelayMillis;
 
     // Mark reminder as snoozed in database so regular scheduling skips it
-    new Thread(() -> {
-      try {
-        reminderDao.updateSnoozedUntil(reminderId, snoozeTime);
-        Log.i(TAG, "Set snoozedUntil=" + snoozeTime + " for reminder " + reminderId);
-      } catch (Exception e) {
-        Log.e(TAG, "Failed to update snoozedUntil for reminder " + reminderId, e);
-      }
-    }).start();
+    reminderWriteExecutor.execute(() -> {
+      reminderDao.updateSnoozedUntil(reminderId, snoozeTime);
+      Log.i(TAG, "Set snoozedUntil=" + snoozeTime + " for reminder " + reminderId);
+    });
 
     AlarmManager alarmManager = (AlarmManager) getSystemService(Context.ALARM_SERVICE);
     Intent alarmIntent = new Intent(this, NotificationStarterService.class);
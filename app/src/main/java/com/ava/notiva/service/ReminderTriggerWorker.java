@@ -1,30 +1,26 @@
 package com.ava.notiva.service;
 
-import static com.ava.notiva.util.ReminderConstants.REMINDER_ID;
-import static com.ava.notiva.util.ReminderConstants.REMINDER_NAME;
-import static com.ava.notiva.util.ReminderConstants.SCHEDULED_FIRE_EPOCH;
-
-import android.app.AlarmManager;
-import android.app.PendingIntent;
 import android.content.Context;
-import android.content.Intent;
-import android.os.Build;
+import android.os.SystemClock;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
-import androidx.core.content.ContextCompat;
 import androidx.hilt.work.HiltWorker;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
 
 import com.ava.notiva.data.ReminderRepository;
+import com.ava.notiva.model.FireBatch;
 import com.ava.notiva.model.ReminderModel;
-import com.ava.notiva.util.PendingIntentRequestCodes;
-
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import com.ava.notiva.model.SchedulerMetrics;
+import com.ava.notiva.model.SchedulerMode;
+import com.ava.notiva.model.SchedulingHorizon;
+import com.ava.notiva.util.NotificationPreferences;
+import com.ava.notiva.util.ReminderWorkerUtils;
+import com.ava.notiva.util.SchedulerMetricsRecorder;
+
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 import dagger.assisted.Assisted;
 import dagger.assisted.AssistedInject;
@@ -32,145 +28,177 @@ import dagger.assisted.AssistedInject;
 @HiltWorker
 public class ReminderTriggerWorker extends Worker {
   public static final String TAG = "ReminderTriggerWorker";
+
+  /** Input flag: the scheduler mode changed, so tear down the old mode's alarms first. */
+  public static final String KEY_MODE_CHANGED = "com.ava.notiva.SCHEDULER_MODE_CHANGED";
   private final ReminderRepository reminderRepository;
+  private final AlarmScheduler alarmScheduler;
+  private final AlarmReminderScheduler reminderScheduler;
+  private final SchedulerMetricsRecorder schedulerMetrics;
 
   @AssistedInject
   public ReminderTriggerWorker(@Assisted @NonNull Context context,
                                @Assisted @NonNull WorkerParameters params,
-                               ReminderRepository reminderRepository) {
+                               ReminderRepository reminderRepository,
+                               AlarmScheduler alarmScheduler,
+                               AlarmReminderScheduler reminderScheduler,
+                               SchedulerMetricsRecorder schedulerMetrics) {
     super(context, params);
     this.reminderRepository = reminderRepository;
+    this.alarmScheduler = alarmScheduler;
+    this.reminderScheduler = reminderScheduler;
+    this.schedulerMetrics = schedulerMetrics;
   }
 
+  /**
+   * Reschedules only the reminders that need it: rows whose schedule_version moved since
+   * their alarm was armed, and rows whose armed alarm is due. Edits are normally
+   * rescheduled on the spot by {@link AlarmReminderScheduler#reschedule}, so this scan is
+   * the recovery path. Everything else already has the right alarm, so a pass over an
+   * unchanged table makes no AlarmManager calls. The rows it does visit go through
+   * {@link AlarmReminderScheduler#reconcile} in one {@link AlarmScheduler} pass, which only
+   * sets or cancels an alarm when the desired fire differs from the one recorded as armed.
+   * <p>
+   * Per-reminder alarms are only armed for fires inside the {@link SchedulingHorizon};
+   * later fires are deferred with nothing armed, and each periodic pass tops the window
+   * up with the deferred rows it has slid over.
+   * <p>
+   * In {@link SchedulerMode#SINGLE_WAKEUP} mode the pass only records each changed
+   * reminder's next fire in scheduled_at, which doubles as the wakeup queue, and then
+   * re-arms the one {@link NextWakeupAlarm}. Due rows are left for the wakeup to pop.
+   * <p>
+   * Each pass adds its duration, query time and outcome counts to
+   * {@link SchedulerMetricsRecorder}.
+   */
   @NonNull
   @Override
   public Result doWork() {
+    SchedulerMetrics metrics = schedulerMetrics.getMetrics();
+    long startedAt = SystemClock.elapsedRealtime();
     try {
-      List<ReminderModel> reminders = reminderRepository.getAllSync();
-      Calendar now = Calendar.getInstance();
+      long now = System.currentTimeMillis();
       Context appContext = getApplicationContext();
-      AlarmManager alarmMgr = (AlarmManager) appContext.getSystemService(Context.ALARM_SERVICE);
+      ReminderWorkerUtils.recordPass(
+          appContext, getTags().contains(ReminderWorkerUtils.TIMED_RUN_TAG), now);
+      SchedulerMode mode = NotificationPreferences.getSchedulerMode(appContext);
+      boolean singleWakeup = mode == SchedulerMode.SINGLE_WAKEUP;
+      if (getInputData().getBoolean(KEY_MODE_CHANGED, false)) {
+        resetForModeChange(appContext, singleWakeup, now);
+      }
 
-      boolean canScheduleExact = canScheduleExactAlarms(alarmMgr);
-      if (!canScheduleExact) {
-        Log.w(TAG, "SCHEDULE_EXACT_ALARM permission not granted; falling back to inexact alarms");
+      // The single wakeup alarm is one registration already, so only per-reminder mode
+      // limits arming to the look-ahead window
+      SchedulingHorizon horizon = singleWakeup
+          ? SchedulingHorizon.UNLIMITED
+          : NotificationPreferences.getSchedulingHorizon(appContext);
+      long queryStart = SystemClock.elapsedRealtime();
+      List<ReminderModel> reminders;
+      if (singleWakeup) {
+        reminders = reminderRepository.getScheduleChangedSync();
+      } else {
+        // Rows deferred by earlier passes are clean, so they are found by next_fire_at
+        // once the window reaches them rather than by the dirty check
+        reminders = new ArrayList<>(reminderRepository.getNeedingScheduleSync(now));
+        reminders.addAll(reminderRepository.getEnteringHorizonSync(horizon.endFrom(now)));
+      }
+      metrics.record(SchedulerMetrics.Timer.DB_QUERY, SystemClock.elapsedRealtime() - queryStart);
+      if (reminders.isEmpty()) {
+        if (singleWakeup) {
+          // A queue head already in the past means the wakeup was lost (e.g. force-stop)
+          Long earliest = reminderRepository.getEarliestQueuedFireSync();
+          if (earliest != null && earliest <= now) {
+            NextWakeupAlarm.armAt(appContext, earliest);
+          }
+        }
+        reminderScheduler.scheduleNextPass(singleWakeup, horizon, now);
+        finishPass(metrics, startedAt);
+        Log.i(TAG, "Worker complete: no reminders need scheduling, mode=" + mode);
+        return Result.success();
       }
 
-      SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
+      AlarmScheduler.Pass pass = alarmScheduler.beginPass(now);
       int scheduledCount = 0;
       int overdueCount = 0;
       int skippedCount = 0;
+      int snoozedCount = 0;
+      int deferredCount = 0;
+      FireBatch overdue = new FireBatch();
 
       for (ReminderModel reminder : reminders) {
-        if (!reminder.isActive()) {
-          skippedCount++;
-          continue;
-        }
-        if (reminder.isSnoozed()) {
-          skippedCount++;
-          Log.i(TAG, "Skipping snoozed reminder: ID=" + reminder.getId()
-              + ", snoozedUntil=" + reminder.getSnoozedUntil());
-          continue;
-        }
-
-        Calendar next = reminder.getNextOccurrenceAfter(now);
-        if (next == null) {
-          skippedCount++;
-          continue;
-        }
-
-        // Cancel any existing stale alarm for this reminder before rescheduling
-        cancelExistingAlarm(appContext, alarmMgr, reminder.getId());
-
-        if (!next.after(now)) {
-          // Overdue: next occurrence is now or in the past. Fire immediately.
-          overdueCount++;
-          Log.i(TAG, "Firing overdue reminder immediately: ID=" + reminder.getId()
-              + ", Name='" + reminder.getName() + "'"
-              + ", ScheduledTime=" + sdf.format(next.getTime()));
-          fireReminderImmediately(appContext, reminder);
-        } else {
-          // Future: schedule via AlarmManager
-          scheduledCount++;
-          Intent alarmIntent = new Intent(appContext, NotificationStarterService.class);
-          alarmIntent.putExtra(REMINDER_ID, reminder.getId());
-          alarmIntent.putExtra(REMINDER_NAME, reminder.getName());
-          alarmIntent.putExtra(SCHEDULED_FIRE_EPOCH, next.getTimeInMillis());
-          PendingIntent pendingIntent = PendingIntent.getForegroundService(
-              appContext,
-              PendingIntentRequestCodes.forAlarm(reminder.getId()),
-              alarmIntent,
-              PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_UPDATE_CURRENT);
-
-          if (canScheduleExact) {
-            alarmMgr.setExactAndAllowWhileIdle(
-                AlarmManager.RTC_WAKEUP,
-                next.getTimeInMillis(),
-                pendingIntent);
-          } else {
-            alarmMgr.setAndAllowWhileIdle(
-                AlarmManager.RTC_WAKEUP,
-                next.getTimeInMillis(),
-                pendingIntent);
-          }
-          Log.i(TAG, "Scheduled reminder: ID=" + reminder.getId()
-              + ", Name='" + reminder.getName() + "'"
-              + ", AlarmTime=" + sdf.format(next.getTime())
-              + ", Exact=" + canScheduleExact);
+        switch (reminderScheduler.reconcile(pass, reminder, singleWakeup, horizon, overdue)) {
+          case SCHEDULED:
+            scheduledCount++;
+            break;
+          case OVERDUE:
+            overdueCount++;
+            break;
+          case DEFERRED:
+            deferredCount++;
+            break;
+          case SNOOZED:
+            snoozedCount++;
+            break;
+          default:
+            skippedCount++;
+            break;
         }
       }
+      // Missed fires go to the service in one start: one burst decision, one transaction
+      NotificationStarterService.startBatch(appContext, overdue);
+      if (singleWakeup) {
+        NextWakeupAlarm.armAt(appContext, reminderRepository.getEarliestQueuedFireSync());
+      }
 
-      Log.i(TAG, "Worker complete: " + reminders.size() + " total reminders processed"
-          + ", " + scheduledCount + " alarms scheduled"
+      reminderScheduler.scheduleNextPass(singleWakeup, horizon, now);
+
+      metrics.add(SchedulerMetrics.Counter.ROWS_SCANNED, reminders.size());
+      metrics.addDelta(pass.getDelta());
+      metrics.add(SchedulerMetrics.Counter.OVERDUE_FIRES, overdueCount);
+      metrics.add(SchedulerMetrics.Counter.DEFERRED, deferredCount);
+      metrics.add(SchedulerMetrics.Counter.SKIPPED_SNOOZED, snoozedCount);
+      metrics.add(SchedulerMetrics.Counter.SKIPPED_INACTIVE, skippedCount);
+      finishPass(metrics, startedAt);
+
+      pass.logSummary(TAG);
+      Log.i(TAG, "Worker complete: " + reminders.size() + " reminders needed scheduling"
+          + ", mode=" + mode
+          + ", horizon=" + horizon
+          + ", " + scheduledCount + (singleWakeup ? " queued" : " within horizon")
+          + ", " + deferredCount + " deferred (beyond horizon)"
           + ", " + overdueCount + " fired immediately (overdue)"
-          + ", " + skippedCount + " skipped (inactive/snoozed/no-next)");
+          + ", " + snoozedCount + " skipped (snoozed)"
+          + ", " + skippedCount + " skipped (inactive/no-next)"
+          + ", Exact=" + pass.canScheduleExact());
       return Result.success();
     } catch (Exception e) {
-      Log.e(TAG, "Error scheduling reminders", e);
-      return Result.failure();
+      // Each pass times the next one, so a failed pass must retry (with WorkManager's
+      // backoff) or the timed chain ends and fires wait for the safety net
+      Log.e(TAG, "Error scheduling reminders, retrying", e);
+      return Result.retry();
     }
   }
 
-  /**
-   * Checks whether exact alarm scheduling is permitted.
-   * On Android 12+ (API 31+), SCHEDULE_EXACT_ALARM requires user grant in system settings.
-   * On earlier versions, exact alarms are always allowed.
-   */
-  private boolean canScheduleExactAlarms(AlarmManager alarmMgr) {
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-      return alarmMgr.canScheduleExactAlarms();
-    }
-    return true;
+  private void finishPass(SchedulerMetrics metrics, long startedAt) {
+    metrics.increment(SchedulerMetrics.Counter.PASSES);
+    metrics.record(SchedulerMetrics.Timer.PASS_DURATION, SystemClock.elapsedRealtime() - startedAt);
+    schedulerMetrics.flush();
   }
 
   /**
-   * Cancels any existing PendingIntent alarm for the given reminder ID.
-   * Prevents duplicate firings when rescheduling.
+   * Removes the alarms the previous mode registered and marks every reminder dirty, so
+   * this pass reschedules the whole table under the new mode.
    */
-  private void cancelExistingAlarm(Context context, AlarmManager alarmMgr, int reminderId) {
-    Intent alarmIntent = new Intent(context, NotificationStarterService.class);
-    PendingIntent existing = PendingIntent.getForegroundService(
-        context,
-        PendingIntentRequestCodes.forAlarm(reminderId),
-        alarmIntent,
-        PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_NO_CREATE);
-    if (existing != null) {
-      alarmMgr.cancel(existing);
-      existing.cancel();
-      Log.d(TAG, "Cancelled stale alarm for reminder ID=" + reminderId);
+  private void resetForModeChange(Context context, boolean singleWakeup, long now) {
+    if (singleWakeup) {
+      List<ReminderModel> armed = reminderRepository.getArmedSync(now);
+      for (ReminderModel reminder : armed) {
+        alarmScheduler.cancel(reminder.getId());
+      }
+      Log.i(TAG, "Switched to single-wakeup mode, cancelled " + armed.size() + " per-reminder alarms");
+    } else {
+      NextWakeupAlarm.cancel(context);
+      Log.i(TAG, "Switched to per-reminder mode, cancelled the wakeup alarm");
     }
-  }
-
-  /**
-   * Fires a reminder immediately by starting NotificationStarterService
-   * as a foreground service. Used for overdue reminders whose scheduled
-   * time has already passed.
-   */
-  private void fireReminderImmediately(Context context, ReminderModel reminder) {
-    Intent serviceIntent = new Intent(context, NotificationStarterService.class);
-    serviceIntent.putExtra(REMINDER_ID, reminder.getId());
-    serviceIntent.putExtra(REMINDER_NAME, reminder.getName());
-    serviceIntent.putExtra(SCHEDULED_FIRE_EPOCH, System.currentTimeMillis());
-    ContextCompat.startForegroundService(context, serviceIntent);
+    reminderRepository.markAllDirtySync();
   }
 }
@@ -0,0 +1,147 @@
+package com.ava.notiva.service;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.provider.Settings;
+import android.util.Log;
+
+import com.ava.notiva.data.ReminderDao;
+import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlanCache;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import dagger.hilt.android.AndroidEntryPoint;
+
+/**
+ * Re-anchors reminders after the wall clock or the device zone changes, touching only the
+ * rows whose next fire the change can move:
+ * <ul>
+ *   <li>Zone change: floating reminders ({@link ReminderModel#isFloatingZone()}) are moved
+ *       to the new zone, keeping their local time. Other reminders keep the instants of
+ *       the zone they were created in, so their RTC alarms are already right.</li>
+ *   <li>Clock set back: reminders stamped as fired after the new now may have an earlier
+ *       next occurrence than the one armed. A clock set forward needs no rows re-armed:
+ *       AlarmManager delivers alarms whose time has passed at once.</li>
+ * </ul>
+ * The affected rows are re-armed in one {@link AlarmScheduler} pass through
+ * {@link AlarmReminderScheduler#reschedule(List)}, which only calls AlarmManager for
+ * alarms that moved.
+ */
+@AndroidEntryPoint
+public class TimeChangeReceiver extends BroadcastReceiver {
+
+  private static final String TAG = "Notiva.TimeChangeReceiver";
+
+  private static final String PREFS_NAME = "clock_anchor";
+  private static final String KEY_CLOCK_OFFSET = "wall_minus_elapsed";
+  private static final String KEY_BOOT_COUNT = "boot_count";
+
+  /** Clock adjustments smaller than this (NTP corrections) move no reminder. */
+  private static final long NEGLIGIBLE_SHIFT_MILLIS = 2_000L;
+
+  @Inject
+  ReminderDao reminderDao;
+
+  @Inject
+  SchedulePlanCache schedulePlanCache;
+
+  @Inject
+  AlarmReminderScheduler reminderScheduler;
+
+  @Inject
+  @Named("reminderDaoExecutor")
+  ExecutorService reminderDaoExecutor;
+
+  @Override
+  public void onReceive(Context context, Intent intent) {
+    String action = intent.getAction();
+    boolean zoneChanged = Intent.ACTION_TIMEZONE_CHANGED.equals(action);
+    if (!zoneChanged && !Intent.ACTION_TIME_CHANGED.equals(action)) {
+      return;
+    }
+
+    Context appContext = context.getApplicationContext();
+    String zoneId = intent.getStringExtra(Intent.EXTRA_TIMEZONE);
+    PendingResult pendingResult = goAsync();
+    reminderDaoExecutor.execute(() -> {
+      try {
+        if (zoneChanged) {
+          onZoneChanged(resolveZone(zoneId));
+        } else {
+          onClockChanged(appContext);
+        }
+      } catch (Exception e) {
+        Log.e(TAG, "Error re-anchoring reminders after " + action, e);
+      } finally {
+        pendingResult.finish();
+      }
+    });
+  }
+
+  private void onZoneChanged(ZoneId zone) {
+    long now = System.currentTimeMillis();
+    List<ReminderModel> moved =
+        reminderDao.moveFloatingToZone(zone, reminder -> schedulePlanCache.nextFireAt(reminder, now));
+    if (moved.isEmpty()) {
+      Log.i(TAG, "Zone changed to " + zone + ", no floating reminders to move");
+      return;
+    }
+    reminderScheduler.reschedule(moved);
+    Log.i(TAG, "Zone changed to " + zone + ", moved " + moved.size() + " floating reminders");
+  }
+
+  private void onClockChanged(Context context) {
+    long now = System.currentTimeMillis();
+    Long shift = recordClockOffset(context, now);
+    if (shift != null && Math.abs(shift) < NEGLIGIBLE_SHIFT_MILLIS) {
+      Log.d(TAG, "Clock adjusted by " + shift + "ms, nothing to re-anchor");
+      return;
+    }
+    // Runs even with no rows: the next scheduler pass was timed against the old clock
+    List<ReminderModel> fired = shift == null || shift < 0
+        ? reminderDao.getFiredAfter(now)
+        : List.of();
+    reminderScheduler.reschedule(fired);
+    Log.i(TAG, "Clock moved by " + shift + "ms, re-anchored " + fired.size() + " reminders");
+  }
+
+  /**
+   * Stores the current wall-minus-elapsed offset and returns how far the wall clock moved
+   * since the last one was stored. elapsedRealtime restarts at boot, so an offset stored
+   * in an earlier boot says nothing; then, as on the first change, this returns null and
+   * the caller has to assume the clock went back.
+   */
+  private static Long recordClockOffset(Context context, long now) {
+    SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    long offset = now - SystemClock.elapsedRealtime();
+    int bootCount = Settings.Global.getInt(context.getContentResolver(), Settings.Global.BOOT_COUNT, -1);
+    boolean sameBoot = prefs.contains(KEY_CLOCK_OFFSET) && prefs.getInt(KEY_BOOT_COUNT, -2) == bootCount;
+    long previous = prefs.getLong(KEY_CLOCK_OFFSET, offset);
+    prefs.edit()
+        .putLong(KEY_CLOCK_OFFSET, offset)
+        .putInt(KEY_BOOT_COUNT, bootCount)
+        .apply();
+    return sameBoot ? offset - previous : null;
+  }
+
+  private static ZoneId resolveZone(String zoneId) {
+    if (zoneId != null) {
+      try {
+        return ZoneId.of(zoneId);
+      } catch (DateTimeException e) {
+        Log.w(TAG, "Unknown zone in broadcast: " + zoneId);
+      }
+    }
+    return ZoneId.systemDefault();
+  }
+}
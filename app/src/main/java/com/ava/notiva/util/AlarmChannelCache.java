@@ -0,0 +1,168 @@
+package com.ava.notiva.util;
+
+import static com.ava.notiva.util.ReminderConstants.CHANNEL_ID;
+import static com.ava.notiva.util.ReminderConstants.CHANNEL_NAME;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.graphics.Color;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.core.app.NotificationManagerCompat;
+import androidx.preference.PreferenceManager;
+
+import com.ava.notiva.model.ChannelFingerprint;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hands out notification channels without a binder call per fire.
+ * <p>
+ * Alarm channel ids carry a {@link ChannelFingerprint} of the ringtone and vibration
+ * preferences, so a channel is created only the first time its settings are used and is
+ * never deleted and recreated to pick up a change. The ids known to exist are kept in
+ * their own SharedPreferences file, so later fires do not have to ask the system either.
+ * That file can outlive the channels (Auto Backup restores it onto a new device or a
+ * reinstall), so it is checked against the system's channels once per process before it
+ * is trusted. When the ringtone or vibration preference changes, channels whose
+ * fingerprint no longer matches are deleted.
+ * <p>
+ * The same record covers fixed channels such as the foreground service channel through
+ * {@link #ensure}.
+ */
+public class AlarmChannelCache {
+
+  private static final String TAG = "Notiva.AlarmChannelCache";
+
+  private static final String PREFS_NAME = "notification_channels";
+  private static final String KEY_CREATED = "created";
+
+  private final Context context;
+  private final NotificationManagerCompat notificationManager;
+  private final SharedPreferences prefs;
+  private final Set<String> created;
+  private boolean verified;
+
+  // Held in a field: SharedPreferences keeps only a weak reference to its listeners
+  private final SharedPreferences.OnSharedPreferenceChangeListener settingsListener =
+      (sharedPreferences, key) -> {
+        if (NotificationPreferences.KEY_RINGTONE.equals(key)
+            || NotificationPreferences.KEY_VIBRATION.equals(key)) {
+          collectStale();
+        }
+      };
+
+  public AlarmChannelCache(Context context) {
+    this.context = context.getApplicationContext();
+    this.notificationManager = NotificationManagerCompat.from(this.context);
+    this.prefs = this.context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    this.created = new HashSet<>(prefs.getStringSet(KEY_CREATED, Collections.emptySet()));
+    PreferenceManager.getDefaultSharedPreferences(this.context)
+        .registerOnSharedPreferenceChangeListener(settingsListener);
+  }
+
+  /**
+   * Returns the alarm channel matching the current preferences, creating it only when
+   * this fingerprint has not been created before.
+   *
+   * @param withSound true for the ringing channel, false for the silent burst channel
+   */
+  public synchronized String getAlarmChannel(boolean withSound) {
+    Uri ringtoneUri = withSound ? NotificationPreferences.getRingtoneUri(context) : null;
+    boolean vibration = NotificationPreferences.isVibrationEnabled(context);
+    String channelId = alarmChannelId(ringtoneUri, vibration);
+    verifyOnce();
+    if (!created.contains(channelId)) {
+      notificationManager.createNotificationChannel(buildAlarmChannel(channelId, ringtoneUri, vibration));
+      remember(channelId);
+      Log.i(TAG, "Created alarm channel " + channelId);
+    }
+    return channelId;
+  }
+
+  /** Creates {@code channel} unless its id was created before. */
+  public synchronized void ensure(NotificationChannel channel) {
+    verifyOnce();
+    if (!created.contains(channel.getId())) {
+      notificationManager.createNotificationChannel(channel);
+      remember(channel.getId());
+    }
+  }
+
+  /**
+   * Deletes the alarm channels, including the unversioned ones used before fingerprints,
+   * whose settings no longer match the preferences. Their ids are forgotten, so going
+   * back to earlier settings creates the channel again.
+   */
+  public synchronized void collectStale() {
+    boolean vibration = NotificationPreferences.isVibrationEnabled(context);
+    Set<String> current = new HashSet<>();
+    current.add(alarmChannelId(NotificationPreferences.getRingtoneUri(context), vibration));
+    current.add(alarmChannelId(null, vibration));
+
+    int deleted = 0;
+    for (NotificationChannel channel : notificationManager.getNotificationChannels()) {
+      String id = channel.getId();
+      if (ChannelFingerprint.belongsTo(CHANNEL_ID, id) && !current.contains(id)) {
+        notificationManager.deleteNotificationChannel(id);
+        deleted++;
+      }
+    }
+    if (created.removeIf(id -> ChannelFingerprint.belongsTo(CHANNEL_ID, id) && !current.contains(id))) {
+      persist();
+    }
+    Log.i(TAG, "Deleted " + deleted + " stale alarm channels");
+  }
+
+  /** Drops recorded ids the system has no channel for; one binder call per process. */
+  private void verifyOnce() {
+    if (verified) {
+      return;
+    }
+    verified = true;
+    Set<String> existing = new HashSet<>();
+    for (NotificationChannel channel : notificationManager.getNotificationChannels()) {
+      existing.add(channel.getId());
+    }
+    if (created.retainAll(existing)) {
+      persist();
+      Log.i(TAG, "Forgot recorded channels missing from the system, e.g. after a restore");
+    }
+  }
+
+  private static String alarmChannelId(Uri ringtoneUri, boolean vibration) {
+    return ChannelFingerprint.channelId(
+        CHANNEL_ID, ringtoneUri == null ? null : ringtoneUri.toString(), vibration);
+  }
+
+  private static NotificationChannel buildAlarmChannel(String channelId, Uri ringtoneUri, boolean vibration) {
+    NotificationChannel channel = new NotificationChannel(
+        channelId,
+        CHANNEL_NAME,
+        NotificationManager.IMPORTANCE_HIGH);
+    channel.setDescription("Notiva reminder alerts");
+    channel.setLightColor(Color.BLUE);
+    channel.setLockscreenVisibility(Notification.VISIBILITY_PUBLIC);
+    channel.setSound(ringtoneUri, ringtoneUri == null ? null : Notification.AUDIO_ATTRIBUTES_DEFAULT);
+    channel.enableVibration(vibration);
+    if (vibration) {
+      channel.setVibrationPattern(new long[]{0, 500, 300, 500});
+    }
+    return channel;
+  }
+
+  private void remember(String channelId) {
+    created.add(channelId);
+    persist();
+  }
+
+  private void persist() {
+    prefs.edit().putStringSet(KEY_CREATED, new HashSet<>(created)).apply();
+  }
+}
@@ -0,0 +1,73 @@
+package com.ava.notiva.util;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.ava.notiva.model.FirePhase;
+import com.ava.notiva.model.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Process-wide latency histograms for the fire pipeline, one per {@link FirePhase},
+ * restored from their own SharedPreferences file on creation so they outlive the
+ * short-lived service process. Samples are kept in memory and written by {@link #flush()}
+ * once a fire burst is handled, so recording adds no disk write to the pipeline it
+ * measures. The diagnostics section of Settings reads them back as p50/p95/p99.
+ * <p>
+ * Safe to use from several threads: the service records on the main thread and the
+ * summary updates on their own handler thread while Settings reads.
+ */
+public class FireLatencyRecorder {
+
+  private static final String PREFS_NAME = "fire_latency";
+
+  private final SharedPreferences prefs;
+  private final Map<FirePhase, LatencyHistogram> histograms = new EnumMap<>(FirePhase.class);
+  private final Set<FirePhase> unflushed = EnumSet.noneOf(FirePhase.class);
+
+  public FireLatencyRecorder(Context context) {
+    this.prefs = context.getApplicationContext()
+        .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    for (FirePhase phase : FirePhase.values()) {
+      histograms.put(phase, LatencyHistogram.decode(prefs.getString(phase.name(), null)));
+    }
+  }
+
+  /** Adds one sample in memory; see {@link #flush()}. */
+  public synchronized void record(FirePhase phase, long millis) {
+    histograms.get(phase).record(millis);
+    unflushed.add(phase);
+  }
+
+  public LatencyHistogram get(FirePhase phase) {
+    return histograms.get(phase);
+  }
+
+  /** Persists the phases recorded since the last flush asynchronously, in one write. */
+  public synchronized void flush() {
+    if (unflushed.isEmpty()) {
+      return;
+    }
+    SharedPreferences.Editor editor = prefs.edit();
+    for (FirePhase phase : unflushed) {
+      editor.putString(phase.name(), histograms.get(phase).encode());
+    }
+    unflushed.clear();
+    editor.apply();
+  }
+
+  /** Drops every sample, in memory and on disk. */
+  public synchronized void clear() {
+    SharedPreferences.Editor editor = prefs.edit();
+    for (FirePhase phase : FirePhase.values()) {
+      histograms.get(phase).clear();
+      editor.remove(phase.name());
+    }
+    unflushed.clear();
+    editor.apply();
+  }
+}
@@ -0,0 +1,20 @@
+package com.ava.notiva.util;
+
+import android.content.Context;
+
+import com.ava.notiva.R;
+
+/** Resolves {@link FriendlyDateLabels} from string resources for the current locale. */
+public final class FriendlyDateLabelsLoader {
+
+  private FriendlyDateLabelsLoader() {
+  }
+
+  public static FriendlyDateLabels load(Context context) {
+    return new FriendlyDateLabels(
+        context.getString(R.string.display_today_prefix),
+        context.getString(R.string.display_tomorrow_prefix),
+        context.getString(R.string.display_today_singleline),
+        context.getString(R.string.display_tomorrow_singleline));
+  }
+}
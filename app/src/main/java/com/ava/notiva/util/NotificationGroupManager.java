@@ -1,7 +1,8 @@
 package com.ava.notiva.util;
 
+import static com.ava.notiva.util.ReminderConstants.ACTION_DISMISS_ALL;
 import static com.ava.notiva.util.ReminderConstants.NOTIFICATION_GROUP_KEY;
-import static com.ava.notiva.util.ReminderConstants.PER_REMINDER_COLLAPSE_THRESHOLD;
+import static com.ava.notiva.util.ReminderConstants.REMINDER_IDS;
 import static com.ava.notiva.util.ReminderConstants.SUMMARY_CHANNEL_ID;
 import static com.ava.notiva.util.ReminderConstants.SUMMARY_CHANNEL_NAME;
 import static com.ava.notiva.util.ReminderConstants.SUMMARY_NOTIFICATION_ID;
@@ -12,6 +13,9 @@ import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.SystemClock;
 import android.service.notification.StatusBarNotification;
 import android.util.Log;
 
@@ -19,29 +23,50 @@ import androidx.core.app.NotificationCompat;
 
 import com.ava.notiva.MainActivity;
 import com.ava.notiva.R;
+import com.ava.notiva.model.ActiveNotificationRegistry;
+import com.ava.notiva.model.FirePhase;
 import com.ava.notiva.model.NotificationPolicy;
+import com.ava.notiva.model.SoundStrategy;
+import com.ava.notiva.service.NotificationStopperService;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * Manages the summary notification and collapse logic for reminder notifications.
  *
- * <p>This utility is called after every {@code notify()} or {@code cancel()} to
- * ensure the summary notification and per-reminder collapse state stay consistent.
+ * <p>Reminder notifications are posted through {@link #post} and tracked in an
+ * {@link ActiveNotificationRegistry} instead of being queried from the system: every
+ * cancel or dismiss is reported through {@link #onRemoved}, and the registry decides
+ * collapses as each event arrives. The system is asked for its active notifications only
+ * once per process, to pick up notifications posted before the process started.
+ *
+ * <p>Summary updates are requested with {@link #requestSummaryUpdate()} and coalesced on a
+ * dedicated handler: each request pushes the update back by {@link #SUMMARY_DEBOUNCE_MILLIS},
+ * up to {@link #SUMMARY_MAX_DELAY_MILLIS} after the first pending one, and the update
+ * renders whatever the registry holds when it runs. A burst of fires and dismissals
+ * therefore produces one summary post for its final state.
  *
  * <h3>Responsibilities:</h3>
  * <ul>
- *   <li>Count active reminder notifications (excluding foreground service and summary)</li>
- *   <li>Per-reminder collapse: when 3+ active from the same reminder, keep only the latest</li>
- *   <li>Global max collapse: when 5+ total active, aggressively collapse any reminder with 2+</li>
+ *   <li>Apply the {@link NotificationPolicy} from the settings: per-reminder collapse (STACK
+ *       keeps fewer than 3 per reminder, REPLACE only the latest) and global max collapse
+ *       (above the max active count, any reminder with 2+ keeps only its latest)</li>
  *   <li>Post/update InboxStyle summary when 3+ active notifications</li>
  *   <li>Remove summary and group key when count drops below 3</li>
+ *   <li>Storm mode (SUMMARY_ONLY collapse above the max active count): cancel the reminder
+ *       notifications and fold every later fire into the summary, which stays the only live
+ *       notification until it is dismissed</li>
  * </ul>
+ *
+ * <p>All methods are synchronized: the services call them from the main thread and the
+ * summary update runs on the handler's thread.
  */
-public final class NotificationGroupManager {
+public class NotificationGroupManager {
 
     private static final String TAG = "Notiva.NotificationGroupManager";
 
@@ -51,188 +76,284 @@ public final class NotificationGroupManager {
     /** Threshold for showing the summary notification. */
     private static final int SUMMARY_THRESHOLD = 3;
 
-    private NotificationGroupManager() {
-        // Utility class, no instantiation
-    }
+    /** Reminder names listed in the summary; the rest are counted in one line. */
+    private static final int MAX_SUMMARY_LINES = 6;
 
-    /**
-     * Main entry point: updates the summary notification and applies collapse logic.
-     *
-     * <p>Call this after every {@code notify()} or {@code cancel()} on a reminder
-     * notification to keep grouping state consistent.
-     *
-     * @param context  application or service context
-     * @param manager  the platform NotificationManager (not NotificationManagerCompat)
-     */
-    public static void updateSummaryAndCollapse(Context context, NotificationManager manager) {
-        // Step 1: Get current active reminder notifications
-        StatusBarNotification[] active = getActiveReminderNotifications(manager);
-        Log.i(TAG, "Active reminder notifications: " + active.length);
+    /** Summary extra holding the notification ids folded into a storm-mode summary. */
+    private static final String EXTRA_FOLDED_IDS = "com.ava.notiva.FOLDED_IDS";
 
-        // Step 2: Collapse frequent reminders (per-reminder and global max)
-        int collapsed = collapseFrequentReminders(manager, active);
+    /** Quiet period after the last request before the summary is updated. */
+    public static final long SUMMARY_DEBOUNCE_MILLIS = 250L;
 
-        // Step 3: Re-count after collapse
-        active = getActiveReminderNotifications(manager);
-        Log.i(TAG, "Active after collapse: " + active.length + " (collapsed " + collapsed + ")");
+    /** Longest a requested summary update waits while requests keep arriving. */
+    public static final long SUMMARY_MAX_DELAY_MILLIS = 1_000L;
 
-        // Step 4: Post or remove summary based on count
-        if (active.length >= SUMMARY_THRESHOLD) {
-            postSummary(context, manager, active, collapsed);
-        } else {
-            manager.cancel(SUMMARY_NOTIFICATION_ID);
-            Log.i(TAG, "Summary removed (count below threshold)");
+    private final Context context;
+    private final NotificationManager manager;
+    private final Handler summaryHandler;
+    private final FireLatencyRecorder fireLatencyRecorder;
+    private final AlarmChannelCache alarmChannelCache;
+    private final Runnable summaryUpdate = this::updateSummary;
 
-            // Re-issue remaining notifications without group key so they stand alone
-            if (active.length > 0) {
-                reissueWithoutGroup(context, manager, active);
-            }
-        }
-    }
+    private NotificationPolicy policy;
+    private ActiveNotificationRegistry<Notification> registry;
+
+    /** Whether the registry has been seeded from the system in this process. */
+    private boolean reconciled = false;
+
+    /** Whether the summary notification is posted. */
+    private boolean summaryShown = false;
+
+    /** Whether fires are folded into the summary instead of posted (storm mode). */
+    private boolean storm = false;
+
+    /** Notifications collapsed since the summary was last updated. */
+    private int pendingCollapsed = 0;
+
+    /** uptimeMillis of the first request the pending summary update covers, or -1. */
+    private long firstRequestAt = -1;
+
+    /** Whether this process has created the summary channel. */
+    private boolean summaryChannelCreated = false;
 
     /**
-     * Filters active notifications to include only reminder notifications.
-     *
-     * <p>Excludes the foreground service notification and the summary notification.
-     *
-     * @param manager the platform NotificationManager
-     * @return array of active reminder notifications only
+     * @param summaryHandler       handler the debounced summary updates run on
+     * @param fireLatencyRecorder  records each summary update as {@link FirePhase#SUMMARY}
+     * @param alarmChannelCache    supplies the sounding channel for summaries that alert
      */
-    private static StatusBarNotification[] getActiveReminderNotifications(
-            NotificationManager manager) {
-        StatusBarNotification[] all = manager.getActiveNotifications();
-        List<StatusBarNotification> reminders = new ArrayList<>();
+    public NotificationGroupManager(Context context, NotificationManager manager,
+                                    Handler summaryHandler, FireLatencyRecorder fireLatencyRecorder,
+                                    AlarmChannelCache alarmChannelCache) {
+        this.context = context.getApplicationContext();
+        this.manager = manager;
+        this.summaryHandler = summaryHandler;
+        this.fireLatencyRecorder = fireLatencyRecorder;
+        this.alarmChannelCache = alarmChannelCache;
+        this.policy = NotificationPreferences.getNotificationPolicy(this.context);
+        this.registry = ActiveNotificationRegistry.forPolicy(policy);
+    }
 
-        for (StatusBarNotification sbn : all) {
-            int id = sbn.getId();
-            if (id != FOREGROUND_NOTIFICATION_ID && id != SUMMARY_NOTIFICATION_ID) {
-                reminders.add(sbn);
-            }
+    /** The notification policy currently applied, refreshed from the settings. */
+    public synchronized NotificationPolicy getPolicy() {
+        refreshPolicy();
+        return policy;
+    }
+
+    /**
+     * Posts a reminder notification, or in storm mode folds it into the summary, and
+     * cancels the older fires the collapse rules drop. Call {@link #requestSummaryUpdate()}
+     * once the posts of a fire are done.
+     */
+    public synchronized void post(int notificationId, Notification notification) {
+        refreshPolicy();
+        reconcile();
+        if (!storm && !registry.contains(notificationId) && policy.isStorm(registry.size() + 1)) {
+            enterStorm();
+        }
+        if (storm) {
+            // Folded fires were never posted, so collapsing them needs no cancel
+            registry.add(notificationId, notification);
+            return;
         }
+        manager.notify(notificationId, notification);
+        cancelCollapsed(registry.add(notificationId, notification));
+    }
 
-        return reminders.toArray(new StatusBarNotification[0]);
+    /** Forgets a reminder notification that was cancelled, tapped or swiped away. */
+    public synchronized void onRemoved(int notificationId) {
+        reconcile();
+        registry.remove(notificationId);
     }
 
     /**
-     * Enforces per-reminder and global max collapse rules.
-     *
-     * <p>Per-reminder: when a single reminder has {@code PER_REMINDER_COLLAPSE_THRESHOLD}
-     * or more active notifications, only the one with the highest notification ID
-     * (latest epoch) is kept.
-     *
-     * <p>Global max: when total active count exceeds
-     * {@link NotificationPolicy#getMaxActiveNotifications()}, any reminder with 2+
-     * active notifications is collapsed to just the latest.
-     *
-     * @param manager the platform NotificationManager
-     * @param active  current active reminder notifications
-     * @return the number of notifications that were collapsed (cancelled)
+     * Ends storm mode after its summary was dismissed, forgetting every folded fire. The
+     * summary's delete intent carries the reminders to acknowledge.
      */
-    private static int collapseFrequentReminders(NotificationManager manager,
-                                                  StatusBarNotification[] active) {
-        // Group notifications by reminderId
-        Map<Integer, List<StatusBarNotification>> byReminder = new HashMap<>();
-        for (StatusBarNotification sbn : active) {
-            int reminderId = NotificationIdGenerator.extractReminderId(sbn.getId());
-            byReminder.computeIfAbsent(reminderId, k -> new ArrayList<>()).add(sbn);
-        }
+    public synchronized void dismissAll() {
+        reconcile();
+        Log.i(TAG, "Storm summary dismissed, forgetting " + registry.size() + " folded fires");
+        manager.cancel(SUMMARY_NOTIFICATION_ID);
+        registry.clear();
+        storm = false;
+        summaryShown = false;
+        pendingCollapsed = 0;
+    }
+
+    /**
+     * Whether the notification about to be posted should carry the group key: only when it
+     * brings the count to the summary threshold, so notifications below it stand alone.
+     * Deciding from the registry rather than the posted summary keeps fires that arrive
+     * while an update is pending from having to be re-issued into the group.
+     */
+    public synchronized boolean shouldGroupNextPost() {
+        return wouldGroup(1);
+    }
 
-        int totalCollapsed = 0;
+    /** Whether the last of {@code fireCount} fires about to be posted ends up under the summary. */
+    public synchronized boolean wouldGroup(int fireCount) {
+        reconcile();
+        return storm || registry.size() + fireCount >= SUMMARY_THRESHOLD;
+    }
 
-        // Per-reminder collapse: 3+ from same reminder -> keep only latest
-        for (Map.Entry<Integer, List<StatusBarNotification>> entry : byReminder.entrySet()) {
-            List<StatusBarNotification> group = entry.getValue();
-            if (group.size() >= PER_REMINDER_COLLAPSE_THRESHOLD) {
-                totalCollapsed += collapseToLatest(manager, group);
-            }
+    /** Schedules a summary update, coalescing it with the requests already pending. */
+    public synchronized void requestSummaryUpdate() {
+        long now = SystemClock.uptimeMillis();
+        if (firstRequestAt < 0) {
+            firstRequestAt = now;
         }
+        long runAt = Math.min(now + SUMMARY_DEBOUNCE_MILLIS, firstRequestAt + SUMMARY_MAX_DELAY_MILLIS);
+        summaryHandler.removeCallbacks(summaryUpdate);
+        summaryHandler.postAtTime(summaryUpdate, runAt);
+    }
 
-        // Global max collapse: if still over max, aggressively collapse any with 2+
-        int globalMax = NotificationPolicy.defaults().getMaxActiveNotifications();
-        if (active.length - totalCollapsed > globalMax) {
-            // Re-scan after per-reminder collapse
-            StatusBarNotification[] remaining = getActiveReminderNotifications(manager);
-            Map<Integer, List<StatusBarNotification>> remainByReminder = new HashMap<>();
-            for (StatusBarNotification sbn : remaining) {
-                int reminderId = NotificationIdGenerator.extractReminderId(sbn.getId());
-                remainByReminder.computeIfAbsent(reminderId, k -> new ArrayList<>()).add(sbn);
+    /**
+     * Brings the summary in line with the registry: posts or refreshes it at 3+ active
+     * notifications or in storm mode, and removes it below that.
+     */
+    private synchronized void updateSummary() {
+        long start = SystemClock.elapsedRealtime();
+        firstRequestAt = -1;
+        refreshPolicy();
+        reconcile();
+        int active = registry.size();
+        Log.i(TAG, "Active reminder notifications: " + active + " (collapsed " + pendingCollapsed
+                + (storm ? ", storm mode" : "") + ")");
+
+        if (storm && active == 0) {
+            storm = false;
+        }
+        if (storm) {
+            postSummary(active, pendingCollapsed);
+            summaryShown = true;
+        } else if (active >= SUMMARY_THRESHOLD) {
+            if (!summaryShown) {
+                // Notifications posted while the summary was hidden carry no group key
+                reissue(true);
             }
+            postSummary(active, pendingCollapsed);
+            summaryShown = true;
+        } else if (summaryShown) {
+            manager.cancel(SUMMARY_NOTIFICATION_ID);
+            summaryShown = false;
+            Log.i(TAG, "Summary removed (count below threshold)");
 
-            for (Map.Entry<Integer, List<StatusBarNotification>> entry
-                    : remainByReminder.entrySet()) {
-                List<StatusBarNotification> group = entry.getValue();
-                if (group.size() >= 2) {
-                    totalCollapsed += collapseToLatest(manager, group);
-                }
-            }
-            Log.i(TAG, "Aggressive collapse applied (global max " + globalMax + " exceeded)");
+            // Re-issue remaining notifications without group key so they stand alone
+            reissue(false);
         }
+        pendingCollapsed = 0;
+        fireLatencyRecorder.record(FirePhase.SUMMARY, SystemClock.elapsedRealtime() - start);
+    }
 
-        return totalCollapsed;
+    /**
+     * Picks up a change of the notification policy settings. New collapse limits are
+     * applied by replaying the registry into one built for them. Storm mode, once entered,
+     * lasts until its summary is dismissed whatever the policy says.
+     */
+    private void refreshPolicy() {
+        NotificationPolicy current = NotificationPreferences.getNotificationPolicy(context);
+        if (current.equals(policy)) {
+            return;
+        }
+        boolean limitsChanged = current.getPerReminderLimit() != policy.getPerReminderLimit()
+                || current.getMaxActiveNotifications() != policy.getMaxActiveNotifications();
+        Log.i(TAG, "Notification policy changed to " + current);
+        policy = current;
+        if (limitsChanged) {
+            ActiveNotificationRegistry<Notification> previous = registry;
+            registry = ActiveNotificationRegistry.forPolicy(policy);
+            previous.forEach((notification, id) -> {
+                int[] collapsed = registry.add(id, notification);
+                if (!storm) {
+                    cancelCollapsed(collapsed);
+                }
+            });
+        }
     }
 
     /**
-     * Keeps only the notification with the highest ID (latest epoch) from the group,
-     * cancelling all others.
-     *
-     * @param manager the platform NotificationManager
-     * @param group   notifications from the same reminder
-     * @return number of notifications cancelled
+     * Seeds the registry with the reminder notifications already posted, once per process.
+     * This is the only query of the system's active notifications. A storm-mode summary
+     * carries the ids folded into it, so storm mode survives the process.
      */
-    private static int collapseToLatest(NotificationManager manager,
-                                         List<StatusBarNotification> group) {
-        // Find the notification with the highest ID (latest epoch in lower bits)
-        StatusBarNotification latest = group.get(0);
-        for (StatusBarNotification sbn : group) {
-            if (sbn.getId() > latest.getId()) {
-                latest = sbn;
+    private void reconcile() {
+        if (reconciled) {
+            return;
+        }
+        reconciled = true;
+        StatusBarNotification[] all = manager.getActiveNotifications();
+        Arrays.sort(all, Comparator.comparingLong(StatusBarNotification::getPostTime));
+        for (StatusBarNotification sbn : all) {
+            int id = sbn.getId();
+            if (id == SUMMARY_NOTIFICATION_ID) {
+                summaryShown = true;
+                int[] folded = sbn.getNotification().extras.getIntArray(EXTRA_FOLDED_IDS);
+                if (folded != null) {
+                    storm = true;
+                    for (int foldedId : folded) {
+                        registry.add(foldedId, null);
+                    }
+                }
+            } else if (id != FOREGROUND_NOTIFICATION_ID) {
+                cancelCollapsed(registry.add(id, sbn.getNotification()));
             }
         }
+        Log.i(TAG, "Reconciled " + registry.size() + " active reminder notifications"
+                + (storm ? " (storm mode)" : ""));
+    }
 
-        int cancelled = 0;
-        for (StatusBarNotification sbn : group) {
-            if (sbn.getId() != latest.getId()) {
-                manager.cancel(sbn.getId());
-                Log.i(TAG, "Collapsed notification ID " + sbn.getId()
-                        + " (reminderId=" + NotificationIdGenerator.extractReminderId(sbn.getId())
-                        + ")");
-                cancelled++;
-            }
+    /** Cancels every posted reminder notification; from here on fires only feed the summary. */
+    private void enterStorm() {
+        registry.forEach((notification, id) -> manager.cancel(id));
+        storm = true;
+        Log.i(TAG, "Entering storm mode with " + registry.size() + " active notifications");
+    }
+
+    private void cancelCollapsed(int[] collapsed) {
+        for (int id : collapsed) {
+            manager.cancel(id);
+            Log.i(TAG, "Collapsed notification ID " + id
+                    + " (reminderId=" + NotificationIdGenerator.extractReminderId(id) + ")");
         }
-        return cancelled;
+        pendingCollapsed += collapsed.length;
     }
 
     /**
      * Builds and posts the InboxStyle summary notification.
      *
-     * <p>The summary notification uses a separate silent channel, lists each
-     * active reminder by name, and notes how many older fires were collapsed.
+     * <p>The summary notification uses a separate silent channel, lists active reminders
+     * by name, and notes how many older fires were collapsed. When the sound strategy is
+     * SUMMARY_ONLY, and always in storm mode, it is posted on the sounding alarm channel
+     * instead and alerts when it first appears (on every update for EVERY_FIRE in storm
+     * mode, since folded fires make no sound of their own). A storm-mode summary stands
+     * alone rather than heading a group, records the folded ids and acknowledges them all
+     * when it is dismissed.
      *
-     * @param context   application or service context
-     * @param manager   the platform NotificationManager
-     * @param active    current active reminder notifications (after collapse)
+     * @param active    number of active reminder notifications (after collapse)
      * @param collapsed number of notifications that were collapsed
      */
-    private static void postSummary(Context context, NotificationManager manager,
-                                     StatusBarNotification[] active, int collapsed) {
-        // Ensure summary channel exists (silent, low importance)
-        NotificationChannel summaryChannel = new NotificationChannel(
-                SUMMARY_CHANNEL_ID,
-                SUMMARY_CHANNEL_NAME,
-                NotificationManager.IMPORTANCE_LOW);
-        summaryChannel.setSound(null, null);
-        summaryChannel.enableVibration(false);
-        summaryChannel.setDescription("Groups multiple reminder notifications together");
-        manager.createNotificationChannel(summaryChannel);
-
-        // Build InboxStyle with each active reminder's name
+    private void postSummary(int active, int collapsed) {
+        boolean sounding = storm || policy.summarySounds();
+        String channelId = sounding ? alarmChannelCache.getAlarmChannel(true) : summaryChannel();
+
+        // Build InboxStyle with the first active reminders' names
         NotificationCompat.InboxStyle inboxStyle = new NotificationCompat.InboxStyle();
-        for (StatusBarNotification sbn : active) {
-            CharSequence title = sbn.getNotification().extras
-                    .getCharSequence(Notification.EXTRA_TITLE);
-            if (title != null) {
+        int[] folded = new int[storm ? active : 0];
+        Set<Integer> foldedReminders = new LinkedHashSet<>();
+        int[] listed = {0, 0};
+        registry.forEach((notification, id) -> {
+            if (storm) {
+                folded[listed[1]++] = id;
+                foldedReminders.add(NotificationIdGenerator.extractReminderId(id));
+            }
+            CharSequence title = notification == null
+                    ? null : notification.extras.getCharSequence(Notification.EXTRA_TITLE);
+            if (title != null && listed[0] < MAX_SUMMARY_LINES) {
                 inboxStyle.addLine(title);
+                listed[0]++;
             }
+        });
+        if (active > listed[0]) {
+            inboxStyle.addLine("+" + (active - listed[0]) + " more");
         }
 
         // Note collapsed fires if any
@@ -241,7 +362,7 @@ public final class NotificationGroupManager {
                     + " collapsed");
         }
 
-        inboxStyle.setBigContentTitle(active.length + " reminders active");
+        inboxStyle.setBigContentTitle(active + " reminders active");
 
         // Content intent: open MainActivity
         Intent mainIntent = new Intent(context, MainActivity.class);
@@ -252,44 +373,91 @@ public final class NotificationGroupManager {
                 mainIntent,
                 PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_UPDATE_CURRENT);
 
-        Notification summary = new NotificationCompat.Builder(context, SUMMARY_CHANNEL_ID)
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, channelId)
                 .setSmallIcon(R.drawable.ic_alarm)
-                .setContentTitle(active.length + " reminders active")
+                .setContentTitle(active + " reminders active")
                 .setStyle(inboxStyle)
-                .setGroup(NOTIFICATION_GROUP_KEY)
-                .setGroupSummary(true)
                 .setAutoCancel(false)
-                .setContentIntent(contentPending)
-                .build();
+                .setOnlyAlertOnce(!(storm && policy.getSoundStrategy() == SoundStrategy.EVERY_FIRE))
+                .setContentIntent(contentPending);
+        if (storm) {
+            Intent dismissAllIntent = new Intent(context, NotificationStopperService.class);
+            dismissAllIntent.setAction(ACTION_DISMISS_ALL);
+            dismissAllIntent.putExtra(REMINDER_IDS,
+                    foldedReminders.stream().mapToInt(Integer::intValue).toArray());
+            builder.setDeleteIntent(PendingIntent.getService(
+                    context,
+                    PendingIntentRequestCodes.forDismissAll(),
+                    dismissAllIntent,
+                    PendingIntent.FLAG_IMMUTABLE | PendingIntent.FLAG_UPDATE_CURRENT));
+            Bundle extras = new Bundle();
+            extras.putIntArray(EXTRA_FOLDED_IDS, folded);
+            builder.addExtras(extras);
+        } else {
+            builder.setGroup(NOTIFICATION_GROUP_KEY)
+                    .setGroupSummary(true);
+        }
 
-        manager.notify(SUMMARY_NOTIFICATION_ID, summary);
-        Log.i(TAG, "Summary posted: " + active.length + " reminders active"
+        manager.notify(SUMMARY_NOTIFICATION_ID, builder.build());
+        Log.i(TAG, "Summary posted: " + active + " reminders active"
                 + (collapsed > 0 ? " (" + collapsed + " collapsed)" : ""));
     }
 
     /**
-     * Re-issues remaining notifications without the group key.
+     * Ensures the summary channel exists (silent, low importance). Its settings never
+     * change, so creating it once per process is enough.
+     */
+    private String summaryChannel() {
+        if (!summaryChannelCreated) {
+            NotificationChannel summaryChannel = new NotificationChannel(
+                    SUMMARY_CHANNEL_ID,
+                    SUMMARY_CHANNEL_NAME,
+                    NotificationManager.IMPORTANCE_LOW);
+            summaryChannel.setSound(null, null);
+            summaryChannel.enableVibration(false);
+            summaryChannel.setDescription("Groups multiple reminder notifications together");
+            manager.createNotificationChannel(summaryChannel);
+            summaryChannelCreated = true;
+        }
+        return SUMMARY_CHANNEL_ID;
+    }
+
+    /**
+     * Re-issues the tracked notifications whose group key does not match {@code grouped}.
      *
      * <p>When the active count drops below the summary threshold, individual
-     * notifications should stand fully alone (not grouped). This method recovers
-     * each notification's builder, removes the group key, and re-posts it.
+     * notifications should stand fully alone (not grouped); when it reaches the threshold
+     * again they rejoin the summary's group. Each notification's builder is recovered
+     * from the notification kept in the registry, so nothing is queried from the system.
      *
-     * @param context  application or service context
-     * @param manager  the platform NotificationManager
-     * @param active   remaining active reminder notifications
+     * @param grouped whether the notifications should carry the group key
      */
-    private static void reissueWithoutGroup(Context context, NotificationManager manager,
-                                             StatusBarNotification[] active) {
-        for (StatusBarNotification sbn : active) {
+    private void reissue(boolean grouped) {
+        List<Integer> ids = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        registry.forEach((notification, id) -> {
+            if (notification != null && (notification.getGroup() != null) != grouped) {
+                ids.add(id);
+                notifications.add(notification);
+            }
+        });
+
+        for (int i = 0; i < ids.size(); i++) {
+            int id = ids.get(i);
             try {
                 Notification.Builder recovered = Notification.Builder.recoverBuilder(
-                        context, sbn.getNotification());
-                recovered.setGroup(null);
-                manager.notify(sbn.getId(), recovered.build());
-                Log.i(TAG, "Re-issued notification ID " + sbn.getId() + " without group key");
+                        context, notifications.get(i));
+                recovered.setGroup(grouped ? NOTIFICATION_GROUP_KEY : null);
+                // An update of a posted notification, so it must not ring again
+                recovered.setOnlyAlertOnce(true);
+                Notification reissued = recovered.build();
+                manager.notify(id, reissued);
+                registry.add(id, reissued);
+                Log.i(TAG, "Re-issued notification ID " + id
+                        + (grouped ? " with" : " without") + " group key");
             } catch (Exception e) {
-                Log.w(TAG, "Failed to re-issue notification ID " + sbn.getId()
-                        + " without group: " + e.getMessage());
+                Log.w(TAG, "Failed to re-issue notification ID " + id
+                        + (grouped ? " with" : " without") + " group: " + e.getMessage());
             }
         }
     }
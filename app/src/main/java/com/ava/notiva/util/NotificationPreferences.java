@@ -9,6 +9,8 @@ import androidx.preference.PreferenceManager;
 
 import com.ava.notiva.model.CollapseStrategy;
 import com.ava.notiva.model.NotificationPolicy;
+import com.ava.notiva.model.SchedulerMode;
+import com.ava.notiva.model.SchedulingHorizon;
 import com.ava.notiva.model.SoundStrategy;
 
 /**
@@ -21,14 +23,20 @@ import com.ava.notiva.model.SoundStrategy;
 public final class NotificationPreferences {
 
   // Phase 12 preference keys (match preferences.xml)
-  private static final String KEY_RINGTONE = "pref_notification_ringtone";
-  private static final String KEY_VIBRATION = "pref_notification_vibration";
+  public static final String KEY_RINGTONE = "pref_notification_ringtone";
+  public static final String KEY_VIBRATION = "pref_notification_vibration";
   private static final String KEY_SNOOZE_DURATION = "pref_snooze_duration";
 
-  // Phase 13 policy keys (not yet exposed in preferences UI)
-  private static final String KEY_COLLAPSE_STRATEGY = "pref_notification_collapse_strategy";
-  private static final String KEY_SOUND_STRATEGY = "pref_notification_sound_strategy";
-  private static final String KEY_MAX_ACTIVE = "pref_notification_max_active";
+  // Phase 13 policy keys (match preferences.xml)
+  public static final String KEY_COLLAPSE_STRATEGY = "pref_notification_collapse_strategy";
+  public static final String KEY_SOUND_STRATEGY = "pref_notification_sound_strategy";
+  public static final String KEY_MAX_ACTIVE = "pref_notification_max_active";
+
+  /** Scheduler mode key (matches preferences.xml). */
+  public static final String KEY_SCHEDULER_MODE = "pref_scheduler_mode";
+
+  /** Per-reminder alarm look-ahead in hours (matches preferences.xml). */
+  public static final String KEY_SCHEDULING_HORIZON = "pref_scheduling_horizon";
 
   /** Burst window duration in milliseconds (60 seconds). */
   private static final long BURST_WINDOW_MILLIS = 60_000L;
@@ -114,11 +122,41 @@ public final class NotificationPreferences {
       soundStrategy = SoundStrategy.ONCE;
     }
 
-    int maxActive = prefs.getInt(KEY_MAX_ACTIVE, 5);
+    // Stored as a String by the ListPreference
+    int maxActive;
+    try {
+      maxActive = Integer.parseInt(prefs.getString(KEY_MAX_ACTIVE, "5"));
+    } catch (NumberFormatException e) {
+      maxActive = 5;
+    }
 
     return new NotificationPolicy(collapseStrategy, soundStrategy, maxActive);
   }
 
+  /**
+   * Returns how reminder fires are handed to AlarmManager.
+   *
+   * @param context application or activity context
+   * @return the scheduler mode (default: PER_REMINDER)
+   */
+  public static SchedulerMode getSchedulerMode(Context context) {
+    SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(context);
+    return SchedulerMode.fromPreference(prefs.getString(KEY_SCHEDULER_MODE, null));
+  }
+
+  /**
+   * Returns how far ahead per-reminder alarms are armed.
+   * <p>
+   * Stored as a String of hours by the ListPreference; "0" means no limit.
+   *
+   * @param context application or activity context
+   * @return the scheduling horizon (default: 6 hours)
+   */
+  public static SchedulingHorizon getSchedulingHorizon(Context context) {
+    SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(context);
+    return SchedulingHorizon.fromPreference(prefs.getString(KEY_SCHEDULING_HORIZON, null));
+  }
+
   /**
    * Returns the burst window duration in milliseconds.
    * <p>
@@ -12,7 +12,9 @@ package com.ava.notiva.util;
  * RANGE_DISMISS      | 0 - 999,999           | Notification dismiss action
  * RANGE_SNOOZE       | 1,000,000 - 1,999,999 | Notification snooze action
  * RANGE_SNOOZE_ALARM | 2,000,000 - 2,999,999 | Snooze re-fire alarm
- * RANGE_RESERVED     | 3,000,000 - 3,999,999 | Reserved for future use
+ * NEXT_WAKEUP        | 3,000,000             | Single-wakeup scheduler alarm
+ * DISMISS_ALL        | 3,000,001             | Storm-mode summary dismissed
+ * RANGE_RESERVED     | 3,000,002 - 3,999,999 | Reserved for future use
  * -----------------------------------------------------------------
  * </pre>
  *
@@ -24,6 +26,8 @@ public final class PendingIntentRequestCodes {
 
     private static final int OFFSET_SNOOZE = 1_000_000;
     private static final int OFFSET_SNOOZE_ALARM = 2_000_000;
+    private static final int NEXT_WAKEUP = 3_000_000;
+    private static final int DISMISS_ALL = 3_000_001;
 
     private PendingIntentRequestCodes() {
         // Utility class, no instantiation
@@ -48,4 +52,20 @@ public final class PendingIntentRequestCodes {
     public static int forSnoozeAlarm(int reminderId) {
         return reminderId + OFFSET_SNOOZE_ALARM;
     }
+
+    /**
+     * Request code for the single-wakeup scheduler alarm. It targets the same service as
+     * {@link #forAlarm}, so it sits outside the reminder ID range.
+     */
+    public static int forNextWakeup() {
+        return NEXT_WAKEUP;
+    }
+
+    /**
+     * Request code for the storm-mode summary's delete intent. Its action differs from the
+     * per-notification dismiss intents, so it cannot match one of them whatever the code.
+     */
+    public static int forDismissAll() {
+        return DISMISS_ALL;
+    }
 }
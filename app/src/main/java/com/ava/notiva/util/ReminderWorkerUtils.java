@@ -1,17 +1,146 @@
 package com.ava.notiva.util;
 
 import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
 
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
 import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
 import androidx.work.WorkManager;
 
+import com.ava.notiva.model.WorkerCadence;
 import com.ava.notiva.service.ReminderTriggerWorker;
 
+import java.util.concurrent.TimeUnit;
+
 public class ReminderWorkerUtils {
-  public static void enqueueReminderWorker(Context context) {
-    WorkManager.getInstance(context).enqueue(
+
+  private static final String TAG = "Notiva.ReminderWorkerUtils";
+
+  /** Unique name of the long-interval periodic pass. */
+  public static final String PERIODIC_WORK_NAME = "ReminderSync";
+
+  /** Unique name of the one-time pass timed to the next fire or horizon boundary. */
+  public static final String NEXT_RUN_WORK_NAME = "ReminderSyncNext";
+
+  /** Unique name of the on-demand recovery scan and scheduler-mode-change pass. */
+  public static final String SCAN_WORK_NAME = "ReminderSyncScan";
+
+  /** Tag of the timed pass requests, so the worker can tell a timed run from the others. */
+  public static final String TIMED_RUN_TAG = "ReminderSyncTimed";
+
+  private static final String STATS_PREFS = "worker_cadence_stats";
+  private static final String KEY_TIMED_RUNS = "timed_runs";
+  private static final String KEY_WAKEUPS_SAVED = "wakeups_saved";
+  private static final String KEY_LAST_PASS_AT = "last_pass_at";
+
+  /**
+   * Requests a scan of every reminder needing scheduling. Edits are rescheduled one row at
+   * a time by the repository, so the scan is for recovery (e.g. a failed targeted
+   * reschedule) and for starting the timed pass chain at app start; requests made while
+   * one is still pending coalesce into it.
+   */
+  public static void enqueueRecoveryScan(Context context) {
+    WorkManager.getInstance(context).enqueueUniqueWork(
+        SCAN_WORK_NAME,
+        ExistingWorkPolicy.KEEP,
         new OneTimeWorkRequest.Builder(ReminderTriggerWorker.class).build()
     );
   }
-}
 
+  /**
+   * Runs a pass that first tears down the previous scheduler mode's alarms and then
+   * reschedules every reminder under the mode now stored in preferences. It replaces any
+   * pending recovery scan, since it rescans everything anyway.
+   */
+  public static void enqueueSchedulerModeChange(Context context) {
+    WorkManager.getInstance(context).enqueueUniqueWork(
+        SCAN_WORK_NAME,
+        ExistingWorkPolicy.REPLACE,
+        new OneTimeWorkRequest.Builder(ReminderTriggerWorker.class)
+            .setInputData(new Data.Builder()
+                .putBoolean(ReminderTriggerWorker.KEY_MODE_CHANGED, true)
+                .build())
+            .build()
+    );
+  }
+
+  /**
+   * Enqueues the periodic pass that backs up the timed runs. UPDATE moves installs that
+   * still carry the old 15-minute request onto the long interval without resetting it.
+   */
+  public static void enqueueSafetyNet(Context context) {
+    PeriodicWorkRequest periodicWorkRequest = new PeriodicWorkRequest.Builder(
+        ReminderTriggerWorker.class, WorkerCadence.SAFETY_NET_INTERVAL_HOURS, TimeUnit.HOURS)
+        .build();
+    WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+        PERIODIC_WORK_NAME,
+        ExistingPeriodicWorkPolicy.UPDATE,
+        periodicWorkRequest
+    );
+  }
+
+  /**
+   * Times the next pass to {@code nextRunAt} (see {@link WorkerCadence#nextRunAt}),
+   * replacing any pass timed earlier. With null, the pending timed pass is dropped and
+   * the safety net alone remains. Nothing is counted here, since targeted reschedules
+   * replace the timed pass on every edit; see {@link #recordPass}.
+   * <p>
+   * When called from the timed pass itself, REPLACE cancels that running pass; its work
+   * is already done by then, so only its result is lost.
+   */
+  public static void scheduleNextRun(Context context, long now, Long nextRunAt) {
+    WorkManager workManager = WorkManager.getInstance(context);
+    if (nextRunAt == null) {
+      workManager.cancelUniqueWork(NEXT_RUN_WORK_NAME);
+    } else {
+      workManager.enqueueUniqueWork(
+          NEXT_RUN_WORK_NAME,
+          ExistingWorkPolicy.REPLACE,
+          new OneTimeWorkRequest.Builder(ReminderTriggerWorker.class)
+              .setInitialDelay(nextRunAt - now, TimeUnit.MILLISECONDS)
+              .addTag(TIMED_RUN_TAG)
+              .build());
+    }
+    Log.i(TAG, "Next pass " + (nextRunAt == null ? "left to the safety net" : "in " + (nextRunAt - now) + "ms"));
+  }
+
+  /**
+   * Records a worker pass that is actually running. A timed run counts, together with the
+   * wakeups the fixed 15-minute cadence would have spent since the previous pass of any
+   * kind; every pass moves that previous-pass mark.
+   */
+  public static void recordPass(Context context, boolean timed, long now) {
+    SharedPreferences stats = context.getSharedPreferences(STATS_PREFS, Context.MODE_PRIVATE);
+    long previousPassAt = stats.getLong(KEY_LAST_PASS_AT, -1);
+    SharedPreferences.Editor editor = stats.edit().putLong(KEY_LAST_PASS_AT, now);
+    if (timed) {
+      long runs = stats.getLong(KEY_TIMED_RUNS, 0) + 1;
+      long saved = stats.getLong(KEY_WAKEUPS_SAVED, 0);
+      if (previousPassAt >= 0) {
+        saved += WorkerCadence.wakeupsSaved(previousPassAt, now);
+      }
+      editor.putLong(KEY_TIMED_RUNS, runs).putLong(KEY_WAKEUPS_SAVED, saved);
+      Log.i(TAG, saved + " wakeups saved over " + runs + " timed runs");
+    }
+    editor.apply();
+  }
+
+  /**
+   * Estimated wakeups saved against the fixed 15-minute cadence, summed over every timed
+   * run; negative if the timed runs cost more.
+   */
+  public static long getWakeupsSaved(Context context) {
+    return context.getSharedPreferences(STATS_PREFS, Context.MODE_PRIVATE)
+        .getLong(KEY_WAKEUPS_SAVED, 0);
+  }
+
+  /** Number of timed passes that actually ran. */
+  public static long getTimedRunCount(Context context) {
+    return context.getSharedPreferences(STATS_PREFS, Context.MODE_PRIVATE)
+        .getLong(KEY_TIMED_RUNS, 0);
+  }
+}
@@ -0,0 +1,51 @@
+package com.ava.notiva.util;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.ava.notiva.model.SchedulerMetrics;
+
+import java.util.Map;
+
+/**
+ * Process-wide {@link SchedulerMetrics}, restored from their own SharedPreferences file on
+ * creation so the counts outlive the worker's and the boot receiver's short processes.
+ * Callers update {@link #getMetrics()} directly and {@link #flush()} once a pass ends; the
+ * diagnostics section of Settings exports {@link #toJson()}.
+ */
+public class SchedulerMetricsRecorder {
+
+  private static final String PREFS_NAME = "scheduler_metrics";
+
+  private final SharedPreferences prefs;
+  private final SchedulerMetrics metrics = new SchedulerMetrics();
+
+  public SchedulerMetricsRecorder(Context context) {
+    this.prefs = context.getApplicationContext()
+        .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    metrics.restore(prefs.getAll());
+  }
+
+  public SchedulerMetrics getMetrics() {
+    return metrics;
+  }
+
+  /** Persists the current values asynchronously. */
+  public void flush() {
+    SharedPreferences.Editor editor = prefs.edit();
+    for (Map.Entry<String, Long> entry : metrics.snapshot().entrySet()) {
+      editor.putLong(entry.getKey(), entry.getValue());
+    }
+    editor.apply();
+  }
+
+  public String toJson() {
+    return metrics.toJson();
+  }
+
+  /** Drops every value, in memory and on disk. */
+  public void reset() {
+    metrics.reset();
+    prefs.edit().clear().apply();
+  }
+}
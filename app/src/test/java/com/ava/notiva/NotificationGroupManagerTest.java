@@ -0,0 +1,234 @@
+package com.ava.notiva;
+
+import static com.ava.notiva.util.ReminderConstants.NOTIFICATION_GROUP_KEY;
+import static com.ava.notiva.util.ReminderConstants.SUMMARY_NOTIFICATION_ID;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Notification;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.core.app.NotificationCompat;
+import androidx.preference.PreferenceManager;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.ava.notiva.util.AlarmChannelCache;
+import com.ava.notiva.util.FireLatencyRecorder;
+import com.ava.notiva.util.NotificationGroupManager;
+import com.ava.notiva.util.NotificationIdGenerator;
+import com.ava.notiva.util.NotificationPreferences;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+
+/**
+ * Unit tests for {@link NotificationGroupManager}.
+ * Summary updates run on the main looper here, so the debounce is driven by idling it.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class NotificationGroupManagerTest {
+
+    private static final long FIRE_EPOCH = 1_700_000_000_000L;
+
+    private Context context;
+    private NotificationManager manager;
+    private NotificationGroupManager groupManager;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        manager = spy(context.getSystemService(NotificationManager.class));
+        groupManager = newGroupManager();
+    }
+
+    private NotificationGroupManager newGroupManager() {
+        return new NotificationGroupManager(context, manager, new Handler(Looper.getMainLooper()),
+                new FireLatencyRecorder(context), new AlarmChannelCache(context));
+    }
+
+    private void setPolicy(String collapseStrategy, String maxActive) {
+        PreferenceManager.getDefaultSharedPreferences(context).edit()
+                .putString(NotificationPreferences.KEY_COLLAPSE_STRATEGY, collapseStrategy)
+                .putString(NotificationPreferences.KEY_MAX_ACTIVE, maxActive)
+                .commit();
+    }
+
+    /** Posts a fire the way NotificationStarterService does and requests a summary update. */
+    private int fire(int reminderId) {
+        int notificationId = NotificationIdGenerator.generate(reminderId, FIRE_EPOCH);
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, "test")
+                .setSmallIcon(R.drawable.ic_alarm)
+                .setContentTitle("Reminder " + reminderId);
+        if (groupManager.shouldGroupNextPost()) {
+            builder.setGroup(NOTIFICATION_GROUP_KEY);
+        }
+        groupManager.post(notificationId, builder.build());
+        groupManager.requestSummaryUpdate();
+        return notificationId;
+    }
+
+    private void dismiss(int notificationId) {
+        groupManager.onRemoved(notificationId);
+        groupManager.requestSummaryUpdate();
+    }
+
+    private static void idle(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis));
+    }
+
+    // ==================== Debounce ====================
+
+    @Test
+    public void fireStorm_postsOneSummary() {
+        for (int reminderId = 1; reminderId <= 50; reminderId++) {
+            fire(reminderId);
+        }
+        verify(manager, never()).notify(eq(SUMMARY_NOTIFICATION_ID), any(Notification.class));
+
+        idle(NotificationGroupManager.SUMMARY_DEBOUNCE_MILLIS);
+
+        ArgumentCaptor<Notification> summary = ArgumentCaptor.forClass(Notification.class);
+        verify(manager, times(1)).notify(eq(SUMMARY_NOTIFICATION_ID), summary.capture());
+        assertEquals("50 reminders active",
+                summary.getValue().extras.getCharSequence(Notification.EXTRA_TITLE).toString());
+        // The fires, the two posted below the threshold re-issued into the group, the summary
+        verify(manager, times(50 + 2 + 1)).notify(anyInt(), any(Notification.class));
+    }
+
+    @Test
+    public void continuousRequests_updateWithinMaxDelay() {
+        for (int reminderId = 1; reminderId <= 5; reminderId++) {
+            fire(reminderId);
+            idle(NotificationGroupManager.SUMMARY_DEBOUNCE_MILLIS - 50);
+        }
+
+        verify(manager, times(1)).notify(eq(SUMMARY_NOTIFICATION_ID), any(Notification.class));
+    }
+
+    @Test
+    public void dismissalsBeforeUpdate_lastStateWins() {
+        int first = fire(1);
+        int second = fire(2);
+        fire(3);
+        dismiss(first);
+        dismiss(second);
+
+        idle(NotificationGroupManager.SUMMARY_MAX_DELAY_MILLIS);
+
+        // Only the three fires themselves: no summary, no re-issue
+        verify(manager, times(3)).notify(anyInt(), any(Notification.class));
+        verify(manager, never()).cancel(SUMMARY_NOTIFICATION_ID);
+    }
+
+    // ==================== Summary lifecycle ====================
+
+    @Test
+    public void dropBelowThreshold_removesSummaryAndUngroupsTheRest() {
+        int first = fire(1);
+        int second = fire(2);
+        int third = fire(3);
+        idle(NotificationGroupManager.SUMMARY_DEBOUNCE_MILLIS);
+
+        dismiss(first);
+        dismiss(second);
+        idle(NotificationGroupManager.SUMMARY_DEBOUNCE_MILLIS);
+
+        verify(manager).cancel(SUMMARY_NOTIFICATION_ID);
+        ArgumentCaptor<Notification> reissued = ArgumentCaptor.forClass(Notification.class);
+        verify(manager, atLeastOnce()).notify(eq(third), reissued.capture());
+        assertNull(reissued.getValue().getGroup());
+    }
+
+    @Test
+    public void repeatedReminder_collapsesOnPost() {
+        for (int fire = 0; fire < 3; fire++) {
+            int notificationId = NotificationIdGenerator.generate(7, FIRE_EPOCH + fire * 60_000L);
+            Notification notification = new NotificationCompat.Builder(context, "test")
+                    .setSmallIcon(R.drawable.ic_alarm)
+                    .setContentTitle("Reminder 7")
+                    .build();
+            groupManager.post(notificationId, notification);
+        }
+
+        verify(manager).cancel(NotificationIdGenerator.generate(7, FIRE_EPOCH));
+        verify(manager).cancel(NotificationIdGenerator.generate(7, FIRE_EPOCH + 60_000L));
+        assertFalse(groupManager.shouldGroupNextPost());
+    }
+
+    // ==================== Strategies ====================
+
+    @Test
+    public void replace_keepsOnlyLatestFirePerReminder() {
+        setPolicy("REPLACE", "5");
+        groupManager = newGroupManager();
+
+        int first = NotificationIdGenerator.generate(7, FIRE_EPOCH);
+        int second = NotificationIdGenerator.generate(7, FIRE_EPOCH + 60_000L);
+        for (int notificationId : new int[]{first, second}) {
+            groupManager.post(notificationId, new NotificationCompat.Builder(context, "test")
+                    .setSmallIcon(R.drawable.ic_alarm)
+                    .setContentTitle("Reminder 7")
+                    .build());
+        }
+
+        verify(manager).cancel(first);
+        verify(manager, never()).cancel(second);
+    }
+
+    @Test
+    public void summaryOnlyStorm_leavesSummaryAsOnlyNotification() {
+        setPolicy("SUMMARY_ONLY", "3");
+        groupManager = newGroupManager();
+
+        int[] posted = new int[3];
+        for (int reminderId = 1; reminderId <= 20; reminderId++) {
+            int notificationId = fire(reminderId);
+            if (reminderId <= 3) {
+                posted[reminderId - 1] = notificationId;
+            }
+        }
+        idle(NotificationGroupManager.SUMMARY_DEBOUNCE_MILLIS);
+
+        // Fires below the max were posted, then cancelled when the storm began
+        for (int notificationId : posted) {
+            verify(manager).cancel(notificationId);
+        }
+        ArgumentCaptor<Notification> summary = ArgumentCaptor.forClass(Notification.class);
+        verify(manager, times(1)).notify(eq(SUMMARY_NOTIFICATION_ID), summary.capture());
+        verify(manager, times(3 + 1)).notify(anyInt(), any(Notification.class));
+        assertEquals("20 reminders active",
+                summary.getValue().extras.getCharSequence(Notification.EXTRA_TITLE).toString());
+        assertNull(summary.getValue().getGroup());
+        assertNotNull(summary.getValue().deleteIntent);
+    }
+
+    @Test
+    public void summaryOnlyStorm_endsWhenSummaryDismissed() {
+        setPolicy("SUMMARY_ONLY", "3");
+        groupManager = newGroupManager();
+        for (int reminderId = 1; reminderId <= 5; reminderId++) {
+            fire(reminderId);
+        }
+        idle(NotificationGroupManager.SUMMARY_DEBOUNCE_MILLIS);
+
+        groupManager.dismissAll();
+        int next = fire(6);
+
+        verify(manager).notify(eq(next), any(Notification.class));
+        assertFalse(groupManager.shouldGroupNextPost());
+    }
+}
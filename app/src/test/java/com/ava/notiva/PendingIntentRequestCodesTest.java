@@ -43,6 +43,21 @@ public class PendingIntentRequestCodesTest {
         assertTrue("Snooze-alarm code should be in 2M range", snoozeAlarmCode >= 2_000_000 && snoozeAlarmCode < 3_000_000);
     }
 
+    @Test
+    public void forNextWakeup_isOutsideAlarmAndSnoozeRanges() {
+        int code = PendingIntentRequestCodes.forNextWakeup();
+
+        assertEquals(3_000_000, code);
+        assertNotEquals(code, PendingIntentRequestCodes.forAlarm(999_999));
+        assertNotEquals(code, PendingIntentRequestCodes.forSnoozeAlarm(999_999));
+    }
+
+    @Test
+    public void forDismissAll_isDistinctFromNextWakeup() {
+        assertEquals(3_000_001, PendingIntentRequestCodes.forDismissAll());
+        assertNotEquals(PendingIntentRequestCodes.forNextWakeup(), PendingIntentRequestCodes.forDismissAll());
+    }
+
     @Test
     public void forAlarm_withZero_returnsZero() {
         assertEquals(0, PendingIntentRequestCodes.forAlarm(0));
@@ -30,6 +30,24 @@ public class ReminderConstantsTest {
         assertNotEquals(ReminderConstants.ACTION_SNOOZE, ReminderConstants.ACTION_DISMISS);
     }
 
+    @Test
+    public void actionWakeup_hasExpectedValue() {
+        assertEquals("Wakeup", ReminderConstants.ACTION_WAKEUP);
+    }
+
+    @Test
+    public void actionFireBatch_isDistinctFromOtherActions() {
+        assertNotEquals(ReminderConstants.ACTION_WAKEUP, ReminderConstants.ACTION_FIRE_BATCH);
+        assertNotEquals(ReminderConstants.ACTION_SNOOZE, ReminderConstants.ACTION_FIRE_BATCH);
+        assertNotEquals(ReminderConstants.ACTION_DISMISS, ReminderConstants.ACTION_FIRE_BATCH);
+    }
+
+    @Test
+    public void actionDismissAll_isDistinctFromDismiss() {
+        assertEquals("DismissAll", ReminderConstants.ACTION_DISMISS_ALL);
+        assertNotEquals(ReminderConstants.ACTION_DISMISS, ReminderConstants.ACTION_DISMISS_ALL);
+    }
+
     // ==================== Channel Constants ====================
 
     @Test
@@ -71,7 +89,13 @@ public class ReminderConstantsTest {
             ReminderConstants.REMINDER_RECURRENCE_DELAY,
             ReminderConstants.REMINDER_RECURRENCE_TYPE,
             ReminderConstants.REMINDER_END_TIME,
+            ReminderConstants.REMINDER_ZONE_ID,
+            ReminderConstants.REMINDER_RRULE,
+            ReminderConstants.REMINDER_WALL_CLOCK,
+            ReminderConstants.REMINDER_FLOATING_ZONE,
             ReminderConstants.SCHEDULED_FIRE_EPOCH,
+            ReminderConstants.REMINDER_IDS,
+            ReminderConstants.SCHEDULED_FIRE_EPOCHS,
         };
 
         for (int i = 0; i < keys.length; i++) {
@@ -87,6 +111,8 @@ public class ReminderConstantsTest {
         assertTrue(ReminderConstants.REMINDER_ID.startsWith("com.ava.notiva."));
         assertTrue(ReminderConstants.REMINDER_NAME.startsWith("com.ava.notiva."));
         assertTrue(ReminderConstants.SCHEDULED_FIRE_EPOCH.startsWith("com.ava.notiva."));
+        assertTrue(ReminderConstants.REMINDER_IDS.startsWith("com.ava.notiva."));
+        assertTrue(ReminderConstants.SCHEDULED_FIRE_EPOCHS.startsWith("com.ava.notiva."));
     }
 
     // ==================== Collapse Threshold ====================
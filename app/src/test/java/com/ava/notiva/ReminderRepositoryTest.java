@@ -8,7 +8,10 @@ import androidx.lifecycle.MutableLiveData;
 
 import com.ava.notiva.data.ReminderDao;
 import com.ava.notiva.data.ReminderRepository;
+import com.ava.notiva.data.ReminderScheduler;
+import com.ava.notiva.model.RecurrenceType;
 import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlanCache;
 
 import org.junit.After;
 import org.junit.Before;
@@ -80,6 +83,20 @@ public class ReminderRepositoryTest {
         verify(mockDao).add(reminder);
     }
 
+    @Test
+    public void addWithCallback_computesNextFireAtBeforeInsert() throws InterruptedException {
+        ReminderModel reminder = new ReminderModel("Future");
+        reminder.setRecurrenceType(RecurrenceType.NEVER);
+        long start = System.currentTimeMillis() + 3_600_000L;
+        reminder.setStartDateMillis(start);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        repository.addWithCallback(reminder, id -> latch.countDown());
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(Long.valueOf(start), reminder.getNextFireAt());
+    }
+
     @Test
     public void addWithCallback_passesReturnedIdToCallback() throws InterruptedException {
         ReminderModel reminder = new ReminderModel("Test");
@@ -156,7 +173,7 @@ public class ReminderRepositoryTest {
     // ==================== update ====================
 
     @Test
-    public void update_delegatesToDao() throws InterruptedException {
+    public void update_delegatesToDaoAndMarksDirty() throws InterruptedException {
         ReminderModel reminder = new ReminderModel("Updated");
         CountDownLatch latch = new CountDownLatch(1);
 
@@ -164,7 +181,23 @@ public class ReminderRepositoryTest {
 
         realExecutor.submit(latch::countDown);
         assertTrue(latch.await(2, TimeUnit.SECONDS));
-        verify(mockDao).update(reminder);
+        verify(mockDao).updateAndMarkDirty(reminder);
+    }
+
+    @Test
+    public void update_invalidatesCachedSchedulePlan() throws InterruptedException {
+        SchedulePlanCache cache = new SchedulePlanCache();
+        ReminderRepository repo = new ReminderRepository(mockDao, realExecutor, cache);
+        ReminderModel reminder = new ReminderModel("Cached");
+        reminder.setId(3);
+        cache.get(reminder);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        repo.update(reminder);
+
+        realExecutor.submit(latch::countDown);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(0, cache.size());
     }
 
     // ==================== updateStatus ====================
@@ -179,7 +212,90 @@ public class ReminderRepositoryTest {
 
         realExecutor.submit(latch::countDown);
         assertTrue(latch.await(2, TimeUnit.SECONDS));
-        verify(mockDao).updateStatus(5, false);
+        verify(mockDao).updateStatusAndNextFire(5, false, null);
+    }
+
+    @Test
+    public void updateStatus_reactivating_storesNextFireForNewState() throws InterruptedException {
+        ReminderModel reminder = new ReminderModel("Paused");
+        reminder.setId(6);
+        reminder.setActive(false);
+        reminder.setRecurrenceType(RecurrenceType.NEVER);
+        long start = System.currentTimeMillis() + 3_600_000L;
+        reminder.setStartDateMillis(start);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        repository.updateStatus(reminder, true);
+
+        realExecutor.submit(latch::countDown);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        verify(mockDao).updateStatusAndNextFire(6, true, start);
+    }
+
+    // ==================== ReminderScheduler ====================
+
+    @Test
+    public void writes_rescheduleOrCancelOnlyTheAffectedReminder() throws InterruptedException {
+        ReminderScheduler scheduler = mock(ReminderScheduler.class);
+        ReminderRepository repo =
+                new ReminderRepository(mockDao, realExecutor, new SchedulePlanCache(), scheduler);
+        ReminderModel added = new ReminderModel("Added");
+        when(mockDao.add(added)).thenReturn(11L);
+        ReminderModel edited = new ReminderModel("Edited");
+        edited.setId(12);
+        ReminderModel toggled = new ReminderModel("Toggled");
+        toggled.setId(13);
+        ReminderModel deleted = new ReminderModel("Deleted");
+        deleted.setId(14);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        repo.addWithCallback(added, null);
+        repo.update(edited);
+        repo.updateStatus(toggled, false);
+        repo.delete(deleted);
+
+        realExecutor.submit(latch::countDown);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        verify(scheduler).reschedule(11);
+        verify(scheduler).reschedule(12);
+        verify(scheduler).reschedule(13);
+        verify(scheduler).cancel(14);
+        verifyNoMoreInteractions(scheduler);
+    }
+
+    @Test
+    public void deleteAll_cancelsEveryDeletedReminder() throws InterruptedException {
+        ReminderScheduler scheduler = mock(ReminderScheduler.class);
+        ReminderRepository repo =
+                new ReminderRepository(mockDao, realExecutor, new SchedulePlanCache(), scheduler);
+        ReminderModel first = new ReminderModel("First");
+        first.setId(1);
+        ReminderModel second = new ReminderModel("Second");
+        second.setId(2);
+        when(mockDao.getAllSync()).thenReturn(Arrays.asList(first, second));
+        CountDownLatch latch = new CountDownLatch(1);
+
+        repo.deleteAll();
+
+        realExecutor.submit(latch::countDown);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        verify(scheduler).cancel(1);
+        verify(scheduler).cancel(2);
+    }
+
+    @Test
+    public void addWithCallback_daoThrows_doesNotReschedule() throws InterruptedException {
+        ReminderScheduler scheduler = mock(ReminderScheduler.class);
+        ReminderRepository repo =
+                new ReminderRepository(mockDao, realExecutor, new SchedulePlanCache(), scheduler);
+        ReminderModel reminder = new ReminderModel("Broken");
+        when(mockDao.add(reminder)).thenThrow(new RuntimeException("DB error"));
+        CountDownLatch latch = new CountDownLatch(1);
+
+        repo.addWithCallback(reminder, id -> latch.countDown());
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        verifyNoInteractions(scheduler);
     }
 
     // ==================== Sync Methods ====================
@@ -195,6 +311,58 @@ public class ReminderRepositoryTest {
         verify(mockDao).getAllSync();
     }
 
+    @Test
+    public void getNeedingScheduleSync_delegatesToDao() {
+        List<ReminderModel> expected = Collections.singletonList(new ReminderModel("Dirty"));
+        when(mockDao.getNeedingScheduleSync(1000L)).thenReturn(expected);
+
+        assertSame(expected, repository.getNeedingScheduleSync(1000L));
+    }
+
+    @Test
+    public void getDueBeforeSync_delegatesToDao() {
+        List<ReminderModel> expected = Collections.singletonList(new ReminderModel("Due"));
+        when(mockDao.getDueBefore(5000L, 50)).thenReturn(expected);
+
+        assertSame(expected, repository.getDueBeforeSync(5000L, 50));
+    }
+
+    @Test
+    public void getEnteringHorizonSync_delegatesToDao() {
+        List<ReminderModel> expected = Collections.singletonList(new ReminderModel("Entering"));
+        when(mockDao.getEnteringHorizonSync(8000L)).thenReturn(expected);
+
+        assertSame(expected, repository.getEnteringHorizonSync(8000L));
+    }
+
+    @Test
+    public void getEarliestQueuedFireSync_delegatesToDao() {
+        when(mockDao.getEarliestQueuedFire()).thenReturn(7000L);
+
+        assertEquals(Long.valueOf(7000L), repository.getEarliestQueuedFireSync());
+    }
+
+    @Test
+    public void getEarliestFireAfterSync_delegatesToDao() {
+        when(mockDao.getEarliestFireAfter(1000L)).thenReturn(4000L);
+
+        assertEquals(Long.valueOf(4000L), repository.getEarliestFireAfterSync(1000L));
+    }
+
+    @Test
+    public void getEarliestSnoozeEndAfterSync_delegatesToDao() {
+        when(mockDao.getEarliestSnoozeEndAfter(1000L)).thenReturn(null);
+
+        assertNull(repository.getEarliestSnoozeEndAfterSync(1000L));
+    }
+
+    @Test
+    public void markAllDirtySync_delegatesToDao() {
+        repository.markAllDirtySync();
+
+        verify(mockDao).markAllDirty();
+    }
+
     @Test
     public void updateSnoozedUntilSync_delegatesToDao() {
         repository.updateSnoozedUntilSync(42, 999L);
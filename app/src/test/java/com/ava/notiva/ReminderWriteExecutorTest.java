@@ -0,0 +1,154 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.data.ReminderWriteExecutor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Unit tests for {@link ReminderWriteExecutor}.
+ * The worker queues its tasks until {@link #runWorker()}, and each transaction is recorded
+ * as the writes it ran, so batching is observable without a database.
+ */
+public class ReminderWriteExecutorTest {
+
+    private final Queue<Runnable> workerTasks = new ArrayDeque<>();
+    private final List<List<String>> transactions = new ArrayList<>();
+    private List<String> current;
+    private ReminderWriteExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new ReminderWriteExecutor(workerTasks::add, body -> {
+            List<String> writes = new ArrayList<>();
+            current = writes;
+            try {
+                body.run();
+                transactions.add(writes);
+            } finally {
+                current = null;
+            }
+        });
+    }
+
+    private Runnable write(String name) {
+        return () -> current.add(name);
+    }
+
+    private void runWorker() {
+        Runnable task;
+        while ((task = workerTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    // ==================== Batching ====================
+
+    @Test
+    public void queuedWrites_commitInOneTransactionInOrder() {
+        executor.execute(write("fire"));
+        executor.execute(write("acknowledge"));
+        executor.execute(write("snooze"));
+        assertEquals("One drain is scheduled for the whole queue", 1, workerTasks.size());
+
+        runWorker();
+
+        assertEquals(List.of(List.of("fire", "acknowledge", "snooze")), transactions);
+    }
+
+    @Test
+    public void writesAfterDrain_goToNextTransaction() {
+        executor.execute(write("first"));
+        runWorker();
+        executor.execute(write("second"));
+        runWorker();
+
+        assertEquals(List.of(List.of("first"), List.of("second")), transactions);
+    }
+
+    @Test
+    public void longQueue_isSplitAtMaxBatch() {
+        for (int i = 0; i < ReminderWriteExecutor.MAX_BATCH + 1; i++) {
+            executor.execute(write("w" + i));
+        }
+        runWorker();
+
+        assertEquals(2, transactions.size());
+        assertEquals(ReminderWriteExecutor.MAX_BATCH, transactions.get(0).size());
+        assertEquals(List.of("w" + ReminderWriteExecutor.MAX_BATCH), transactions.get(1));
+    }
+
+    // ==================== Failures ====================
+
+    @Test
+    public void failingWrite_replaysTheRestOnePerTransaction() {
+        executor.execute(write("before"));
+        executor.execute(() -> {
+            throw new IllegalStateException("constraint");
+        });
+        executor.execute(write("after"));
+        runWorker();
+
+        assertEquals(List.of(List.of("before"), List.of("after")), transactions);
+    }
+
+    @Test
+    public void failingWrite_runsSiblingAfterCommitOnce() {
+        List<String> posted = new ArrayList<>();
+        executor.execute(() -> {
+            current.add("claim");
+            return "claimed";
+        }, posted::add);
+        executor.execute(() -> {
+            throw new IllegalStateException("deleted row");
+        });
+        runWorker();
+
+        // The claim ran twice, rolled back then replayed, but its side effect only once
+        assertEquals(List.of(List.of("claim")), transactions);
+        assertEquals(List.of("claimed"), posted);
+    }
+
+    @Test
+    public void droppedWrite_neverReachesAfterCommit() {
+        List<String> posted = new ArrayList<>();
+        executor.<String>execute(() -> {
+            throw new IllegalStateException("constraint");
+        }, posted::add);
+        runWorker();
+
+        assertTrue(posted.isEmpty());
+    }
+
+    @Test
+    public void afterCommit_runsOnlyOnceBatchHasCommitted() {
+        List<Integer> committedBefore = new ArrayList<>();
+        executor.execute(() -> {
+            current.add("fire");
+            return null;
+        }, result -> committedBefore.add(transactions.size()));
+        executor.execute(write("acknowledge"));
+        runWorker();
+
+        assertEquals(List.of(1), committedBefore);
+    }
+
+    @Test
+    public void failingWrite_doesNotStopLaterDrains() {
+        executor.execute(() -> {
+            throw new IllegalStateException("constraint");
+        });
+        runWorker();
+        executor.execute(write("next"));
+        runWorker();
+
+        assertEquals(List.of(List.of("next")), transactions);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ava.notiva.benchmarks;
+
+import com.ava.notiva.util.DateTimeDisplayUtil;
+import com.ava.notiva.util.FriendlyDateLabels;
+import com.ava.notiva.util.FriendlyDateType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Calendar;
+
+/** List-row date/time formatting for today, tomorrow and a later date. */
+@State(Scope.Thread)
+public class DateTimeDisplayBenchmark {
+
+  private static final FriendlyDateLabels LABELS =
+      new FriendlyDateLabels("Today-", "Tomorrow-", "Today, %1$s", "Tomorrow, %1$s");
+
+  private Calendar today;
+  private Calendar nextYear;
+
+  @Setup
+  public void setUp() {
+    today = Calendar.getInstance();
+    nextYear = Calendar.getInstance();
+    nextYear.add(Calendar.YEAR, 1);
+  }
+
+  @Benchmark
+  public FriendlyDateType friendlyDateType() {
+    return DateTimeDisplayUtil.getFriendlyDateType(today);
+  }
+
+  @Benchmark
+  public String friendlyTime() {
+    return DateTimeDisplayUtil.getFriendlyTime(today);
+  }
+
+  @Benchmark
+  public String friendlyDate() {
+    return DateTimeDisplayUtil.getFriendlyDate(LABELS, nextYear);
+  }
+
+  @Benchmark
+  public String friendlyDateTimeSingleLineToday() {
+    return DateTimeDisplayUtil.getFriendlyDateTimeSingleLine(LABELS, today);
+  }
+
+  @Benchmark
+  public String friendlyDateTimeSingleLineOther() {
+    return DateTimeDisplayUtil.getFriendlyDateTimeSingleLine(LABELS, nextYear);
+  }
+}
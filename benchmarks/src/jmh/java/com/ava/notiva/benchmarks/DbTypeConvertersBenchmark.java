@@ -0,0 +1,34 @@
+package com.ava.notiva.benchmarks;
+
+import com.ava.notiva.converter.DbTypeConverters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Calendar;
+
+/** Calendar/Long Room type conversion in both directions. */
+@State(Scope.Thread)
+public class DbTypeConvertersBenchmark {
+
+  private Long millis;
+  private Calendar calendar;
+
+  @Setup
+  public void setUp() {
+    millis = System.currentTimeMillis();
+    calendar = Calendar.getInstance();
+  }
+
+  @Benchmark
+  public Calendar toCalendar() {
+    return DbTypeConverters.toCalendar(millis);
+  }
+
+  @Benchmark
+  public Long fromCalendar() {
+    return DbTypeConverters.fromCalendar(calendar);
+  }
+}
@@ -0,0 +1,34 @@
+package com.ava.notiva.benchmarks;
+
+import com.ava.notiva.util.NotificationIdGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Notification ID bit-packing and unpacking. */
+@State(Scope.Thread)
+public class NotificationIdBenchmark {
+
+  private int reminderId;
+  private long fireEpochMillis;
+  private int notificationId;
+
+  @Setup
+  public void setUp() {
+    reminderId = 4242;
+    fireEpochMillis = System.currentTimeMillis();
+    notificationId = NotificationIdGenerator.generate(reminderId, fireEpochMillis);
+  }
+
+  @Benchmark
+  public int generate() {
+    return NotificationIdGenerator.generate(reminderId, fireEpochMillis);
+  }
+
+  @Benchmark
+  public int extractReminderId() {
+    return NotificationIdGenerator.extractReminderId(notificationId);
+  }
+}
@@ -0,0 +1,59 @@
+package com.ava.notiva.benchmarks;
+
+import com.ava.notiva.model.RecurrenceType;
+import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlan;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Next-occurrence lookup for every {@link RecurrenceType}, for reminders that started
+ * {@code ageDays} ago. {@code uncached} is what callers without a plan cache pay;
+ * {@code compiledPlan} is the per-evaluation cost once the plan is cached.
+ */
+@State(Scope.Thread)
+public class RecurrenceBenchmark {
+
+  @Param({"MINUTE", "HOUR", "DAY", "MONTH", "YEAR", "FOREVER", "NEVER"})
+  public RecurrenceType type;
+
+  @Param({"0", "30", "3650"})
+  public int ageDays;
+
+  @Param({"false", "true"})
+  public boolean wallClock;
+
+  private ReminderModel reminder;
+  private SchedulePlan plan;
+  private long now;
+
+  @Setup
+  public void setUp() {
+    now = System.currentTimeMillis();
+    reminder = new ReminderModel("Benchmark");
+    reminder.setId(1);
+    reminder.setZoneId("America/New_York");
+    // Offset by a few minutes so "now" never lands exactly on an occurrence
+    reminder.setStartDateMillis(now - TimeUnit.DAYS.toMillis(ageDays) - TimeUnit.MINUTES.toMillis(7));
+    reminder.setRecurrenceType(type);
+    reminder.setRecurrenceDelay(3);
+    reminder.setWallClock(wallClock);
+    plan = SchedulePlan.compile(reminder);
+  }
+
+  @Benchmark
+  public long uncached() {
+    return reminder.getNextOccurrenceAfter(now);
+  }
+
+  @Benchmark
+  public long compiledPlan() {
+    return plan.nextAfter(now);
+  }
+}
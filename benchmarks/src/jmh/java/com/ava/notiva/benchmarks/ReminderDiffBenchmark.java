@@ -0,0 +1,55 @@
+package com.ava.notiva.benchmarks;
+
+import com.ava.notiva.model.RecurrenceType;
+import com.ava.notiva.model.ReminderModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Content comparison behind {@code ReminderDiffCallback.areContentsTheSame}, which
+ * delegates to {@link ReminderModel#equals}. The callback itself extends an AndroidX
+ * RecyclerView class and cannot load on a plain JVM.
+ */
+@State(Scope.Thread)
+public class ReminderDiffBenchmark {
+
+  private ReminderModel original;
+  private ReminderModel identical;
+  private ReminderModel lastFieldDiffers;
+
+  @Setup
+  public void setUp() {
+    long start = System.currentTimeMillis();
+    original = reminder("Stand up", start);
+    identical = reminder("Stand up", start);
+    // Differs only in floatingZone, the last field equals compares, so the whole comparison runs
+    lastFieldDiffers = reminder("Stand up", start);
+    lastFieldDiffers.setFloatingZone(true);
+  }
+
+  @Benchmark
+  public boolean contentsSame() {
+    return original.equals(identical);
+  }
+
+  @Benchmark
+  public boolean contentsDiffer() {
+    return original.equals(lastFieldDiffers);
+  }
+
+  private static ReminderModel reminder(String name, long start) {
+    ReminderModel reminder = new ReminderModel(name);
+    reminder.setId(9);
+    reminder.setStartDateMillis(start);
+    reminder.setZoneId("Europe/Berlin");
+    reminder.setRecurrenceType(RecurrenceType.DAY);
+    reminder.setRecurrenceDelay(1);
+    reminder.setEndDateMillis(start + 86_400_000L * 30);
+    reminder.setLastFiredAt(start);
+    reminder.setRingtoneUri("content://media/internal/audio/media/12");
+    return reminder;
+  }
+}
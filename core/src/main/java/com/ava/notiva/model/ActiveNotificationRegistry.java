@@ -0,0 +1,332 @@
+package com.ava.notiva.model;
+
+import com.ava.notiva.util.NotificationIdGenerator;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * In-process record of the reminder notifications currently posted, grouped by reminder.
+ * <p>
+ * Each reminder keeps its notifications in a small deque, oldest first, in a hash table
+ * keyed by the primitive reminder id (upper bits of the notification id, see
+ * {@link NotificationIdGenerator}). Reminders holding two or more notifications are also
+ * linked in a list of their own, so both collapse rules touch only the groups they apply
+ * to:
+ * <ul>
+ *   <li>Per reminder: a reminder reaching {@code perReminderLimit} notifications keeps only
+ *       its latest.</li>
+ *   <li>Global: while more than {@code maxActive} notifications are posted, every reminder
+ *       with two or more keeps only its latest.</li>
+ * </ul>
+ * Since every group is below the per-reminder limit after each call, {@link #add} and
+ * {@link #remove} cost O(perReminderLimit + maxActive) whatever the number of reminders.
+ * <p>
+ * The payload type is left to the caller (the app keeps the posted {@code Notification}).
+ * Not thread-safe: callers serialize access.
+ *
+ * @param <T> what is kept with each notification
+ */
+public final class ActiveNotificationRegistry<T> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private static final int[] NO_IDS = new int[0];
+
+  private final int perReminderLimit;
+  private final int maxActive;
+
+  private Group[] table = new Group[INITIAL_CAPACITY];
+  private int groupCount;
+  private int size;
+
+  /** Head of the list of groups holding two or more notifications. */
+  private Group multiHead;
+
+  /**
+   * @param perReminderLimit notifications of one reminder that trigger its collapse, at least 2
+   * @param maxActive        notifications above which every repeated reminder is collapsed
+   */
+  public ActiveNotificationRegistry(int perReminderLimit, int maxActive) {
+    if (perReminderLimit < 2) {
+      throw new IllegalArgumentException("perReminderLimit must be at least 2: " + perReminderLimit);
+    }
+    if (maxActive < 1) {
+      throw new IllegalArgumentException("maxActive must be positive: " + maxActive);
+    }
+    this.perReminderLimit = perReminderLimit;
+    this.maxActive = maxActive;
+  }
+
+  /** A registry applying {@code policy}'s per-reminder limit and max active notifications. */
+  public static <T> ActiveNotificationRegistry<T> forPolicy(NotificationPolicy policy) {
+    return new ActiveNotificationRegistry<>(
+        policy.getPerReminderLimit(), Math.max(1, policy.getMaxActiveNotifications()));
+  }
+
+  /**
+   * Records a posted notification and applies the collapse rules. Posting an id that is
+   * already recorded replaces its payload.
+   *
+   * @return the ids collapsed by this post, already removed here, for the caller to cancel
+   */
+  public int[] add(int notificationId, T payload) {
+    int reminderId = NotificationIdGenerator.extractReminderId(notificationId);
+    Group group = find(reminderId);
+    if (group == null) {
+      group = insert(reminderId);
+    } else {
+      int index = group.indexOf(notificationId);
+      if (index >= 0) {
+        group.payloads[index] = payload;
+        return NO_IDS;
+      }
+    }
+    group.addLast(notificationId, payload);
+    size++;
+    if (group.count == 2) {
+      linkMulti(group);
+    }
+
+    if (group.count >= perReminderLimit) {
+      int[] collapsed = collapseToLatest(group);
+      if (size <= maxActive) {
+        return collapsed;
+      }
+      return concat(collapsed, collapseAllRepeated());
+    }
+    return size > maxActive ? collapseAllRepeated() : NO_IDS;
+  }
+
+  /**
+   * Forgets a notification that was cancelled or dismissed.
+   *
+   * @return whether it was recorded
+   */
+  public boolean remove(int notificationId) {
+    int reminderId = NotificationIdGenerator.extractReminderId(notificationId);
+    Group group = find(reminderId);
+    if (group == null || !group.remove(notificationId)) {
+      return false;
+    }
+    size--;
+    if (group.count == 1) {
+      unlinkMulti(group);
+    } else if (group.count == 0) {
+      delete(group);
+    }
+    return true;
+  }
+
+  public boolean contains(int notificationId) {
+    Group group = find(NotificationIdGenerator.extractReminderId(notificationId));
+    return group != null && group.indexOf(notificationId) >= 0;
+  }
+
+  /** Number of notifications recorded. */
+  public int size() {
+    return size;
+  }
+
+  /** Number of reminders with at least one notification recorded. */
+  public int reminderCount() {
+    return groupCount;
+  }
+
+  /** Visits every notification, oldest first within each reminder. */
+  @SuppressWarnings("unchecked")
+  public void forEach(ObjIntConsumer<T> action) {
+    for (Group head : table) {
+      for (Group group = head; group != null; group = group.next) {
+        for (int i = 0; i < group.count; i++) {
+          action.accept((T) group.payloads[i], group.ids[i]);
+        }
+      }
+    }
+  }
+
+  public void clear() {
+    table = new Group[INITIAL_CAPACITY];
+    groupCount = 0;
+    size = 0;
+    multiHead = null;
+  }
+
+  // -------------------------------------------------------------------------
+  // Collapse
+  // -------------------------------------------------------------------------
+
+  private int[] collapseToLatest(Group group) {
+    int[] collapsed = group.dropAllButLatest();
+    size -= collapsed.length;
+    unlinkMulti(group);
+    return collapsed;
+  }
+
+  private int[] collapseAllRepeated() {
+    int[] collapsed = NO_IDS;
+    while (multiHead != null) {
+      collapsed = concat(collapsed, collapseToLatest(multiHead));
+    }
+    return collapsed;
+  }
+
+  private static int[] concat(int[] a, int[] b) {
+    if (a.length == 0) {
+      return b;
+    }
+    if (b.length == 0) {
+      return a;
+    }
+    int[] joined = new int[a.length + b.length];
+    System.arraycopy(a, 0, joined, 0, a.length);
+    System.arraycopy(b, 0, joined, a.length, b.length);
+    return joined;
+  }
+
+  private void linkMulti(Group group) {
+    group.prevMulti = null;
+    group.nextMulti = multiHead;
+    if (multiHead != null) {
+      multiHead.prevMulti = group;
+    }
+    multiHead = group;
+    group.inMulti = true;
+  }
+
+  private void unlinkMulti(Group group) {
+    if (!group.inMulti) {
+      return;
+    }
+    if (group.prevMulti != null) {
+      group.prevMulti.nextMulti = group.nextMulti;
+    } else {
+      multiHead = group.nextMulti;
+    }
+    if (group.nextMulti != null) {
+      group.nextMulti.prevMulti = group.prevMulti;
+    }
+    group.prevMulti = null;
+    group.nextMulti = null;
+    group.inMulti = false;
+  }
+
+  // -------------------------------------------------------------------------
+  // Hash table keyed by reminder id
+  // -------------------------------------------------------------------------
+
+  private static int slot(int reminderId, int length) {
+    int h = reminderId * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & (length - 1);
+  }
+
+  private Group find(int reminderId) {
+    for (Group group = table[slot(reminderId, table.length)]; group != null; group = group.next) {
+      if (group.reminderId == reminderId) {
+        return group;
+      }
+    }
+    return null;
+  }
+
+  private Group insert(int reminderId) {
+    if (groupCount >= table.length * 3 / 4) {
+      resize();
+    }
+    Group group = new Group(reminderId, perReminderLimit);
+    int index = slot(reminderId, table.length);
+    group.next = table[index];
+    table[index] = group;
+    groupCount++;
+    return group;
+  }
+
+  private void delete(Group target) {
+    int index = slot(target.reminderId, table.length);
+    Group previous = null;
+    for (Group group = table[index]; group != null; previous = group, group = group.next) {
+      if (group == target) {
+        if (previous == null) {
+          table[index] = group.next;
+        } else {
+          previous.next = group.next;
+        }
+        groupCount--;
+        return;
+      }
+    }
+  }
+
+  private void resize() {
+    Group[] old = table;
+    table = new Group[old.length * 2];
+    for (Group head : old) {
+      Group group = head;
+      while (group != null) {
+        Group next = group.next;
+        int index = slot(group.reminderId, table.length);
+        group.next = table[index];
+        table[index] = group;
+        group = next;
+      }
+    }
+  }
+
+  /** One reminder's notifications, oldest first; never holds more than the per-reminder limit. */
+  private static final class Group {
+    final int reminderId;
+    final int[] ids;
+    final Object[] payloads;
+    int count;
+
+    Group next;
+    Group prevMulti;
+    Group nextMulti;
+    boolean inMulti;
+
+    Group(int reminderId, int capacity) {
+      this.reminderId = reminderId;
+      this.ids = new int[capacity];
+      this.payloads = new Object[capacity];
+    }
+
+    int indexOf(int notificationId) {
+      for (int i = 0; i < count; i++) {
+        if (ids[i] == notificationId) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    void addLast(int notificationId, Object payload) {
+      ids[count] = notificationId;
+      payloads[count] = payload;
+      count++;
+    }
+
+    boolean remove(int notificationId) {
+      int index = indexOf(notificationId);
+      if (index < 0) {
+        return false;
+      }
+      int tail = count - index - 1;
+      System.arraycopy(ids, index + 1, ids, index, tail);
+      System.arraycopy(payloads, index + 1, payloads, index, tail);
+      count--;
+      payloads[count] = null;
+      return true;
+    }
+
+    int[] dropAllButLatest() {
+      int[] dropped = new int[count - 1];
+      System.arraycopy(ids, 0, dropped, 0, count - 1);
+      ids[0] = ids[count - 1];
+      payloads[0] = payloads[count - 1];
+      for (int i = 1; i < count; i++) {
+        payloads[i] = null;
+      }
+      count = 1;
+      return dropped;
+    }
+  }
+}
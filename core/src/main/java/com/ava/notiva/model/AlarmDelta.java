@@ -0,0 +1,74 @@
+package com.ava.notiva.model;
+
+/**
+ * Decides which AlarmManager call, if any, moves a reminder from its recorded alarm to the
+ * desired one, and tallies the decisions of one scheduling pass.
+ * <p>
+ * A recorded alarm ({@code armedAt}) counts as pending only while it lies after
+ * {@code now}; once that time has passed AlarmManager has already delivered and dropped
+ * it, so there is nothing left to keep or cancel. Setting an alarm replaces any pending
+ * one for the same reminder, so a move is a single {@link Op#SET}, never a cancel first.
+ */
+public final class AlarmDelta {
+
+  public enum Op {
+    /** Register (or replace) the reminder's alarm. */
+    SET,
+    /** Remove the reminder's pending alarm. */
+    CANCEL,
+    /** The registered state already matches. */
+    NOOP
+  }
+
+  private int sets;
+  private int cancels;
+  private int noops;
+
+  /** Whether an alarm recorded at {@code armedAt} is still registered at {@code now}. */
+  public static boolean isPending(Long armedAt, long now) {
+    return armedAt != null && armedAt > now;
+  }
+
+  /** The call that makes the reminder's alarm fire at {@code fireAt}. */
+  public static Op toArm(Long armedAt, long fireAt, long now) {
+    return isPending(armedAt, now) && armedAt == fireAt ? Op.NOOP : Op.SET;
+  }
+
+  /** The call that leaves the reminder with no alarm. */
+  public static Op toDisarm(Long armedAt, long now) {
+    return isPending(armedAt, now) ? Op.CANCEL : Op.NOOP;
+  }
+
+  /** Counts {@code op} and returns it, so decisions can be tallied inline. */
+  public Op count(Op op) {
+    switch (op) {
+      case SET:
+        sets++;
+        break;
+      case CANCEL:
+        cancels++;
+        break;
+      default:
+        noops++;
+        break;
+    }
+    return op;
+  }
+
+  public int getSets() {
+    return sets;
+  }
+
+  public int getCancels() {
+    return cancels;
+  }
+
+  public int getNoops() {
+    return noops;
+  }
+
+  @Override
+  public String toString() {
+    return sets + " sets, " + cancels + " cancels, " + noops + " no-ops";
+  }
+}
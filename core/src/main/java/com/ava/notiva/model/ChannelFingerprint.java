@@ -0,0 +1,54 @@
+package com.ava.notiva.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned notification channel ids derived from the settings a channel is created with.
+ * <p>
+ * Android freezes a channel's sound and vibration once it exists, so a settings change
+ * needs a new channel. Hashing those settings into the id means the channel to post on
+ * changes exactly when they do: a known id already has the right settings and needs no
+ * create call, and ids that no longer match the settings are stale and can be deleted.
+ */
+public final class ChannelFingerprint {
+
+  /** Bump when the channel attributes set from a fingerprint change. */
+  private static final int VERSION = 1;
+
+  private static final String SOUND_SUFFIX = "_";
+  private static final String SILENT_SUFFIX = "_burst_";
+
+  private ChannelFingerprint() {
+    // Utility class
+  }
+
+  /**
+   * Hashes the channel settings into 8 hex digits, stable across processes and installs.
+   *
+   * @param soundUri the channel sound, or null for a silent channel
+   */
+  public static String of(String soundUri, boolean vibration) {
+    CRC32 crc = new CRC32();
+    String canonical = "v" + VERSION + "|sound=" + (soundUri == null ? "" : soundUri) + "|vibrate=" + vibration;
+    crc.update(canonical.getBytes(StandardCharsets.UTF_8));
+    return String.format(Locale.ROOT, "%08x", crc.getValue());
+  }
+
+  /**
+   * The channel id for {@code baseId} with these settings: {@code <baseId>_<hash>} for a
+   * sounding channel, {@code <baseId>_burst_<hash>} for a silent one.
+   */
+  public static String channelId(String baseId, String soundUri, boolean vibration) {
+    return baseId + (soundUri == null ? SILENT_SUFFIX : SOUND_SUFFIX) + of(soundUri, vibration);
+  }
+
+  /**
+   * Whether {@code channelId} is one of {@code baseId}'s channels, fingerprinted or the
+   * unversioned ids used before fingerprints.
+   */
+  public static boolean belongsTo(String baseId, String channelId) {
+    return channelId.equals(baseId) || channelId.startsWith(baseId + "_");
+  }
+}
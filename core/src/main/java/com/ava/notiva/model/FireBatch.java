@@ -0,0 +1,66 @@
+package com.ava.notiva.model;
+
+import java.util.Arrays;
+
+/**
+ * Overdue fires collected during one pass, handed to the notification service in a single
+ * start as parallel arrays: {@code ids[i]} fires for the occurrence at {@code epochs[i]}.
+ * <p>
+ * A reminder appears at most once; adding it again keeps its first epoch.
+ */
+public final class FireBatch {
+
+  private int[] ids = new int[4];
+  private long[] epochs = new long[4];
+  private int size;
+
+  /** Adds a fire for {@code reminderId}; returns false if the reminder is already queued. */
+  public boolean add(int reminderId, long scheduledFireEpoch) {
+    for (int i = 0; i < size; i++) {
+      if (ids[i] == reminderId) {
+        return false;
+      }
+    }
+    if (size == ids.length) {
+      ids = Arrays.copyOf(ids, size * 2);
+      epochs = Arrays.copyOf(epochs, size * 2);
+    }
+    ids[size] = reminderId;
+    epochs[size] = scheduledFireEpoch;
+    size++;
+    return true;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** The reminder ids, in insertion order. */
+  public int[] getIds() {
+    return Arrays.copyOf(ids, size);
+  }
+
+  /** The scheduled fire epochs, parallel to {@link #getIds()}. */
+  public long[] getEpochs() {
+    return Arrays.copyOf(epochs, size);
+  }
+
+  /**
+   * Checks that arrays received from an intent line up.
+   *
+   * @throws IllegalArgumentException if either is null or their lengths differ
+   */
+  public static void checkParallel(int[] ids, long[] epochs) {
+    if (ids == null || epochs == null) {
+      throw new IllegalArgumentException("Fire batch is missing ids or epochs");
+    }
+    if (ids.length != epochs.length) {
+      throw new IllegalArgumentException(
+          "Fire batch has " + ids.length + " ids but " + epochs.length + " epochs");
+    }
+  }
+}
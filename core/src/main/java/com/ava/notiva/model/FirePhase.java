@@ -0,0 +1,36 @@
+package com.ava.notiva.model;
+
+/**
+ * Stages of delivering a reminder fire that are timed into a {@link LatencyHistogram}.
+ */
+public enum FirePhase {
+
+  /** Actual delivery minus the scheduled fire epoch carried by the alarm. */
+  FIRE_DELAY("Fire delay (actual - scheduled)"),
+
+  /** Process start to service creation, recorded only when the alarm started the process. */
+  PROCESS_START("Cold start"),
+
+  /** Hilt field injection in the service's onCreate. */
+  INJECTION("Hilt injection"),
+
+  /** Burst decision plus creating the alarm channel when its settings are new. */
+  CHANNEL_SETUP("Channel setup"),
+
+  /** Building and posting one reminder notification. */
+  NOTIFY("notify()"),
+
+  /** Group summary update, once per debounced burst of fires and dismissals. */
+  SUMMARY("Summary and collapse");
+
+  private final String label;
+
+  FirePhase(String label) {
+    this.label = label;
+  }
+
+  /** Human-readable name for the diagnostics screen. */
+  public String getLabel() {
+    return label;
+  }
+}
@@ -0,0 +1,146 @@
+package com.ava.notiva.model;
+
+import java.util.Arrays;
+
+/**
+ * Log-bucketed histogram of non-negative millisecond latencies, small enough to keep on
+ * device and persist. Every method is synchronized, so samples can be recorded from
+ * several threads while another encodes or reads percentiles.
+ * <p>
+ * Each power of two is split into {@link #SUB_BUCKETS} linear buckets, so a recorded
+ * value is known to within 12.5% however large it is, and percentiles are reported as
+ * the upper bound of the bucket they fall in (never above the largest recorded value).
+ * Negative samples, e.g. a fire delivered a moment before its scheduled epoch after a
+ * clock adjustment, count as 0.
+ */
+public final class LatencyHistogram {
+
+  /** Linear buckets per power of two. */
+  public static final int SUB_BUCKETS = 8;
+
+  private static final int BUCKETS = 1 + 63 * SUB_BUCKETS;
+
+  private final long[] counts = new long[BUCKETS];
+  private long count;
+  private long max;
+
+  public synchronized void record(long millis) {
+    long value = Math.max(0, millis);
+    counts[bucketOf(value)]++;
+    count++;
+    max = Math.max(max, value);
+  }
+
+  public synchronized long getCount() {
+    return count;
+  }
+
+  public synchronized long getMax() {
+    return max;
+  }
+
+  /**
+   * Returns the latency at or below which {@code percent} of samples fall, or 0 when
+   * nothing was recorded.
+   */
+  public synchronized long percentile(double percent) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(upperBound(i), max);
+      }
+    }
+    return max;
+  }
+
+  public synchronized void clear() {
+    Arrays.fill(counts, 0);
+    count = 0;
+    max = 0;
+  }
+
+  /** Non-empty buckets as {@code "index:count,..."}, for storage as a preference. */
+  public synchronized String encode() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < BUCKETS; i++) {
+      if (counts[i] > 0) {
+        if (sb.length() > 0) {
+          sb.append(',');
+        }
+        sb.append(i).append(':').append(counts[i]);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Rebuilds a histogram from {@link #encode()} output. Malformed or out-of-range entries
+   * are skipped, so a corrupt preference loses samples rather than the screen. The
+   * maximum is restored as the upper bound of the highest bucket.
+   */
+  public static LatencyHistogram decode(String encoded) {
+    LatencyHistogram histogram = new LatencyHistogram();
+    if (encoded == null || encoded.isEmpty()) {
+      return histogram;
+    }
+    for (String entry : encoded.split(",")) {
+      int colon = entry.indexOf(':');
+      if (colon < 0) {
+        continue;
+      }
+      try {
+        int index = Integer.parseInt(entry.substring(0, colon).trim());
+        long bucketCount = Long.parseLong(entry.substring(colon + 1).trim());
+        if (index < 0 || index >= BUCKETS || bucketCount <= 0) {
+          continue;
+        }
+        histogram.counts[index] += bucketCount;
+        histogram.count += bucketCount;
+        histogram.max = Math.max(histogram.max, upperBound(index));
+      } catch (NumberFormatException e) {
+        // Skip the entry
+      }
+    }
+    return histogram;
+  }
+
+  /** Bucket holding {@code value} (which must be non-negative). */
+  static int bucketOf(long value) {
+    if (value == 0) {
+      return 0;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    long offset = value - (1L << exponent);
+    // offset * SUB_BUCKETS / 2^exponent, without overflowing for large exponents
+    int sub = exponent >= 3
+        ? (int) (offset >>> (exponent - 3))
+        : (int) ((offset * SUB_BUCKETS) >>> exponent);
+    return 1 + exponent * SUB_BUCKETS + sub;
+  }
+
+  /** Largest value that falls in bucket {@code index}. */
+  static long upperBound(int index) {
+    if (index == 0) {
+      return 0;
+    }
+    int exponent = (index - 1) / SUB_BUCKETS;
+    int sub = (index - 1) % SUB_BUCKETS;
+    long base = 1L << exponent;
+    if (exponent >= 3) {
+      return base - 1 + (sub + 1) * (base / SUB_BUCKETS);
+    }
+    // Fewer values than sub-buckets in this octave: ceil((sub + 1) * base / SUB_BUCKETS)
+    return base + ((sub + 1) * base + SUB_BUCKETS - 1) / SUB_BUCKETS - 1;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "n=" + count + ", p50=" + percentile(50) + "ms, p95=" + percentile(95)
+        + "ms, p99=" + percentile(99) + "ms, max=" + max + "ms";
+  }
+}
@@ -0,0 +1,121 @@
+package com.ava.notiva.model;
+
+import com.ava.notiva.util.ReminderConstants;
+
+import java.util.Objects;
+
+/**
+ * Immutable data class governing how multiple concurrent notifications behave.
+ * <p>
+ * Controls collapse strategy (how notifications are grouped), sound strategy
+ * (when sound plays during a burst), and the maximum number of active
+ * notifications before the collapse strategy takes effect.
+ * <p>
+ * What each strategy means for the notifications a fire leaves behind:
+ * <ul>
+ *   <li>{@link CollapseStrategy#STACK}: a reminder keeps up to
+ *       {@link ReminderConstants#PER_REMINDER_COLLAPSE_THRESHOLD} - 1 notifications.</li>
+ *   <li>{@link CollapseStrategy#REPLACE}: a reminder keeps only its latest notification.</li>
+ *   <li>{@link CollapseStrategy#SUMMARY_ONLY}: as STACK until more than the max active
+ *       notifications are live; then the reminder notifications are folded into the
+ *       summary, which stays the only one until it is dismissed (storm mode).</li>
+ *   <li>{@link SoundStrategy#ONCE}: the first fire in a burst window sounds.</li>
+ *   <li>{@link SoundStrategy#EVERY_FIRE}: every fire sounds.</li>
+ *   <li>{@link SoundStrategy#SUMMARY_ONLY}: a fire sounds only when it stands alone; fires
+ *       grouped under the summary are silent and the summary alerts instead.</li>
+ * </ul>
+ */
+public final class NotificationPolicy {
+
+  private final CollapseStrategy collapseStrategy;
+  private final SoundStrategy soundStrategy;
+  private final int maxActiveNotifications;
+
+  public NotificationPolicy(CollapseStrategy collapseStrategy,
+                            SoundStrategy soundStrategy,
+                            int maxActiveNotifications) {
+    this.collapseStrategy = collapseStrategy;
+    this.soundStrategy = soundStrategy;
+    this.maxActiveNotifications = maxActiveNotifications;
+  }
+
+  /**
+   * Returns the default notification policy: STACK collapse, ONCE sound, 5 max active.
+   */
+  public static NotificationPolicy defaults() {
+    return new NotificationPolicy(CollapseStrategy.STACK, SoundStrategy.ONCE, 5);
+  }
+
+  public CollapseStrategy getCollapseStrategy() {
+    return collapseStrategy;
+  }
+
+  public SoundStrategy getSoundStrategy() {
+    return soundStrategy;
+  }
+
+  public int getMaxActiveNotifications() {
+    return maxActiveNotifications;
+  }
+
+  /** Notifications of one reminder at which all but its latest are cancelled. */
+  public int getPerReminderLimit() {
+    return collapseStrategy == CollapseStrategy.REPLACE
+        ? 2
+        : ReminderConstants.PER_REMINDER_COLLAPSE_THRESHOLD;
+  }
+
+  /** Whether {@code activeCount} live notifications put the app into storm mode. */
+  public boolean isStorm(int activeCount) {
+    return collapseStrategy == CollapseStrategy.SUMMARY_ONLY && activeCount > maxActiveNotifications;
+  }
+
+  /**
+   * Whether a fire plays sound.
+   *
+   * @param grouped           whether the fire is posted under the summary
+   * @param withinBurstWindow whether another fire sounded within the burst window
+   */
+  public boolean shouldSound(boolean grouped, boolean withinBurstWindow) {
+    if (soundStrategy == SoundStrategy.EVERY_FIRE) {
+      return true;
+    }
+    if (soundStrategy == SoundStrategy.SUMMARY_ONLY) {
+      return !grouped;
+    }
+    return !withinBurstWindow;
+  }
+
+  /** Whether the summary notification alerts when it is first posted. */
+  public boolean summarySounds() {
+    return soundStrategy == SoundStrategy.SUMMARY_ONLY;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof NotificationPolicy)) {
+      return false;
+    }
+    NotificationPolicy that = (NotificationPolicy) o;
+    return maxActiveNotifications == that.maxActiveNotifications
+        && collapseStrategy == that.collapseStrategy
+        && soundStrategy == that.soundStrategy;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(collapseStrategy, soundStrategy, maxActiveNotifications);
+  }
+
+  @Override
+  public String toString() {
+    return "NotificationPolicy{"
+        + "collapseStrategy=" + collapseStrategy
+        + ", soundStrategy=" + soundStrategy
+        + ", maxActiveNotifications=" + maxActiveNotifications
+        + '}';
+  }
+}
@@ -0,0 +1,123 @@
+package com.ava.notiva.model;
+
+/**
+ * Reusable iterator over the occurrences of a {@link ReminderModel} inside a time window.
+ * <p>
+ * Occurrences are produced as epoch millis in ascending order. Fixed MINUTE/HOUR/DAY
+ * intervals are stepped arithmetically, so neither {@link #reset} nor {@link #next()}
+ * allocates for them. Keep one cursor per thread and reset it for each reminder when
+ * expanding many reminders (agenda views, "next N fires" previews, look-ahead scheduling).
+ * <p>
+ * The occurrences match {@link ReminderModel#getNextOccurrenceAfter(long)}: the start
+ * plus whole periods, never past the end date. NEVER, FOREVER and non-positive delays
+ * produce the start only. MONTH/YEAR, RRULE and wall-clock reminders are expanded through
+ * their compiled {@link SchedulePlan}, which {@link #reset} compiles once per reminder, so
+ * calendar stepping resolves local times exactly as {@code getNextOccurrenceAfter} does.
+ */
+public final class OccurrenceCursor {
+
+  /** Returned by {@link #next()} once the window is exhausted. */
+  public static final long NONE = Long.MIN_VALUE;
+
+  private long startMillis;
+  private long endMillis;
+  private long toExclusive;
+  private long intervalMillis;
+  private long periodIndex;
+  private SchedulePlan rulePlan;  // non-null for MONTH/YEAR, RRULE and wall-clock reminders
+  private long ruleNext;
+  private boolean exhausted = true;
+
+  /**
+   * Positions the cursor on the first occurrence of {@code model} at or after
+   * {@code fromInclusive}. Occurrences at or after {@code toExclusive} are not returned.
+   *
+   * @return this cursor, for chaining
+   */
+  public OccurrenceCursor reset(ReminderModel model, long fromInclusive, long toExclusive) {
+    this.toExclusive = toExclusive;
+    this.intervalMillis = 0;
+    this.periodIndex = 0;
+    this.rulePlan = null;
+    this.exhausted = false;
+
+    if (fromInclusive >= toExclusive) {
+      exhausted = true;
+      return this;
+    }
+    startMillis = model.getStartDateMillis();
+
+    RecurrenceType type = model.getRecurrenceType();
+    int delay = model.getRecurrenceDelay();
+    Long end = model.getEndDateMillis();
+    boolean oneShot = type == null || type == RecurrenceType.NEVER
+        || type == RecurrenceType.FOREVER || delay <= 0;
+    endMillis = oneShot || end == null ? Long.MAX_VALUE : end;
+
+    boolean calendarStep = type == RecurrenceType.MONTH || type == RecurrenceType.YEAR;
+    if (model.hasRrule() || (!oneShot && (calendarStep || model.isWallClock()))) {
+      rulePlan = SchedulePlan.compile(model);
+      ruleNext = rulePlan.nextAfter(fromInclusive - 1);
+      return this;
+    }
+
+    if (oneShot) {
+      // Single occurrence at the start; index 1 marks it as consumed
+      periodIndex = startMillis >= fromInclusive ? 0 : 1;
+      return this;
+    }
+
+    intervalMillis = type.getMillis() * delay;
+    if (fromInclusive > startMillis) {
+      // Ceiling division: first whole period at or after 'from'
+      periodIndex = (fromInclusive - startMillis + intervalMillis - 1) / intervalMillis;
+    }
+    return this;
+  }
+
+  /**
+   * Returns the next occurrence in epoch millis, or {@link #NONE} when the window
+   * or the reminder's end date has been reached.
+   */
+  public long next() {
+    if (exhausted) {
+      return NONE;
+    }
+    long candidate;
+    if (rulePlan != null) {
+      candidate = ruleNext;
+      if (candidate != NONE && candidate < toExclusive) {
+        ruleNext = rulePlan.nextAfter(candidate);
+      }
+    } else if (intervalMillis > 0) {
+      candidate = startMillis + periodIndex * intervalMillis;
+    } else {
+      candidate = periodIndex == 0 ? startMillis : NONE;
+    }
+    if (candidate == NONE || candidate >= toExclusive || candidate > endMillis) {
+      exhausted = true;
+      return NONE;
+    }
+    periodIndex++;
+    return candidate;
+  }
+
+  /**
+   * Copies remaining occurrences into {@code out} starting at {@code offset}, stopping
+   * when the window ends or the buffer is full. A full buffer may leave occurrences
+   * behind; call again with a fresh buffer (or offset) to continue.
+   *
+   * @return the number of occurrences written
+   */
+  public int drainTo(long[] out, int offset) {
+    int count = 0;
+    while (offset + count < out.length) {
+      long occurrence = next();
+      if (occurrence == NONE) {
+        break;
+      }
+      out[offset + count++] = occurrence;
+    }
+    return count;
+  }
+}
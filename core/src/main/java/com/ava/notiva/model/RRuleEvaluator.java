@@ -0,0 +1,416 @@
+package com.ava.notiva.model;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Compiled evaluator for a {@link RecurrenceRule} anchored at a reminder start.
+ * <p>
+ * Compilation applies the RFC 5545 defaults (e.g. MONTHLY without BYDAY/BYMONTHDAY fires on
+ * the start's day-of-month) and precomputes, per month length and first weekday, the
+ * 31-bit mask of matching days. Finding the next fire is then a table lookup, an AND and a
+ * trailing-zero count per month (or week) instead of testing candidate dates one by one.
+ * <p>
+ * The start is always the first occurrence and counts towards COUNT. Every occurrence uses
+ * the start's local time in the reminder's zone; local times in a DST gap move forward and
+ * repeated times resolve to the later offset. Immutable and thread-safe.
+ */
+final class RRuleEvaluator implements SchedulePlan.Evaluator {
+
+  private static final long NO_DAY = Long.MIN_VALUE;
+  private static final long MILLIS_PER_DAY = 86_400_000L;
+  private static final int ALL_MONTHS = 0xFFF;
+  private static final int[] MAX_MONTH_LENGTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+  // Upper bounds on periods scanned for a match. The Gregorian calendar repeats every 400
+  // years, so a rule that finds nothing in that span never matches.
+  private static final int MAX_SCAN_MONTHS = 400 * 12;
+  private static final int MAX_SCAN_YEARS = 400;
+  private static final int MAX_SCAN_WEEKS = 20_871;
+
+  private final RecurrenceRule.Frequency frequency;
+  private final int interval;
+  private final int count;
+  private final long startMillis;
+  private final long untilMillis;  // inclusive, combines UNTIL and the reminder end date
+  private final ZoneTransitions transitions;
+  private final long startTimeOfDay;  // local millis since midnight
+  private final long startDay;
+  private final long startMonth;
+  private final int startYear;
+  private final long startWeek;
+  private final int weekStart;
+
+  private final int monthMask;
+  private final int[] monthDayTable = new int[4];  // [length - 28]
+  private final int[] weekdayTable = new int[7 * 4];  // [firstWeekday * 4 + length - 28]
+  private final int weekMask;  // WEEKLY: bit j = j days after the week start
+  private final int[] bySetPos;
+  private final boolean neverMatches;
+
+  RRuleEvaluator(RecurrenceRule rule, long startMillis, long endMillis, ZoneTransitions transitions) {
+    this.frequency = rule.getFrequency();
+    this.interval = rule.getInterval();
+    this.count = rule.getCount();
+    this.startMillis = startMillis;
+    this.transitions = transitions;
+
+    long startLocal = transitions.toLocalMillis(startMillis);
+    this.startDay = Math.floorDiv(startLocal, MILLIS_PER_DAY);
+    this.startTimeOfDay = Math.floorMod(startLocal, MILLIS_PER_DAY);
+    LocalDate startDate = LocalDate.ofEpochDay(startDay);
+    this.startMonth = monthIndex(startDate);
+    this.startYear = startDate.getYear();
+    this.weekStart = rule.getWeekStart();
+    this.startWeek = weekStartOf(startDay);
+
+    long until = endMillis;
+    if (rule.getUntil() != null) {
+      // Floating UNTIL is wall-clock time in the reminder's zone
+      long ruleUntil = rule.getUntil().toInstant(ZoneOffset.UTC).toEpochMilli();
+      if (!rule.isUntilUtc()) {
+        ruleUntil = transitions.toEpochMillis(ruleUntil);
+      }
+      until = Math.min(until, ruleUntil);
+    }
+    this.untilMillis = until;
+
+    // RFC 5545 defaults: missing BYxxx parts are taken from the start
+    int months = rule.getByMonthMask();
+    int monthDayPositive = rule.getByMonthDayPositive();
+    int monthDayNegative = rule.getByMonthDayNegative();
+    int weekdays = rule.getByWeekdayMask();
+    boolean hasByDay = rule.hasByDay();
+    int startDayBit = 1 << (startDate.getDayOfMonth() - 1);
+    switch (frequency) {
+      case WEEKLY:
+        if (!hasByDay) {
+          weekdays = 1 << weekdayOf(startDay);
+        }
+        break;
+      case MONTHLY:
+        if (!hasByDay && !rule.hasByMonthDay()) {
+          monthDayPositive = startDayBit;
+        }
+        break;
+      case YEARLY:
+        if (!hasByDay && !rule.hasByMonthDay()) {
+          monthDayPositive = startDayBit;
+          if (months == 0) {
+            months = 1 << (startDate.getMonthValue() - 1);
+          }
+        }
+        break;
+      default:
+        break;
+    }
+    this.monthMask = months == 0 ? ALL_MONTHS : months;
+    boolean filterMonthDays = monthDayPositive != 0 || monthDayNegative != 0;
+    boolean filterWeekdays = weekdays != 0 || rule.getByWeekdayOrdinals().length > 0;
+
+    int[] ordinals = rule.getByWeekdayOrdinals();
+    int[] ordinalDays = rule.getByWeekdayOrdinalDays();
+    for (int length = 28; length <= 31; length++) {
+      int all = allDays(length);
+      int monthDays = all;
+      if (filterMonthDays) {
+        monthDays = monthDayPositive & all;
+        for (int k = 1; k <= length; k++) {
+          if ((monthDayNegative & (1 << (k - 1))) != 0) {
+            monthDays |= 1 << (length - k);
+          }
+        }
+      }
+      monthDayTable[length - 28] = monthDays;
+
+      for (int firstWeekday = 0; firstWeekday < 7; firstWeekday++) {
+        int mask = all;
+        if (filterWeekdays) {
+          mask = 0;
+          for (int day = 0; day < length; day++) {
+            if ((weekdays & (1 << ((firstWeekday + day) % 7))) != 0) {
+              mask |= 1 << day;
+            }
+          }
+          for (int i = 0; i < ordinals.length; i++) {
+            int first = Math.floorMod(ordinalDays[i] - firstWeekday, 7);
+            int day = ordinals[i] > 0
+                ? first + 7 * (ordinals[i] - 1)
+                : first + 7 * ((length - 1 - first) / 7 + ordinals[i] + 1);
+            if (day >= 0 && day < length) {
+              mask |= 1 << day;
+            }
+          }
+        }
+        weekdayTable[firstWeekday * 4 + length - 28] = mask;
+      }
+    }
+
+    int rotated = 0;
+    for (int j = 0; j < 7; j++) {
+      if ((weekdays & (1 << ((weekStart + j) % 7))) != 0) {
+        rotated |= 1 << j;
+      }
+    }
+    this.weekMask = rotated;
+    this.bySetPos = rule.getBySetPos();
+
+    boolean possible = false;
+    for (int month = 0; month < 12 && !possible; month++) {
+      if ((monthMask & (1 << month)) != 0) {
+        possible = monthDayTable[MAX_MONTH_LENGTH[month] - 28] != 0;
+      }
+    }
+    this.neverMatches = !possible || (frequency == RecurrenceRule.Frequency.WEEKLY && weekMask == 0);
+  }
+
+  @Override
+  public long nextAfter(long nowMillis) {
+    if (startMillis > nowMillis) {
+      return startMillis <= untilMillis ? startMillis : SchedulePlan.NONE;
+    }
+    if (count == 1 || neverMatches) {
+      return SchedulePlan.NONE;
+    }
+    long fromDay = Math.max(startDay + 1, localDay(nowMillis));
+    while (true) {
+      long day = nextMatchingDay(fromDay);
+      if (day == NO_DAY) {
+        return SchedulePlan.NONE;
+      }
+      long millis = toMillis(day);
+      if (millis <= nowMillis) {
+        // Today's occurrence has already passed
+        fromDay = day + 1;
+        continue;
+      }
+      if (millis > untilMillis || (count > 0 && ordinalOf(day) > count)) {
+        return SchedulePlan.NONE;
+      }
+      return millis;
+    }
+  }
+
+  /** 1-based position of the occurrence on {@code day}, counting the start as the first. */
+  private int ordinalOf(long day) {
+    int ordinal = 1;
+    long from = startDay + 1;
+    while (ordinal <= count) {
+      long match = nextMatchingDay(from);
+      if (match == NO_DAY || match > day) {
+        break;
+      }
+      ordinal++;
+      from = match + 1;
+    }
+    return ordinal;
+  }
+
+  /** First local epoch day at or after {@code fromDay} matching the rule, or NO_DAY. */
+  private long nextMatchingDay(long fromDay) {
+    switch (frequency) {
+      case DAILY:
+        return nextDaily(fromDay);
+      case WEEKLY:
+        return nextWeekly(fromDay);
+      case MONTHLY:
+        return nextMonthly(fromDay);
+      default:
+        return nextYearly(fromDay);
+    }
+  }
+
+  private long nextDaily(long fromDay) {
+    if (!setPosSelectsSingleton()) {
+      return NO_DAY;
+    }
+    LocalDate from = LocalDate.ofEpochDay(fromDay);
+    long fromMonth = monthIndex(from);
+    for (long m = fromMonth; m - fromMonth <= MAX_SCAN_MONTHS; m++) {
+      LocalDate first = firstOfMonth(m);
+      int mask = monthCandidates(first);
+      if (interval > 1) {
+        long firstDay = first.toEpochDay();
+        int intervalMask = 0;
+        for (int t = (int) Math.floorMod(startDay - firstDay, (long) interval); t < 31; t += interval) {
+          intervalMask |= 1 << t;
+        }
+        mask &= intervalMask;
+      }
+      if (m == fromMonth) {
+        mask &= daysFrom(from.getDayOfMonth());
+      }
+      if (mask != 0) {
+        return first.toEpochDay() + Integer.numberOfTrailingZeros(mask);
+      }
+    }
+    return NO_DAY;
+  }
+
+  private long nextWeekly(long fromDay) {
+    long fromWeek = weekStartOf(fromDay);
+    long step = 7L * interval;
+    long week = startWeek + ceilDiv(fromWeek - startWeek, step) * step;
+    int[] set = new int[1];
+    for (int i = 0; i <= MAX_SCAN_WEEKS; i++, week += step) {
+      int mask = weekMask;
+      if (monthMask != ALL_MONTHS) {
+        for (int j = 0; j < 7; j++) {
+          if ((mask & (1 << j)) != 0
+              && (monthMask & (1 << (LocalDate.ofEpochDay(week + j).getMonthValue() - 1))) == 0) {
+            mask &= ~(1 << j);
+          }
+        }
+      }
+      set[0] = mask;
+      applySetPos(set);
+      mask = set[0];
+      if (week < fromDay) {
+        mask &= ~((1 << (int) (fromDay - week)) - 1);
+      }
+      if (mask != 0) {
+        return week + Integer.numberOfTrailingZeros(mask);
+      }
+    }
+    return NO_DAY;
+  }
+
+  private long nextMonthly(long fromDay) {
+    LocalDate from = LocalDate.ofEpochDay(fromDay);
+    long fromMonth = monthIndex(from);
+    long month = startMonth + ceilDiv(fromMonth - startMonth, interval) * interval;
+    int[] set = new int[1];
+    for (int i = 0; i * (long) interval <= MAX_SCAN_MONTHS; i++, month += interval) {
+      LocalDate first = firstOfMonth(month);
+      set[0] = monthCandidates(first);
+      applySetPos(set);
+      int mask = set[0];
+      if (month == fromMonth) {
+        mask &= daysFrom(from.getDayOfMonth());
+      }
+      if (mask != 0) {
+        return first.toEpochDay() + Integer.numberOfTrailingZeros(mask);
+      }
+    }
+    return NO_DAY;
+  }
+
+  private long nextYearly(long fromDay) {
+    LocalDate from = LocalDate.ofEpochDay(fromDay);
+    int fromYear = from.getYear();
+    int year = (int) (startYear + ceilDiv(fromYear - startYear, interval) * interval);
+    int[] months = new int[12];
+    for (int i = 0; i * (long) interval <= MAX_SCAN_YEARS; i++, year += interval) {
+      for (int month = 0; month < 12; month++) {
+        months[month] = monthCandidates(LocalDate.of(year, month + 1, 1));
+      }
+      applySetPos(months);
+      int firstMonth = year == fromYear ? from.getMonthValue() - 1 : 0;
+      for (int month = firstMonth; month < 12; month++) {
+        int mask = months[month];
+        if (year == fromYear && month == firstMonth) {
+          mask &= daysFrom(from.getDayOfMonth());
+        }
+        if (mask != 0) {
+          return LocalDate.of(year, month + 1, Integer.numberOfTrailingZeros(mask) + 1).toEpochDay();
+        }
+      }
+    }
+    return NO_DAY;
+  }
+
+  /** Days of the month starting at {@code first} that pass BYMONTH, BYMONTHDAY and BYDAY. */
+  private int monthCandidates(LocalDate first) {
+    if ((monthMask & (1 << (first.getMonthValue() - 1))) == 0) {
+      return 0;
+    }
+    int length = first.lengthOfMonth();
+    int firstWeekday = first.getDayOfWeek().getValue() - 1;
+    return monthDayTable[length - 28] & weekdayTable[firstWeekday * 4 + length - 28];
+  }
+
+  /**
+   * Keeps only the BYSETPOS-selected bits of one period's candidate set, which may span
+   * several month masks (YEARLY). No-op without BYSETPOS.
+   */
+  private void applySetPos(int[] masks) {
+    if (bySetPos.length == 0) {
+      return;
+    }
+    int total = 0;
+    for (int mask : masks) {
+      total += Integer.bitCount(mask);
+    }
+    int[] selected = new int[masks.length];
+    for (int position : bySetPos) {
+      int index = position > 0 ? position - 1 : total + position;
+      if (index < 0 || index >= total) {
+        continue;
+      }
+      for (int i = 0; i < masks.length; i++) {
+        int bits = Integer.bitCount(masks[i]);
+        if (index < bits) {
+          int mask = masks[i];
+          for (int k = 0; k < index; k++) {
+            mask &= mask - 1;
+          }
+          selected[i] |= Integer.lowestOneBit(mask);
+          break;
+        }
+        index -= bits;
+      }
+    }
+    System.arraycopy(selected, 0, masks, 0, masks.length);
+  }
+
+  /** DAILY periods hold a single day, so only BYSETPOS 1 or -1 can select anything. */
+  private boolean setPosSelectsSingleton() {
+    if (bySetPos.length == 0) {
+      return true;
+    }
+    for (int position : bySetPos) {
+      if (position == 1 || position == -1) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private long toMillis(long epochDay) {
+    return transitions.toEpochMillis(epochDay * MILLIS_PER_DAY + startTimeOfDay);
+  }
+
+  private long localDay(long millis) {
+    return Math.floorDiv(transitions.toLocalMillis(millis), MILLIS_PER_DAY);
+  }
+
+  private long weekStartOf(long epochDay) {
+    return epochDay - Math.floorMod(weekdayOf(epochDay) - weekStart, 7);
+  }
+
+  /** 0 = Monday; 1970-01-01 was a Thursday. */
+  private static int weekdayOf(long epochDay) {
+    return (int) Math.floorMod(epochDay + 3, 7L);
+  }
+
+  private static LocalDate firstOfMonth(long monthIndex) {
+    return LocalDate.of((int) Math.floorDiv(monthIndex, 12L), (int) Math.floorMod(monthIndex, 12L) + 1, 1);
+  }
+
+  private static long monthIndex(LocalDate date) {
+    return date.getYear() * 12L + date.getMonthValue() - 1;
+  }
+
+  private static int allDays(int length) {
+    return (int) ((1L << length) - 1);
+  }
+
+  /** Mask of days {@code dayOfMonth} and later. */
+  private static int daysFrom(int dayOfMonth) {
+    return ~((1 << (dayOfMonth - 1)) - 1);
+  }
+
+  private static long ceilDiv(long a, long b) {
+    return -Math.floorDiv(-a, b);
+  }
+}
@@ -0,0 +1,324 @@
+package com.ava.notiva.model;
+
+import androidx.annotation.NonNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Parsed RFC 5545 RRULE, held as per-field bitsets so a compiled evaluator can find the
+ * next matching day with mask arithmetic instead of iterating candidate dates.
+ * <p>
+ * Supported parts: FREQ (DAILY, WEEKLY, MONTHLY, YEARLY), INTERVAL, COUNT, UNTIL, BYMONTH,
+ * BYMONTHDAY, BYDAY (with ordinals for MONTHLY, and for YEARLY together with BYMONTH),
+ * BYSETPOS and WKST. Time-of-day always comes from the reminder start, so BYHOUR,
+ * BYMINUTE and BYSECOND are rejected, as are BYWEEKNO and BYYEARDAY.
+ * <p>
+ * Parsing is strict: unknown or unsupported parts throw {@link IllegalArgumentException}.
+ */
+public final class RecurrenceRule {
+
+  public enum Frequency {
+    DAILY, WEEKLY, MONTHLY, YEARLY
+  }
+
+  private static final String[] WEEKDAYS = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+  private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd", Locale.ROOT);
+  private static final DateTimeFormatter DATE_TIME =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss", Locale.ROOT);
+
+  private final String source;
+  private final Frequency frequency;
+  private final int interval;
+  private final int count;  // 0 = unbounded
+  private final LocalDateTime until;  // null = unbounded
+  private final boolean untilUtc;
+  private final int byMonthMask;  // bit 0 = January
+  private final int byMonthDayPositive;  // bit d-1 = day d
+  private final int byMonthDayNegative;  // bit k-1 = day -k (k-th from the end)
+  private final int byWeekdayMask;  // bit 0 = Monday, plain BYDAY entries without ordinal
+  private final int[] byWeekdayOrdinals;  // parallel to byWeekdayOrdinalDays, e.g. -1 for -1FR
+  private final int[] byWeekdayOrdinalDays;
+  private final int[] bySetPos;
+  private final int weekStart;  // 0 = Monday
+
+  private RecurrenceRule(String source, Frequency frequency, int interval, int count,
+                         LocalDateTime until, boolean untilUtc, int byMonthMask,
+                         int byMonthDayPositive, int byMonthDayNegative, int byWeekdayMask,
+                         int[] byWeekdayOrdinals, int[] byWeekdayOrdinalDays, int[] bySetPos,
+                         int weekStart) {
+    this.source = source;
+    this.frequency = frequency;
+    this.interval = interval;
+    this.count = count;
+    this.until = until;
+    this.untilUtc = untilUtc;
+    this.byMonthMask = byMonthMask;
+    this.byMonthDayPositive = byMonthDayPositive;
+    this.byMonthDayNegative = byMonthDayNegative;
+    this.byWeekdayMask = byWeekdayMask;
+    this.byWeekdayOrdinals = byWeekdayOrdinals;
+    this.byWeekdayOrdinalDays = byWeekdayOrdinalDays;
+    this.bySetPos = bySetPos;
+    this.weekStart = weekStart;
+  }
+
+  /**
+   * Parses an RRULE value such as {@code FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1}.
+   * A leading {@code RRULE:} is accepted.
+   *
+   * @throws IllegalArgumentException if the rule is malformed or uses unsupported parts
+   */
+  public static RecurrenceRule parse(String rule) {
+    if (rule == null || rule.trim().isEmpty()) {
+      throw new IllegalArgumentException("Empty RRULE");
+    }
+    String body = rule.trim();
+    if (body.regionMatches(true, 0, "RRULE:", 0, 6)) {
+      body = body.substring(6);
+    }
+
+    Frequency frequency = null;
+    int interval = 1;
+    int count = 0;
+    LocalDateTime until = null;
+    boolean untilUtc = false;
+    int byMonthMask = 0;
+    int byMonthDayPositive = 0;
+    int byMonthDayNegative = 0;
+    int byWeekdayMask = 0;
+    int[] ordinals = new int[0];
+    int[] ordinalDays = new int[0];
+    int[] bySetPos = new int[0];
+    int weekStart = 0;
+
+    for (String part : body.split(";")) {
+      if (part.isEmpty()) {
+        continue;
+      }
+      int eq = part.indexOf('=');
+      if (eq <= 0 || eq == part.length() - 1) {
+        throw new IllegalArgumentException("Malformed RRULE part: " + part);
+      }
+      String name = part.substring(0, eq).toUpperCase(Locale.ROOT);
+      String value = part.substring(eq + 1).toUpperCase(Locale.ROOT);
+      switch (name) {
+        case "FREQ":
+          try {
+            frequency = Frequency.valueOf(value);
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported FREQ: " + value);
+          }
+          break;
+        case "INTERVAL":
+          interval = parseInt(name, value, 1, Integer.MAX_VALUE);
+          break;
+        case "COUNT":
+          count = parseInt(name, value, 1, Integer.MAX_VALUE);
+          break;
+        case "UNTIL":
+          untilUtc = value.endsWith("Z");
+          until = parseUntil(untilUtc ? value.substring(0, value.length() - 1) : value);
+          break;
+        case "BYMONTH":
+          for (String item : value.split(",")) {
+            byMonthMask |= 1 << (parseInt(name, item, 1, 12) - 1);
+          }
+          break;
+        case "BYMONTHDAY":
+          for (String item : value.split(",")) {
+            int day = parseInt(name, item, -31, 31);
+            if (day == 0) {
+              throw new IllegalArgumentException("BYMONTHDAY cannot be 0");
+            }
+            if (day > 0) {
+              byMonthDayPositive |= 1 << (day - 1);
+            } else {
+              byMonthDayNegative |= 1 << (-day - 1);
+            }
+          }
+          break;
+        case "BYDAY":
+          for (String item : value.split(",")) {
+            if (item.length() < 2) {
+              throw new IllegalArgumentException("Malformed BYDAY: " + item);
+            }
+            int weekday = weekday(item.substring(item.length() - 2));
+            String ordinal = item.substring(0, item.length() - 2);
+            if (ordinal.isEmpty()) {
+              byWeekdayMask |= 1 << weekday;
+            } else {
+              int n = parseInt(name, ordinal.startsWith("+") ? ordinal.substring(1) : ordinal, -5, 5);
+              if (n == 0) {
+                throw new IllegalArgumentException("BYDAY ordinal cannot be 0");
+              }
+              ordinals = Arrays.copyOf(ordinals, ordinals.length + 1);
+              ordinalDays = Arrays.copyOf(ordinalDays, ordinalDays.length + 1);
+              ordinals[ordinals.length - 1] = n;
+              ordinalDays[ordinalDays.length - 1] = weekday;
+            }
+          }
+          break;
+        case "BYSETPOS":
+          bySetPos = parseSetPos(value);
+          break;
+        case "WKST":
+          weekStart = weekday(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unsupported RRULE part: " + name);
+      }
+    }
+
+    if (frequency == null) {
+      throw new IllegalArgumentException("RRULE requires FREQ");
+    }
+    if (count > 0 && until != null) {
+      throw new IllegalArgumentException("COUNT and UNTIL are mutually exclusive");
+    }
+    boolean hasMonthDays = byMonthDayPositive != 0 || byMonthDayNegative != 0;
+    if (frequency == Frequency.WEEKLY && hasMonthDays) {
+      throw new IllegalArgumentException("BYMONTHDAY is not allowed with FREQ=WEEKLY");
+    }
+    if (ordinals.length > 0) {
+      boolean monthRelative = frequency == Frequency.MONTHLY
+          || (frequency == Frequency.YEARLY && byMonthMask != 0);
+      if (!monthRelative) {
+        throw new IllegalArgumentException(
+            "BYDAY ordinals are supported for MONTHLY, or YEARLY with BYMONTH");
+      }
+    }
+    return new RecurrenceRule(rule.trim(), frequency, interval, count, until, untilUtc,
+        byMonthMask, byMonthDayPositive, byMonthDayNegative, byWeekdayMask, ordinals,
+        ordinalDays, bySetPos, weekStart);
+  }
+
+  /** Returns true if {@code rule} parses; for validating user input. */
+  public static boolean isValid(String rule) {
+    try {
+      parse(rule);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  public Frequency getFrequency() {
+    return frequency;
+  }
+
+  public int getInterval() {
+    return interval;
+  }
+
+  /** Maximum number of occurrences including the start, or 0 when unbounded. */
+  public int getCount() {
+    return count;
+  }
+
+  /** Inclusive UNTIL as a local date-time, or null. See {@link #isUntilUtc()}. */
+  public LocalDateTime getUntil() {
+    return until;
+  }
+
+  /** Whether {@link #getUntil()} is in UTC rather than the reminder's local time. */
+  public boolean isUntilUtc() {
+    return untilUtc;
+  }
+
+  public int getByMonthMask() {
+    return byMonthMask;
+  }
+
+  public int getByMonthDayPositive() {
+    return byMonthDayPositive;
+  }
+
+  public int getByMonthDayNegative() {
+    return byMonthDayNegative;
+  }
+
+  public int getByWeekdayMask() {
+    return byWeekdayMask;
+  }
+
+  public int[] getByWeekdayOrdinals() {
+    return byWeekdayOrdinals.clone();
+  }
+
+  public int[] getByWeekdayOrdinalDays() {
+    return byWeekdayOrdinalDays.clone();
+  }
+
+  public int[] getBySetPos() {
+    return bySetPos.clone();
+  }
+
+  public int getWeekStart() {
+    return weekStart;
+  }
+
+  public boolean hasByDay() {
+    return byWeekdayMask != 0 || byWeekdayOrdinals.length > 0;
+  }
+
+  public boolean hasByMonthDay() {
+    return byMonthDayPositive != 0 || byMonthDayNegative != 0;
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return source;
+  }
+
+  private static int parseInt(String name, String value, int min, int max) {
+    try {
+      int parsed = Integer.parseInt(value);
+      if (parsed < min || parsed > max) {
+        throw new IllegalArgumentException(name + " out of range: " + value);
+      }
+      return parsed;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Malformed " + name + ": " + value);
+    }
+  }
+
+  private static int[] parseSetPos(String value) {
+    String[] items = value.split(",");
+    int[] positions = new int[items.length];
+    for (int i = 0; i < items.length; i++) {
+      positions[i] = parseInt("BYSETPOS", items[i], -366, 366);
+      if (positions[i] == 0) {
+        throw new IllegalArgumentException("BYSETPOS cannot be 0");
+      }
+    }
+    return positions;
+  }
+
+  private static int weekday(String code) {
+    for (int i = 0; i < WEEKDAYS.length; i++) {
+      if (WEEKDAYS[i].equals(code)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("Unknown weekday: " + code);
+  }
+
+  private static LocalDateTime parseUntil(String value) {
+    try {
+      if (value.length() == 8) {
+        // Date-only UNTIL includes the whole day
+        return LocalDate.parse(value, DATE).atTime(LocalTime.MAX);
+      }
+      return LocalDateTime.parse(value, DATE_TIME);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Malformed UNTIL: " + value);
+    }
+  }
+}
@@ -49,4 +49,14 @@ public enum RecurrenceType {
       default -> 0L;
     };
   }
+
+  /**
+   * Whether reminders of this type default to wall-clock periods (see
+   * {@link ReminderModel#isWallClock}). Days and calendar steps keep their time of day
+   * across DST; minute and hour intervals are elapsed time, so a repeated hour at
+   * fall-back is not skipped.
+   */
+  public boolean keepsWallClock() {
+    return this == DAY || this == MONTH || this == YEAR;
+  }
 }
@@ -0,0 +1,494 @@
+package com.ava.notiva.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.Objects;
+import java.util.TimeZone;
+
+/**
+ * A reminder row.
+ * <p>
+ * Start and end are stored as primitive UTC epoch millis together with the IANA zone
+ * id the user picked them in. Loading a row therefore allocates no Calendar or zone
+ * objects; {@link ZoneId}, {@link ZonedDateTime} and {@link Calendar} views are built
+ * on demand by the accessors that need wall-clock fields (UI, MONTH/YEAR stepping).
+ * <p>
+ * {@code next_fire_at} persists the next pending fire so schedulers can select due rows
+ * in SQL through the {@code (active, next_fire_at)} index instead of evaluating every row.
+ */
+@Entity(
+    tableName = "reminders",
+    indices = {@Index(value = {"active", "next_fire_at"})})
+public class ReminderModel {
+
+  /** Returned by {@link #getNextOccurrenceAfter(long)} when there is no further occurrence. */
+  public static final long NO_OCCURRENCE = Long.MIN_VALUE;
+
+  @PrimaryKey(autoGenerate = true)
+  private int id;
+
+  private boolean active;
+
+  private String name;
+
+  @ColumnInfo(name = "start_date")
+  private long startDateMillis;
+
+  @ColumnInfo(name = "recurrence_delay")
+  private int recurrenceDelay;
+
+  @ColumnInfo(name = "recurrence_type")
+  private RecurrenceType recurrenceType;
+
+  @ColumnInfo(name = "end_date")
+  private Long endDateMillis;  // null = no end date
+
+  @NonNull
+  @ColumnInfo(name = "zone_id")
+  private String zoneId;  // IANA zone that start/end wall-clock fields are interpreted in
+
+  @ColumnInfo(name = "snoozed_until")
+  private Long snoozedUntil;  // Timestamp until which reminder is snoozed, null = not snoozed
+
+  @ColumnInfo(name = "last_fired_at")
+  private Long lastFiredAt;  // Epoch millis when reminder last fired, null = never fired
+
+  @ColumnInfo(name = "last_acknowledged_at")
+  private Long lastAcknowledgedAt;  // Epoch millis when user last dismissed/snoozed, null = never acknowledged
+
+  @ColumnInfo(name = "ringtone_uri")
+  private String ringtoneUri;  // Per-reminder ringtone override, null = use global default
+
+  @ColumnInfo(name = "rrule")
+  private String rrule;  // RFC 5545 RRULE; when set it replaces recurrenceType/recurrenceDelay
+
+  @ColumnInfo(name = "wall_clock", defaultValue = "0")
+  private boolean wallClock;  // MINUTE/HOUR/DAY keep local time across DST instead of elapsed time
+
+  @ColumnInfo(name = "floating_zone", defaultValue = "0")
+  private boolean floatingZone;  // Follows the device zone (floating local time) instead of zoneId's instants
+
+  @ColumnInfo(name = "schedule_version", defaultValue = "0")
+  private long scheduleVersion;  // Bumped by every write that can move or cancel the next alarm
+
+  @ColumnInfo(name = "scheduled_version", defaultValue = "-1")
+  private long scheduledVersion = -1;  // scheduleVersion the armed alarm was computed from, -1 = never
+
+  @ColumnInfo(name = "scheduled_at")
+  private Long scheduledAt;  // Epoch millis of the armed alarm, null = nothing armed
+
+  @ColumnInfo(name = "next_fire_at")
+  private Long nextFireAt;  // Next occurrence or snooze deadline, null = inactive or finished
+
+  @Ignore
+  private ZoneId zone;  // Lazily resolved from zoneId
+
+  public ReminderModel() {
+    this.active = true;
+    this.recurrenceType = RecurrenceType.DAY;
+    this.endDateMillis = null;  // Only set when recurrence end is explicitly configured
+    this.startDateMillis = System.currentTimeMillis();
+    this.zoneId = ZoneId.systemDefault().getId();
+  }
+
+  @Ignore
+  public ReminderModel(String name) {
+    this();
+    this.name = name;
+  }
+
+  @Ignore
+  public ReminderModel(
+      int id,
+      String name,
+      boolean active,
+      long startTime,
+      Integer recurrenceDelay,
+      String recurrenceType,
+      long endTime) {
+    this();
+    this.id = id;
+    this.name = name;
+    this.active = active;
+    this.startDateMillis = startTime;
+    this.recurrenceDelay = recurrenceDelay;
+    this.recurrenceType = RecurrenceType.valueOf(recurrenceType);
+    this.endDateMillis = endTime;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public void setId(int id) {
+    this.id = id;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public void setActive(boolean active) {
+    this.active = active;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public int getRecurrenceDelay() {
+    return recurrenceDelay;
+  }
+
+  public void setRecurrenceDelay(int recurrenceDelay) {
+    this.recurrenceDelay = recurrenceDelay;
+  }
+
+  public RecurrenceType getRecurrenceType() {
+    return recurrenceType;
+  }
+
+  public void setRecurrenceType(RecurrenceType recurrenceType) {
+    this.recurrenceType = recurrenceType;
+  }
+
+  public long getStartDateMillis() {
+    return startDateMillis;
+  }
+
+  public void setStartDateMillis(long startDateMillis) {
+    this.startDateMillis = startDateMillis;
+  }
+
+  public Long getEndDateMillis() {
+    return endDateMillis;
+  }
+
+  public void setEndDateMillis(Long endDateMillis) {
+    this.endDateMillis = endDateMillis;
+  }
+
+  @NonNull
+  public String getZoneId() {
+    return zoneId;
+  }
+
+  public void setZoneId(@NonNull String zoneId) {
+    this.zoneId = zoneId;
+    this.zone = null;
+  }
+
+  /** The reminder's zone, resolved from {@link #getZoneId()} on first use. */
+  public ZoneId getZone() {
+    if (zone == null) {
+      zone = ZoneId.of(zoneId);
+    }
+    return zone;
+  }
+
+  public ZonedDateTime getStartZonedDateTime() {
+    return Instant.ofEpochMilli(startDateMillis).atZone(getZone());
+  }
+
+  public ZonedDateTime getEndZonedDateTime() {
+    return endDateMillis == null ? null : Instant.ofEpochMilli(endDateMillis).atZone(getZone());
+  }
+
+  /**
+   * Returns a new Calendar for the start in the reminder's zone. Changes to the
+   * returned Calendar are not written back; pass it to {@link #setStartDateTime}.
+   */
+  public Calendar getStartDateTime() {
+    return toCalendar(startDateMillis);
+  }
+
+  /** Stores the Calendar's instant and zone as the start. */
+  public void setStartDateTime(Calendar startDateTime) {
+    Objects.requireNonNull(startDateTime, "startDateTime");
+    this.startDateMillis = startDateTime.getTimeInMillis();
+    setZoneId(startDateTime.getTimeZone().getID());
+  }
+
+  /** Returns a new Calendar for the end in the reminder's zone, or null when there is no end. */
+  public Calendar getEndDateTime() {
+    return endDateMillis == null ? null : toCalendar(endDateMillis);
+  }
+
+  public void setEndDateTime(Calendar endDateTime) {
+    this.endDateMillis = endDateTime == null ? null : endDateTime.getTimeInMillis();
+  }
+
+  public boolean hasEndDate() {
+    return endDateMillis != null;
+  }
+
+  public Long getSnoozedUntil() {
+    return snoozedUntil;
+  }
+
+  public void setSnoozedUntil(Long snoozedUntil) {
+    this.snoozedUntil = snoozedUntil;
+  }
+
+  public boolean isSnoozed() {
+    return snoozedUntil != null && snoozedUntil > System.currentTimeMillis();
+  }
+
+  public Long getLastFiredAt() {
+    return lastFiredAt;
+  }
+
+  public void setLastFiredAt(Long lastFiredAt) {
+    this.lastFiredAt = lastFiredAt;
+  }
+
+  public Long getLastAcknowledgedAt() {
+    return lastAcknowledgedAt;
+  }
+
+  public void setLastAcknowledgedAt(Long lastAcknowledgedAt) {
+    this.lastAcknowledgedAt = lastAcknowledgedAt;
+  }
+
+  public String getRingtoneUri() {
+    return ringtoneUri;
+  }
+
+  public void setRingtoneUri(String ringtoneUri) {
+    this.ringtoneUri = ringtoneUri;
+  }
+
+  public String getRrule() {
+    return rrule;
+  }
+
+  /** Sets the RRULE, see {@link RecurrenceRule#parse}. Null reverts to recurrenceType/delay. */
+  public void setRrule(String rrule) {
+    this.rrule = rrule;
+  }
+
+  public boolean hasRrule() {
+    return rrule != null && !rrule.trim().isEmpty();
+  }
+
+  /**
+   * Whether MINUTE/HOUR/DAY periods are added to the local wall-clock time (a daily 08:00
+   * stays at 08:00 across DST) rather than as fixed elapsed millis. MONTH/YEAR and RRULE
+   * reminders always follow wall-clock time.
+   */
+  public boolean isWallClock() {
+    return wallClock;
+  }
+
+  public void setWallClock(boolean wallClock) {
+    this.wallClock = wallClock;
+  }
+
+  /**
+   * Whether the reminder keeps its local time when the device changes zone: a floating
+   * 08:00 fires at 08:00 wherever the device is, while a non-floating one stays at the
+   * instants its start was picked in {@link #getZoneId()}. See {@link #moveToZone}.
+   */
+  public boolean isFloatingZone() {
+    return floatingZone;
+  }
+
+  public void setFloatingZone(boolean floatingZone) {
+    this.floatingZone = floatingZone;
+  }
+
+  /**
+   * Re-anchors the reminder to {@code newZone}, keeping the local date and time of its
+   * start and end, so their instants move by the difference between the zones' offsets.
+   * A local time that falls in a gap of {@code newZone} moves forward by the gap.
+   *
+   * @return false when the reminder is already in {@code newZone}
+   */
+  public boolean moveToZone(ZoneId newZone) {
+    if (newZone.getId().equals(zoneId)) {
+      return false;
+    }
+    startDateMillis = getStartZonedDateTime().withZoneSameLocal(newZone).toInstant().toEpochMilli();
+    if (endDateMillis != null) {
+      endDateMillis = getEndZonedDateTime().withZoneSameLocal(newZone).toInstant().toEpochMilli();
+    }
+    setZoneId(newZone.getId());
+    return true;
+  }
+
+  /**
+   * Scheduling bookkeeping. The DAO bumps {@code scheduleVersion} whenever the schedule
+   * inputs change; the scheduler records the version and alarm time it armed. A reminder
+   * needs (re)scheduling only when the two versions differ or the armed alarm is due.
+   * These fields are not part of {@link #equals}, so recording an alarm does not rebind
+   * list rows.
+   */
+  public long getScheduleVersion() {
+    return scheduleVersion;
+  }
+
+  public void setScheduleVersion(long scheduleVersion) {
+    this.scheduleVersion = scheduleVersion;
+  }
+
+  public long getScheduledVersion() {
+    return scheduledVersion;
+  }
+
+  public void setScheduledVersion(long scheduledVersion) {
+    this.scheduledVersion = scheduledVersion;
+  }
+
+  public Long getScheduledAt() {
+    return scheduledAt;
+  }
+
+  public void setScheduledAt(Long scheduledAt) {
+    this.scheduledAt = scheduledAt;
+  }
+
+  /**
+   * The next pending fire as of the last write: the snooze deadline while snoozed, else
+   * the next occurrence. Null when the reminder is inactive or has no further occurrence.
+   * A value at or before now means that fire is due or was missed. Like the scheduling
+   * bookkeeping it is not part of {@link #equals}: the list derives the next occurrence
+   * once the stored value has passed, and the fire or snooze that moves it also changes
+   * last_fired_at or snoozed_until, which are.
+   */
+  public Long getNextFireAt() {
+    return nextFireAt;
+  }
+
+  public void setNextFireAt(Long nextFireAt) {
+    this.nextFireAt = nextFireAt;
+  }
+
+  /** Whether the scheduler has to look at this reminder at {@code nowMillis}. */
+  public boolean needsScheduling(long nowMillis) {
+    return scheduleVersion != scheduledVersion || (scheduledAt != null && scheduledAt <= nowMillis);
+  }
+
+  /**
+   * Calendar form of {@link #getNextOccurrenceAfter(long)} for UI callers.
+   *
+   * @return a new Calendar in the reminder's zone, or null when there is no next occurrence
+   */
+  public Calendar getNextOccurrenceAfter(Calendar now) {
+    long next = getNextOccurrenceAfter(now.getTimeInMillis());
+    return next == NO_OCCURRENCE ? null : toCalendar(next);
+  }
+
+  /**
+   * Returns the first occurrence strictly after {@code nowMillis}, or
+   * {@link #NO_OCCURRENCE} when the reminder has no further occurrence.
+   * <p>
+   * Compiles a throwaway {@link SchedulePlan}; callers evaluating the same reminders
+   * repeatedly should go through {@link SchedulePlanCache} instead.
+   */
+  public long getNextOccurrenceAfter(long nowMillis) {
+    return SchedulePlan.compile(this).nextAfter(nowMillis);
+  }
+
+  /**
+   * Writes every occurrence in {@code [fromInclusive, toExclusive)} into {@code out}
+   * as epoch millis, in ascending order, without allocating per occurrence.
+   * <p>
+   * When the buffer fills up the remaining occurrences are dropped; continue from the
+   * last returned value + 1. Use {@link OccurrenceCursor} directly to expand many
+   * reminders with a single reusable cursor.
+   *
+   * @return the number of occurrences written to {@code out}
+   */
+  public int occurrencesBetween(long fromInclusive, long toExclusive, long[] out) {
+    return new OccurrenceCursor().reset(this, fromInclusive, toExclusive).drainTo(out, 0);
+  }
+
+  private Calendar toCalendar(long millis) {
+    Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(getZone()));
+    calendar.setTimeInMillis(millis);
+    return calendar;
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return "ReminderDetails{"
+        + "id='" + id + '\''
+        + ", active=" + active
+        + ", name='" + name + '\''
+        + ", startDateMillis=" + startDateMillis
+        + ", recurrenceDelay=" + recurrenceDelay
+        + ", recurrenceType=" + recurrenceType
+        + ", endDateMillis=" + endDateMillis
+        + ", zoneId='" + zoneId + '\''
+        + ", snoozedUntil=" + snoozedUntil
+        + ", lastFiredAt=" + lastFiredAt
+        + ", lastAcknowledgedAt=" + lastAcknowledgedAt
+        + ", ringtoneUri='" + ringtoneUri + '\''
+        + ", rrule='" + rrule + '\''
+        + ", wallClock=" + wallClock
+        + ", floatingZone=" + floatingZone
+        + ", scheduleVersion=" + scheduleVersion
+        + ", scheduledVersion=" + scheduledVersion
+        + ", scheduledAt=" + scheduledAt
+        + ", nextFireAt=" + nextFireAt
+        + '}';
+  }
+
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ReminderModel that = (ReminderModel) o;
+    return id == that.id
+        && active == that.active
+        && startDateMillis == that.startDateMillis
+        && recurrenceDelay == that.recurrenceDelay
+        && recurrenceType == that.recurrenceType
+        && Objects.equals(endDateMillis, that.endDateMillis)
+        && Objects.equals(name, that.name)
+        && Objects.equals(zoneId, that.zoneId)
+        && Objects.equals(snoozedUntil, that.snoozedUntil)
+        && Objects.equals(lastFiredAt, that.lastFiredAt)
+        && Objects.equals(lastAcknowledgedAt, that.lastAcknowledgedAt)
+        && Objects.equals(ringtoneUri, that.ringtoneUri)
+        && Objects.equals(rrule, that.rrule)
+        && wallClock == that.wallClock
+        && floatingZone == that.floatingZone;
+  }
+
+  @Override
+  public int hashCode() {
+    // Hand-rolled to avoid boxing every field through Objects.hash
+    int result = id;
+    result = 31 * result + Boolean.hashCode(active);
+    result = 31 * result + Objects.hashCode(name);
+    result = 31 * result + Long.hashCode(startDateMillis);
+    result = 31 * result + recurrenceDelay;
+    result = 31 * result + Objects.hashCode(recurrenceType);
+    result = 31 * result + Objects.hashCode(endDateMillis);
+    result = 31 * result + Objects.hashCode(zoneId);
+    result = 31 * result + Objects.hashCode(snoozedUntil);
+    result = 31 * result + Objects.hashCode(lastFiredAt);
+    result = 31 * result + Objects.hashCode(lastAcknowledgedAt);
+    result = 31 * result + Objects.hashCode(ringtoneUri);
+    result = 31 * result + Objects.hashCode(rrule);
+    result = 31 * result + Boolean.hashCode(wallClock);
+    result = 31 * result + Boolean.hashCode(floatingZone);
+    return result;
+  }
+}
@@ -0,0 +1,268 @@
+package com.ava.notiva.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Immutable, precompiled form of a {@link ReminderModel}'s schedule.
+ * <p>
+ * Compiling resolves the recurrence branch, interval, end date and NEVER/FOREVER special
+ * cases once and picks a specialized evaluator, so {@link #nextAfter(long)} is straight
+ * primitive math, or a few {@link ZoneTransitions} lookups for MONTH/YEAR and wall-clock
+ * reminders. Reminders with an RRULE get an {@link RRuleEvaluator} with the rule parsed once
+ * into bitsets. Plans are safe to share across threads; {@link SchedulePlanCache} keeps one
+ * per reminder.
+ * <p>
+ * Semantics match {@link ReminderModel#getNextOccurrenceAfter(long)}: the first start +
+ * whole period strictly after "now", or {@link #NONE} once that passes the end date.
+ */
+public final class SchedulePlan {
+
+  /** Returned by {@link #nextAfter(long)} when there is no further occurrence. */
+  public static final long NONE = ReminderModel.NO_OCCURRENCE;
+
+  private static final long NO_END = Long.MAX_VALUE;
+  private static final long MILLIS_PER_DAY = 86_400_000L;
+
+  private final int reminderId;
+
+  // Schedule inputs, kept so a cached plan can be checked against a freshly loaded row
+  private final long startMillis;
+  private final Long endMillis;
+  private final RecurrenceType recurrenceType;
+  private final int recurrenceDelay;
+  private final String zoneId;
+  private final String rrule;
+  private final boolean wallClock;
+
+  private final Evaluator evaluator;
+
+  private SchedulePlan(ReminderModel model, Evaluator evaluator) {
+    this.reminderId = model.getId();
+    this.startMillis = model.getStartDateMillis();
+    this.endMillis = model.getEndDateMillis();
+    this.recurrenceType = model.getRecurrenceType();
+    this.recurrenceDelay = model.getRecurrenceDelay();
+    this.zoneId = model.getZoneId();
+    this.rrule = model.getRrule();
+    this.wallClock = model.isWallClock();
+    this.evaluator = evaluator;
+  }
+
+  /** Compiles the schedule fields of {@code model} into a plan. */
+  public static SchedulePlan compile(ReminderModel model) {
+    long start = model.getStartDateMillis();
+    long end = model.getEndDateMillis() == null ? NO_END : model.getEndDateMillis();
+    RecurrenceType type = model.getRecurrenceType();
+    int delay = model.getRecurrenceDelay();
+
+    Evaluator evaluator;
+    RecurrenceRule rule = parseRule(model.getRrule());
+    if (rule != null) {
+      // An RRULE takes precedence over the simple recurrence type/delay
+      evaluator = new RRuleEvaluator(rule, start, end, ZoneTransitions.of(model.getZone()));
+    } else if (type == null || type == RecurrenceType.NEVER || type == RecurrenceType.FOREVER || delay <= 0) {
+      evaluator = new OneShot(start);
+    } else if (type == RecurrenceType.MONTH || type == RecurrenceType.YEAR) {
+      int stepMonths = type == RecurrenceType.MONTH ? delay : delay * 12;
+      evaluator = new MonthStep(start, end, stepMonths, ZoneTransitions.of(model.getZone()));
+    } else if (model.isWallClock()) {
+      evaluator = new WallClockInterval(start, end, type.getMillis() * delay,
+          ZoneTransitions.of(model.getZone()));
+    } else {
+      evaluator = new FixedInterval(start, end, type.getMillis() * delay);
+    }
+    return new SchedulePlan(model, evaluator);
+  }
+
+  /**
+   * Returns the first occurrence strictly after {@code nowMillis}, or {@link #NONE}.
+   */
+  public long nextAfter(long nowMillis) {
+    return evaluator.nextAfter(nowMillis);
+  }
+
+  public int getReminderId() {
+    return reminderId;
+  }
+
+  public boolean isRecurring() {
+    return !(evaluator instanceof OneShot);
+  }
+
+  /** Returns the parsed rule, or null when absent or unparseable (the plan is then a one-shot). */
+  private static RecurrenceRule parseRule(String rrule) {
+    if (rrule == null || rrule.trim().isEmpty()) {
+      return null;
+    }
+    try {
+      return RecurrenceRule.parse(rrule);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Whether this plan was compiled from the same schedule fields as {@code model}.
+   * Name, active flag and tracking columns do not affect the plan.
+   */
+  public boolean matches(ReminderModel model) {
+    return reminderId == model.getId()
+        && startMillis == model.getStartDateMillis()
+        && recurrenceDelay == model.getRecurrenceDelay()
+        && recurrenceType == model.getRecurrenceType()
+        && Objects.equals(endMillis, model.getEndDateMillis())
+        && zoneId.equals(model.getZoneId())
+        && Objects.equals(rrule, model.getRrule())
+        && wallClock == model.isWallClock();
+  }
+
+  interface Evaluator {
+    long nextAfter(long nowMillis);
+  }
+
+  /** NEVER, FOREVER and non-positive delays: fires once at the start. */
+  private static final class OneShot implements Evaluator {
+    private final long start;
+
+    OneShot(long start) {
+      this.start = start;
+    }
+
+    @Override
+    public long nextAfter(long nowMillis) {
+      return start > nowMillis ? start : NONE;
+    }
+  }
+
+  /** MINUTE, HOUR, DAY: fixed millisecond periods of elapsed time. */
+  private static final class FixedInterval implements Evaluator {
+    private final long start;
+    private final long end;
+    private final long interval;
+
+    FixedInterval(long start, long end, long interval) {
+      this.start = start;
+      this.end = end;
+      this.interval = interval;
+    }
+
+    @Override
+    public long nextAfter(long nowMillis) {
+      long next = start;
+      if (start <= nowMillis) {
+        long intervalsPassed = (nowMillis - start) / interval;
+        next = start + (intervalsPassed + 1) * interval;
+      }
+      return next > end ? NONE : next;
+    }
+  }
+
+  /**
+   * MINUTE, HOUR, DAY in wall-clock mode: periods are added to the start's local time, so a
+   * daily 08:00 stays at 08:00 across DST changes. Occurrence k sits at local time
+   * {@code startLocal + k * interval}, resolved through {@link ZoneTransitions}: skipped
+   * local times move forward by the gap, repeated ones take the later offset. Because
+   * the resolved instants are only monotonic away from transitions, the scan covers every
+   * period whose instant could still beat the best candidate; away from a transition that
+   * is one or two lookups.
+   */
+  private static final class WallClockInterval implements Evaluator {
+    private final long start;
+    private final long end;
+    private final long interval;
+    private final ZoneTransitions transitions;
+    private final long startLocal;
+
+    WallClockInterval(long start, long end, long interval, ZoneTransitions transitions) {
+      this.start = start;
+      this.end = end;
+      this.interval = interval;
+      this.transitions = transitions;
+      this.startLocal = transitions.toLocalMillis(start);
+    }
+
+    @Override
+    public long nextAfter(long nowMillis) {
+      if (start > nowMillis) {
+        return start > end ? NONE : start;
+      }
+      // Offsets that can apply to instants near the answer; an occurrence at local time L
+      // resolves somewhere in [L - hi, L - lo]
+      long shift = transitions.getMaxShift();
+      int lo = transitions.minOffsetBetween(nowMillis - shift, nowMillis + interval + shift);
+      int hi = transitions.maxOffsetBetween(nowMillis - shift, nowMillis + interval + shift);
+
+      // k = 0 is the start itself, which need not round-trip in an overlap
+      long k = Math.max(1, Math.floorDiv(nowMillis + lo - startLocal, interval));
+      long best = Long.MAX_VALUE;
+      while (true) {
+        long local = startLocal + k * interval;
+        if (local - hi >= best || local - hi > end) {
+          break;
+        }
+        long candidate = transitions.toEpochMillis(local);
+        if (candidate > nowMillis && candidate < best) {
+          best = candidate;
+        }
+        k++;
+      }
+      return best > end ? NONE : best;
+    }
+  }
+
+  /**
+   * MONTH, YEAR: whole months added to the start's local date in the reminder's zone.
+   * Each occurrence is computed from the start, so the day-of-month clamps against the
+   * original day (Jan 31, Feb 29, Mar 31). Local times that fall in a DST gap move
+   * forward and repeated times resolve to the later offset, as {@code Calendar.add} does.
+   */
+  private static final class MonthStep implements Evaluator {
+    private final long start;
+    private final long end;
+    private final int stepMonths;
+    private final ZoneTransitions transitions;
+    private final LocalDate startDate;
+    private final long startTimeOfDay;  // local millis since midnight
+    private final long startMonthIndex;
+
+    MonthStep(long start, long end, int stepMonths, ZoneTransitions transitions) {
+      this.start = start;
+      this.end = end;
+      this.stepMonths = stepMonths;
+      this.transitions = transitions;
+      long local = transitions.toLocalMillis(start);
+      this.startDate = LocalDate.ofEpochDay(Math.floorDiv(local, MILLIS_PER_DAY));
+      this.startTimeOfDay = Math.floorMod(local, MILLIS_PER_DAY);
+      this.startMonthIndex = monthIndex(startDate);
+    }
+
+    @Override
+    public long nextAfter(long nowMillis) {
+      long next = start;
+      if (start <= nowMillis) {
+        LocalDate nowDate = LocalDate.ofEpochDay(
+            Math.floorDiv(transitions.toLocalMillis(nowMillis), MILLIS_PER_DAY));
+        long periods = Math.max(0, (monthIndex(nowDate) - startMonthIndex) / stepMonths);
+        next = occurrence(periods * stepMonths);
+        if (next <= nowMillis) {
+          next = occurrence((periods + 1) * stepMonths);
+        }
+      }
+      return next > end ? NONE : next;
+    }
+
+    private long occurrence(long months) {
+      if (months == 0) {
+        // The start need not round-trip through local time in an overlap
+        return start;
+      }
+      LocalDate date = startDate.plusMonths(months);
+      return transitions.toEpochMillis(date.toEpochDay() * MILLIS_PER_DAY + startTimeOfDay);
+    }
+
+    private static long monthIndex(LocalDate date) {
+      return date.getYear() * 12L + date.getMonthValue() - 1;
+    }
+  }
+}
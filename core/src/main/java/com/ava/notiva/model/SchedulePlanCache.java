@@ -0,0 +1,71 @@
+package com.ava.notiva.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of compiled {@link SchedulePlan}s keyed by reminder id.
+ * <p>
+ * A cached plan is reused only while it still {@link SchedulePlan#matches matches} the row
+ * it is asked about, so a stale entry (row edited behind the cache's back) is recompiled
+ * rather than returned. Write paths call {@link #invalidate(int)} so edited or deleted
+ * reminders do not keep dead plans around. Thread-safe: the worker, boot recovery and the
+ * list adapter share a single instance.
+ */
+public class SchedulePlanCache {
+
+  private final ConcurrentHashMap<Integer, SchedulePlan> plans = new ConcurrentHashMap<>();
+
+  /** Returns the plan for {@code model}, compiling and caching it when missing or stale. */
+  public SchedulePlan get(ReminderModel model) {
+    int id = model.getId();
+    SchedulePlan plan = plans.get(id);
+    if (plan != null && plan.matches(model)) {
+      return plan;
+    }
+    plan = SchedulePlan.compile(model);
+    if (id > 0) {
+      // Unsaved reminders (id 0) all share a key, so they are never cached
+      plans.put(id, plan);
+    }
+    return plan;
+  }
+
+  /** Shorthand for {@code get(model).nextAfter(nowMillis)}. */
+  public long nextOccurrenceAfter(ReminderModel model, long nowMillis) {
+    return get(model).nextAfter(nowMillis);
+  }
+
+  /**
+   * The value to persist in next_fire_at for {@code model} as of {@code nowMillis}, see
+   * {@link ReminderModel#getNextFireAt()}. {@code active} is passed separately so a status
+   * toggle can be evaluated before the row is written.
+   */
+  public Long nextFireAt(ReminderModel model, boolean active, long nowMillis) {
+    if (!active) {
+      return null;
+    }
+    Long snoozedUntil = model.getSnoozedUntil();
+    if (snoozedUntil != null && snoozedUntil > nowMillis) {
+      return snoozedUntil;
+    }
+    long next = nextOccurrenceAfter(model, nowMillis);
+    return next == ReminderModel.NO_OCCURRENCE ? null : next;
+  }
+
+  /** {@link #nextFireAt(ReminderModel, boolean, long)} for the row's current active flag. */
+  public Long nextFireAt(ReminderModel model, long nowMillis) {
+    return nextFireAt(model, model.isActive(), nowMillis);
+  }
+
+  public void invalidate(int reminderId) {
+    plans.remove(reminderId);
+  }
+
+  public void clear() {
+    plans.clear();
+  }
+
+  public int size() {
+    return plans.size();
+  }
+}
@@ -0,0 +1,200 @@
+package com.ava.notiva.model;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process counters and timers for scheduling passes. Updates are lock-free
+ * ({@link LongAdder} sums, a {@link LongAccumulator} for timer maxima), so the worker,
+ * boot recovery and targeted reschedules can record from any thread without contending.
+ * <p>
+ * {@link #snapshot()} flattens the registry into named longs for persistence and
+ * {@link #restore} adds such a snapshot back after process death; {@link #toJson()} is
+ * the export format for field reports.
+ */
+public final class SchedulerMetrics {
+
+  /** Monotonic event counts. */
+  public enum Counter {
+    /** Worker and boot recovery passes. */
+    PASSES,
+    /** Reminders rescheduled by targeted calls: write paths, clock and zone changes. */
+    RESCHEDULES,
+    /** Rows a pass loaded and reconciled. */
+    ROWS_SCANNED,
+    ALARMS_SET,
+    ALARMS_CANCELLED,
+    /** Missed fires handed to the service in a batch. */
+    OVERDUE_FIRES,
+    SKIPPED_SNOOZED,
+    /** Inactive, finished or with no next occurrence. */
+    SKIPPED_INACTIVE,
+    /** Next fire beyond the scheduling horizon. */
+    DEFERRED;
+
+    String key() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  /** Durations recorded as count, total and max in milliseconds. */
+  public enum Timer {
+    PASS_DURATION,
+    DB_QUERY;
+
+    String key() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private static final String COUNT = ".count";
+  private static final String TOTAL = ".total_ms";
+  private static final String MAX = ".max_ms";
+
+  private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+  private final Map<Timer, LongAdder> timerCounts = new EnumMap<>(Timer.class);
+  private final Map<Timer, LongAdder> timerTotals = new EnumMap<>(Timer.class);
+  private final Map<Timer, LongAccumulator> timerMaxima = new EnumMap<>(Timer.class);
+
+  public SchedulerMetrics() {
+    // The maps are filled once and only read afterwards, so they need no locking
+    for (Counter counter : Counter.values()) {
+      counters.put(counter, new LongAdder());
+    }
+    for (Timer timer : Timer.values()) {
+      timerCounts.put(timer, new LongAdder());
+      timerTotals.put(timer, new LongAdder());
+      timerMaxima.put(timer, new LongAccumulator(Math::max, 0));
+    }
+  }
+
+  public void increment(Counter counter) {
+    counters.get(counter).increment();
+  }
+
+  public void add(Counter counter, long delta) {
+    if (delta != 0) {
+      counters.get(counter).add(delta);
+    }
+  }
+
+  /** Records one duration; negative values (clock steps) count as 0. */
+  public void record(Timer timer, long millis) {
+    long value = Math.max(0, millis);
+    timerCounts.get(timer).increment();
+    timerTotals.get(timer).add(value);
+    timerMaxima.get(timer).accumulate(value);
+  }
+
+  /** Adds a pass's AlarmManager set and cancel calls. */
+  public void addDelta(AlarmDelta delta) {
+    add(Counter.ALARMS_SET, delta.getSets());
+    add(Counter.ALARMS_CANCELLED, delta.getCancels());
+  }
+
+  public long get(Counter counter) {
+    return counters.get(counter).sum();
+  }
+
+  public long getCount(Timer timer) {
+    return timerCounts.get(timer).sum();
+  }
+
+  public long getTotalMillis(Timer timer) {
+    return timerTotals.get(timer).sum();
+  }
+
+  public long getMaxMillis(Timer timer) {
+    return timerMaxima.get(timer).get();
+  }
+
+  /**
+   * Flattens every value into a name-to-long map: counters under their lower-case name,
+   * timers as {@code <name>.count}, {@code <name>.total_ms} and {@code <name>.max_ms}.
+   * Concurrent updates may land on either side of the snapshot.
+   */
+  public Map<String, Long> snapshot() {
+    Map<String, Long> values = new LinkedHashMap<>();
+    for (Counter counter : Counter.values()) {
+      values.put(counter.key(), get(counter));
+    }
+    for (Timer timer : Timer.values()) {
+      values.put(timer.key() + COUNT, getCount(timer));
+      values.put(timer.key() + TOTAL, getTotalMillis(timer));
+      values.put(timer.key() + MAX, getMaxMillis(timer));
+    }
+    return values;
+  }
+
+  /**
+   * Adds a {@link #snapshot()} taken earlier, e.g. by a previous process, to the current
+   * values. Unknown names and non-numeric values are ignored.
+   */
+  public void restore(Map<String, ?> values) {
+    for (Counter counter : Counter.values()) {
+      add(counter, longValue(values.get(counter.key())));
+    }
+    for (Timer timer : Timer.values()) {
+      long count = longValue(values.get(timer.key() + COUNT));
+      if (count > 0) {
+        timerCounts.get(timer).add(count);
+        timerTotals.get(timer).add(longValue(values.get(timer.key() + TOTAL)));
+        timerMaxima.get(timer).accumulate(longValue(values.get(timer.key() + MAX)));
+      }
+    }
+  }
+
+  /** Zeroes every counter and timer. */
+  public void reset() {
+    for (LongAdder adder : counters.values()) {
+      adder.reset();
+    }
+    for (Timer timer : Timer.values()) {
+      timerCounts.get(timer).reset();
+      timerTotals.get(timer).reset();
+      timerMaxima.get(timer).reset();
+    }
+  }
+
+  /**
+   * Renders the registry as a JSON object, e.g.
+   * {@code {"counters":{"passes":3,...},"timers":{"pass_duration":{"count":3,"total_ms":42,"max_ms":20},...}}}.
+   */
+  public String toJson() {
+    StringBuilder sb = new StringBuilder("{\"counters\":{");
+    Counter[] allCounters = Counter.values();
+    for (int i = 0; i < allCounters.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append('"').append(allCounters[i].key()).append("\":").append(get(allCounters[i]));
+    }
+    sb.append("},\"timers\":{");
+    Timer[] allTimers = Timer.values();
+    for (int i = 0; i < allTimers.length; i++) {
+      Timer timer = allTimers[i];
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append('"').append(timer.key()).append("\":{")
+          .append("\"count\":").append(getCount(timer))
+          .append(",\"total_ms\":").append(getTotalMillis(timer))
+          .append(",\"max_ms\":").append(getMaxMillis(timer))
+          .append('}');
+    }
+    return sb.append("}}").toString();
+  }
+
+  @Override
+  public String toString() {
+    return toJson();
+  }
+
+  private static long longValue(Object value) {
+    return value instanceof Number ? ((Number) value).longValue() : 0;
+  }
+}
@@ -0,0 +1,29 @@
+package com.ava.notiva.model;
+
+/**
+ * Determines how upcoming reminder fires are handed to AlarmManager.
+ */
+public enum SchedulerMode {
+
+  /** One exact alarm per active reminder; each fire starts the service for that reminder. */
+  PER_REMINDER,
+
+  /**
+   * A single alarm at the earliest queued fire. When it goes off every due reminder is
+   * fired in one batch and the alarm is re-armed for the next one, so the number of
+   * registered alarms stays at one however many reminders exist.
+   */
+  SINGLE_WAKEUP;
+
+  /** Parses a stored preference value, falling back to {@link #PER_REMINDER}. */
+  public static SchedulerMode fromPreference(String value) {
+    if (value != null) {
+      for (SchedulerMode mode : values()) {
+        if (mode.name().equals(value)) {
+          return mode;
+        }
+      }
+    }
+    return PER_REMINDER;
+  }
+}
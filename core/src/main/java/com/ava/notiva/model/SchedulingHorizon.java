@@ -0,0 +1,71 @@
+package com.ava.notiva.model;
+
+/**
+ * Look-ahead window for per-reminder alarms. Only reminders whose next fire falls inside
+ * {@code [now, now + horizon]} are armed with AlarmManager; later ones are left in the
+ * table and picked up by a later scheduler pass once the window slides over them. This
+ * bounds the number of registered alarms by how many reminders fire within the window,
+ * not by the size of the table.
+ * <p>
+ * The worker times its next run to the moment the earliest deferred fire enters the window
+ * (see {@link WorkerCadence}), so a fire cannot enter and pass the window between passes.
+ */
+public final class SchedulingHorizon {
+
+  /** Arms every upcoming fire, however far away. */
+  public static final SchedulingHorizon UNLIMITED = new SchedulingHorizon(0);
+
+  public static final int DEFAULT_HOURS = 6;
+
+  private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+  private final long millis;
+
+  private SchedulingHorizon(long millis) {
+    this.millis = millis;
+  }
+
+  /** A horizon of {@code hours}; zero or negative means {@link #UNLIMITED}. */
+  public static SchedulingHorizon ofHours(int hours) {
+    return hours <= 0 ? UNLIMITED : new SchedulingHorizon(hours * MILLIS_PER_HOUR);
+  }
+
+  /** Parses a stored preference value (hours), falling back to {@link #DEFAULT_HOURS}. */
+  public static SchedulingHorizon fromPreference(String value) {
+    if (value != null) {
+      try {
+        return ofHours(Integer.parseInt(value.trim()));
+      } catch (NumberFormatException e) {
+        // Fall through to the default
+      }
+    }
+    return ofHours(DEFAULT_HOURS);
+  }
+
+  public boolean isUnlimited() {
+    return millis == 0;
+  }
+
+  /** Length of the window, 0 when unlimited. */
+  public long getMillis() {
+    return millis;
+  }
+
+  /** Last instant inside the window that starts at {@code nowMillis}. */
+  public long endFrom(long nowMillis) {
+    if (isUnlimited() || nowMillis > Long.MAX_VALUE - millis) {
+      return Long.MAX_VALUE;
+    }
+    return nowMillis + millis;
+  }
+
+  /** Whether a fire at {@code fireAt} should be armed at {@code nowMillis}. */
+  public boolean covers(long fireAt, long nowMillis) {
+    return fireAt <= endFrom(nowMillis);
+  }
+
+  @Override
+  public String toString() {
+    return isUnlimited() ? "SchedulingHorizon{unlimited}" : "SchedulingHorizon{" + millis + "ms}";
+  }
+}
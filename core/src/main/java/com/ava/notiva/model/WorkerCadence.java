@@ -0,0 +1,67 @@
+package com.ava.notiva.model;
+
+/**
+ * Decides when the next scheduler pass has to run, instead of waking on a fixed interval.
+ * <p>
+ * In per-reminder mode a pass is needed at two kinds of instants: just after an armed
+ * alarm fires, to arm that reminder's following occurrence, and when the earliest
+ * deferred fire enters the {@link SchedulingHorizon}, to arm it. Whichever comes first is
+ * the next run; when neither exists (nothing upcoming, or single-wakeup mode where the
+ * wakeup alarm re-queues fires itself) only the long {@link #SAFETY_NET_INTERVAL_HOURS}
+ * periodic pass remains.
+ */
+public final class WorkerCadence {
+
+  /** Interval of the periodic pass kept as a safety net behind the timed runs. */
+  public static final long SAFETY_NET_INTERVAL_HOURS = 12;
+
+  /** The fixed periodic interval the timed runs replace, for counting saved wakeups. */
+  public static final long FIXED_INTERVAL_MILLIS = 15 * 60_000L;
+
+  /** Delay after a fire before the follow-up pass, so the fire is recorded first. */
+  public static final long FOLLOW_UP_DELAY_MILLIS = 30_000L;
+
+  /** Shortest delay ever requested, so an instant already past cannot spin the worker. */
+  public static final long MIN_DELAY_MILLIS = 60_000L;
+
+  private static final long SAFETY_NET_INTERVAL_MILLIS = SAFETY_NET_INTERVAL_HOURS * 3_600_000L;
+
+  private WorkerCadence() {
+    // Utility class
+  }
+
+  /**
+   * Returns when the next pass should run, or null when the safety net alone suffices.
+   *
+   * @param earliestFire         earliest upcoming fire that a pass must follow up, or null
+   * @param earliestDeferredFire earliest fire beyond the horizon, or null
+   */
+  public static Long nextRunAt(
+      long now, Long earliestFire, Long earliestDeferredFire, SchedulingHorizon horizon) {
+    long runAt = Long.MAX_VALUE;
+    if (earliestFire != null) {
+      runAt = saturatingAdd(earliestFire, FOLLOW_UP_DELAY_MILLIS);
+    }
+    if (earliestDeferredFire != null && !horizon.isUnlimited()) {
+      runAt = Math.min(runAt, earliestDeferredFire - horizon.getMillis());
+    }
+    if (runAt == Long.MAX_VALUE || runAt - now >= SAFETY_NET_INTERVAL_MILLIS) {
+      return null;
+    }
+    return Math.max(runAt, now + MIN_DELAY_MILLIS);
+  }
+
+  /**
+   * Wakeups the fixed interval would have spent before {@code nextRunAt} (or before the
+   * safety net when null), minus the one timed run. Negative when the timed run comes
+   * sooner than the fixed interval would have.
+   */
+  public static long wakeupsSaved(long now, Long nextRunAt) {
+    long gap = nextRunAt == null ? SAFETY_NET_INTERVAL_MILLIS : Math.max(0, nextRunAt - now);
+    return gap / FIXED_INTERVAL_MILLIS - 1;
+  }
+
+  private static long saturatingAdd(long a, long b) {
+    return a > Long.MAX_VALUE - b ? Long.MAX_VALUE : a + b;
+  }
+}
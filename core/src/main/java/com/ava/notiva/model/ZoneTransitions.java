@@ -0,0 +1,166 @@
+package com.ava.notiva.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A zone's offset transitions flattened into primitive arrays, cached per zone id.
+ * <p>
+ * Converting between epoch millis and local wall-clock millis (millis since
+ * 1970-01-01T00:00 local) is a binary search over these arrays, with no Calendar,
+ * ZonedDateTime or Instant allocated. Transitions are precomputed between 1900 and 2200;
+ * instants outside that span fall back to {@link ZoneRules}.
+ * <p>
+ * Local times that do not exist (DST gap) move forward by the length of the gap, and
+ * repeated local times (overlap) resolve to the later offset, matching
+ * {@code ZonedDateTime.of(..).withLaterOffsetAtOverlap()} and {@code Calendar.add}.
+ */
+public final class ZoneTransitions {
+
+  private static final long MILLIS_PER_SECOND = 1000L;
+  private static final long WINDOW_START = Instant.parse("1900-01-01T00:00:00Z").toEpochMilli();
+  private static final long WINDOW_END = Instant.parse("2200-01-01T00:00:00Z").toEpochMilli();
+
+  private static final ConcurrentHashMap<String, ZoneTransitions> CACHE = new ConcurrentHashMap<>();
+
+  private final ZoneId zone;
+  private final ZoneRules rules;
+  private final int initialOffset;  // offset before the first transition, in millis
+  private final long[] instants;  // transition instants, ascending
+  private final long[] localStarts;  // first local time that resolves to offsetsAfter[i]
+  private final int[] offsetsAfter;
+  private final long maxShift;  // largest offset change at any transition
+
+  private ZoneTransitions(ZoneId zone) {
+    this.zone = zone;
+    this.rules = zone.getRules();
+    Instant windowStart = Instant.ofEpochMilli(WINDOW_START);
+    this.initialOffset = rules.getOffset(windowStart).getTotalSeconds() * (int) MILLIS_PER_SECOND;
+
+    List<ZoneOffsetTransition> transitions = new ArrayList<>();
+    ZoneOffsetTransition transition = rules.nextTransition(windowStart);
+    while (transition != null && transition.toEpochSecond() * MILLIS_PER_SECOND < WINDOW_END) {
+      transitions.add(transition);
+      transition = rules.nextTransition(transition.getInstant());
+    }
+
+    int size = transitions.size();
+    this.instants = new long[size];
+    this.localStarts = new long[size];
+    this.offsetsAfter = new int[size];
+    long shift = 0;
+    for (int i = 0; i < size; i++) {
+      ZoneOffsetTransition t = transitions.get(i);
+      int before = t.getOffsetBefore().getTotalSeconds() * (int) MILLIS_PER_SECOND;
+      int after = t.getOffsetAfter().getTotalSeconds() * (int) MILLIS_PER_SECOND;
+      instants[i] = t.toEpochSecond() * MILLIS_PER_SECOND;
+      localStarts[i] = instants[i] + after;
+      offsetsAfter[i] = after;
+      shift = Math.max(shift, Math.abs((long) after - before));
+    }
+    this.maxShift = shift;
+  }
+
+  /** Returns the shared instance for {@code zone}, building it on first use. */
+  public static ZoneTransitions of(ZoneId zone) {
+    ZoneTransitions cached = CACHE.get(zone.getId());
+    if (cached == null) {
+      cached = CACHE.computeIfAbsent(zone.getId(), id -> new ZoneTransitions(zone));
+    }
+    return cached;
+  }
+
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  /** Whether the zone never changes offset within the precomputed span. */
+  public boolean isFixed() {
+    return instants.length == 0;
+  }
+
+  /** Largest absolute offset change at any transition, in millis; 0 for fixed zones. */
+  public long getMaxShift() {
+    return maxShift;
+  }
+
+  /** UTC offset in effect at {@code epochMillis}, in millis. */
+  public int offsetAt(long epochMillis) {
+    if (outsideWindow(epochMillis)) {
+      return rules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * (int) MILLIS_PER_SECOND;
+    }
+    int i = floorIndex(instants, epochMillis);
+    return i < 0 ? initialOffset : offsetsAfter[i];
+  }
+
+  /** Local wall-clock millis for an instant. */
+  public long toLocalMillis(long epochMillis) {
+    return epochMillis + offsetAt(epochMillis);
+  }
+
+  /**
+   * Epoch millis for a local wall-clock time. Gap times move forward by the gap length;
+   * overlap times take the later offset.
+   */
+  public long toEpochMillis(long localMillis) {
+    if (outsideWindow(localMillis)) {
+      LocalDateTime local = LocalDateTime.ofEpochSecond(
+          Math.floorDiv(localMillis, MILLIS_PER_SECOND),
+          (int) Math.floorMod(localMillis, MILLIS_PER_SECOND) * 1_000_000, ZoneOffset.UTC);
+      return ZonedDateTime.of(local, zone).withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+    }
+    // The latest transition whose post-transition local times have started. Inside a gap
+    // that is the previous period, whose offset pushes the time forward past the gap.
+    int i = floorIndex(localStarts, localMillis);
+    return localMillis - (i < 0 ? initialOffset : offsetsAfter[i]);
+  }
+
+  /** Smallest offset in effect at any instant in {@code [fromMillis, toMillis]}. */
+  public int minOffsetBetween(long fromMillis, long toMillis) {
+    int min = offsetAt(fromMillis);
+    for (int i = firstIndexAfter(fromMillis); i < instants.length && instants[i] <= toMillis; i++) {
+      min = Math.min(min, offsetsAfter[i]);
+    }
+    return Math.min(min, offsetAt(toMillis));
+  }
+
+  /** Largest offset in effect at any instant in {@code [fromMillis, toMillis]}. */
+  public int maxOffsetBetween(long fromMillis, long toMillis) {
+    int max = offsetAt(fromMillis);
+    for (int i = firstIndexAfter(fromMillis); i < instants.length && instants[i] <= toMillis; i++) {
+      max = Math.max(max, offsetsAfter[i]);
+    }
+    return Math.max(max, offsetAt(toMillis));
+  }
+
+  private int firstIndexAfter(long epochMillis) {
+    return floorIndex(instants, epochMillis) + 1;
+  }
+
+  private static boolean outsideWindow(long millis) {
+    // Widened by a day so local times near the edges still resolve from the arrays
+    return millis < WINDOW_START + 86_400_000L || millis >= WINDOW_END - 86_400_000L;
+  }
+
+  /** Index of the last element {@code <= key}, or -1. */
+  private static int floorIndex(long[] sorted, long key) {
+    int i = Arrays.binarySearch(sorted, key);
+    return i >= 0 ? lastEqual(sorted, i) : -i - 2;
+  }
+
+  private static int lastEqual(long[] sorted, int i) {
+    while (i + 1 < sorted.length && sorted[i + 1] == sorted[i]) {
+      i++;
+    }
+    return i;
+  }
+}
@@ -1,9 +1,5 @@
 package com.ava.notiva.util;
 
-import android.content.Context;
-
-import com.ava.notiva.R;
-
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Locale;
@@ -26,7 +22,7 @@ public class DateTimeDisplayUtil {
     }
   }
 
-  public static String getFriendlyDate(Context context, Calendar date) {
+  public static String getFriendlyDate(FriendlyDateLabels labels, Calendar date) {
     Calendar today = Calendar.getInstance();
     Calendar tomorrow = (Calendar) today.clone();
     tomorrow.add(Calendar.DATE, 1);
@@ -34,10 +30,10 @@ public class DateTimeDisplayUtil {
     String prefix = "";
     if (date.get(Calendar.YEAR) == today.get(Calendar.YEAR) &&
         date.get(Calendar.DAY_OF_YEAR) == today.get(Calendar.DAY_OF_YEAR)) {
-      prefix = context.getString(R.string.display_today_prefix);
+      prefix = labels.getTodayPrefix();
     } else if (date.get(Calendar.YEAR) == tomorrow.get(Calendar.YEAR) &&
         date.get(Calendar.DAY_OF_YEAR) == tomorrow.get(Calendar.DAY_OF_YEAR)) {
-      prefix = context.getString(R.string.display_tomorrow_prefix);
+      prefix = labels.getTomorrowPrefix();
     }
 
     SimpleDateFormat sdf;
@@ -55,7 +51,7 @@ public class DateTimeDisplayUtil {
     return sdf.format(date.getTime());
   }
 
-  public static String getFriendlyDateTimeSingleLine(Context context, Calendar dateTime) {
+  public static String getFriendlyDateTimeSingleLine(FriendlyDateLabels labels, Calendar dateTime) {
     Calendar today = Calendar.getInstance();
     Calendar tomorrow = (Calendar) today.clone();
     tomorrow.add(Calendar.DATE, 1);
@@ -64,10 +60,10 @@ public class DateTimeDisplayUtil {
 
     if (dateTime.get(Calendar.YEAR) == today.get(Calendar.YEAR) &&
         dateTime.get(Calendar.DAY_OF_YEAR) == today.get(Calendar.DAY_OF_YEAR)) {
-      return context.getString(R.string.display_today_singleline, timeStr);
+      return String.format(Locale.getDefault(), labels.getTodaySingleLine(), timeStr);
     } else if (dateTime.get(Calendar.YEAR) == tomorrow.get(Calendar.YEAR) &&
         dateTime.get(Calendar.DAY_OF_YEAR) == tomorrow.get(Calendar.DAY_OF_YEAR)) {
-      return context.getString(R.string.display_tomorrow_singleline, timeStr);
+      return String.format(Locale.getDefault(), labels.getTomorrowSingleLine(), timeStr);
     } else {
       SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, d MMM yyyy", Locale.getDefault());
       return dateFormat.format(dateTime.getTime()) + ", " + timeStr;
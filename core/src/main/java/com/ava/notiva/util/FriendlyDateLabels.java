@@ -0,0 +1,43 @@
+package com.ava.notiva.util;
+
+/**
+ * Localized labels used by {@link DateTimeDisplayUtil}, resolved once by the caller so
+ * the formatting code does not depend on Android resources.
+ */
+public final class FriendlyDateLabels {
+
+  private final String todayPrefix;
+  private final String tomorrowPrefix;
+  private final String todaySingleLine;
+  private final String tomorrowSingleLine;
+
+  /**
+   * @param todayPrefix        prepended to today's date, e.g. "Today-"
+   * @param tomorrowPrefix     prepended to tomorrow's date, e.g. "Tomorrow-"
+   * @param todaySingleLine    format with one {@code %1$s} time argument, e.g. "Today, %1$s"
+   * @param tomorrowSingleLine format with one {@code %1$s} time argument, e.g. "Tomorrow, %1$s"
+   */
+  public FriendlyDateLabels(String todayPrefix, String tomorrowPrefix,
+                            String todaySingleLine, String tomorrowSingleLine) {
+    this.todayPrefix = todayPrefix;
+    this.tomorrowPrefix = tomorrowPrefix;
+    this.todaySingleLine = todaySingleLine;
+    this.tomorrowSingleLine = tomorrowSingleLine;
+  }
+
+  public String getTodayPrefix() {
+    return todayPrefix;
+  }
+
+  public String getTomorrowPrefix() {
+    return tomorrowPrefix;
+  }
+
+  public String getTodaySingleLine() {
+    return todaySingleLine;
+  }
+
+  public String getTomorrowSingleLine() {
+    return tomorrowSingleLine;
+  }
+}
@@ -5,6 +5,12 @@ public class ReminderConstants {
 
   public static final String ACTION_SNOOZE = "Snooze";
   public static final String ACTION_DISMISS = "Dismiss";
+  /** Single-wakeup scheduler alarm: fire every due reminder, then arm the next wakeup. */
+  public static final String ACTION_WAKEUP = "Wakeup";
+  /** Fire several overdue reminders in one service start (see {@link #REMINDER_IDS}). */
+  public static final String ACTION_FIRE_BATCH = "FireBatch";
+  /** Storm-mode summary dismissed: acknowledge every reminder folded into it. */
+  public static final String ACTION_DISMISS_ALL = "DismissAll";
   public static final long DEFAULT_SNOOZE_TIME_10_MINUTES = 10 * 1000L;
   public static final String CHANNEL_ID = "NOTIVA_CHANNEL";
   public static final String CHANNEL_NAME = "com.ava.notiva";
@@ -19,6 +25,10 @@ public class ReminderConstants {
   public static final String REMINDER_RECURRENCE_DELAY = "com.ava.notiva.REMINDER_REC_DELAY";
   public static final String REMINDER_RECURRENCE_TYPE = "com.ava.notiva.REMINDER_REC_TYPE";
   public static final String REMINDER_END_TIME = "com.ava.notiva.REMINDER_END_TIME";
+  public static final String REMINDER_ZONE_ID = "com.ava.notiva.REMINDER_ZONE_ID";
+  public static final String REMINDER_RRULE = "com.ava.notiva.REMINDER_RRULE";
+  public static final String REMINDER_WALL_CLOCK = "com.ava.notiva.REMINDER_WALL_CLOCK";
+  public static final String REMINDER_FLOATING_ZONE = "com.ava.notiva.REMINDER_FLOATING_ZONE";
   private static final int MAX_RECURRENCE_NUMBER = 1000;
 
   // --- Phase 14: Notification grouping and collapse constants ---
@@ -44,6 +54,12 @@ public class ReminderConstants {
   /** Intent extra key for passing the scheduled fire epoch time (UTC millis). */
   public static final String SCHEDULED_FIRE_EPOCH = "com.ava.notiva.SCHEDULED_FIRE_EPOCH";
 
+  /** Intent extra key for the int[] of reminder ids in a fire batch. */
+  public static final String REMINDER_IDS = "com.ava.notiva.REMINDER_IDS";
+
+  /** Intent extra key for the long[] of scheduled fire epochs, parallel to REMINDER_IDS. */
+  public static final String SCHEDULED_FIRE_EPOCHS = "com.ava.notiva.SCHEDULED_FIRE_EPOCHS";
+
   /**
    * Per-reminder collapse threshold. When a single reminder has this many
    * or more active (unacknowledged) notifications, only the latest is kept
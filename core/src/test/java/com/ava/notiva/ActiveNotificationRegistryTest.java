@@ -0,0 +1,184 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.ActiveNotificationRegistry;
+import com.ava.notiva.model.CollapseStrategy;
+import com.ava.notiva.model.NotificationPolicy;
+import com.ava.notiva.model.SoundStrategy;
+import com.ava.notiva.util.NotificationIdGenerator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link ActiveNotificationRegistry}.
+ */
+public class ActiveNotificationRegistryTest {
+
+    private static final long BASE_EPOCH = 1_700_000_000_000L;
+
+    private ActiveNotificationRegistry<String> registry;
+
+    @Before
+    public void setUp() {
+        registry = new ActiveNotificationRegistry<>(3, 5);
+    }
+
+    private static int id(int reminderId, int fire) {
+        return NotificationIdGenerator.generate(reminderId, BASE_EPOCH + fire * 60_000L);
+    }
+
+    // ==================== Add and remove ====================
+
+    @Test
+    public void add_recordsNotificationsPerReminder() {
+        assertEquals(0, registry.add(id(1, 0), "a").length);
+        assertEquals(0, registry.add(id(1, 1), "a").length);
+        assertEquals(0, registry.add(id(2, 0), "b").length);
+
+        assertEquals(3, registry.size());
+        assertEquals(2, registry.reminderCount());
+        assertTrue(registry.contains(id(1, 1)));
+        assertFalse(registry.contains(id(2, 1)));
+    }
+
+    @Test
+    public void add_sameIdReplacesPayload() {
+        registry.add(id(1, 0), "old");
+        registry.add(id(1, 0), "new");
+
+        List<String> payloads = new ArrayList<>();
+        registry.forEach((payload, notificationId) -> payloads.add(payload));
+        assertEquals(List.of("new"), payloads);
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void remove_dropsEmptyReminders() {
+        registry.add(id(1, 0), "a");
+        registry.add(id(1, 1), "a");
+
+        assertTrue(registry.remove(id(1, 0)));
+        assertEquals(1, registry.reminderCount());
+        assertTrue(registry.remove(id(1, 1)));
+        assertEquals(0, registry.reminderCount());
+        assertEquals(0, registry.size());
+        assertFalse(registry.remove(id(1, 1)));
+    }
+
+    // ==================== Per-reminder collapse ====================
+
+    @Test
+    public void add_atPerReminderLimit_keepsOnlyLatest() {
+        registry.add(id(1, 0), "a");
+        registry.add(id(1, 1), "a");
+        int[] collapsed = registry.add(id(1, 2), "a");
+
+        int[] expected = {id(1, 0), id(1, 1)};
+        assertArrayEquals(expected, collapsed);
+        assertEquals(1, registry.size());
+        assertTrue(registry.contains(id(1, 2)));
+    }
+
+    @Test
+    public void add_belowPerReminderLimitAfterRemove_doesNotCollapse() {
+        registry.add(id(1, 0), "a");
+        registry.add(id(1, 1), "a");
+        registry.remove(id(1, 0));
+
+        assertEquals(0, registry.add(id(1, 2), "a").length);
+        assertEquals(2, registry.size());
+    }
+
+    // ==================== Global collapse ====================
+
+    @Test
+    public void add_overMaxActive_collapsesEveryRepeatedReminder() {
+        registry.add(id(1, 0), "a");
+        registry.add(id(1, 1), "a");
+        registry.add(id(2, 0), "b");
+        registry.add(id(2, 1), "b");
+        registry.add(id(3, 0), "c");
+        int[] collapsed = registry.add(id(4, 0), "d");
+
+        Arrays.sort(collapsed);
+        int[] expected = {id(1, 0), id(2, 0)};
+        Arrays.sort(expected);
+        assertArrayEquals(expected, collapsed);
+        assertEquals(4, registry.size());
+        assertEquals(4, registry.reminderCount());
+    }
+
+    @Test
+    public void add_overMaxActiveWithDistinctReminders_collapsesNothing() {
+        for (int reminder = 1; reminder <= 8; reminder++) {
+            assertEquals(0, registry.add(id(reminder, 0), "r").length);
+        }
+        assertEquals(8, registry.size());
+    }
+
+    @Test
+    public void add_overMaxActive_collapsesEachNewRepeat() {
+        for (int reminder = 1; reminder <= 4; reminder++) {
+            registry.add(id(reminder, 0), "r");
+        }
+        registry.add(id(5, 0), "e");
+        registry.add(id(5, 1), "e");
+        // Six active: reminder 5 collapses under the global rule
+        assertEquals(5, registry.size());
+
+        registry.add(id(6, 0), "f");
+        registry.add(id(6, 1), "f");
+        assertEquals(6, registry.size());
+    }
+
+    // ==================== Table growth ====================
+
+    @Test
+    public void manyReminders_surviveResizes() {
+        ActiveNotificationRegistry<String> large = new ActiveNotificationRegistry<>(3, 10_000);
+        for (int reminder = 1; reminder <= 500; reminder++) {
+            large.add(id(reminder, 0), "r" + reminder);
+        }
+        for (int reminder = 1; reminder <= 500; reminder++) {
+            assertTrue(large.contains(id(reminder, 0)));
+        }
+        for (int reminder = 1; reminder <= 500; reminder += 2) {
+            assertTrue(large.remove(id(reminder, 0)));
+        }
+        assertEquals(250, large.size());
+        assertEquals(250, large.reminderCount());
+    }
+
+    @Test
+    public void clear_forgetsEverything() {
+        registry.add(id(1, 0), "a");
+        registry.add(id(1, 1), "a");
+        registry.clear();
+
+        assertEquals(0, registry.size());
+        assertFalse(registry.contains(id(1, 0)));
+        assertEquals(0, registry.add(id(1, 2), "a").length);
+    }
+
+    @Test
+    public void forPolicy_replaceKeepsOnlyLatestPerReminder() {
+        ActiveNotificationRegistry<String> replace = ActiveNotificationRegistry.forPolicy(
+                new NotificationPolicy(CollapseStrategy.REPLACE, SoundStrategy.ONCE, 5));
+        replace.add(id(1, 0), "a");
+        int[] collapsed = replace.add(id(1, 1), "a");
+
+        assertArrayEquals(new int[]{id(1, 0)}, collapsed);
+        assertEquals(1, replace.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsPerReminderLimitBelowTwo() {
+        new ActiveNotificationRegistry<String>(1, 5);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.AlarmDelta;
+import com.ava.notiva.model.AlarmDelta.Op;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AlarmDelta}.
+ */
+public class AlarmDeltaTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    public void isPending_onlyWhileRecordedAlarmIsAhead() {
+        assertFalse(AlarmDelta.isPending(null, NOW));
+        assertFalse(AlarmDelta.isPending(NOW, NOW));
+        assertTrue(AlarmDelta.isPending(NOW + 1, NOW));
+    }
+
+    @Test
+    public void toArm_samePendingAlarm_isNoop() {
+        assertEquals(Op.NOOP, AlarmDelta.toArm(NOW + 5_000L, NOW + 5_000L, NOW));
+    }
+
+    @Test
+    public void toArm_movedMissingOrDeliveredAlarm_isSet() {
+        assertEquals(Op.SET, AlarmDelta.toArm(NOW + 5_000L, NOW + 9_000L, NOW));
+        assertEquals(Op.SET, AlarmDelta.toArm(null, NOW + 9_000L, NOW));
+        assertEquals("A delivered alarm is gone even if the time matches",
+                Op.SET, AlarmDelta.toArm(NOW - 1, NOW - 1, NOW));
+    }
+
+    @Test
+    public void toDisarm_cancelsOnlyPendingAlarm() {
+        assertEquals(Op.CANCEL, AlarmDelta.toDisarm(NOW + 1, NOW));
+        assertEquals(Op.NOOP, AlarmDelta.toDisarm(NOW, NOW));
+        assertEquals(Op.NOOP, AlarmDelta.toDisarm(null, NOW));
+    }
+
+    @Test
+    public void count_talliesEachOp() {
+        AlarmDelta delta = new AlarmDelta();
+
+        assertEquals(Op.SET, delta.count(Op.SET));
+        delta.count(Op.SET);
+        delta.count(Op.CANCEL);
+        delta.count(Op.NOOP);
+
+        assertEquals(2, delta.getSets());
+        assertEquals(1, delta.getCancels());
+        assertEquals(1, delta.getNoops());
+        assertEquals("2 sets, 1 cancels, 1 no-ops", delta.toString());
+    }
+}
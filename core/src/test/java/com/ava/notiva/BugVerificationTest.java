@@ -86,21 +86,23 @@ public class BugVerificationTest {
 
     /**
      * Bug #7: ReminderModel.equals() throws NPE when startDateTime is null - FIXED
-     * File: ReminderModel.java:177
+     * File: ReminderModel.java
      *
      * Previous behavior: Threw NullPointerException
-     * Fixed behavior: Handles null startDateTime using Objects.equals()
+     * Fixed behavior: start is a primitive epoch-millis column and can no longer be null,
+     * so equals() compares it directly; a null Calendar is rejected at the setter.
      */
     @Test
-    public void bug7_equals_nullStartDateTime_handledCorrectly() {
+    public void bug7_equals_sameStartMillis_handledCorrectly() {
         ReminderModel model1 = new ReminderModel();
-        model1.setStartDateTime(null);
+        model1.setStartDateMillis(0L);
 
         ReminderModel model2 = new ReminderModel();
-        model2.setStartDateTime(null);
+        model2.setStartDateMillis(0L);
+        model2.setZoneId(model1.getZoneId());
 
-        // FIXED: Now uses Objects.equals() so null values are handled correctly
-        assertTrue("equals() should handle null startDateTime", model1.equals(model2));
+        assertTrue("equals() should compare start millis", model1.equals(model2));
+        assertThrows(NullPointerException.class, () -> model1.setStartDateTime(null));
     }
 
     /**
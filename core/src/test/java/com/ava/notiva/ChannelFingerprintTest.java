@@ -0,0 +1,58 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.ChannelFingerprint;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ChannelFingerprint}.
+ */
+public class ChannelFingerprintTest {
+
+    private static final String BASE = "NOTIVA_CHANNEL";
+    private static final String ALARM_URI = "content://settings/system/alarm_alert";
+
+    // ==================== Fingerprint ====================
+
+    @Test
+    public void of_isStableAndEightHexDigits() {
+        String fingerprint = ChannelFingerprint.of(ALARM_URI, true);
+
+        assertEquals(fingerprint, ChannelFingerprint.of(ALARM_URI, true));
+        assertTrue(fingerprint.matches("[0-9a-f]{8}"));
+    }
+
+    @Test
+    public void of_changesWithEachSetting() {
+        String base = ChannelFingerprint.of(ALARM_URI, true);
+
+        assertNotEquals(base, ChannelFingerprint.of(ALARM_URI, false));
+        assertNotEquals(base, ChannelFingerprint.of("content://media/internal/audio/media/12", true));
+        assertNotEquals(base, ChannelFingerprint.of(null, true));
+    }
+
+    // ==================== Channel ids ====================
+
+    @Test
+    public void channelId_separatesSoundingAndSilentVariants() {
+        String sounding = ChannelFingerprint.channelId(BASE, ALARM_URI, true);
+        String silent = ChannelFingerprint.channelId(BASE, null, true);
+
+        assertTrue(sounding.startsWith(BASE + "_"));
+        assertFalse(sounding.startsWith(BASE + "_burst_"));
+        assertTrue(silent.startsWith(BASE + "_burst_"));
+        assertNotEquals(sounding, silent);
+    }
+
+    @Test
+    public void belongsTo_matchesVersionedAndLegacyIdsOnly() {
+        assertTrue(ChannelFingerprint.belongsTo(BASE, ChannelFingerprint.channelId(BASE, ALARM_URI, false)));
+        assertTrue(ChannelFingerprint.belongsTo(BASE, BASE));
+        assertTrue(ChannelFingerprint.belongsTo(BASE, BASE + "_burst"));
+        assertFalse(ChannelFingerprint.belongsTo(BASE, "NOTIVA_FOREGROUND_CHANNEL"));
+        assertFalse(ChannelFingerprint.belongsTo(BASE, "NOTIVA_SUMMARY_CHANNEL"));
+        assertFalse(ChannelFingerprint.belongsTo(BASE, BASE + "2"));
+    }
+}
@@ -3,6 +3,7 @@ package com.ava.notiva;
 import static org.junit.Assert.*;
 
 import com.ava.notiva.util.DateTimeDisplayUtil;
+import com.ava.notiva.util.FriendlyDateLabels;
 import com.ava.notiva.util.FriendlyDateType;
 
 import org.junit.Test;
@@ -12,11 +13,12 @@ import java.util.Calendar;
 /**
  * Unit tests for {@link DateTimeDisplayUtil}.
  * Tests date/time formatting utilities.
- * Note: Methods requiring Context (getFriendlyDate, getFriendlyDateTimeSingleLine)
- * are tested in instrumented tests.
  */
 public class DateTimeDisplayUtilTest {
 
+    private static final FriendlyDateLabels LABELS =
+            new FriendlyDateLabels("Today-", "Tomorrow-", "Today, %1$s", "Tomorrow, %1$s");
+
     // ==================== getFriendlyDateType Tests ====================
 
     @Test
@@ -259,4 +261,35 @@ public class DateTimeDisplayUtilTest {
         assertTrue("Should contain 10:30", result.contains("10:30"));
         assertTrue("Should contain AM indicator", result.toUpperCase().contains("AM"));
     }
+
+    // ==================== Label-based formatting Tests ====================
+
+    @Test
+    public void getFriendlyDate_todayAndTomorrow_usePrefixes() {
+        Calendar today = Calendar.getInstance();
+        Calendar tomorrow = Calendar.getInstance();
+        tomorrow.add(Calendar.DATE, 1);
+
+        assertTrue(DateTimeDisplayUtil.getFriendlyDate(LABELS, today).startsWith("Today-"));
+        assertTrue(DateTimeDisplayUtil.getFriendlyDate(LABELS, tomorrow).startsWith("Tomorrow-"));
+    }
+
+    @Test
+    public void getFriendlyDate_otherYear_includesYearWithoutPrefix() {
+        Calendar date = Calendar.getInstance();
+        date.add(Calendar.YEAR, 2);
+
+        String result = DateTimeDisplayUtil.getFriendlyDate(LABELS, date);
+
+        assertFalse(result.startsWith("To"));
+        assertTrue(result.endsWith(String.valueOf(date.get(Calendar.YEAR))));
+    }
+
+    @Test
+    public void getFriendlyDateTimeSingleLine_today_formatsTimeIntoLabel() {
+        Calendar today = Calendar.getInstance();
+
+        assertEquals("Today, " + DateTimeDisplayUtil.getFriendlyTime(today),
+                DateTimeDisplayUtil.getFriendlyDateTimeSingleLine(LABELS, today));
+    }
 }
@@ -0,0 +1,64 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.FireBatch;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link FireBatch}.
+ */
+public class FireBatchTest {
+
+    @Test
+    public void newBatch_isEmpty() {
+        FireBatch batch = new FireBatch();
+
+        assertTrue(batch.isEmpty());
+        assertEquals(0, batch.size());
+        assertArrayEquals(new int[0], batch.getIds());
+        assertArrayEquals(new long[0], batch.getEpochs());
+    }
+
+    @Test
+    public void add_keepsIdsAndEpochsParallelPastInitialCapacity() {
+        FireBatch batch = new FireBatch();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(batch.add(100 + i, 5_000L * i));
+        }
+
+        assertEquals(10, batch.size());
+        int[] ids = batch.getIds();
+        long[] epochs = batch.getEpochs();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(100 + i, ids[i]);
+            assertEquals(5_000L * i, epochs[i]);
+        }
+    }
+
+    @Test
+    public void add_duplicateReminder_keepsFirstEpoch() {
+        FireBatch batch = new FireBatch();
+        batch.add(7, 1_000L);
+
+        assertFalse(batch.add(7, 2_000L));
+        assertEquals(1, batch.size());
+        assertArrayEquals(new long[]{1_000L}, batch.getEpochs());
+    }
+
+    @Test
+    public void checkParallel_acceptsMatchingArrays() {
+        FireBatch.checkParallel(new int[]{1, 2}, new long[]{10L, 20L});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkParallel_rejectsLengthMismatch() {
+        FireBatch.checkParallel(new int[]{1, 2}, new long[]{10L});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkParallel_rejectsMissingArray() {
+        FireBatch.checkParallel(new int[]{1}, null);
+    }
+}
@@ -0,0 +1,150 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.LatencyHistogram;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+    // ==================== Percentiles ====================
+
+    @Test
+    public void empty_reportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0, histogram.percentile(99));
+    }
+
+    @Test
+    public void smallValues_areExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 0; v <= 8; v++) {
+            histogram.record(v);
+        }
+
+        assertEquals(9, histogram.getCount());
+        assertEquals(4, histogram.percentile(50));
+        assertEquals(8, histogram.percentile(100));
+    }
+
+    @Test
+    public void percentiles_stayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) {
+            histogram.record(v);
+        }
+
+        assertWithin(5_000, histogram.percentile(50));
+        assertWithin(9_500, histogram.percentile(95));
+        assertWithin(9_900, histogram.percentile(99));
+        assertEquals("Never reports above the largest sample", 10_000, histogram.percentile(100));
+    }
+
+    @Test
+    public void percentile_isNeverBelowTheTrueValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        histogram.record(1_000_000);
+
+        assertTrue(histogram.percentile(50) >= 1_000);
+        assertEquals(1_000_000, histogram.percentile(99));
+    }
+
+    @Test
+    public void record_negativeCountsAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-250);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void record_hugeValues_doNotOverflow() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(Long.MAX_VALUE / 3);
+
+        assertEquals(Long.MAX_VALUE, histogram.percentile(100));
+        assertWithin(Long.MAX_VALUE / 3, histogram.percentile(50));
+    }
+
+    @Test
+    public void clear_dropsAllSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+
+        histogram.clear();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals("", histogram.encode());
+    }
+
+    // ==================== Encoding ====================
+
+    @Test
+    public void encodeDecode_preservesPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 0; v < 500; v += 7) {
+            histogram.record(v * v);
+        }
+
+        LatencyHistogram decoded = LatencyHistogram.decode(histogram.encode());
+
+        assertEquals(histogram.getCount(), decoded.getCount());
+        assertEquals(histogram.percentile(50), decoded.percentile(50));
+        assertEquals(histogram.percentile(95), decoded.percentile(95));
+    }
+
+    @Test
+    public void decode_skipsMalformedEntries() {
+        LatencyHistogram decoded = LatencyHistogram.decode("3:2,bogus,x:1,99999:4,5:-1,9:1");
+
+        assertEquals(3, decoded.getCount());
+    }
+
+    @Test
+    public void decode_nullOrEmpty_isEmpty() {
+        assertEquals(0, LatencyHistogram.decode(null).getCount());
+        assertEquals(0, LatencyHistogram.decode("").getCount());
+    }
+
+    // ==================== Concurrency ====================
+
+    @Test
+    public void record_fromSeveralThreads_keepsEverySample() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i % 500);
+                    if (i % 1_000 == 0) {
+                        histogram.encode();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(40_000, LatencyHistogram.decode(histogram.encode()).getCount());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("Expected ~" + expected + " but was " + actual,
+                actual >= expected && actual <= expected + expected / 8);
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.*;
 import com.ava.notiva.model.CollapseStrategy;
 import com.ava.notiva.model.NotificationPolicy;
 import com.ava.notiva.model.SoundStrategy;
+import com.ava.notiva.util.ReminderConstants;
 
 import org.junit.Test;
 
@@ -84,6 +85,70 @@ public class NotificationPolicyTest {
         assertTrue(result.contains("5"));
     }
 
+    // ==================== NotificationPolicy.equals() ====================
+
+    @Test
+    public void equals_comparesAllFields() {
+        assertEquals(NotificationPolicy.defaults(), NotificationPolicy.defaults());
+        assertEquals(NotificationPolicy.defaults().hashCode(), NotificationPolicy.defaults().hashCode());
+        assertNotEquals(NotificationPolicy.defaults(),
+                new NotificationPolicy(CollapseStrategy.STACK, SoundStrategy.ONCE, 6));
+        assertNotEquals(NotificationPolicy.defaults(),
+                new NotificationPolicy(CollapseStrategy.STACK, SoundStrategy.EVERY_FIRE, 5));
+    }
+
+    // ==================== Collapse strategies ====================
+
+    @Test
+    public void perReminderLimit_replaceKeepsOne_othersUseThreshold() {
+        assertEquals(2, new NotificationPolicy(CollapseStrategy.REPLACE, SoundStrategy.ONCE, 5)
+                .getPerReminderLimit());
+        assertEquals(ReminderConstants.PER_REMINDER_COLLAPSE_THRESHOLD,
+                NotificationPolicy.defaults().getPerReminderLimit());
+        assertEquals(ReminderConstants.PER_REMINDER_COLLAPSE_THRESHOLD,
+                new NotificationPolicy(CollapseStrategy.SUMMARY_ONLY, SoundStrategy.ONCE, 5)
+                        .getPerReminderLimit());
+    }
+
+    @Test
+    public void isStorm_onlySummaryOnlyAboveMaxActive() {
+        NotificationPolicy summaryOnly =
+                new NotificationPolicy(CollapseStrategy.SUMMARY_ONLY, SoundStrategy.ONCE, 5);
+
+        assertFalse(summaryOnly.isStorm(5));
+        assertTrue(summaryOnly.isStorm(6));
+        assertFalse(NotificationPolicy.defaults().isStorm(500));
+    }
+
+    // ==================== Sound strategies ====================
+
+    @Test
+    public void shouldSound_once_followsBurstWindow() {
+        NotificationPolicy policy = NotificationPolicy.defaults();
+
+        assertTrue(policy.shouldSound(true, false));
+        assertFalse(policy.shouldSound(false, true));
+    }
+
+    @Test
+    public void shouldSound_everyFire_alwaysSounds() {
+        NotificationPolicy policy =
+                new NotificationPolicy(CollapseStrategy.STACK, SoundStrategy.EVERY_FIRE, 5);
+
+        assertTrue(policy.shouldSound(true, true));
+        assertFalse(policy.summarySounds());
+    }
+
+    @Test
+    public void shouldSound_summaryOnly_silencesGroupedFires() {
+        NotificationPolicy policy =
+                new NotificationPolicy(CollapseStrategy.STACK, SoundStrategy.SUMMARY_ONLY, 5);
+
+        assertTrue(policy.shouldSound(false, true));
+        assertFalse(policy.shouldSound(true, false));
+        assertTrue(policy.summarySounds());
+    }
+
     // ==================== CollapseStrategy Enum ====================
 
     @Test
@@ -0,0 +1,298 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.OccurrenceCursor;
+import com.ava.notiva.model.RecurrenceType;
+import com.ava.notiva.model.ReminderModel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Unit tests for {@link OccurrenceCursor} and
+ * {@link ReminderModel#occurrencesBetween(long, long, long[])}.
+ */
+public class OccurrenceCursorTest {
+
+    private Calendar start;
+    private ReminderModel reminder;
+
+    @Before
+    public void setUp() {
+        start = Calendar.getInstance();
+        start.set(2024, Calendar.JANUARY, 15, 10, 0, 0);
+        start.set(Calendar.MILLISECOND, 0);
+
+        reminder = new ReminderModel("Cursor");
+        reminder.setStartDateTime(start);
+        reminder.setEndDateTime(null);
+    }
+
+    // ==================== Fixed-interval recurrences ====================
+
+    @Test
+    public void hourly_windowReturnsEveryHourInRange() {
+        reminder.setRecurrenceType(RecurrenceType.HOUR);
+        reminder.setRecurrenceDelay(1);
+
+        long from = start.getTimeInMillis() + 90 * 60_000L; // 11:30
+        long to = start.getTimeInMillis() + 5 * 3_600_000L;  // 15:00 (exclusive)
+        long[] out = new long[10];
+
+        int count = reminder.occurrencesBetween(from, to, out);
+
+        assertEquals(3, count);
+        assertEquals(start.getTimeInMillis() + 2 * 3_600_000L, out[0]);
+        assertEquals(start.getTimeInMillis() + 3 * 3_600_000L, out[1]);
+        assertEquals(start.getTimeInMillis() + 4 * 3_600_000L, out[2]);
+    }
+
+    @Test
+    public void window_fromOnOccurrence_isInclusive_toOnOccurrence_isExclusive() {
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+
+        long from = start.getTimeInMillis() + RecurrenceType.DAY.getMillis();
+        long to = start.getTimeInMillis() + 3 * RecurrenceType.DAY.getMillis();
+        long[] out = new long[10];
+
+        int count = reminder.occurrencesBetween(from, to, out);
+
+        assertEquals(2, count);
+        assertEquals(from, out[0]);
+        assertEquals(from + RecurrenceType.DAY.getMillis(), out[1]);
+    }
+
+    @Test
+    public void window_beforeStart_beginsAtStart() {
+        reminder.setRecurrenceType(RecurrenceType.MINUTE);
+        reminder.setRecurrenceDelay(15);
+
+        long[] out = new long[4];
+        int count = reminder.occurrencesBetween(0L, Long.MAX_VALUE, out);
+
+        assertEquals(4, count);
+        assertEquals(start.getTimeInMillis(), out[0]);
+        assertEquals(start.getTimeInMillis() + 45 * 60_000L, out[3]);
+    }
+
+    // ==================== Calendar recurrences ====================
+
+    @Test
+    public void monthly_monthEndStart_clampsEachOccurrenceFromOriginalDay() {
+        start.set(2024, Calendar.JANUARY, 31, 9, 0, 0);
+        reminder.setStartDateTime(start);
+        reminder.setRecurrenceType(RecurrenceType.MONTH);
+        reminder.setRecurrenceDelay(1);
+
+        long[] out = new long[4];
+        int count = reminder.occurrencesBetween(start.getTimeInMillis(), Long.MAX_VALUE, out);
+
+        assertEquals(4, count);
+        assertDay(2024, Calendar.JANUARY, 31, out[0]);
+        assertDay(2024, Calendar.FEBRUARY, 29, out[1]);
+        assertDay(2024, Calendar.MARCH, 31, out[2]);
+        assertDay(2024, Calendar.APRIL, 30, out[3]);
+    }
+
+    @Test
+    public void yearly_oldReminder_jumpsStraightToWindow() {
+        start.set(1950, Calendar.JUNE, 1, 8, 0, 0);
+        reminder.setStartDateTime(start);
+        reminder.setRecurrenceType(RecurrenceType.YEAR);
+        reminder.setRecurrenceDelay(1);
+
+        long from = at(2024, Calendar.JANUARY, 1);
+        long to = at(2027, Calendar.JANUARY, 1);
+        long[] out = new long[10];
+
+        int count = reminder.occurrencesBetween(from, to, out);
+
+        assertEquals(3, count);
+        assertDay(2024, Calendar.JUNE, 1, out[0]);
+        assertDay(2025, Calendar.JUNE, 1, out[1]);
+        assertDay(2026, Calendar.JUNE, 1, out[2]);
+    }
+
+    // ==================== Agreement with getNextOccurrenceAfter ====================
+
+    @Test
+    public void everyRecurringType_matchesRepeatedNextOccurrence() {
+        RecurrenceType[] types = {RecurrenceType.MINUTE, RecurrenceType.HOUR, RecurrenceType.DAY,
+                RecurrenceType.MONTH, RecurrenceType.YEAR};
+        Calendar end = (Calendar) start.clone();
+        end.add(Calendar.YEAR, 30);
+        reminder.setEndDateTime(end);
+
+        for (RecurrenceType type : types) {
+            reminder.setRecurrenceType(type);
+            reminder.setRecurrenceDelay(7);
+
+            long from = start.getTimeInMillis() + 12_345_678L;
+            long[] out = new long[25];
+            int count = reminder.occurrencesBetween(from, Long.MAX_VALUE, out);
+
+            List<Long> expected = expandWithNextOccurrence(reminder, from - 1, out.length);
+            assertEquals(type.name(), expected.size(), count);
+            for (int i = 0; i < count; i++) {
+                assertEquals(type.name() + " #" + i, (long) expected.get(i), out[i]);
+            }
+        }
+    }
+
+    // ==================== End date and one-shot handling ====================
+
+    @Test
+    public void endDate_isInclusive_andStopsExpansion() {
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        Calendar end = (Calendar) start.clone();
+        end.add(Calendar.DAY_OF_YEAR, 2);
+        reminder.setEndDateTime(end);
+
+        long[] out = new long[10];
+        int count = reminder.occurrencesBetween(0L, Long.MAX_VALUE, out);
+
+        assertEquals(3, count);
+        assertEquals(end.getTimeInMillis(), out[2]);
+    }
+
+    @Test
+    public void neverForeverAndZeroDelay_produceOnlyStart() {
+        RecurrenceType[] types = {RecurrenceType.NEVER, RecurrenceType.FOREVER, RecurrenceType.DAY};
+        int[] delays = {1, 1, 0};
+        for (int i = 0; i < types.length; i++) {
+            reminder.setRecurrenceType(types[i]);
+            reminder.setRecurrenceDelay(delays[i]);
+
+            long[] out = new long[5];
+            assertEquals(types[i].name(), 1, reminder.occurrencesBetween(0L, Long.MAX_VALUE, out));
+            assertEquals(start.getTimeInMillis(), out[0]);
+            assertEquals(types[i].name() + " after start", 0,
+                    reminder.occurrencesBetween(start.getTimeInMillis() + 1, Long.MAX_VALUE, out));
+        }
+    }
+
+    @Test
+    public void emptyOrInvertedWindow_returnsNothing() {
+        reminder.setRecurrenceType(RecurrenceType.MINUTE);
+        reminder.setRecurrenceDelay(1);
+
+        long[] out = new long[5];
+        long t = start.getTimeInMillis();
+
+        assertEquals(0, reminder.occurrencesBetween(t, t, out));
+        assertEquals(0, reminder.occurrencesBetween(t + 10, t, out));
+    }
+
+    // ==================== Buffer and cursor reuse ====================
+
+    @Test
+    public void fullBuffer_stopsAtCapacity_andCursorContinues() {
+        reminder.setRecurrenceType(RecurrenceType.MINUTE);
+        reminder.setRecurrenceDelay(1);
+
+        OccurrenceCursor cursor = new OccurrenceCursor()
+                .reset(reminder, start.getTimeInMillis(), start.getTimeInMillis() + 10 * 60_000L);
+        long[] out = new long[4];
+
+        assertEquals(4, cursor.drainTo(out, 0));
+        assertEquals(start.getTimeInMillis() + 3 * 60_000L, out[3]);
+        assertEquals(4, cursor.drainTo(out, 0));
+        assertEquals(start.getTimeInMillis() + 4 * 60_000L, out[0]);
+        assertEquals(2, cursor.drainTo(out, 0));
+        assertEquals(0, cursor.drainTo(out, 0));
+        assertEquals(OccurrenceCursor.NONE, cursor.next());
+    }
+
+    @Test
+    public void drainTo_honoursOffset() {
+        reminder.setRecurrenceType(RecurrenceType.HOUR);
+        reminder.setRecurrenceDelay(1);
+
+        long[] out = new long[5];
+        OccurrenceCursor cursor = new OccurrenceCursor().reset(reminder, 0L, Long.MAX_VALUE);
+
+        assertEquals(3, cursor.drainTo(out, 2));
+        assertEquals(0L, out[0]);
+        assertEquals(start.getTimeInMillis(), out[2]);
+    }
+
+    @Test
+    public void cursor_canBeResetForAnotherReminder() {
+        reminder.setRecurrenceType(RecurrenceType.MONTH);
+        reminder.setRecurrenceDelay(1);
+
+        ReminderModel other = new ReminderModel("Other");
+        Calendar otherStart = (Calendar) start.clone();
+        otherStart.add(Calendar.HOUR_OF_DAY, 1);
+        other.setStartDateTime(otherStart);
+        other.setRecurrenceType(RecurrenceType.HOUR);
+        other.setRecurrenceDelay(2);
+
+        OccurrenceCursor cursor = new OccurrenceCursor();
+        cursor.reset(reminder, start.getTimeInMillis(), Long.MAX_VALUE);
+        assertEquals(start.getTimeInMillis(), cursor.next());
+
+        cursor.reset(other, 0L, Long.MAX_VALUE);
+        assertEquals(otherStart.getTimeInMillis(), cursor.next());
+        assertEquals(otherStart.getTimeInMillis() + 2 * 3_600_000L, cursor.next());
+    }
+
+    @Test
+    public void monthly_stepsInReminderZone() {
+        TimeZone auckland = TimeZone.getTimeZone("Pacific/Auckland");
+        Calendar zoned = Calendar.getInstance(auckland);
+        zoned.set(2024, Calendar.JANUARY, 31, 7, 30, 0);
+        zoned.set(Calendar.MILLISECOND, 0);
+        reminder.setStartDateTime(zoned);
+        reminder.setRecurrenceType(RecurrenceType.MONTH);
+        reminder.setRecurrenceDelay(1);
+
+        long[] out = new long[2];
+        reminder.occurrencesBetween(zoned.getTimeInMillis() + 1, Long.MAX_VALUE, out);
+
+        Calendar expected = Calendar.getInstance(auckland);
+        expected.set(2024, Calendar.FEBRUARY, 29, 7, 30, 0);
+        expected.set(Calendar.MILLISECOND, 0);
+        assertEquals(expected.getTimeInMillis(), out[0]);
+    }
+
+    // ==================== Helpers ====================
+
+    private static List<Long> expandWithNextOccurrence(ReminderModel model, long afterMillis, int limit) {
+        List<Long> result = new ArrayList<>();
+        Calendar probe = Calendar.getInstance();
+        probe.setTimeInMillis(afterMillis);
+        while (result.size() < limit) {
+            Calendar next = model.getNextOccurrenceAfter(probe);
+            if (next == null) {
+                break;
+            }
+            result.add(next.getTimeInMillis());
+            probe.setTimeInMillis(next.getTimeInMillis());
+        }
+        return result;
+    }
+
+    private static long at(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(year, month, day, 0, 0, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private static void assertDay(int year, int month, int day, long millis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        assertEquals(year, calendar.get(Calendar.YEAR));
+        assertEquals(month, calendar.get(Calendar.MONTH));
+        assertEquals(day, calendar.get(Calendar.DAY_OF_MONTH));
+    }
+}
@@ -0,0 +1,95 @@
+package com.ava.notiva;
+
+import com.ava.notiva.model.RecurrenceType;
+import com.ava.notiva.model.ReminderModel;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link RecurrenceFuzzer} and the engines it checks.
+ */
+public class RecurrenceDifferentialTest {
+
+    private static final long SEED = 20240601L;
+    private static final int CASES = 30_000;
+
+    // ==================== Engines vs reference ====================
+
+    @Test
+    public void getNextOccurrenceAfter_matchesReference() {
+        assertNoMismatches(RecurrenceFuzzer.ENGINES[0]);
+    }
+
+    @Test
+    public void schedulePlan_matchesReference() {
+        assertNoMismatches(RecurrenceFuzzer.ENGINES[1]);
+    }
+
+    @Test
+    public void occurrenceCursor_matchesReference() {
+        assertNoMismatches(RecurrenceFuzzer.ENGINES[2]);
+    }
+
+    // ==================== Harness ====================
+
+    @Test
+    public void generate_isDeterministicForSeed() {
+        assertArrayEquals(RecurrenceFuzzer.generate(7, 500), RecurrenceFuzzer.generate(7, 500));
+    }
+
+    @Test
+    public void shrink_reducesBrokenEngineToMinimalCase() {
+        // Off-by-one on "strictly after": returns now itself when now is an occurrence
+        RecurrenceFuzzer.Engine broken = new RecurrenceFuzzer.Engine() {
+            @Override
+            public String name() {
+                return "broken";
+            }
+
+            @Override
+            public Object prepare(ReminderModel model) {
+                return model;
+            }
+
+            @Override
+            public long next(Object prepared, long nowMillis) {
+                long correct = ((ReminderModel) prepared).getNextOccurrenceAfter(nowMillis);
+                return ((ReminderModel) prepared).getNextOccurrenceAfter(nowMillis - 1) == nowMillis
+                        ? nowMillis : correct;
+            }
+        };
+
+        RecurrenceFuzzer.Report report = RecurrenceFuzzer.run(broken, SEED, 5_000);
+
+        assertTrue(report.mismatches > 0);
+        RecurrenceFuzzer.Case minimal = report.minimalFailure;
+        assertEquals("UTC", minimal.zoneId);
+        assertFalse(minimal.wallClock);
+        assertNull(minimal.end);
+        assertEquals(minimal.start, minimal.now);
+        assertEquals(0, minimal.start % 86_400_000L);
+        assertTrue(RecurrenceFuzzer.fails(broken, minimal));
+    }
+
+    @Test
+    public void reference_monthEndClampsFromStart() {
+        ReminderModel model = new RecurrenceFuzzer.Case(
+                Instant.parse("2024-01-31T09:00:00Z").toEpochMilli(), null,
+                RecurrenceType.MONTH, 1, 0, "UTC", false).toModel();
+
+        long feb = RecurrenceFuzzer.reference(model, model.getStartDateMillis());
+        long mar = RecurrenceFuzzer.reference(model, feb);
+
+        assertEquals(Instant.parse("2024-02-29T09:00:00Z").toEpochMilli(), feb);
+        assertEquals(Instant.parse("2024-03-31T09:00:00Z").toEpochMilli(), mar);
+    }
+
+    private static void assertNoMismatches(RecurrenceFuzzer.Engine engine) {
+        RecurrenceFuzzer.Report report = RecurrenceFuzzer.run(engine, SEED, CASES);
+        assertEquals(report.toString(), 0, report.mismatches);
+    }
+}
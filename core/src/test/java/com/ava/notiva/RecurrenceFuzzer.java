@@ -0,0 +1,474 @@
+package com.ava.notiva;
+
+import com.ava.notiva.model.OccurrenceCursor;
+import com.ava.notiva.model.RecurrenceType;
+import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlan;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Seeded differential fuzzer for next-occurrence engines.
+ * <p>
+ * Generates random (start, end, type, delay, now, zone, wallClock) cases, biased towards
+ * month ends, DST-adjacent local times, zero/negative delays and "now" sitting exactly on
+ * an occurrence. Every engine is compared against {@link #reference}, a deliberately
+ * naive implementation of the documented semantics. Failures are shrunk greedily to a
+ * minimal case before being reported, and each run also times the reference against the
+ * engine on the same cases.
+ * <p>
+ * Run millions of cases with {@code ./gradlew :core:fuzzRecurrence -Pseed=1 -Pcases=5000000};
+ * {@link RecurrenceDifferentialTest} runs a smaller fixed-seed batch with the unit tests.
+ */
+public final class RecurrenceFuzzer {
+
+    /** A next-occurrence implementation under test. */
+    public interface Engine {
+        String name();
+
+        /** Prepares per-case state (e.g. a compiled plan) outside the timed section. */
+        Object prepare(ReminderModel model);
+
+        long next(Object prepared, long nowMillis);
+    }
+
+    /** Engines shipped in :core. */
+    public static final Engine[] ENGINES = {
+            engine("ReminderModel.getNextOccurrenceAfter", model -> model,
+                    (prepared, now) -> ((ReminderModel) prepared).getNextOccurrenceAfter(now)),
+            engine("SchedulePlan", SchedulePlan::compile,
+                    (prepared, now) -> ((SchedulePlan) prepared).nextAfter(now)),
+            engine("OccurrenceCursor", model -> model,
+                    (prepared, now) -> now == Long.MAX_VALUE ? ReminderModel.NO_OCCURRENCE
+                            : new OccurrenceCursor().reset((ReminderModel) prepared, now + 1, Long.MAX_VALUE).next()),
+    };
+
+    private static final long NONE = ReminderModel.NO_OCCURRENCE;
+    private static final long MINUTE = 60_000L;
+    private static final long DAY = 86_400_000L;
+    private static final String[] ZONES = {
+            "UTC", "America/New_York", "Europe/London", "Australia/Lord_Howe", "Pacific/Apia",
+            "Asia/Kolkata", "America/Sao_Paulo", "Pacific/Chatham", "Africa/Casablanca",
+            "America/St_Johns", "Europe/Dublin", "Antarctica/Troll",
+    };
+    private static final int MAX_SHRINK_STEPS = 2_000;
+
+    private RecurrenceFuzzer() {
+    }
+
+    /** One generated input. Immutable so shrinking can derive variants freely. */
+    public static final class Case {
+        final long start;
+        final Long end;
+        final RecurrenceType type;
+        final int delay;
+        final long now;
+        final String zoneId;
+        final boolean wallClock;
+
+        Case(long start, Long end, RecurrenceType type, int delay, long now, String zoneId, boolean wallClock) {
+            this.start = start;
+            this.end = end;
+            this.type = type;
+            this.delay = delay;
+            this.now = now;
+            this.zoneId = zoneId;
+            this.wallClock = wallClock;
+        }
+
+        ReminderModel toModel() {
+            ReminderModel model = new ReminderModel("Fuzz");
+            model.setId(1);
+            model.setZoneId(zoneId);
+            model.setStartDateMillis(start);
+            model.setEndDateMillis(end);
+            model.setRecurrenceType(type);
+            model.setRecurrenceDelay(delay);
+            model.setWallClock(wallClock);
+            return model;
+        }
+
+        Case with(long start, Long end, RecurrenceType type, int delay, long now, String zoneId, boolean wallClock) {
+            return new Case(start, end, type, delay, now, zoneId, wallClock);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "Case{type=%s, delay=%d, wallClock=%b, zone=%s, start=%s, end=%s, now=%s}",
+                    type, delay, wallClock, zoneId, local(start, zoneId), end == null ? "null" : local(end, zoneId),
+                    local(now, zoneId));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Case)) return false;
+            Case c = (Case) o;
+            return start == c.start && delay == c.delay && now == c.now && wallClock == c.wallClock
+                    && type == c.type && Objects.equals(end, c.end) && zoneId.equals(c.zoneId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end, type, delay, now, zoneId, wallClock);
+        }
+    }
+
+    /** Outcome of fuzzing one engine. */
+    public static final class Report {
+        public final String engine;
+        public final int cases;
+        public int mismatches;
+        public Case firstFailure;
+        public Case minimalFailure;
+        public long referenceNanos;
+        public long engineNanos;
+
+        Report(String engine, int cases) {
+            this.engine = engine;
+            this.cases = cases;
+        }
+
+        /** How many times faster the engine is than the reference loop. */
+        public double speedup() {
+            return engineNanos == 0 ? Double.POSITIVE_INFINITY : (double) referenceNanos / engineNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+                    "%-40s %,d cases, %d mismatches, %.1fx vs reference (%.0f ns vs %.0f ns per case)",
+                    engine, cases, mismatches, speedup(),
+                    (double) engineNanos / cases, (double) referenceNanos / cases));
+            if (minimalFailure != null) {
+                ReminderModel model = minimalFailure.toModel();
+                sb.append("\n  minimal: ").append(minimalFailure)
+                        .append("\n  expected ").append(describe(reference(model, minimalFailure.now), minimalFailure.zoneId));
+            }
+            return sb.toString();
+        }
+    }
+
+    // ==================== Running ====================
+
+    /** Fuzzes {@code engine} with {@code count} cases from {@code seed}. */
+    public static Report run(Engine engine, long seed, int count) {
+        Case[] cases = generate(seed, count);
+        Report report = new Report(engine.name(), count);
+
+        ReminderModel[] models = new ReminderModel[count];
+        Object[] prepared = new Object[count];
+        long[] expected = new long[count];
+        long sink = 0;
+
+        // Models are built outside both timed loops, so each times evaluation only
+        for (int i = 0; i < count; i++) {
+            models[i] = cases[i].toModel();
+        }
+        long t0 = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            expected[i] = reference(models[i], cases[i].now);
+        }
+        report.referenceNanos = System.nanoTime() - t0;
+
+        for (int i = 0; i < count; i++) {
+            prepared[i] = engine.prepare(models[i]);
+        }
+        long[] actual = new long[count];
+        t0 = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            actual[i] = engine.next(prepared[i], cases[i].now);
+        }
+        report.engineNanos = System.nanoTime() - t0;
+
+        for (int i = 0; i < count; i++) {
+            sink += actual[i];
+            if (actual[i] != expected[i]) {
+                if (report.mismatches++ == 0) {
+                    report.firstFailure = cases[i];
+                    report.minimalFailure = shrink(engine, cases[i]);
+                }
+            }
+        }
+        if (sink == 42) {
+            // Keeps the timed loops from being optimized away
+            System.out.print("");
+        }
+        return report;
+    }
+
+    /** Whether {@code engine} disagrees with the reference on {@code c}. */
+    public static boolean fails(Engine engine, Case c) {
+        ReminderModel model = c.toModel();
+        long expected = reference(model, c.now);
+        long actual;
+        try {
+            actual = engine.next(engine.prepare(model), c.now);
+        } catch (RuntimeException e) {
+            return true;
+        }
+        return actual != expected;
+    }
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : System.nanoTime();
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        System.out.println("seed=" + seed + " cases=" + count);
+        boolean failed = false;
+        for (Engine engine : ENGINES) {
+            Report report = run(engine, seed, count);
+            System.out.println(report);
+            failed |= report.mismatches > 0;
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    // ==================== Generation ====================
+
+    public static Case[] generate(long seed, int count) {
+        Random random = new Random(seed);
+        Case[] cases = new Case[count];
+        for (int i = 0; i < count; i++) {
+            cases[i] = randomCase(random);
+        }
+        return cases;
+    }
+
+    private static Case randomCase(Random random) {
+        RecurrenceType[] types = RecurrenceType.values();
+        RecurrenceType type = random.nextInt(50) == 0 ? null : types[random.nextInt(types.length)];
+        String zoneId = ZONES[random.nextInt(ZONES.length)];
+        ZoneId zone = ZoneId.of(zoneId);
+
+        int delay;
+        int pick = random.nextInt(20);
+        if (pick == 0) {
+            delay = 0;
+        } else if (pick == 1) {
+            delay = -1 - random.nextInt(5);
+        } else if (pick == 2) {
+            delay = 1 + random.nextInt(1000);
+        } else {
+            delay = 1 + random.nextInt(12);
+        }
+
+        // Local start between 1990 and 2060, biased to month ends and DST-prone hours
+        LocalDateTime local = LocalDateTime.of(1990 + random.nextInt(70), 1 + random.nextInt(12), 1, 0, 0)
+                .plusDays(random.nextInt(4) == 0 ? 27 + random.nextInt(4) : random.nextInt(31))
+                .withHour(random.nextInt(3) == 0 ? 1 + random.nextInt(3) : random.nextInt(24))
+                .withMinute(random.nextBoolean() ? 0 : random.nextInt(60))
+                .withSecond(random.nextInt(8) == 0 ? random.nextInt(60) : 0);
+        long start = local.atZone(zone).toInstant().toEpochMilli();
+
+        long period = type == null ? DAY : Math.max(MINUTE, approximatePeriod(type) * Math.max(1, delay));
+        long now;
+        switch (random.nextInt(6)) {
+            case 0:
+                now = start + (random.nextBoolean() ? -1 : 0);
+                break;
+            case 1:
+                now = start - (long) (random.nextDouble() * 3 * period);
+                break;
+            case 2:
+                // Exactly on (or one milli beside) an occurrence
+                now = reference(new Case(start, null, type, delay, start, zoneId, random.nextBoolean()).toModel(),
+                        start + (long) (random.nextDouble() * 40 * period));
+                now = now == NONE ? start : now + random.nextInt(3) - 1;
+                break;
+            default:
+                now = start + (long) (random.nextDouble() * Math.min(400, 1 + random.nextInt(400)) * period);
+                break;
+        }
+
+        Long end = null;
+        if (random.nextInt(5) < 2) {
+            end = random.nextInt(10) == 0
+                    ? start - random.nextInt(1_000_000)
+                    : now + (long) ((random.nextDouble() - 0.3) * 4 * period);
+        }
+        return new Case(start, end, type, delay, now, zoneId, random.nextBoolean());
+    }
+
+    private static long approximatePeriod(RecurrenceType type) {
+        switch (type) {
+            case MONTH:
+                return 31 * DAY;
+            case YEAR:
+                return 366 * DAY;
+            default:
+                return type.getMillis() == 0 ? DAY : type.getMillis();
+        }
+    }
+
+    // ==================== Reference ====================
+
+    /**
+     * Naive next occurrence strictly after {@code now}, written from the documented
+     * semantics rather than for speed:
+     * <ul>
+     *   <li>null type, NEVER, FOREVER and delay &lt;= 0 fire once at the start; end is ignored</li>
+     *   <li>MONTH/YEAR add whole months to the local start, clamping to month ends, one period at a time</li>
+     *   <li>MINUTE/HOUR/DAY add elapsed millis, or local wall-clock time when wallClock is set,
+     *       where skipped times move forward and repeated ones take the later offset</li>
+     *   <li>anything after the (inclusive) end date means no occurrence</li>
+     * </ul>
+     */
+    public static long reference(ReminderModel model, long now) {
+        long start = model.getStartDateMillis();
+        RecurrenceType type = model.getRecurrenceType();
+        int delay = model.getRecurrenceDelay();
+        if (type == null || type == RecurrenceType.NEVER || type == RecurrenceType.FOREVER || delay <= 0) {
+            return start > now ? start : NONE;
+        }
+        long end = model.getEndDateMillis() == null ? Long.MAX_VALUE : model.getEndDateMillis();
+
+        long next;
+        if (type == RecurrenceType.MONTH || type == RecurrenceType.YEAR) {
+            // LocalDateTime.plusMonths clamps month ends like Calendar.add. The legacy TimeZone
+            // tables stop tracking irregular zones (e.g. Casablanca) after 2037, so resolve
+            // through java.time, which matches ICU on Android
+            ZoneId zone = model.getZone();
+            LocalDateTime startLocal = LocalDateTime.ofInstant(Instant.ofEpochMilli(start), zone);
+            long months = type == RecurrenceType.MONTH ? delay : delay * 12L;
+            long k = 0;
+            next = start;
+            while (next <= now) {
+                k++;
+                next = startLocal.plusMonths(k * months).atZone(zone)
+                        .withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+                if (next > end) {
+                    return NONE;
+                }
+            }
+        } else if (model.isWallClock()) {
+            next = wallClockReference(model, type.getMillis() * delay, now);
+        } else {
+            long interval = type.getMillis() * delay;
+            next = start;
+            if (start <= now) {
+                next = start + ((now - start) / interval + 1) * interval;
+            }
+        }
+        return next > end ? NONE : next;
+    }
+
+    private static long wallClockReference(ReminderModel model, long interval, long now) {
+        long start = model.getStartDateMillis();
+        if (start > now) {
+            return start;
+        }
+        ZoneId zone = model.getZone();
+        LocalDateTime startLocal = LocalDateTime.ofInstant(Instant.ofEpochMilli(start), zone);
+        LocalDateTime nowLocal = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), zone);
+        long elapsed = ChronoUnit.MILLIS.between(startLocal, nowLocal);
+        // Offsets change by at most a day, so the answer is within a few days of local "now"
+        long slack = 3 * DAY / interval + 2;
+        long best = Long.MAX_VALUE;
+        for (long k = Math.max(1, Math.floorDiv(elapsed, interval) - slack);
+             k <= Math.floorDiv(elapsed, interval) + slack; k++) {
+            long candidate = startLocal.plus(k * interval, ChronoUnit.MILLIS).atZone(zone)
+                    .withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+            if (candidate > now && candidate < best) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    // ==================== Shrinking ====================
+
+    /** Greedily simplifies {@code failing} while {@code engine} still disagrees with the reference. */
+    public static Case shrink(Engine engine, Case failing) {
+        Case current = failing;
+        for (int step = 0; step < MAX_SHRINK_STEPS; step++) {
+            Case simpler = null;
+            for (Case candidate : simplifications(current)) {
+                if (!candidate.equals(current) && fails(engine, candidate)) {
+                    simpler = candidate;
+                    break;
+                }
+            }
+            if (simpler == null) {
+                return current;
+            }
+            current = simpler;
+        }
+        return current;
+    }
+
+    private static List<Case> simplifications(Case c) {
+        List<Case> out = new ArrayList<>();
+        if (!c.zoneId.equals("UTC")) {
+            out.add(c.with(c.start, c.end, c.type, c.delay, c.now, "UTC", c.wallClock));
+        }
+        if (c.wallClock) {
+            out.add(c.with(c.start, c.end, c.type, c.delay, c.now, c.zoneId, false));
+        }
+        if (c.end != null) {
+            out.add(c.with(c.start, null, c.type, c.delay, c.now, c.zoneId, c.wallClock));
+        }
+        if (c.delay != 1) {
+            out.add(c.with(c.start, c.end, c.type, 1, c.now, c.zoneId, c.wallClock));
+            out.add(c.with(c.start, c.end, c.type, c.delay / 2, c.now, c.zoneId, c.wallClock));
+        }
+        if (c.type != RecurrenceType.DAY) {
+            out.add(c.with(c.start, c.end, RecurrenceType.DAY, c.delay, c.now, c.zoneId, c.wallClock));
+        }
+        // Move "now" towards the start, then round the start to whole units
+        long gap = c.now - c.start;
+        if (gap != 0) {
+            out.add(c.with(c.start, c.end, c.type, c.delay, c.start, c.zoneId, c.wallClock));
+            out.add(c.with(c.start, c.end, c.type, c.delay, c.start + gap / 2, c.zoneId, c.wallClock));
+        }
+        for (long unit : new long[]{DAY, 3_600_000L, MINUTE, 1000L}) {
+            long rounded = Math.floorDiv(c.start, unit) * unit;
+            if (rounded != c.start) {
+                out.add(c.with(rounded, c.end, c.type, c.delay, c.now - (c.start - rounded), c.zoneId, c.wallClock));
+            }
+        }
+        if (c.end != null && c.end != c.now) {
+            out.add(c.with(c.start, c.now + (c.end - c.now) / 2, c.type, c.delay, c.now, c.zoneId, c.wallClock));
+        }
+        return out;
+    }
+
+    private static String describe(long millis, String zoneId) {
+        return millis == NONE ? "NONE" : local(millis, zoneId);
+    }
+
+    private static String local(long millis, String zoneId) {
+        return Instant.ofEpochMilli(millis).atZone(ZoneId.of(zoneId)).toOffsetDateTime().toString()
+                + " (" + millis + ")";
+    }
+
+    private static Engine engine(String name, Function<ReminderModel, Object> prepare,
+                                 ToLongBiFunction<Object, Long> next) {
+        return new Engine() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Object prepare(ReminderModel model) {
+                return prepare.apply(model);
+            }
+
+            @Override
+            public long next(Object prepared, long nowMillis) {
+                return next.applyAsLong(prepared, nowMillis);
+            }
+        };
+    }
+}
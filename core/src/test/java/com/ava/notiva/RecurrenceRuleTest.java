@@ -0,0 +1,391 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.OccurrenceCursor;
+import com.ava.notiva.model.RecurrenceRule;
+import com.ava.notiva.model.RecurrenceType;
+import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlan;
+import com.ava.notiva.model.SchedulePlanCache;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for {@link RecurrenceRule} and RRULE-driven {@link SchedulePlan}s.
+ */
+public class RecurrenceRuleTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    // ==================== Parsing ====================
+
+    @Test
+    public void parse_readsAllSupportedParts() {
+        RecurrenceRule rule = RecurrenceRule.parse(
+                "RRULE:FREQ=MONTHLY;INTERVAL=2;COUNT=10;BYMONTH=1,7;BYMONTHDAY=1,-1;BYDAY=MO,-1FR;BYSETPOS=1,-1;WKST=SU");
+
+        assertEquals(RecurrenceRule.Frequency.MONTHLY, rule.getFrequency());
+        assertEquals(2, rule.getInterval());
+        assertEquals(10, rule.getCount());
+        assertEquals((1 << 0) | (1 << 6), rule.getByMonthMask());
+        assertEquals(1, rule.getByMonthDayPositive());
+        assertEquals(1, rule.getByMonthDayNegative());
+        assertEquals(1, rule.getByWeekdayMask());
+        assertArrayEquals(new int[]{-1}, rule.getByWeekdayOrdinals());
+        assertArrayEquals(new int[]{4}, rule.getByWeekdayOrdinalDays());
+        assertArrayEquals(new int[]{1, -1}, rule.getBySetPos());
+        assertEquals(6, rule.getWeekStart());
+    }
+
+    @Test
+    public void parse_defaultsAndCaseInsensitivity() {
+        RecurrenceRule rule = RecurrenceRule.parse("freq=weekly");
+
+        assertEquals(RecurrenceRule.Frequency.WEEKLY, rule.getFrequency());
+        assertEquals(1, rule.getInterval());
+        assertEquals(0, rule.getCount());
+        assertNull(rule.getUntil());
+        assertEquals(0, rule.getWeekStart());
+        assertFalse(rule.hasByDay());
+        assertFalse(rule.hasByMonthDay());
+        assertEquals("freq=weekly", rule.toString());
+    }
+
+    @Test
+    public void parse_untilForms() {
+        RecurrenceRule utc = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20240301T120000Z");
+        assertTrue(utc.isUntilUtc());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 12, 0), utc.getUntil());
+
+        RecurrenceRule local = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20240301T120000");
+        assertFalse(local.isUntilUtc());
+
+        RecurrenceRule dateOnly = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20240301");
+        assertEquals(LocalDate.of(2024, 3, 1), dateOnly.getUntil().toLocalDate());
+        assertTrue(dateOnly.getUntil().getHour() == 23);
+    }
+
+    @Test
+    public void parse_rejectsInvalidRules() {
+        String[] invalid = {
+                null,
+                "",
+                "INTERVAL=2",
+                "FREQ=HOURLY",
+                "FREQ=DAILY;INTERVAL=0",
+                "FREQ=DAILY;COUNT=3;UNTIL=20240101",
+                "FREQ=DAILY;BYHOUR=9",
+                "FREQ=YEARLY;BYWEEKNO=20",
+                "FREQ=MONTHLY;BYMONTHDAY=0",
+                "FREQ=MONTHLY;BYMONTHDAY=32",
+                "FREQ=MONTHLY;BYDAY=XX",
+                "FREQ=MONTHLY;BYDAY=6MO",
+                "FREQ=WEEKLY;BYMONTHDAY=1",
+                "FREQ=WEEKLY;BYDAY=1MO",
+                "FREQ=YEARLY;BYDAY=1MO",
+                "FREQ=MONTHLY;BYSETPOS=0",
+                "FREQ=DAILY;UNTIL=2024",
+                "FREQ",
+        };
+        for (String rule : invalid) {
+            assertFalse(String.valueOf(rule), RecurrenceRule.isValid(rule));
+        }
+    }
+
+    @Test
+    public void getters_returnDefensiveCopies() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=2TU;BYSETPOS=1");
+
+        rule.getByWeekdayOrdinals()[0] = 5;
+        rule.getBySetPos()[0] = 9;
+
+        assertArrayEquals(new int[]{2}, rule.getByWeekdayOrdinals());
+        assertArrayEquals(new int[]{1}, rule.getBySetPos());
+    }
+
+    // ==================== Evaluation ====================
+
+    @Test
+    public void weekly_byDayCyclesThroughTheWeek() {
+        // Mon 2024-01-15 09:00
+        ReminderModel reminder = reminder(2024, 1, 15, 9, "FREQ=WEEKLY;BYDAY=MO,WE,FR");
+
+        assertEquals(List.of(
+                at(2024, 1, 15, 9), at(2024, 1, 17, 9), at(2024, 1, 19, 9),
+                at(2024, 1, 22, 9), at(2024, 1, 24, 9)),
+                firstOccurrences(reminder, 5));
+    }
+
+    @Test
+    public void weekly_intervalSkipsWeeks() {
+        ReminderModel reminder = reminder(2024, 1, 15, 9, "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH");
+
+        assertEquals(List.of(
+                at(2024, 1, 15, 9), at(2024, 1, 18, 9), at(2024, 1, 29, 9), at(2024, 2, 1, 9)),
+                firstOccurrences(reminder, 4));
+    }
+
+    @Test
+    public void monthly_lastFriday() {
+        ReminderModel reminder = reminder(2024, 1, 26, 17, "FREQ=MONTHLY;BYDAY=-1FR");
+
+        assertEquals(List.of(
+                at(2024, 1, 26, 17), at(2024, 2, 23, 17), at(2024, 3, 29, 17), at(2024, 4, 26, 17)),
+                firstOccurrences(reminder, 4));
+    }
+
+    @Test
+    public void monthly_lastWorkdayViaSetPos() {
+        ReminderModel reminder = reminder(2024, 1, 31, 18, "FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1");
+
+        // Mar 31 2024 is a Sunday, Jun 30 a Sunday
+        assertEquals(List.of(
+                at(2024, 1, 31, 18), at(2024, 2, 29, 18), at(2024, 3, 29, 18),
+                at(2024, 4, 30, 18), at(2024, 5, 31, 18), at(2024, 6, 28, 18)),
+                firstOccurrences(reminder, 6));
+    }
+
+    @Test
+    public void monthly_lastDayOfMonth() {
+        ReminderModel reminder = reminder(2024, 1, 31, 8, "FREQ=MONTHLY;BYMONTHDAY=-1");
+
+        assertEquals(List.of(
+                at(2024, 1, 31, 8), at(2024, 2, 29, 8), at(2024, 3, 31, 8), at(2024, 4, 30, 8)),
+                firstOccurrences(reminder, 4));
+    }
+
+    @Test
+    public void monthly_defaultDaySkipsShortMonths() {
+        // RFC 5545: the 31st is skipped in months without one, unlike MONTH recurrence
+        ReminderModel reminder = reminder(2024, 1, 31, 8, "FREQ=MONTHLY");
+
+        assertEquals(List.of(at(2024, 1, 31, 8), at(2024, 3, 31, 8), at(2024, 5, 31, 8)),
+                firstOccurrences(reminder, 3));
+    }
+
+    @Test
+    public void yearly_thanksgiving() {
+        ReminderModel reminder = reminder(2024, 11, 28, 12, "FREQ=YEARLY;BYMONTH=11;BYDAY=4TH");
+
+        assertEquals(List.of(at(2024, 11, 28, 12), at(2025, 11, 27, 12), at(2026, 11, 26, 12)),
+                firstOccurrences(reminder, 3));
+    }
+
+    @Test
+    public void yearly_defaultsToStartMonthAndDay() {
+        ReminderModel reminder = reminder(2024, 2, 29, 7, "FREQ=YEARLY");
+
+        assertEquals(List.of(at(2024, 2, 29, 7), at(2028, 2, 29, 7)), firstOccurrences(reminder, 2));
+    }
+
+    @Test
+    public void daily_byDayAndInterval() {
+        // Weekdays only, every other day counted from the start
+        ReminderModel reminder = reminder(2024, 1, 1, 6, "FREQ=DAILY;INTERVAL=2;BYDAY=MO,TU,WE,TH,FR");
+
+        assertEquals(List.of(
+                at(2024, 1, 1, 6), at(2024, 1, 3, 6), at(2024, 1, 5, 6), at(2024, 1, 9, 6)),
+                firstOccurrences(reminder, 4));
+    }
+
+    @Test
+    public void count_includesStartAndStops() {
+        ReminderModel reminder = reminder(2024, 1, 15, 9, "FREQ=DAILY;COUNT=3");
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+
+        assertEquals(at(2024, 1, 16, 9), plan.nextAfter(at(2024, 1, 15, 9)));
+        assertEquals(at(2024, 1, 17, 9), plan.nextAfter(at(2024, 1, 16, 9)));
+        assertEquals(SchedulePlan.NONE, plan.nextAfter(at(2024, 1, 17, 9)));
+    }
+
+    @Test
+    public void until_isInclusiveAndCombinedWithEndDate() {
+        ReminderModel reminder = reminder(2024, 1, 15, 9, "FREQ=DAILY;UNTIL=20240117");
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+        assertEquals(at(2024, 1, 17, 9), plan.nextAfter(at(2024, 1, 16, 9)));
+        assertEquals(SchedulePlan.NONE, plan.nextAfter(at(2024, 1, 17, 9)));
+
+        reminder.setEndDateMillis(at(2024, 1, 16, 12));
+        plan = SchedulePlan.compile(reminder);
+        assertEquals(SchedulePlan.NONE, plan.nextAfter(at(2024, 1, 16, 9)));
+    }
+
+    @Test
+    public void keepsWallClockTimeAcrossDst() {
+        // US spring forward is 2024-03-10
+        ReminderModel reminder = reminder(2024, 3, 8, 9, "FREQ=DAILY");
+
+        assertEquals(List.of(at(2024, 3, 8, 9), at(2024, 3, 9, 9), at(2024, 3, 10, 9), at(2024, 3, 11, 9)),
+                firstOccurrences(reminder, 4));
+        assertEquals(23 * 3_600_000L, at(2024, 3, 10, 9) - at(2024, 3, 9, 9));
+    }
+
+    @Test
+    public void impossibleRule_hasOnlyTheStart() {
+        ReminderModel reminder = reminder(2024, 1, 15, 9, "FREQ=YEARLY;BYMONTH=2;BYMONTHDAY=30");
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+
+        assertEquals(reminder.getStartDateMillis(), plan.nextAfter(0));
+        assertEquals(SchedulePlan.NONE, plan.nextAfter(reminder.getStartDateMillis()));
+    }
+
+    @Test
+    public void rruleOverridesRecurrenceTypeAndInvalidRuleFallsBack() {
+        ReminderModel reminder = reminder(2024, 1, 15, 9, "FREQ=WEEKLY");
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        assertEquals(at(2024, 1, 22, 9), reminder.getNextOccurrenceAfter(at(2024, 1, 15, 9)));
+
+        reminder.setRrule("FREQ=SECONDLY");
+        assertEquals(at(2024, 1, 16, 9), reminder.getNextOccurrenceAfter(at(2024, 1, 15, 9)));
+    }
+
+    @Test
+    public void monthlyRules_matchBruteForceReference() {
+        String[] rules = {
+                "FREQ=MONTHLY;BYDAY=2TU,-2TH",
+                "FREQ=MONTHLY;INTERVAL=3;BYMONTHDAY=1,15,-1",
+                "FREQ=MONTHLY;BYDAY=SA,SU;BYSETPOS=1,-1",
+                "FREQ=MONTHLY;BYMONTHDAY=10,11,12,13;BYDAY=FR",
+                "FREQ=MONTHLY;BYMONTH=2,8;BYDAY=5MO,1SU",
+                "FREQ=MONTHLY;INTERVAL=2;BYDAY=-1MO,WE;BYSETPOS=2",
+        };
+        for (String text : rules) {
+            ReminderModel reminder = reminder(2023, 11, 1, 10, text);
+            List<Long> expected = referenceMonthly(RecurrenceRule.parse(text), reminder, 40);
+            assertEquals(text, expected, firstOccurrences(reminder, expected.size()));
+        }
+    }
+
+    // ==================== Cursor and cache ====================
+
+    @Test
+    public void cursor_expandsRruleWindow() {
+        ReminderModel reminder = reminder(2024, 1, 15, 9, "FREQ=WEEKLY;BYDAY=MO,WE,FR");
+        long[] out = new long[10];
+
+        int n = new OccurrenceCursor()
+                .reset(reminder, at(2024, 1, 17, 9), at(2024, 1, 24, 9))
+                .drainTo(out, 0);
+
+        assertEquals(3, n);
+        assertEquals(at(2024, 1, 17, 9), out[0]);
+        assertEquals(at(2024, 1, 19, 9), out[1]);
+        assertEquals(at(2024, 1, 22, 9), out[2]);
+    }
+
+    @Test
+    public void cache_recompilesWhenRruleChanges() {
+        ReminderModel reminder = reminder(2024, 1, 15, 9, "FREQ=WEEKLY");
+        reminder.setId(7);
+        SchedulePlanCache cache = new SchedulePlanCache();
+        SchedulePlan weekly = cache.get(reminder);
+
+        reminder.setRrule("FREQ=DAILY");
+
+        assertFalse(weekly.matches(reminder));
+        assertEquals(at(2024, 1, 16, 9), cache.nextOccurrenceAfter(reminder, at(2024, 1, 15, 9)));
+    }
+
+    // ==================== Helpers ====================
+
+    private static ReminderModel reminder(int year, int month, int day, int hour, String rrule) {
+        ReminderModel reminder = new ReminderModel("Rule");
+        reminder.setZoneId(NEW_YORK.getId());
+        reminder.setStartDateMillis(at(year, month, day, hour));
+        reminder.setRecurrenceType(RecurrenceType.NEVER);
+        reminder.setRrule(rrule);
+        return reminder;
+    }
+
+    private static long at(int year, int month, int day, int hour) {
+        return ZonedDateTime.of(year, month, day, hour, 0, 0, 0, NEW_YORK).toInstant().toEpochMilli();
+    }
+
+    private static List<Long> firstOccurrences(ReminderModel reminder, int limit) {
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+        List<Long> result = new ArrayList<>();
+        long next = plan.nextAfter(Long.MIN_VALUE + 1);
+        while (next != SchedulePlan.NONE && result.size() < limit) {
+            result.add(next);
+            next = plan.nextAfter(next);
+        }
+        return result;
+    }
+
+    /** Day-by-day MONTHLY expansion straight from the RFC text, for cross-checking. */
+    private static List<Long> referenceMonthly(RecurrenceRule rule, ReminderModel reminder, int months) {
+        ZonedDateTime start = reminder.getStartZonedDateTime();
+        LocalDate first = start.toLocalDate().withDayOfMonth(1);
+        List<Long> result = new ArrayList<>();
+        result.add(reminder.getStartDateMillis());
+        for (int m = 0; m < months; m += rule.getInterval()) {
+            LocalDate month = first.plusMonths(m);
+            List<LocalDate> candidates = new ArrayList<>();
+            for (LocalDate d = month; d.getMonth() == month.getMonth(); d = d.plusDays(1)) {
+                if (matchesMonthly(rule, d)) {
+                    candidates.add(d);
+                }
+            }
+            List<LocalDate> selected = candidates;
+            int[] positions = rule.getBySetPos();
+            if (positions.length > 0) {
+                selected = new ArrayList<>();
+                for (LocalDate d : candidates) {
+                    int index = candidates.indexOf(d);
+                    for (int pos : positions) {
+                        if (pos - 1 == index || candidates.size() + pos == index) {
+                            selected.add(d);
+                            break;
+                        }
+                    }
+                }
+            }
+            for (LocalDate d : selected) {
+                long millis = ZonedDateTime.of(d, start.toLocalTime(), NEW_YORK).toInstant().toEpochMilli();
+                if (millis > reminder.getStartDateMillis()) {
+                    result.add(millis);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean matchesMonthly(RecurrenceRule rule, LocalDate d) {
+        if (rule.getByMonthMask() != 0 && (rule.getByMonthMask() & (1 << (d.getMonthValue() - 1))) == 0) {
+            return false;
+        }
+        int dom = d.getDayOfMonth();
+        int fromEnd = d.lengthOfMonth() - dom + 1;
+        if (rule.hasByMonthDay()
+                && (rule.getByMonthDayPositive() & (1 << (dom - 1))) == 0
+                && (rule.getByMonthDayNegative() & (1 << (fromEnd - 1))) == 0) {
+            return false;
+        }
+        if (!rule.hasByDay()) {
+            return true;
+        }
+        int weekday = d.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue();
+        if ((rule.getByWeekdayMask() & (1 << weekday)) != 0) {
+            return true;
+        }
+        int[] ordinals = rule.getByWeekdayOrdinals();
+        int[] days = rule.getByWeekdayOrdinalDays();
+        for (int i = 0; i < ordinals.length; i++) {
+            if (days[i] == weekday
+                    && (ordinals[i] == (dom - 1) / 7 + 1 || ordinals[i] == -((fromEnd - 1) / 7 + 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -53,6 +53,19 @@ public class RecurrenceTypeTest {
         assertEquals(0L, RecurrenceType.NEVER.getMillis());
     }
 
+    // ==================== keepsWallClock Tests ====================
+
+    @Test
+    public void keepsWallClock_onlyDayAndCalendarSteps() {
+        assertTrue(RecurrenceType.DAY.keepsWallClock());
+        assertTrue(RecurrenceType.MONTH.keepsWallClock());
+        assertTrue(RecurrenceType.YEAR.keepsWallClock());
+        assertFalse(RecurrenceType.HOUR.keepsWallClock());
+        assertFalse(RecurrenceType.MINUTE.keepsWallClock());
+        assertFalse(RecurrenceType.NEVER.keepsWallClock());
+        assertFalse(RecurrenceType.FOREVER.keepsWallClock());
+    }
+
     // ==================== getValue Tests ====================
 
     @Test
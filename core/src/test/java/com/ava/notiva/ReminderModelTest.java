@@ -8,7 +8,10 @@ import com.ava.notiva.model.ReminderModel;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.Calendar;
+import java.util.TimeZone;
 
 /**
  * Unit tests for {@link ReminderModel}, focusing on the complex
@@ -246,6 +249,185 @@ public class ReminderModelTest {
         assertTrue("Next occurrence should be after now", next.after(now));
     }
 
+    // ==================== getNextOccurrenceAfter - Closed-form MONTH/YEAR ====================
+
+    @Test
+    public void getNextOccurrence_monthClosedForm_matchesIterativeLoopAcrossDecades() {
+        int[] delays = {1, 2, 3, 5, 7, 12};
+        for (int delay : delays) {
+            for (int day = 1; day <= 28; day += 4) {
+                Calendar start = Calendar.getInstance();
+                start.set(1975, Calendar.MARCH, day, 9, 30, 0);
+                start.set(Calendar.MILLISECOND, 0);
+
+                reminder.setStartDateTime(start);
+                reminder.setRecurrenceType(RecurrenceType.MONTH);
+                reminder.setRecurrenceDelay(delay);
+                reminder.setEndDateTime(null);
+
+                assertMatchesIterativeLoop(reminder, Calendar.MONTH, 1970, 2060);
+            }
+        }
+    }
+
+    @Test
+    public void getNextOccurrence_yearClosedForm_matchesIterativeLoopAcrossDecades() {
+        int[] delays = {1, 2, 4, 10};
+        for (int delay : delays) {
+            for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month += 2) {
+                Calendar start = Calendar.getInstance();
+                start.set(1972, month, 17, 18, 45, 0);
+                start.set(Calendar.MILLISECOND, 0);
+
+                reminder.setStartDateTime(start);
+                reminder.setRecurrenceType(RecurrenceType.YEAR);
+                reminder.setRecurrenceDelay(delay);
+                reminder.setEndDateTime(null);
+
+                assertMatchesIterativeLoop(reminder, Calendar.YEAR, 1970, 2100);
+            }
+        }
+    }
+
+    @Test
+    public void getNextOccurrence_monthClosedForm_respectsEndDateLikeIterativeLoop() {
+        Calendar start = Calendar.getInstance();
+        start.set(1990, Calendar.JUNE, 10, 8, 0, 0);
+        start.set(Calendar.MILLISECOND, 0);
+        Calendar end = Calendar.getInstance();
+        end.set(2010, Calendar.JUNE, 10, 8, 0, 0);
+        end.set(Calendar.MILLISECOND, 0);
+
+        reminder.setStartDateTime(start);
+        reminder.setRecurrenceType(RecurrenceType.MONTH);
+        reminder.setRecurrenceDelay(4);
+        reminder.setEndDateTime(end);
+
+        assertMatchesIterativeLoop(reminder, Calendar.MONTH, 1985, 2015);
+    }
+
+    @Test
+    public void getNextOccurrence_monthEndStart_clampsToShortMonths() {
+        Calendar start = Calendar.getInstance();
+        start.set(2024, Calendar.JANUARY, 31, 10, 0, 0);
+        start.set(Calendar.MILLISECOND, 0);
+
+        reminder.setStartDateTime(start);
+        reminder.setRecurrenceType(RecurrenceType.MONTH);
+        reminder.setRecurrenceDelay(1);
+        reminder.setEndDateTime(null);
+
+        assertOccurrence(2024, Calendar.FEBRUARY, 29, reminder.getNextOccurrenceAfter(at(2024, Calendar.FEBRUARY, 10)));
+        assertOccurrence(2024, Calendar.APRIL, 30, reminder.getNextOccurrenceAfter(at(2024, Calendar.APRIL, 1)));
+        assertOccurrence(2025, Calendar.FEBRUARY, 28, reminder.getNextOccurrenceAfter(at(2025, Calendar.FEBRUARY, 1)));
+    }
+
+    @Test
+    public void getNextOccurrence_monthEndStart_returnsToOriginalDayAfterShortMonth() {
+        // Each occurrence is clamped from the original day, so a short month
+        // does not pull later occurrences back to the 28th/29th/30th.
+        Calendar start = Calendar.getInstance();
+        start.set(2024, Calendar.JANUARY, 31, 10, 0, 0);
+        start.set(Calendar.MILLISECOND, 0);
+
+        reminder.setStartDateTime(start);
+        reminder.setRecurrenceType(RecurrenceType.MONTH);
+        reminder.setRecurrenceDelay(1);
+        reminder.setEndDateTime(null);
+
+        assertOccurrence(2024, Calendar.MARCH, 31, reminder.getNextOccurrenceAfter(at(2024, Calendar.MARCH, 1)));
+        assertOccurrence(2054, Calendar.DECEMBER, 31, reminder.getNextOccurrenceAfter(at(2054, Calendar.DECEMBER, 1)));
+    }
+
+    @Test
+    public void getNextOccurrence_leapDayYearly_clampsInCommonYearsOnly() {
+        Calendar start = Calendar.getInstance();
+        start.set(2024, Calendar.FEBRUARY, 29, 7, 15, 0);
+        start.set(Calendar.MILLISECOND, 0);
+
+        reminder.setStartDateTime(start);
+        reminder.setRecurrenceType(RecurrenceType.YEAR);
+        reminder.setRecurrenceDelay(1);
+        reminder.setEndDateTime(null);
+
+        assertOccurrence(2025, Calendar.FEBRUARY, 28, reminder.getNextOccurrenceAfter(at(2025, Calendar.JANUARY, 1)));
+        assertOccurrence(2028, Calendar.FEBRUARY, 29, reminder.getNextOccurrenceAfter(at(2028, Calendar.JANUARY, 1)));
+    }
+
+    @Test
+    public void getNextOccurrence_monthClosedForm_nowExactlyOnOccurrence_returnsFollowingOne() {
+        Calendar start = Calendar.getInstance();
+        start.set(1980, Calendar.MAY, 5, 12, 0, 0);
+        start.set(Calendar.MILLISECOND, 0);
+
+        reminder.setStartDateTime(start);
+        reminder.setRecurrenceType(RecurrenceType.MONTH);
+        reminder.setRecurrenceDelay(3);
+        reminder.setEndDateTime(null);
+
+        Calendar onOccurrence = (Calendar) start.clone();
+        onOccurrence.add(Calendar.MONTH, 3 * 500);
+
+        Calendar next = reminder.getNextOccurrenceAfter(onOccurrence);
+
+        Calendar expected = (Calendar) start.clone();
+        expected.add(Calendar.MONTH, 3 * 501);
+        assertEquals(expected.getTimeInMillis(), next.getTimeInMillis());
+    }
+
+    /**
+     * Reference implementation: the original one-period-at-a-time loop.
+     * Only valid for start days that never need clamping (1-28), where
+     * stepping and jumping agree.
+     */
+    private static Calendar iterativeNextOccurrence(ReminderModel model, int calendarField, Calendar now) {
+        Calendar next = (Calendar) model.getStartDateTime().clone();
+        Calendar end = model.getEndDateTime();
+        while (!next.after(now)) {
+            next.add(calendarField, model.getRecurrenceDelay());
+            if (end != null && next.after(end)) {
+                return null;
+            }
+        }
+        if (end != null && next.after(end)) {
+            return null;
+        }
+        return next;
+    }
+
+    private static void assertMatchesIterativeLoop(ReminderModel model, int calendarField, int fromYear, int toYear) {
+        Calendar probe = Calendar.getInstance();
+        probe.set(fromYear, Calendar.JANUARY, 1, 0, 0, 0);
+        probe.set(Calendar.MILLISECOND, 0);
+        // Step by an awkward interval so probes land on every day/hour combination over time
+        while (probe.get(Calendar.YEAR) < toYear) {
+            Calendar expected = iterativeNextOccurrence(model, calendarField, probe);
+            Calendar actual = model.getNextOccurrenceAfter(probe);
+            String message = "Mismatch for " + model + " at " + probe.getTime();
+            if (expected == null) {
+                assertNull(message, actual);
+            } else {
+                assertNotNull(message, actual);
+                assertEquals(message, expected.getTimeInMillis(), actual.getTimeInMillis());
+            }
+            probe.add(Calendar.HOUR_OF_DAY, 1901);
+        }
+    }
+
+    private static Calendar at(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(year, month, day, 0, 0, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar;
+    }
+
+    private static void assertOccurrence(int year, int month, int day, Calendar actual) {
+        assertNotNull(actual);
+        assertEquals(year, actual.get(Calendar.YEAR));
+        assertEquals(month, actual.get(Calendar.MONTH));
+        assertEquals(day, actual.get(Calendar.DAY_OF_MONTH));
+    }
+
     // ==================== getNextOccurrenceAfter - FOREVER recurrence ====================
 
     @Test
@@ -327,17 +509,155 @@ public class ReminderModelTest {
         assertNotNull("Should return occurrence when it falls on or before end date", next);
     }
 
-    // ==================== getNextOccurrenceAfter - Null start date ====================
+    // ==================== Epoch millis and zone ====================
+
+    @Test
+    public void setStartDateTime_null_throws() {
+        assertThrows(NullPointerException.class, () -> reminder.setStartDateTime(null));
+    }
+
+    @Test
+    public void setStartDateTime_storesInstantAndCalendarZone() {
+        Calendar tokyo = Calendar.getInstance(TimeZone.getTimeZone("Asia/Tokyo"));
+        tokyo.set(2024, Calendar.MARCH, 1, 9, 0, 0);
+        tokyo.set(Calendar.MILLISECOND, 0);
+
+        reminder.setStartDateTime(tokyo);
+
+        assertEquals(tokyo.getTimeInMillis(), reminder.getStartDateMillis());
+        assertEquals("Asia/Tokyo", reminder.getZoneId());
+        assertEquals(ZoneId.of("Asia/Tokyo"), reminder.getZone());
+        assertEquals(9, reminder.getStartDateTime().get(Calendar.HOUR_OF_DAY));
+        assertEquals(9, reminder.getStartZonedDateTime().getHour());
+    }
+
+    @Test
+    public void getStartDateTime_returnsCopy_mutationsAreNotStored() {
+        reminder.setStartDateTime(now);
+
+        reminder.getStartDateTime().add(Calendar.DAY_OF_YEAR, 1);
+
+        assertEquals(now.getTimeInMillis(), reminder.getStartDateMillis());
+    }
+
+    @Test
+    public void endDateMillis_nullMeansNoEnd() {
+        assertFalse(reminder.hasEndDate());
+        assertNull(reminder.getEndDateTime());
+        assertNull(reminder.getEndZonedDateTime());
+
+        reminder.setEndDateMillis(now.getTimeInMillis());
+
+        assertTrue(reminder.hasEndDate());
+        assertEquals(now.getTimeInMillis(), reminder.getEndDateTime().getTimeInMillis());
+    }
+
+    @Test
+    public void setZoneId_invalidatesCachedZone() {
+        reminder.setZoneId("Europe/Paris");
+        assertEquals(ZoneId.of("Europe/Paris"), reminder.getZone());
+
+        reminder.setZoneId("America/Chicago");
+
+        assertEquals(ZoneId.of("America/Chicago"), reminder.getZone());
+    }
+
+    @Test
+    public void monthly_usesReminderZone_notDeviceZone() {
+        // Jan 31 23:00 in New York is already Feb 1 in most of the world; the month
+        // stepping must follow New York wall-clock fields whatever the device zone is.
+        TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+        Calendar start = Calendar.getInstance(newYork);
+        start.set(2024, Calendar.JANUARY, 31, 23, 0, 0);
+        start.set(Calendar.MILLISECOND, 0);
+        reminder.setStartDateTime(start);
+        reminder.setRecurrenceType(RecurrenceType.MONTH);
+        reminder.setRecurrenceDelay(1);
+
+        long next = reminder.getNextOccurrenceAfter(start.getTimeInMillis());
+
+        Calendar expected = Calendar.getInstance(newYork);
+        expected.set(2024, Calendar.FEBRUARY, 29, 23, 0, 0);
+        expected.set(Calendar.MILLISECOND, 0);
+        assertEquals(expected.getTimeInMillis(), next);
+        assertEquals(newYork, reminder.getNextOccurrenceAfter(start).getTimeZone());
+    }
+
+    @Test
+    public void primitiveNextOccurrence_noMoreOccurrences_returnsSentinel() {
+        reminder.setStartDateTime(now);
+        reminder.setRecurrenceType(RecurrenceType.NEVER);
+
+        assertEquals(ReminderModel.NO_OCCURRENCE, reminder.getNextOccurrenceAfter(now.getTimeInMillis()));
+        assertEquals(now.getTimeInMillis(), reminder.getNextOccurrenceAfter(now.getTimeInMillis() - 1));
+    }
+
+    @Test
+    public void moveToZone_keepsLocalStartAndEnd() {
+        Calendar newYork = Calendar.getInstance(TimeZone.getTimeZone("America/New_York"));
+        newYork.set(2024, Calendar.MARCH, 1, 8, 0, 0);
+        newYork.set(Calendar.MILLISECOND, 0);
+        reminder.setStartDateTime(newYork);
+        reminder.setEndDateMillis(newYork.getTimeInMillis() + 3 * 86_400_000L);
+        long startBefore = reminder.getStartDateMillis();
+
+        assertTrue(reminder.moveToZone(ZoneId.of("Europe/London")));
+
+        assertEquals("Europe/London", reminder.getZoneId());
+        assertEquals(8, reminder.getStartZonedDateTime().getHour());
+        assertEquals(1, reminder.getStartZonedDateTime().getDayOfMonth());
+        assertEquals("London 08:00 is five hours before New York 08:00",
+                startBefore - 5 * 3_600_000L, reminder.getStartDateMillis());
+        assertEquals(8, reminder.getEndZonedDateTime().getHour());
+        assertEquals(4, reminder.getEndZonedDateTime().getDayOfMonth());
+    }
+
+    @Test
+    public void moveToZone_sameZone_isNoOp() {
+        reminder.setZoneId("Asia/Tokyo");
+        long start = reminder.getStartDateMillis();
+
+        assertFalse(reminder.moveToZone(ZoneId.of("Asia/Tokyo")));
+
+        assertEquals(start, reminder.getStartDateMillis());
+    }
 
     @Test
-    public void getNextOccurrence_nullStartDate_returnsNull() {
-        reminder.setStartDateTime(null);
+    public void moveToZone_moves_nextDailyOccurrenceToNewLocalTime() {
+        Calendar berlin = Calendar.getInstance(TimeZone.getTimeZone("Europe/Berlin"));
+        berlin.set(2024, Calendar.JUNE, 1, 9, 0, 0);
+        berlin.set(Calendar.MILLISECOND, 0);
+        reminder.setStartDateTime(berlin);
         reminder.setRecurrenceType(RecurrenceType.DAY);
         reminder.setRecurrenceDelay(1);
 
-        Calendar next = reminder.getNextOccurrenceAfter(now);
+        reminder.moveToZone(ZoneId.of("Asia/Kolkata"));
+        long next = reminder.getNextOccurrenceAfter(berlin.getTimeInMillis() + 86_400_000L);
+
+        assertEquals(9, Instant.ofEpochMilli(next).atZone(ZoneId.of("Asia/Kolkata")).getHour());
+    }
 
-        assertNull("Should return null when start date is null", next);
+    @Test
+    public void floatingZone_defaultsOffAndTakesPartInEquals() {
+        ReminderModel model1 = new ReminderModel("Test");
+        ReminderModel model2 = new ReminderModel("Test");
+        model2.setStartDateMillis(model1.getStartDateMillis());
+        assertFalse(model1.isFloatingZone());
+
+        model2.setFloatingZone(true);
+
+        assertNotEquals(model1, model2);
+    }
+
+    @Test
+    public void equals_differentZone_returnsFalse() {
+        ReminderModel model1 = new ReminderModel("Test");
+        ReminderModel model2 = new ReminderModel("Test");
+        model2.setStartDateMillis(model1.getStartDateMillis());
+        model1.setZoneId("Europe/London");
+        model2.setZoneId("Asia/Kolkata");
+
+        assertNotEquals(model1, model2);
     }
 
     // ==================== Equals and HashCode ====================
@@ -589,6 +909,65 @@ public class ReminderModelTest {
         assertTrue("Should contain snoozedUntil=null", result.contains("snoozedUntil=null"));
     }
 
+    // ==================== Scheduling bookkeeping ====================
+
+    @Test
+    public void needsScheduling_newReminder_isDirty() {
+        ReminderModel model = new ReminderModel("New");
+
+        assertEquals(0, model.getScheduleVersion());
+        assertEquals(-1, model.getScheduledVersion());
+        assertNull(model.getScheduledAt());
+        assertTrue(model.needsScheduling(0));
+    }
+
+    @Test
+    public void needsScheduling_cleanUntilArmedAlarmIsDue() {
+        reminder.setScheduleVersion(3);
+        reminder.setScheduledVersion(3);
+        reminder.setScheduledAt(10_000L);
+
+        assertFalse(reminder.needsScheduling(9_999L));
+        assertTrue(reminder.needsScheduling(10_000L));
+
+        reminder.setScheduledAt(null);
+        assertFalse(reminder.needsScheduling(Long.MAX_VALUE));
+
+        reminder.setScheduleVersion(4);
+        assertTrue(reminder.needsScheduling(0));
+    }
+
+    @Test
+    public void equals_ignoresSchedulingBookkeeping() {
+        ReminderModel other = new ReminderModel();
+        other.setId(reminder.getId());
+        other.setName(reminder.getName());
+        other.setActive(reminder.isActive());
+        other.setZoneId(reminder.getZoneId());
+        other.setStartDateMillis(reminder.getStartDateMillis());
+        other.setScheduleVersion(7);
+        other.setScheduledVersion(7);
+        other.setScheduledAt(123L);
+
+        assertEquals(reminder, other);
+        assertEquals(reminder.hashCode(), other.hashCode());
+    }
+
+    @Test
+    public void equals_ignoresNextFireAt() {
+        ReminderModel other = new ReminderModel();
+        other.setId(reminder.getId());
+        other.setName(reminder.getName());
+        other.setActive(reminder.isActive());
+        other.setZoneId(reminder.getZoneId());
+        other.setStartDateMillis(reminder.getStartDateMillis());
+        other.setNextFireAt(123L);
+
+        assertEquals("Advancing next_fire_at alone must not rebind the row", reminder, other);
+        assertEquals(reminder.hashCode(), other.hashCode());
+        assertTrue(other.toString().contains("nextFireAt=123"));
+    }
+
     // ==================== Edge Cases ====================
 
     @Test
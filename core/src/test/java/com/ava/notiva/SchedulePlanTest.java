@@ -0,0 +1,410 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.RecurrenceType;
+import com.ava.notiva.model.ReminderModel;
+import com.ava.notiva.model.SchedulePlan;
+import com.ava.notiva.model.SchedulePlanCache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Unit tests for {@link SchedulePlan} and {@link SchedulePlanCache}.
+ */
+public class SchedulePlanTest {
+
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+    private ReminderModel reminder;
+
+    @Before
+    public void setUp() {
+        reminder = new ReminderModel("Plan");
+        reminder.setId(1);
+        reminder.setStartDateTime(at(NEW_YORK, 2024, Calendar.JANUARY, 15, 8, 0));
+    }
+
+    // ==================== Evaluators ====================
+
+    @Test
+    public void fixedInterval_matchesMillisecondMath() {
+        reminder.setRecurrenceType(RecurrenceType.HOUR);
+        reminder.setRecurrenceDelay(6);
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+
+        long start = reminder.getStartDateMillis();
+
+        assertTrue(plan.isRecurring());
+        assertEquals(start, plan.nextAfter(start - 1));
+        assertEquals(start + 6 * 3_600_000L, plan.nextAfter(start));
+        assertEquals(start + 12 * 3_600_000L, plan.nextAfter(start + 7 * 3_600_000L));
+    }
+
+    @Test
+    public void oneShot_neverForeverAndZeroDelay() {
+        RecurrenceType[] types = {RecurrenceType.NEVER, RecurrenceType.FOREVER, RecurrenceType.DAY};
+        int[] delays = {1, 1, 0};
+        long start = reminder.getStartDateMillis();
+        for (int i = 0; i < types.length; i++) {
+            reminder.setRecurrenceType(types[i]);
+            reminder.setRecurrenceDelay(delays[i]);
+            SchedulePlan plan = SchedulePlan.compile(reminder);
+
+            assertFalse(types[i].name(), plan.isRecurring());
+            assertEquals(types[i].name(), start, plan.nextAfter(start - 1));
+            assertEquals(types[i].name(), SchedulePlan.NONE, plan.nextAfter(start));
+        }
+    }
+
+    @Test
+    public void endDate_isInclusive() {
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        long day = RecurrenceType.DAY.getMillis();
+        reminder.setEndDateMillis(reminder.getStartDateMillis() + 2 * day);
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+
+        assertEquals(reminder.getStartDateMillis() + 2 * day, plan.nextAfter(reminder.getStartDateMillis() + day));
+        assertEquals(SchedulePlan.NONE, plan.nextAfter(reminder.getStartDateMillis() + 2 * day));
+    }
+
+    @Test
+    public void monthly_monthEndClampsFromOriginalDay() {
+        reminder.setStartDateTime(at(NEW_YORK, 2024, Calendar.JANUARY, 31, 9, 0));
+        reminder.setRecurrenceType(RecurrenceType.MONTH);
+        reminder.setRecurrenceDelay(1);
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+
+        long feb = plan.nextAfter(reminder.getStartDateMillis());
+        long mar = plan.nextAfter(feb);
+
+        assertEquals(at(NEW_YORK, 2024, Calendar.FEBRUARY, 29, 9, 0).getTimeInMillis(), feb);
+        assertEquals(at(NEW_YORK, 2024, Calendar.MARCH, 31, 9, 0).getTimeInMillis(), mar);
+    }
+
+    @Test
+    public void monthly_dstGapAndOverlap_matchCalendarAdd() {
+        // 02:30 does not exist on 2024-03-10 and 01:30 happens twice on 2024-11-03
+        Calendar[] starts = {
+                at(NEW_YORK, 2024, Calendar.FEBRUARY, 10, 2, 30),
+                at(NEW_YORK, 2024, Calendar.OCTOBER, 3, 1, 30),
+        };
+        for (Calendar start : starts) {
+            reminder.setStartDateTime(start);
+            reminder.setRecurrenceType(RecurrenceType.MONTH);
+            reminder.setRecurrenceDelay(1);
+
+            Calendar expected = (Calendar) start.clone();
+            expected.add(Calendar.MONTH, 1);
+
+            assertEquals(expected.getTimeInMillis(),
+                    SchedulePlan.compile(reminder).nextAfter(start.getTimeInMillis()));
+        }
+    }
+
+    @Test
+    public void monthly_startInRepeatedHour_doesNotRefireAtLaterOffset() {
+        // 01:30 EDT on 2024-11-03 repeats as 01:30 EST an hour later
+        long start = ZonedDateTime.of(LocalDateTime.of(2024, 11, 3, 1, 30), NEW_YORK.toZoneId())
+                .withEarlierOffsetAtOverlap().toInstant().toEpochMilli();
+        reminder.setStartDateMillis(start);
+        reminder.setRecurrenceType(RecurrenceType.MONTH);
+        reminder.setRecurrenceDelay(1);
+
+        assertEquals(at(NEW_YORK, 2024, Calendar.DECEMBER, 3, 1, 30).getTimeInMillis(),
+                SchedulePlan.compile(reminder).nextAfter(start));
+    }
+
+    @Test
+    public void yearly_everyCalendarMonthStep_matchesCalendarAddAcrossZones() {
+        String[] zones = {"America/New_York", "Europe/London", "Australia/Sydney", "Asia/Kolkata", "UTC"};
+        for (String zoneId : zones) {
+            TimeZone zone = TimeZone.getTimeZone(zoneId);
+            Calendar start = at(zone, 1996, Calendar.FEBRUARY, 29, 1, 30);
+            reminder.setStartDateTime(start);
+            reminder.setRecurrenceType(RecurrenceType.YEAR);
+            reminder.setRecurrenceDelay(1);
+            SchedulePlan plan = SchedulePlan.compile(reminder);
+
+            long now = start.getTimeInMillis();
+            for (int year = 1; year <= 40; year++) {
+                Calendar expected = (Calendar) start.clone();
+                expected.add(Calendar.YEAR, year);
+                now = plan.nextAfter(now);
+                assertEquals(zoneId + " +" + year, expected.getTimeInMillis(), now);
+            }
+        }
+    }
+
+    // ==================== Wall-clock intervals ====================
+
+    @Test
+    public void wallClockDaily_keepsLocalTimeAcrossDst() {
+        reminder.setStartDateTime(at(NEW_YORK, 2024, Calendar.MARCH, 9, 8, 0));
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        reminder.setWallClock(true);
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+
+        long sunday = plan.nextAfter(reminder.getStartDateMillis());
+        long monday = plan.nextAfter(sunday);
+
+        assertEquals(at(NEW_YORK, 2024, Calendar.MARCH, 10, 8, 0).getTimeInMillis(), sunday);
+        assertEquals(at(NEW_YORK, 2024, Calendar.MARCH, 11, 8, 0).getTimeInMillis(), monday);
+
+        reminder.setWallClock(false);
+        assertEquals("Elapsed-time mode drifts to 09:00",
+                at(NEW_YORK, 2024, Calendar.MARCH, 10, 9, 0).getTimeInMillis(),
+                SchedulePlan.compile(reminder).nextAfter(reminder.getStartDateMillis()));
+    }
+
+    @Test
+    public void wallClockDaily_skippedTimeMovesForward() {
+        // 02:30 does not exist on 2024-03-10 in New York
+        reminder.setStartDateTime(at(NEW_YORK, 2024, Calendar.MARCH, 9, 2, 30));
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        reminder.setWallClock(true);
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+
+        long gapDay = plan.nextAfter(reminder.getStartDateMillis());
+
+        assertEquals(at(NEW_YORK, 2024, Calendar.MARCH, 10, 3, 30).getTimeInMillis(), gapDay);
+        assertEquals(at(NEW_YORK, 2024, Calendar.MARCH, 11, 2, 30).getTimeInMillis(), plan.nextAfter(gapDay));
+    }
+
+    @Test
+    public void wallClockDaily_repeatedTimeTakesLaterOffset() {
+        reminder.setStartDateTime(at(NEW_YORK, 2024, Calendar.NOVEMBER, 2, 1, 30));
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        reminder.setWallClock(true);
+
+        // 01:30 EST, the second of the two 01:30s
+        long expected = ZonedDateTime.of(2024, 11, 3, 1, 30, 0, 0, NEW_YORK.toZoneId())
+                .withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+        assertEquals(expected, SchedulePlan.compile(reminder).nextAfter(reminder.getStartDateMillis()));
+    }
+
+    @Test
+    public void wallClockHourly_fallBackSkipsRepeatedHour() {
+        // 01:00-02:00 happens twice on 2024-11-03 in New York
+        reminder.setStartDateTime(at(NEW_YORK, 2024, Calendar.NOVEMBER, 3, 0, 30));
+        reminder.setRecurrenceType(RecurrenceType.HOUR);
+        reminder.setRecurrenceDelay(1);
+        reminder.setWallClock(true);
+        long start = reminder.getStartDateMillis();
+
+        // The repeated 01:30 resolves to EST only, leaving a two-hour gap
+        long wallClockNext = SchedulePlan.compile(reminder).nextAfter(start);
+        assertEquals(start + 2 * 3_600_000L, wallClockNext);
+
+        reminder.setWallClock(false);
+        SchedulePlan elapsed = SchedulePlan.compile(reminder);
+        long first = elapsed.nextAfter(start);
+        assertEquals("Elapsed time fires at 01:30 EDT", start + 3_600_000L, first);
+        assertEquals("and again at 01:30 EST", wallClockNext, elapsed.nextAfter(first));
+        assertFalse(RecurrenceType.HOUR.keepsWallClock());
+    }
+
+    @Test
+    public void wallClockIntervals_matchSortedLocalSequence() {
+        // Reference: resolve every local occurrence with java.time, then take the smallest
+        // instant strictly after each probe
+        String[] zones = {"America/New_York", "Europe/London", "Australia/Lord_Howe", "Pacific/Apia", "UTC"};
+        RecurrenceType[] types = {RecurrenceType.MINUTE, RecurrenceType.HOUR, RecurrenceType.DAY};
+        int[] delays = {20, 1, 1};
+        for (String zoneId : zones) {
+            ZoneId zone = ZoneId.of(zoneId);
+            for (int t = 0; t < types.length; t++) {
+                LocalDateTime startLocal = LocalDateTime.of(2011, 3, 1, 1, 10);
+                reminder.setZoneId(zoneId);
+                reminder.setStartDateMillis(startLocal.atZone(zone).toInstant().toEpochMilli());
+                reminder.setRecurrenceType(types[t]);
+                reminder.setRecurrenceDelay(delays[t]);
+                reminder.setWallClock(true);
+                SchedulePlan plan = SchedulePlan.compile(reminder);
+
+                Duration period = Duration.ofMillis(types[t].getMillis() * delays[t]);
+                int steps = (int) (Duration.ofDays(400).toMillis() / period.toMillis());
+                long[] occurrences = new long[steps];
+                occurrences[0] = reminder.getStartDateMillis();
+                for (int k = 1; k < steps; k++) {
+                    occurrences[k] = startLocal.plus(period.multipliedBy(k)).atZone(zone)
+                            .withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+                }
+                Arrays.sort(occurrences);
+
+                long probe = reminder.getStartDateMillis();
+                long limit = occurrences[steps - 1] - Duration.ofDays(2).toMillis();
+                Random random = new Random(zoneId.hashCode() + t);
+                while (probe < limit) {
+                    long expected = occurrences[upperBound(occurrences, probe)];
+                    assertEquals(zoneId + " " + types[t] + " after " + probe, expected, plan.nextAfter(probe));
+                    probe += 1 + random.nextInt((int) Math.min(Integer.MAX_VALUE, period.toMillis() * 3));
+                }
+            }
+        }
+    }
+
+    // ==================== matches ====================
+
+    @Test
+    public void matches_ignoresNonScheduleFields() {
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+
+        reminder.setName("Renamed");
+        reminder.setActive(false);
+        reminder.setSnoozedUntil(123L);
+
+        assertTrue(plan.matches(reminder));
+    }
+
+    @Test
+    public void matches_detectsScheduleChanges() {
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        SchedulePlan plan = SchedulePlan.compile(reminder);
+
+        reminder.setRecurrenceDelay(2);
+        assertFalse(plan.matches(reminder));
+        reminder.setRecurrenceDelay(1);
+
+        reminder.setEndDateMillis(reminder.getStartDateMillis());
+        assertFalse(plan.matches(reminder));
+        reminder.setEndDateMillis(null);
+
+        reminder.setZoneId("Europe/Paris");
+        assertFalse(plan.matches(reminder));
+        reminder.setZoneId(NEW_YORK.getID());
+
+        reminder.setWallClock(true);
+        assertFalse(plan.matches(reminder));
+    }
+
+    // ==================== SchedulePlanCache ====================
+
+    @Test
+    public void cache_reusesPlanWhileScheduleUnchanged() {
+        SchedulePlanCache cache = new SchedulePlanCache();
+
+        SchedulePlan first = cache.get(reminder);
+        reminder.setName("Renamed");
+
+        assertSame(first, cache.get(reminder));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void cache_recompilesStalePlan() {
+        SchedulePlanCache cache = new SchedulePlanCache();
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        SchedulePlan first = cache.get(reminder);
+
+        reminder.setRecurrenceDelay(3);
+        SchedulePlan second = cache.get(reminder);
+
+        assertNotSame(first, second);
+        assertEquals(reminder.getStartDateMillis() + 3 * RecurrenceType.DAY.getMillis(),
+                second.nextAfter(reminder.getStartDateMillis()));
+        assertSame(second, cache.get(reminder));
+    }
+
+    @Test
+    public void cache_invalidateAndClear() {
+        SchedulePlanCache cache = new SchedulePlanCache();
+        ReminderModel other = new ReminderModel("Other");
+        other.setId(2);
+        cache.get(reminder);
+        cache.get(other);
+
+        cache.invalidate(1);
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void cache_doesNotStoreUnsavedReminders() {
+        SchedulePlanCache cache = new SchedulePlanCache();
+        ReminderModel unsaved = new ReminderModel("Draft");
+
+        cache.get(unsaved);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void nextFireAt_isNextOccurrence() {
+        SchedulePlanCache cache = new SchedulePlanCache();
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        long start = reminder.getStartDateMillis();
+
+        assertEquals(Long.valueOf(start + RecurrenceType.DAY.getMillis()), cache.nextFireAt(reminder, start));
+        assertEquals(Long.valueOf(start), cache.nextFireAt(reminder, start - 1));
+    }
+
+    @Test
+    public void nextFireAt_inactiveOrFinished_isNull() {
+        SchedulePlanCache cache = new SchedulePlanCache();
+        reminder.setRecurrenceType(RecurrenceType.NEVER);
+        long start = reminder.getStartDateMillis();
+
+        assertNull(cache.nextFireAt(reminder, start));
+        assertNull(cache.nextFireAt(reminder, false, start - 1));
+        assertEquals(Long.valueOf(start), cache.nextFireAt(reminder, true, start - 1));
+    }
+
+    @Test
+    public void nextFireAt_pendingSnooze_winsUntilItPasses() {
+        SchedulePlanCache cache = new SchedulePlanCache();
+        reminder.setRecurrenceType(RecurrenceType.DAY);
+        reminder.setRecurrenceDelay(1);
+        long start = reminder.getStartDateMillis();
+        reminder.setSnoozedUntil(start + 600_000L);
+
+        assertEquals(Long.valueOf(start + 600_000L), cache.nextFireAt(reminder, start));
+        assertEquals(Long.valueOf(start + RecurrenceType.DAY.getMillis()),
+                cache.nextFireAt(reminder, start + 600_000L));
+    }
+
+    // ==================== Helpers ====================
+
+    /** Index of the first element strictly greater than {@code key}. */
+    private static int upperBound(long[] sorted, long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static Calendar at(TimeZone zone, int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute, 0);
+        return calendar;
+    }
+}
@@ -0,0 +1,165 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.AlarmDelta;
+import com.ava.notiva.model.SchedulerMetrics;
+import com.ava.notiva.model.SchedulerMetrics.Counter;
+import com.ava.notiva.model.SchedulerMetrics.Timer;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link SchedulerMetrics}.
+ */
+public class SchedulerMetricsTest {
+
+    // ==================== Counters and timers ====================
+
+    @Test
+    public void counters_startAtZeroAndAccumulate() {
+        SchedulerMetrics metrics = new SchedulerMetrics();
+        assertEquals(0, metrics.get(Counter.PASSES));
+
+        metrics.increment(Counter.PASSES);
+        metrics.increment(Counter.PASSES);
+        metrics.add(Counter.ROWS_SCANNED, 40);
+
+        assertEquals(2, metrics.get(Counter.PASSES));
+        assertEquals(40, metrics.get(Counter.ROWS_SCANNED));
+        assertEquals(0, metrics.get(Counter.OVERDUE_FIRES));
+    }
+
+    @Test
+    public void timer_tracksCountTotalAndMax() {
+        SchedulerMetrics metrics = new SchedulerMetrics();
+        metrics.record(Timer.PASS_DURATION, 12);
+        metrics.record(Timer.PASS_DURATION, 30);
+        metrics.record(Timer.PASS_DURATION, -5);
+
+        assertEquals(3, metrics.getCount(Timer.PASS_DURATION));
+        assertEquals(42, metrics.getTotalMillis(Timer.PASS_DURATION));
+        assertEquals(30, metrics.getMaxMillis(Timer.PASS_DURATION));
+        assertEquals(0, metrics.getCount(Timer.DB_QUERY));
+    }
+
+    @Test
+    public void addDelta_countsSetsAndCancels() {
+        AlarmDelta delta = new AlarmDelta();
+        delta.count(AlarmDelta.Op.SET);
+        delta.count(AlarmDelta.Op.SET);
+        delta.count(AlarmDelta.Op.CANCEL);
+        delta.count(AlarmDelta.Op.NOOP);
+        SchedulerMetrics metrics = new SchedulerMetrics();
+
+        metrics.addDelta(delta);
+
+        assertEquals(2, metrics.get(Counter.ALARMS_SET));
+        assertEquals(1, metrics.get(Counter.ALARMS_CANCELLED));
+    }
+
+    @Test
+    public void concurrentIncrements_areNotLost() throws Exception {
+        SchedulerMetrics metrics = new SchedulerMetrics();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    metrics.increment(Counter.ROWS_SCANNED);
+                    metrics.record(Timer.DB_QUERY, i % 7);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(40_000, metrics.get(Counter.ROWS_SCANNED));
+        assertEquals(40_000, metrics.getCount(Timer.DB_QUERY));
+        assertEquals(6, metrics.getMaxMillis(Timer.DB_QUERY));
+    }
+
+    // ==================== Persistence ====================
+
+    @Test
+    public void snapshot_restore_roundTripsIntoFreshRegistry() {
+        SchedulerMetrics metrics = new SchedulerMetrics();
+        metrics.add(Counter.ALARMS_SET, 5);
+        metrics.increment(Counter.SKIPPED_SNOOZED);
+        metrics.record(Timer.PASS_DURATION, 8);
+        metrics.record(Timer.PASS_DURATION, 20);
+
+        SchedulerMetrics restored = new SchedulerMetrics();
+        restored.restore(metrics.snapshot());
+
+        assertEquals(metrics.snapshot(), restored.snapshot());
+        assertEquals(5, restored.get(Counter.ALARMS_SET));
+        assertEquals(2, restored.getCount(Timer.PASS_DURATION));
+        assertEquals(20, restored.getMaxMillis(Timer.PASS_DURATION));
+    }
+
+    @Test
+    public void restore_addsToCurrentValues() {
+        SchedulerMetrics metrics = new SchedulerMetrics();
+        metrics.add(Counter.PASSES, 2);
+        metrics.record(Timer.DB_QUERY, 50);
+        Map<String, Object> saved = new HashMap<>();
+        saved.put("passes", 3L);
+        saved.put("db_query.count", 1L);
+        saved.put("db_query.total_ms", 10L);
+        saved.put("db_query.max_ms", 10L);
+
+        metrics.restore(saved);
+
+        assertEquals(5, metrics.get(Counter.PASSES));
+        assertEquals(2, metrics.getCount(Timer.DB_QUERY));
+        assertEquals(60, metrics.getTotalMillis(Timer.DB_QUERY));
+        assertEquals(50, metrics.getMaxMillis(Timer.DB_QUERY));
+    }
+
+    @Test
+    public void restore_ignoresUnknownAndNonNumericValues() {
+        SchedulerMetrics metrics = new SchedulerMetrics();
+        Map<String, Object> saved = new HashMap<>();
+        saved.put("retired_counter", 9L);
+        saved.put("passes", "lots");
+
+        metrics.restore(saved);
+
+        assertEquals(0, metrics.get(Counter.PASSES));
+    }
+
+    @Test
+    public void reset_zeroesEverything() {
+        SchedulerMetrics metrics = new SchedulerMetrics();
+        metrics.add(Counter.DEFERRED, 4);
+        metrics.record(Timer.PASS_DURATION, 9);
+
+        metrics.reset();
+
+        assertEquals(0, metrics.get(Counter.DEFERRED));
+        assertEquals(0, metrics.getCount(Timer.PASS_DURATION));
+        assertEquals(0, metrics.getMaxMillis(Timer.PASS_DURATION));
+    }
+
+    // ==================== Export ====================
+
+    @Test
+    public void toJson_listsCountersAndTimers() {
+        SchedulerMetrics metrics = new SchedulerMetrics();
+        metrics.add(Counter.ALARMS_SET, 3);
+        metrics.record(Timer.PASS_DURATION, 7);
+
+        String json = metrics.toJson();
+
+        assertTrue(json.startsWith("{\"counters\":{\"passes\":0,"));
+        assertTrue(json.contains("\"alarms_set\":3"));
+        assertTrue(json.contains("\"pass_duration\":{\"count\":1,\"total_ms\":7,\"max_ms\":7}"));
+        assertTrue(json.endsWith("}}"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.SchedulerMode;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SchedulerMode}.
+ */
+public class SchedulerModeTest {
+
+    @Test
+    public void fromPreference_knownValues() {
+        assertEquals(SchedulerMode.PER_REMINDER, SchedulerMode.fromPreference("PER_REMINDER"));
+        assertEquals(SchedulerMode.SINGLE_WAKEUP, SchedulerMode.fromPreference("SINGLE_WAKEUP"));
+    }
+
+    @Test
+    public void fromPreference_unknownOrNull_fallsBackToPerReminder() {
+        assertEquals(SchedulerMode.PER_REMINDER, SchedulerMode.fromPreference(null));
+        assertEquals(SchedulerMode.PER_REMINDER, SchedulerMode.fromPreference(""));
+        assertEquals(SchedulerMode.PER_REMINDER, SchedulerMode.fromPreference("single_wakeup"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.SchedulingHorizon;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SchedulingHorizon}.
+ */
+public class SchedulingHorizonTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    public void fromPreference_parsesHours() {
+        assertEquals(6 * HOUR, SchedulingHorizon.fromPreference("6").getMillis());
+        assertEquals(24 * HOUR, SchedulingHorizon.fromPreference("24").getMillis());
+    }
+
+    @Test
+    public void fromPreference_zero_isUnlimited() {
+        assertTrue(SchedulingHorizon.fromPreference("0").isUnlimited());
+        assertSame(SchedulingHorizon.UNLIMITED, SchedulingHorizon.ofHours(-3));
+    }
+
+    @Test
+    public void fromPreference_invalidOrNull_fallsBackToDefault() {
+        long defaultMillis = SchedulingHorizon.DEFAULT_HOURS * HOUR;
+        assertEquals(defaultMillis, SchedulingHorizon.fromPreference(null).getMillis());
+        assertEquals(defaultMillis, SchedulingHorizon.fromPreference("six").getMillis());
+    }
+
+    @Test
+    public void covers_includesWindowEnd() {
+        SchedulingHorizon horizon = SchedulingHorizon.ofHours(6);
+        long now = 1_700_000_000_000L;
+
+        assertEquals(now + 6 * HOUR, horizon.endFrom(now));
+        assertTrue(horizon.covers(now - 1, now));
+        assertTrue(horizon.covers(now + 6 * HOUR, now));
+        assertFalse(horizon.covers(now + 6 * HOUR + 1, now));
+    }
+
+    @Test
+    public void unlimited_coversEverything() {
+        assertEquals(Long.MAX_VALUE, SchedulingHorizon.UNLIMITED.endFrom(0));
+        assertTrue(SchedulingHorizon.UNLIMITED.covers(Long.MAX_VALUE, 0));
+    }
+
+    @Test
+    public void endFrom_saturatesInsteadOfOverflowing() {
+        assertEquals(Long.MAX_VALUE, SchedulingHorizon.ofHours(1).endFrom(Long.MAX_VALUE - 10));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.SchedulingHorizon;
+import com.ava.notiva.model.WorkerCadence;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link WorkerCadence}.
+ */
+public class WorkerCadenceTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final SchedulingHorizon SIX_HOURS = SchedulingHorizon.ofHours(6);
+
+    // ==================== nextRunAt ====================
+
+    @Test
+    public void nextRunAt_nothingUpcoming_leavesItToSafetyNet() {
+        assertNull(WorkerCadence.nextRunAt(NOW, null, null, SIX_HOURS));
+    }
+
+    @Test
+    public void nextRunAt_followsUpJustAfterEarliestFire() {
+        Long runAt = WorkerCadence.nextRunAt(NOW, NOW + 2 * HOUR, null, SIX_HOURS);
+
+        assertEquals(Long.valueOf(NOW + 2 * HOUR + WorkerCadence.FOLLOW_UP_DELAY_MILLIS), runAt);
+    }
+
+    @Test
+    public void nextRunAt_runsWhenDeferredFireEntersHorizon() {
+        Long runAt = WorkerCadence.nextRunAt(NOW, NOW + 5 * HOUR, NOW + 8 * HOUR, SIX_HOURS);
+
+        assertEquals("The deferred fire enters the window before the armed one fires",
+                Long.valueOf(NOW + 2 * HOUR), runAt);
+    }
+
+    @Test
+    public void nextRunAt_unlimitedHorizon_ignoresDeferredFire() {
+        assertNull(WorkerCadence.nextRunAt(NOW, null, NOW + HOUR, SchedulingHorizon.UNLIMITED));
+    }
+
+    @Test
+    public void nextRunAt_beyondSafetyNet_leavesItToSafetyNet() {
+        long week = 7 * 24 * HOUR;
+
+        assertNull(WorkerCadence.nextRunAt(NOW, NOW + week, NOW + week, SIX_HOURS));
+    }
+
+    @Test
+    public void nextRunAt_pastInstant_clampsToMinimumDelay() {
+        Long runAt = WorkerCadence.nextRunAt(NOW, null, NOW + 5 * HOUR, SIX_HOURS);
+
+        assertEquals(Long.valueOf(NOW + WorkerCadence.MIN_DELAY_MILLIS), runAt);
+    }
+
+    @Test
+    public void nextRunAt_farFutureFire_doesNotOverflow() {
+        assertNull(WorkerCadence.nextRunAt(NOW, Long.MAX_VALUE - 1, null, SIX_HOURS));
+    }
+
+    // ==================== wakeupsSaved ====================
+
+    @Test
+    public void wakeupsSaved_countsFixedTicksReplacedByOneRun() {
+        assertEquals(3, WorkerCadence.wakeupsSaved(NOW, NOW + HOUR));
+        assertEquals(0, WorkerCadence.wakeupsSaved(NOW, NOW + 15 * MINUTE));
+    }
+
+    @Test
+    public void wakeupsSaved_runSoonerThanFixedInterval_isNegative() {
+        assertEquals(-1, WorkerCadence.wakeupsSaved(NOW, NOW + MINUTE));
+    }
+
+    @Test
+    public void wakeupsSaved_safetyNetOnly_countsWholeInterval() {
+        long ticks = WorkerCadence.SAFETY_NET_INTERVAL_HOURS * HOUR / WorkerCadence.FIXED_INTERVAL_MILLIS;
+
+        assertEquals(ticks - 1, WorkerCadence.wakeupsSaved(NOW, null));
+    }
+}
@@ -0,0 +1,95 @@
+package com.ava.notiva;
+
+import static org.junit.Assert.*;
+
+import com.ava.notiva.model.ZoneTransitions;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Unit tests for {@link ZoneTransitions}.
+ */
+public class ZoneTransitionsTest {
+
+    private static final String[] ZONES = {
+            "America/New_York", "Europe/London", "Australia/Lord_Howe", "Pacific/Apia",
+            "Asia/Kolkata", "America/Sao_Paulo", "UTC",
+    };
+
+    @Test
+    public void of_returnsSharedInstancePerZone() {
+        ZoneTransitions first = ZoneTransitions.of(ZoneId.of("Europe/Paris"));
+
+        assertSame(first, ZoneTransitions.of(ZoneId.of("Europe/Paris")));
+        assertNotSame(first, ZoneTransitions.of(ZoneId.of("Europe/Berlin")));
+    }
+
+    @Test
+    public void fixedZones_haveNoTransitions() {
+        assertTrue(ZoneTransitions.of(ZoneId.of("UTC")).isFixed());
+        assertEquals(0, ZoneTransitions.of(ZoneOffset.ofHours(5)).getMaxShift());
+        assertFalse(ZoneTransitions.of(ZoneId.of("America/New_York")).isFixed());
+        assertEquals(3_600_000L, ZoneTransitions.of(ZoneId.of("America/New_York")).getMaxShift());
+    }
+
+    @Test
+    public void toLocalMillis_matchesZoneRules() {
+        for (String zoneId : ZONES) {
+            ZoneId zone = ZoneId.of(zoneId);
+            ZoneTransitions transitions = ZoneTransitions.of(zone);
+            for (long epoch = instant(1995); epoch < instant(2040); epoch += 3_599_999L * 7) {
+                long expected = epoch + zone.getRules()
+                        .getOffset(Instant.ofEpochMilli(epoch)).getTotalSeconds() * 1000L;
+                assertEquals(zoneId + " " + epoch, expected, transitions.toLocalMillis(epoch));
+            }
+        }
+    }
+
+    @Test
+    public void toEpochMillis_matchesLaterOffsetAtOverlap() {
+        for (String zoneId : ZONES) {
+            ZoneId zone = ZoneId.of(zoneId);
+            ZoneTransitions transitions = ZoneTransitions.of(zone);
+            // Steps of 7.5 minutes land inside every gap and overlap, including Lord Howe's 30 minutes
+            for (long local = instant(2005); local < instant(2030); local += 450_000L) {
+                LocalDateTime dateTime = LocalDateTime.ofEpochSecond(local / 1000, 0, ZoneOffset.UTC);
+                long expected = ZonedDateTime.of(dateTime, zone).withLaterOffsetAtOverlap()
+                        .toInstant().toEpochMilli();
+                assertEquals(zoneId + " " + dateTime, expected, transitions.toEpochMillis(local));
+            }
+        }
+    }
+
+    @Test
+    public void outsidePrecomputedSpan_fallsBackToZoneRules() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        ZoneTransitions transitions = ZoneTransitions.of(zone);
+        LocalDateTime farFuture = LocalDateTime.of(2300, 7, 1, 12, 0);
+        long local = farFuture.toEpochSecond(ZoneOffset.UTC) * 1000;
+
+        long expected = farFuture.atZone(zone).toInstant().toEpochMilli();
+        assertEquals(expected, transitions.toEpochMillis(local));
+        assertEquals(local, transitions.toLocalMillis(expected));
+    }
+
+    @Test
+    public void offsetRange_coversTransition() {
+        ZoneTransitions transitions = ZoneTransitions.of(ZoneId.of("America/New_York"));
+        long march = ZonedDateTime.of(2024, 3, 9, 12, 0, 0, 0, ZoneId.of("America/New_York"))
+                .toInstant().toEpochMilli();
+
+        assertEquals(-5 * 3_600_000, transitions.minOffsetBetween(march, march + 86_400_000L * 2));
+        assertEquals(-4 * 3_600_000, transitions.maxOffsetBetween(march, march + 86_400_000L * 2));
+        assertEquals(-5 * 3_600_000, transitions.maxOffsetBetween(march, march + 3_600_000L));
+    }
+
+    private static long instant(int year) {
+        return LocalDateTime.of(year, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC) * 1000;
+    }
+}